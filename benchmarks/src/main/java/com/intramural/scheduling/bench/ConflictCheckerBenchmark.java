@@ -0,0 +1,52 @@
+package com.intramural.scheduling.bench;
+
+import com.intramural.scheduling.model.Employee;
+import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.service.ConflictChecker;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Hard-constraint checks of every employee against one game, the inner loop
+ * of recommendation generation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ConflictCheckerBenchmark {
+
+    @Param({"50", "200", "1000"})
+    public int employees;
+
+    @Param({"300"})
+    public int shiftsPerCycle;
+
+    @Param({"0.3", "0.7"})
+    public double availabilityDensity;
+
+    private CycleFixture fixture;
+    private ConflictChecker checker;
+    private Schedule.Game game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new CycleFixture(employees, shiftsPerCycle, availabilityDensity);
+        checker = new ConflictChecker();
+        game = fixture.games.get(fixture.games.size() / 2);
+    }
+
+    @Benchmark
+    public void checkHardConstraints(Blackhole bh) {
+        for (Employee employee : fixture.employees) {
+            int id = employee.getEmployeeId();
+            bh.consume(checker.checkHardConstraints(employee, game,
+                fixture.availabilityMap.get(id), fixture.conflictsMap.get(id),
+                fixture.timeOffMap.get(id), fixture.existingGamesMap.get(id),
+                fixture.weeklyHoursMap.get(id)));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.intramural.scheduling.bench;
+
+import com.intramural.scheduling.model.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * A synthetic scheduling cycle built from a fixed seed, so every run (and every
+ * commit) benchmarks exactly the same data for the same parameters.
+ *
+ * Games need 1 supervisor and 2 referees, last 1-2 hours and start between
+ * 16:00 and 21:00 over four weeks of the fall season. Availability density is
+ * the chance an employee is available on a given weekday evening.
+ */
+public class CycleFixture {
+    public static final long SEED = 20250901L;
+    public static final LocalDate CYCLE_START = LocalDate.of(2025, 9, 1);
+    public static final LocalDate CYCLE_END = CYCLE_START.plusDays(27);
+
+    private static final int SPORTS = 6;
+    private static final int SHIFTS_PER_GAME = 3;
+    private static final String[] LOCATIONS = { "Gym A", "Gym B", "Field 1", "Field 2", "Pool" };
+
+    public final Schedule.Cycle cycle;
+    public final List<Schedule.Game> games = new ArrayList<>();
+    public final List<Employee> employees = new ArrayList<>();
+    public final Map<Integer, Sport> sportsMap = new HashMap<>();
+    public final Map<Integer, List<Availability.Seasonal>> availabilityMap = new HashMap<>();
+    public final Map<Integer, List<Availability.PermanentConflict>> conflictsMap = new HashMap<>();
+    public final Map<Integer, List<TimeOffRequest>> timeOffMap = new HashMap<>();
+    public final Map<Integer, List<Schedule.Game>> existingGamesMap = new HashMap<>();
+    public final Map<Integer, Tracking.WeeklyHours> weeklyHoursMap = new HashMap<>();
+    /** weeklyHoursMap as the first week of a by-week map, for the cycle-wide modes */
+    public final Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek =
+        Collections.singletonMap(CYCLE_START, weeklyHoursMap);
+
+    public CycleFixture(int employeeCount, int shiftsPerCycle, double availabilityDensity) {
+        Random random = new Random(SEED);
+        cycle = new Schedule.Cycle(CYCLE_START, CYCLE_END);
+
+        for (int sportId = 1; sportId <= SPORTS; sportId++) {
+            sportsMap.put(sportId, new Sport(sportId, "Sport " + sportId, 60, 1, 2));
+        }
+
+        int gameCount = Math.max(1, (shiftsPerCycle + SHIFTS_PER_GAME - 1) / SHIFTS_PER_GAME);
+        int shiftId = 1;
+        for (int i = 0; i < gameCount; i++) {
+            LocalDate date = CYCLE_START.plusDays(random.nextInt(28));
+            LocalTime start = LocalTime.of(16 + random.nextInt(6), random.nextBoolean() ? 0 : 30);
+            LocalTime end = start.plusMinutes(60 + 30 * random.nextInt(3));
+            Schedule.Game game = new Schedule.Game(1 + random.nextInt(SPORTS), date, start, end,
+                LOCATIONS[random.nextInt(LOCATIONS.length)], 1, 2, CYCLE_START, CYCLE_END, 1);
+            game.setScheduleId(i + 1);
+            game.generateShifts();
+            for (Schedule.Shift shift : game.getShifts()) {
+                shift.setShiftId(shiftId++);
+            }
+            games.add(game);
+            cycle.addGameSchedule(game);
+        }
+
+        Availability.Season season = Availability.Season.FALL;
+        for (int employeeId = 1; employeeId <= employeeCount; employeeId++) {
+            Employee employee = new Employee(employeeId, 1000 + employeeId,
+                                             "First" + employeeId, "Last" + employeeId);
+            employee.setMaxHoursPerWeek(20);
+            employee.setPerformanceRating(2.5 + random.nextInt(6) * 0.5);
+            employee.setSupervisorEligible(random.nextDouble() < 0.3);
+            employee.setActiveStatus(true);
+
+            int expertiseCount = 1 + random.nextInt(3);
+            for (int e = 0; e < expertiseCount; e++) {
+                Employee.ExpertiseLevel level =
+                    Employee.ExpertiseLevel.values()[random.nextInt(Employee.ExpertiseLevel.values().length)];
+                employee.addExpertise(new Employee.SportExpertise(
+                    employeeId * 10 + e, 1 + random.nextInt(SPORTS), level));
+            }
+            employees.add(employee);
+
+            List<Availability.Seasonal> availability = new ArrayList<>();
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (random.nextDouble() < availabilityDensity) {
+                    Availability.Seasonal slot = new Availability.Seasonal(employeeId, season,
+                        CYCLE_START.getYear(), day, LocalTime.of(15, 0), LocalTime.of(23, 0));
+                    slot.setPreferred(random.nextDouble() < 0.25);
+                    availability.add(slot);
+                }
+            }
+            availabilityMap.put(employeeId, availability);
+
+            List<Availability.PermanentConflict> conflicts = new ArrayList<>();
+            if (random.nextDouble() < 0.2) {
+                DayOfWeek day = DayOfWeek.of(1 + random.nextInt(5));
+                conflicts.add(new Availability.PermanentConflict(employeeId, Availability.ConflictType.CLASS,
+                    day, LocalTime.of(17, 0), LocalTime.of(19, 0), "Evening class"));
+            }
+            conflictsMap.put(employeeId, conflicts);
+            timeOffMap.put(employeeId, new ArrayList<>());
+
+            Tracking.WeeklyHours hours = new Tracking.WeeklyHours(employeeId, CYCLE_START);
+            hours.setTotalScheduledHours(random.nextInt(11));
+            weeklyHoursMap.put(employeeId, hours);
+
+            // A couple of games the employee already works
+            List<Schedule.Game> existing = new ArrayList<>();
+            for (int g = random.nextInt(3); g > 0; g--) {
+                existing.add(games.get(random.nextInt(games.size())));
+            }
+            existingGamesMap.put(employeeId, existing);
+        }
+    }
+
+    /** Total shifts across all games */
+    public int shiftCount() {
+        return games.size() * SHIFTS_PER_GAME;
+    }
+}
@@ -0,0 +1,62 @@
+package com.intramural.scheduling.bench;
+
+import com.intramural.scheduling.model.Schedule;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Schedule.Game time math used by every conflict and hours check
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GameTimeBenchmark {
+    private static final int GAMES = 1024;
+
+    private List<Schedule.Game> games;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        games = new CycleFixture(1, GAMES * 3, 0.5).games;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public double durationHours() {
+        double total = 0;
+        for (Schedule.Game game : games) {
+            total += game.getDurationHours();
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public void startAndEndDateTimes(Blackhole bh) {
+        for (Schedule.Game game : games) {
+            bh.consume(game.getStartDateTime());
+            bh.consume(game.getEndDateTime());
+        }
+    }
+
+    /** Pairwise overlap test between neighbouring games, as done for double-booking */
+    @Benchmark
+    @OperationsPerInvocation(GAMES - 1)
+    public int overlaps() {
+        int count = 0;
+        for (int i = 1; i < games.size(); i++) {
+            Schedule.Game a = games.get(i - 1);
+            Schedule.Game b = games.get(i);
+            if (a.getStartDateTime().isBefore(b.getEndDateTime()) &&
+                b.getStartDateTime().isBefore(a.getEndDateTime())) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,86 @@
+package com.intramural.scheduling.bench;
+
+import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.model.SchedulingRecommendation;
+import com.intramural.scheduling.service.SchedulingEngine;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Recommendation generation for a single shift and for a whole cycle: greedy,
+ * greedy on all cores, most-constrained-first and with the optimal assignment solver
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SchedulingEngineBenchmark {
+
+    @Param({"50", "200", "1000"})
+    public int employees;
+
+    @Param({"90", "300", "900"})
+    public int shiftsPerCycle;
+
+    @Param({"0.3", "0.7"})
+    public double availabilityDensity;
+
+    private CycleFixture fixture;
+    private SchedulingEngine engine;
+    private Schedule.Game game;
+    private Schedule.Shift shift;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new CycleFixture(employees, shiftsPerCycle, availabilityDensity);
+        engine = new SchedulingEngine();
+        game = fixture.games.get(fixture.games.size() / 2);
+        shift = game.getShifts().get(0);
+    }
+
+    @Benchmark
+    public List<SchedulingRecommendation> recommendationsForShift() {
+        return engine.generateRecommendationsWithExclusions(
+            shift, game, fixture.sportsMap.get(game.getSportId()), fixture.employees,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, fixture.weeklyHoursMap, new HashSet<>());
+    }
+
+    @Benchmark
+    public Map<Integer, List<SchedulingRecommendation>> recommendationsForCycle() {
+        return engine.generateAllRecommendations(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, fixture.weeklyHoursMap);
+    }
+
+    @Benchmark
+    public Map<Integer, List<SchedulingRecommendation>> parallelRecommendationsForCycle() {
+        return engine.generateAllRecommendationsParallel(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, fixture.weeklyHoursByWeek,
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public Map<Integer, List<SchedulingRecommendation>> constrainedRecommendationsForCycle() {
+        return engine.generateConstrainedRecommendations(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, fixture.weeklyHoursByWeek);
+    }
+
+    @Benchmark
+    public Map<Integer, List<SchedulingRecommendation>> optimalRecommendationsForCycle() {
+        return engine.generateOptimalRecommendations(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, fixture.weeklyHoursByWeek);
+    }
+}
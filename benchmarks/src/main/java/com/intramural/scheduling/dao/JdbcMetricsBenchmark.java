@@ -0,0 +1,77 @@
+package com.intramural.scheduling.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Per-statement cost of JdbcMetrics: the same small query on a raw H2
+ * connection and on a metered one (stack walk for the calling method, name
+ * lookup, statement and ResultSet proxies, timing). The difference
+ * between the two is the overhead a DAO call pays. Lives in the dao package
+ * because JdbcMetrics.wrap is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JdbcMetricsBenchmark {
+    private static final String URL = "jdbc:h2:mem:jdbc_metrics_bench;DB_CLOSE_DELAY=-1";
+    private static final String QUERY = "SELECT id, hours FROM bench_rows WHERE id <= ?";
+
+    /** Rows each query reads through the ResultSet */
+    @Param({"1", "10"})
+    public int rows;
+
+    private Connection raw;
+    private Connection metered;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        raw = DriverManager.getConnection(URL, "sa", "");
+        try (Statement stmt = raw.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS bench_rows (id INT PRIMARY KEY, hours DOUBLE)");
+            stmt.execute("DELETE FROM bench_rows");
+            for (int i = 1; i <= 10; i++) {
+                stmt.execute("INSERT INTO bench_rows VALUES (" + i + ", " + (i * 1.5) + ")");
+            }
+        }
+        metered = new JdbcMetrics().wrap(DriverManager.getConnection(URL, "sa", ""), 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        metered.close();
+        raw.close();
+    }
+
+    @Benchmark
+    public double rawQuery() throws SQLException {
+        return query(raw);
+    }
+
+    @Benchmark
+    public double meteredQuery() throws SQLException {
+        return query(metered);
+    }
+
+    private double query(Connection conn) throws SQLException {
+        double total = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(QUERY)) {
+            stmt.setInt(1, rows);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    total += rs.getDouble("hours");
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,177 @@
+package com.intramural.scheduling.dao;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ResultSet-to-model extraction of the DAOs, over an in-memory ResultSet so
+ * only the mapping code is measured (no driver, no network). Lives in the dao
+ * package because the extract methods are package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ResultSetMapperBenchmark {
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    private final GameScheduleDAO gameDAO = new GameScheduleDAO();
+    private final ShiftDAO shiftDAO = new ShiftDAO();
+    private final EmployeeDAO employeeDAO = new EmployeeDAO();
+    private final AvailabilityDAO availabilityDAO = new AvailabilityDAO();
+
+    private Rows games;
+    private Rows shifts;
+    private Rows employees;
+    private Rows availability;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(20250901L);
+        games = new Rows();
+        shifts = new Rows();
+        employees = new Rows();
+        availability = new Rows();
+        String[] days = { "MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY" };
+
+        for (int i = 1; i <= rows; i++) {
+            Map<String, Object> game = new HashMap<>();
+            game.put("schedule_id", i);
+            game.put("sport_id", 1 + random.nextInt(6));
+            game.put("game_date", Date.valueOf("2025-09-" + (10 + random.nextInt(18))));
+            game.put("start_time", Time.valueOf((16 + random.nextInt(5)) + ":00:00"));
+            game.put("end_time", Time.valueOf("22:00:00"));
+            game.put("location", "Gym " + (char) ('A' + random.nextInt(3)));
+            game.put("required_supervisors", 1);
+            game.put("required_referees", 2);
+            game.put("schedule_cycle_start", Date.valueOf("2025-09-01"));
+            game.put("schedule_cycle_end", Date.valueOf("2025-09-28"));
+            game.put("created_by", 1);
+            games.add(game);
+
+            Map<String, Object> shift = new HashMap<>();
+            shift.put("shift_id", i);
+            shift.put("game_schedule_id", 1 + random.nextInt(rows));
+            shift.put("position_type", random.nextInt(3) == 0 ? "SUPERVISOR" : "REFEREE");
+            shift.put("position_number", 1 + random.nextInt(2));
+            shift.put("assigned_employee_id", random.nextBoolean() ? random.nextInt(500) : null);
+            shift.put("recommendation_a_id", random.nextInt(500));
+            shift.put("recommendation_b_id", random.nextInt(500));
+            shift.put("assignment_status", random.nextBoolean() ? "ASSIGNED" : "RECOMMENDED");
+            shifts.add(shift);
+
+            Map<String, Object> employee = new HashMap<>();
+            employee.put("employee_id", i);
+            employee.put("user_id", 1000 + i);
+            employee.put("first_name", "First" + i);
+            employee.put("last_name", "Last" + i);
+            employee.put("max_hours_per_week", 20);
+            employee.put("is_supervisor_eligible", random.nextBoolean());
+            employee.put("active_status", true);
+            employees.add(employee);
+
+            Map<String, Object> slot = new HashMap<>();
+            slot.put("availability_id", i);
+            slot.put("employee_id", 1 + random.nextInt(500));
+            slot.put("season", "FALL");
+            slot.put("year", 2025);
+            slot.put("day_of_week", days[random.nextInt(days.length)]);
+            slot.put("start_time", Time.valueOf("15:00:00"));
+            slot.put("end_time", Time.valueOf("23:00:00"));
+            slot.put("is_preferred", random.nextBoolean());
+            availability.add(slot);
+        }
+    }
+
+    @Benchmark
+    public void extractGames(Blackhole bh) throws SQLException {
+        ResultSet rs = games.open();
+        while (rs.next()) {
+            bh.consume(gameDAO.extractGameFromResultSet(rs));
+        }
+    }
+
+    @Benchmark
+    public void extractShifts(Blackhole bh) throws SQLException {
+        ResultSet rs = shifts.open();
+        while (rs.next()) {
+            bh.consume(shiftDAO.extractShiftFromResultSet(rs));
+        }
+    }
+
+    @Benchmark
+    public void extractEmployees(Blackhole bh) throws SQLException {
+        ResultSet rs = employees.open();
+        while (rs.next()) {
+            bh.consume(employeeDAO.extractEmployee(rs));
+        }
+    }
+
+    @Benchmark
+    public void extractAvailability(Blackhole bh) throws SQLException {
+        ResultSet rs = availability.open();
+        while (rs.next()) {
+            bh.consume(availabilityDAO.extractAvailabilityFromResultSet(rs));
+        }
+    }
+
+    /**
+     * Rows keyed by column label, read through a forward-only ResultSet proxy
+     * supporting the getters the mappers use
+     */
+    static final class Rows {
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+
+        void add(Map<String, Object> row) {
+            rows.add(row);
+        }
+
+        ResultSet open() {
+            int[] cursor = { -1 };
+            boolean[] wasNull = { false };
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++cursor[0] < rows.size();
+                        case "wasNull":
+                            return wasNull[0];
+                        case "close":
+                            return null;
+                        default:
+                            break;
+                    }
+                    if (!method.getName().startsWith("get") || args == null || !(args[0] instanceof String)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object value = rows.get(cursor[0]).get((String) args[0]);
+                    wasNull[0] = value == null;
+                    switch (method.getName()) {
+                        case "getInt":
+                            return value == null ? 0 : ((Number) value).intValue();
+                        case "getDouble":
+                            return value == null ? 0.0 : ((Number) value).doubleValue();
+                        case "getBoolean":
+                            return value != null && (Boolean) value;
+                        default:
+                            return value;
+                    }
+                });
+        }
+    }
+}
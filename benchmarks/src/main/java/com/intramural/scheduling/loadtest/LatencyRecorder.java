@@ -0,0 +1,84 @@
+package com.intramural.scheduling.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies per operation for one load-test run. Each worker thread records
+ * into its own recorder; merge them before reporting.
+ */
+public class LatencyRecorder {
+    private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+    public void record(String operation, long nanos, boolean failed) {
+        Samples s = samples.computeIfAbsent(operation, k -> new Samples());
+        if (failed) {
+            s.errors++;
+        } else {
+            s.add(nanos);
+        }
+    }
+
+    public void merge(LatencyRecorder other) {
+        for (Map.Entry<String, Samples> entry : other.samples.entrySet()) {
+            Samples s = samples.computeIfAbsent(entry.getKey(), k -> new Samples());
+            Samples o = entry.getValue();
+            for (int i = 0; i < o.count; i++) {
+                s.add(o.nanos[i]);
+            }
+            s.errors += o.errors;
+        }
+    }
+
+    /**
+     * Table of count, throughput and p50/p95/p99/max in milliseconds per operation
+     * @param elapsedNanos wall time of the measured phase
+     */
+    public String report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-22s %8s %7s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        long total = 0;
+        for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+            Samples s = entry.getValue();
+            long[] sorted = Arrays.copyOf(s.nanos, s.count);
+            Arrays.sort(sorted);
+            total += s.count;
+            out.append(String.format("%-22s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                entry.getKey(), s.count, s.errors, s.count / seconds,
+                millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                millis(percentile(sorted, 99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+        }
+        out.append(String.format("%-22s %8d %7s %9.1f%n", "total", total, "", total / seconds));
+        return out.toString();
+    }
+
+    /** Nearest-rank percentile of sorted values, 0 when empty */
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Samples {
+        long[] nanos = new long[1024];
+        int count;
+        int errors;
+
+        void add(long value) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+        }
+    }
+}
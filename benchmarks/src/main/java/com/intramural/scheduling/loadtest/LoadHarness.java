@@ -0,0 +1,256 @@
+package com.intramural.scheduling.loadtest;
+
+import com.intramural.scheduling.controller.SchedulingController;
+import com.intramural.scheduling.controller.StaffDashboardController;
+import com.intramural.scheduling.dao.DatabaseConnection;
+import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.util.LogConfig;
+import com.intramural.scheduling.util.LogLevel;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * End-to-end load test on the embedded database: db.init.scripts creates the
+ * portable schema (see application.properties), the harness fills it with a
+ * generated season and then runs a mixed workload from several threads through
+ * the real controllers and DAOs.
+ *
+ * Operations:
+ *   dashboard - StaffDashboardController.getDashboardStats for a random employee
+ *   assign    - SchedulingController.assignShift on an open shift (each thread
+ *               owns a disjoint set of games, so threads never race on a shift)
+ *   recommend - createCycle + loadGameSchedules + generateRecommendations for a
+ *               random week of the season (the generator's schedule cycles)
+ *
+ * Dashboard and assign are mixed by weight on load.threads threads. A weekly
+ * recommend run takes seconds at full scale, so it loops on its own
+ * load.recommendThreads threads, like an admin working next to the staff,
+ * instead of parking every mixed thread inside it.
+ *
+ * Arguments are key=value pairs (gen.* from SeasonGenerator.Scale, plus):
+ *   load.threads=8 load.recommendThreads=1 load.warmupSeconds=10
+ *   load.durationSeconds=60 load.mix=dashboard:80,assign:20 load.logLevel=WARN
+ */
+public class LoadHarness {
+    private static final String DEFAULT_MIX = "dashboard:80,assign:20";
+
+    private final Properties props;
+    private final SeasonGenerator.Scale scale;
+    private final int threads;
+    private final int recommendThreads;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final String[] mixOperations;
+    private final int[] mixWeights;
+
+    public LoadHarness(Properties props) {
+        this.props = props;
+        this.scale = SeasonGenerator.Scale.fromProperties(props);
+        this.threads = Integer.parseInt(props.getProperty("load.threads", "8").trim());
+        this.recommendThreads = Integer.parseInt(props.getProperty("load.recommendThreads", "1").trim());
+        this.warmupNanos = Long.parseLong(props.getProperty("load.warmupSeconds", "10").trim()) * 1_000_000_000L;
+        this.durationNanos = Long.parseLong(props.getProperty("load.durationSeconds", "60").trim()) * 1_000_000_000L;
+
+        String[] entries = props.getProperty("load.mix", DEFAULT_MIX).split(",");
+        this.mixOperations = new String[entries.length];
+        this.mixWeights = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].trim().split(":");
+            if (parts.length != 2 || !Set.of("dashboard", "assign").contains(parts[0])) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entries[i]);
+            }
+            mixOperations[i] = parts[0];
+            mixWeights[i] = (i > 0 ? mixWeights[i - 1] : 0) + Integer.parseInt(parts[1]);
+        }
+        if (threads < 0 || recommendThreads < 0 || threads + recommendThreads == 0 ||
+            durationNanos <= 0 || mixWeights[mixWeights.length - 1] <= 0) {
+            throw new IllegalArgumentException(
+                "Need some load.threads or load.recommendThreads, load.durationSeconds > 0 and a non-empty mix");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties props = new Properties();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            props.setProperty(arg.substring(0, eq).trim(), arg.substring(eq + 1).trim());
+        }
+        try {
+            new LoadHarness(props).run();
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    public void run() throws Exception {
+        LogConfig.setRootLevel(LogLevel.valueOf(props.getProperty("load.logLevel", "WARN").trim()));
+
+        System.out.println("Generating season: " + scale);
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (Map.Entry<String, Integer> entry : new SeasonGenerator(scale).generate(conn).entrySet()) {
+                System.out.printf("  %-22s %,10d rows%n", entry.getKey(), entry.getValue());
+            }
+        }
+        System.out.printf("Generated in %.1f s%n%n", (System.nanoTime() - started) / 1e9);
+
+        Worker[] workers = new Worker[threads + recommendThreads];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i, i >= threads);
+            if (!workers[i].recommending) {
+                workers[i].loadOpenShifts();
+            }
+        }
+
+        System.out.printf("Running %d threads (mix %s) and %d recommend threads: %.0f s warmup, %.0f s measured%n",
+            threads, props.getProperty("load.mix", DEFAULT_MIX), recommendThreads,
+            warmupNanos / 1e9, durationNanos / 1e9);
+
+        CountDownLatch done = new CountDownLatch(workers.length);
+        long measureStart = System.nanoTime() + warmupNanos;
+        long measureEnd = measureStart + durationNanos;
+        for (Worker worker : workers) {
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.run(measureStart, measureEnd);
+                } finally {
+                    done.countDown();
+                }
+            }, (worker.recommending ? "recommend-" : "load-") + worker.index);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        LatencyRecorder total = new LatencyRecorder();
+        for (Worker worker : workers) {
+            total.merge(worker.recorder);
+            if (worker.firstError != null) {
+                System.out.println("First error on worker " + worker.index + ": " + worker.firstError);
+            }
+            if (worker.ranOutOfShifts) {
+                System.out.println("Worker " + worker.index + " ran out of open shifts and stopped " +
+                                   "assigning; use more gen.games or a shorter load.durationSeconds");
+            }
+        }
+        System.out.println();
+        System.out.print(total.report(durationNanos));
+
+        // Warmup and setup included: which DAO statements the run spent its time in
+        if (DatabaseConnection.getMetrics() != null) {
+            System.out.println();
+            System.out.print(DatabaseConnection.getMetrics().dump());
+        }
+    }
+
+    /**
+     * One load thread with its own controllers (they are not thread-safe)
+     */
+    private final class Worker {
+        final int index;
+        final boolean recommending;
+        final Random random;
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final StaffDashboardController dashboard = new StaffDashboardController();
+        final SchedulingController assigner = new SchedulingController();
+        final SchedulingController recommender = new SchedulingController();
+        final Deque<Object[]> openShifts = new ArrayDeque<>();
+        Throwable firstError;
+        boolean ranOutOfShifts;
+
+        Worker(int index, boolean recommending) {
+            this.index = index;
+            this.recommending = recommending;
+            this.random = new Random(scale.getSeed() * 31 + index);
+        }
+
+        /**
+         * Unassigned shifts of this thread's games (schedule_id % threads == index)
+         * across the whole season, loaded one weekly cycle at a time
+         */
+        void loadOpenShifts() throws Exception {
+            List<Object[]> open = new ArrayList<>();
+            for (int week = 0; week < scale.getWeeks(); week++) {
+                LocalDate cycleStart = scale.getStart().plusWeeks(week);
+                assigner.createCycle(cycleStart, cycleStart.plusDays(6));
+                for (Schedule.Game game : assigner.loadGameSchedules()) {
+                    if (game.getScheduleId() % threads != index) {
+                        continue;
+                    }
+                    for (Schedule.Shift shift : game.getShifts()) {
+                        if (shift.getAssignedEmployeeId() == null) {
+                            open.add(new Object[] { shift, game });
+                        }
+                    }
+                }
+            }
+            Collections.shuffle(open, random);
+            openShifts.addAll(open);
+        }
+
+        void run(long measureStart, long measureEnd) {
+            // Samples count toward the phase they finish in, so a long recommend
+            // run that started during warmup still shows up in the report
+            LatencyRecorder warmup = new LatencyRecorder();
+            while (System.nanoTime() < measureEnd) {
+                String operation = pick();
+                long start = System.nanoTime();
+                boolean failed = false;
+                try {
+                    if (!execute(operation)) {
+                        continue;
+                    }
+                } catch (Exception e) {
+                    failed = true;
+                    if (firstError == null) {
+                        firstError = e;
+                    }
+                }
+                long end = System.nanoTime();
+                (end < measureStart ? warmup : recorder).record(operation, end - start, failed);
+            }
+        }
+
+        private String pick() {
+            if (recommending) {
+                return "recommend";
+            }
+            int roll = random.nextInt(mixWeights[mixWeights.length - 1]);
+            for (int i = 0; i < mixWeights.length; i++) {
+                if (roll < mixWeights[i]) {
+                    return mixOperations[i];
+                }
+            }
+            return mixOperations[mixOperations.length - 1];
+        }
+
+        /** @return false when there was nothing to do (no open shift left) */
+        private boolean execute(String operation) throws Exception {
+            switch (operation) {
+                case "dashboard":
+                    dashboard.getDashboardStats(1 + random.nextInt(scale.getStaff()));
+                    return true;
+                case "assign":
+                    Object[] next = openShifts.poll();
+                    if (next == null) {
+                        ranOutOfShifts = true;
+                        return false;
+                    }
+                    assigner.assignShift((Schedule.Shift) next[0], 1 + random.nextInt(scale.getStaff()),
+                        (Schedule.Game) next[1]);
+                    return true;
+                default:
+                    LocalDate cycleStart = scale.getStart().plusWeeks(random.nextInt(scale.getWeeks()));
+                    recommender.createCycle(cycleStart, cycleStart.plusDays(6));
+                    recommender.loadGameSchedules();
+                    recommender.generateRecommendations();
+                    return true;
+            }
+        }
+    }
+}
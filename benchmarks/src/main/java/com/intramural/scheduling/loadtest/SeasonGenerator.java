@@ -0,0 +1,462 @@
+package com.intramural.scheduling.loadtest;
+
+import com.intramural.scheduling.util.DateTimeUtil;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Fills an empty schema with a synthetic season: staff users and employees with
+ * expertise, seasonal availability, permanent conflicts and time-off, plus games
+ * with their shifts (some already assigned) and the matching weekly hours.
+ *
+ * Everything derives from the seed, so the same Scale always produces the same
+ * rows. IDs are the identity values of a fresh schema: user 1 is the admin,
+ * employee N belongs to user N + 1, sports and games are numbered in insert order.
+ */
+public class SeasonGenerator {
+    private static final int BATCH = 1000;
+    private static final String[] FIRST_NAMES = {
+        "Alex", "Sam", "Jordan", "Taylor", "Casey", "Riley", "Morgan", "Jamie", "Avery", "Quinn",
+        "Drew", "Parker", "Reese", "Skyler", "Cameron", "Rowan", "Emerson", "Hayden", "Logan", "Blake"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Lee", "Garcia", "Brown", "Davis", "Miller", "Wilson", "Moore", "Clark",
+        "Lewis", "Walker", "Hall", "Young", "King", "Wright", "Lopez", "Hill", "Scott", "Green"
+    };
+    private static final String[] SPORTS = {
+        "Basketball", "Soccer", "Volleyball", "Flag Football", "Softball", "Ultimate",
+        "Hockey", "Badminton", "Tennis", "Water Polo", "Dodgeball", "Kickball"
+    };
+    private static final String[] LOCATIONS = {
+        "Main Gym", "Aux Gym", "Field 1", "Field 2", "Field 3", "Turf", "Pool", "Rink", "Courts"
+    };
+
+    /**
+     * Size and shape of the generated season (gen.* properties)
+     */
+    public static class Scale {
+        private long seed = 42;
+        private int staff = 5000;
+        private int games = 30000;
+        private int weeks = 16;
+        private int sports = 8;
+        private double availabilityDensity = 0.6;
+        private double assignedFraction = 0.25;
+        private LocalDate start = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        public static Scale fromProperties(Properties props) {
+            Scale scale = new Scale();
+            scale.seed = Long.parseLong(props.getProperty("gen.seed", String.valueOf(scale.seed)).trim());
+            scale.staff = intProperty(props, "gen.staff", scale.staff);
+            scale.games = intProperty(props, "gen.games", scale.games);
+            scale.weeks = intProperty(props, "gen.weeks", scale.weeks);
+            scale.sports = intProperty(props, "gen.sports", scale.sports);
+            scale.availabilityDensity = doubleProperty(props, "gen.availabilityDensity",
+                scale.availabilityDensity);
+            scale.assignedFraction = doubleProperty(props, "gen.assignedFraction", scale.assignedFraction);
+            String start = props.getProperty("gen.start");
+            if (start != null) {
+                scale.start = DateTimeUtil.getWeekStart(LocalDate.parse(start.trim()));
+            }
+
+            if (scale.staff < 1 || scale.games < 0 || scale.weeks < 1 ||
+                scale.sports < 1 || scale.sports > SPORTS.length) {
+                throw new IllegalStateException("Invalid scale: staff=" + scale.staff + ", games=" +
+                    scale.games + ", weeks=" + scale.weeks + ", sports=" + scale.sports);
+            }
+            return scale;
+        }
+
+        private static int intProperty(Properties props, String key, int defaultValue) {
+            String value = props.getProperty(key);
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        }
+
+        private static double doubleProperty(Properties props, String key, double defaultValue) {
+            String value = props.getProperty(key);
+            return value != null ? Double.parseDouble(value.trim()) : defaultValue;
+        }
+
+        public long getSeed() { return seed; }
+        public int getStaff() { return staff; }
+        public int getGames() { return games; }
+        public int getWeeks() { return weeks; }
+        public int getSports() { return sports; }
+        public double getAvailabilityDensity() { return availabilityDensity; }
+        public double getAssignedFraction() { return assignedFraction; }
+        /** Monday of the first week */
+        public LocalDate getStart() { return start; }
+        public LocalDate getEnd() { return start.plusWeeks(weeks).minusDays(1); }
+
+        @Override
+        public String toString() {
+            return "seed=" + seed + ", staff=" + staff + ", games=" + games + ", weeks=" + weeks +
+                   " from " + start + ", sports=" + sports + ", availabilityDensity=" +
+                   availabilityDensity + ", assignedFraction=" + assignedFraction;
+        }
+    }
+
+    private final Scale scale;
+    private final Random random;
+
+    public SeasonGenerator(Scale scale) {
+        this.scale = scale;
+        this.random = new Random(scale.seed);
+    }
+
+    /**
+     * Insert the season in one transaction
+     * @return rows inserted per table, in insert order
+     */
+    public Map<String, Integer> generate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM users")) {
+            rs.next();
+            if (rs.getInt(1) != 0) {
+                throw new IllegalStateException("SeasonGenerator needs an empty schema");
+            }
+        }
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            counts.put("users", insertUsers(conn));
+            int[][] sportShape = new int[scale.sports][];
+            counts.put("sports", insertSports(conn, sportShape));
+            boolean[] supervisorEligible = new boolean[scale.staff + 1];
+            counts.put("employees", insertEmployees(conn, supervisorEligible));
+            counts.put("employee_expertise", insertExpertise(conn));
+            counts.put("seasonal_availability", insertAvailability(conn));
+            counts.put("permanent_conflicts", insertConflicts(conn));
+            counts.put("time_off_requests", insertTimeOff(conn));
+            List<GameRow> games = buildGames(sportShape);
+            counts.put("game_schedules", insertGames(conn, games));
+            Map<Long, Double> hours = new HashMap<>();
+            counts.put("shifts", insertShifts(conn, games, supervisorEligible, hours));
+            counts.put("weekly_hours", insertWeeklyHours(conn, hours));
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return counts;
+    }
+
+    private int insertUsers(Connection conn) throws SQLException {
+        String sql = "INSERT INTO users (username, password_hash, role) VALUES (?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            // Not a valid hash: generated accounts are not meant to log in
+            String hash = "$2a$10$generated.season.account.no.login.xxxxxxxxxxxxxxxxxxxxx";
+            stmt.setString(1, "admin");
+            stmt.setString(2, hash);
+            stmt.setString(3, "ADMIN");
+            stmt.addBatch();
+            for (int i = 1; i <= scale.staff; i++) {
+                stmt.setString(1, "staff" + i);
+                stmt.setString(2, hash);
+                stmt.setString(3, "STAFF");
+                addBatch(stmt, i + 1);
+            }
+            stmt.executeBatch();
+        }
+        return scale.staff + 1;
+    }
+
+    private int insertSports(Connection conn, int[][] sportShape) throws SQLException {
+        String sql = "INSERT INTO sports (sport_name, default_duration_minutes, " +
+                     "required_supervisors, required_referees) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < scale.sports; i++) {
+                int duration = 60 + 30 * random.nextInt(3);
+                int referees = 1 + random.nextInt(3);
+                sportShape[i] = new int[] { duration, 1, referees };
+                stmt.setString(1, SPORTS[i]);
+                stmt.setInt(2, duration);
+                stmt.setInt(3, 1);
+                stmt.setInt(4, referees);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        return scale.sports;
+    }
+
+    private int insertEmployees(Connection conn, boolean[] supervisorEligible) throws SQLException {
+        String sql = "INSERT INTO employees (user_id, first_name, last_name, " +
+                     "max_hours_per_week, is_supervisor_eligible, active_status) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int employeeId = 1; employeeId <= scale.staff; employeeId++) {
+                supervisorEligible[employeeId] = random.nextDouble() < 0.3;
+                stmt.setInt(1, employeeId + 1);
+                stmt.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                stmt.setString(3, LAST_NAMES[random.nextInt(LAST_NAMES.length)] + employeeId);
+                stmt.setInt(4, random.nextDouble() < 0.8 ? 20 : 10 + random.nextInt(10));
+                stmt.setInt(5, supervisorEligible[employeeId] ? 1 : 0);
+                // A few inactive employees, as in a real roster
+                stmt.setInt(6, random.nextDouble() < 0.03 ? 0 : 1);
+                addBatch(stmt, employeeId);
+            }
+            stmt.executeBatch();
+        }
+        return scale.staff;
+    }
+
+    private int insertExpertise(Connection conn) throws SQLException {
+        String sql = "INSERT INTO employee_expertise (employee_id, sport_id, expertise_level) VALUES (?, ?, ?)";
+        String[] levels = { "BEGINNER", "INTERMEDIATE", "EXPERT" };
+        int rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int employeeId = 1; employeeId <= scale.staff; employeeId++) {
+                Set<Integer> sports = new TreeSet<>();
+                int count = 1 + random.nextInt(Math.min(3, scale.sports));
+                while (sports.size() < count) {
+                    sports.add(1 + random.nextInt(scale.sports));
+                }
+                for (int sportId : sports) {
+                    stmt.setInt(1, employeeId);
+                    stmt.setInt(2, sportId);
+                    stmt.setString(3, levels[random.nextInt(levels.length)]);
+                    addBatch(stmt, ++rows);
+                }
+            }
+            stmt.executeBatch();
+        }
+        return rows;
+    }
+
+    private int insertAvailability(Connection conn) throws SQLException {
+        String sql = "INSERT INTO seasonal_availability (employee_id, season, year, day_of_week, " +
+                     "start_time, end_time, is_preferred) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        // Every (season, year) the generated weeks touch
+        Set<String> seasons = new LinkedHashSet<>();
+        for (LocalDate day = scale.getStart(); !day.isAfter(scale.getEnd()); day = day.plusWeeks(1)) {
+            seasons.add(DateTimeUtil.getSeason(day) + ":" + day.getYear());
+        }
+
+        int rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int employeeId = 1; employeeId <= scale.staff; employeeId++) {
+                for (String seasonYear : seasons) {
+                    String[] parts = seasonYear.split(":");
+                    for (DayOfWeek day : DayOfWeek.values()) {
+                        if (random.nextDouble() >= scale.availabilityDensity) {
+                            continue;
+                        }
+                        stmt.setInt(1, employeeId);
+                        stmt.setString(2, parts[0]);
+                        stmt.setInt(3, Integer.parseInt(parts[1]));
+                        stmt.setString(4, day.name());
+                        stmt.setTime(5, Time.valueOf(LocalTime.of(14 + random.nextInt(3), 0)));
+                        stmt.setTime(6, Time.valueOf(LocalTime.of(21 + random.nextInt(3), 0)));
+                        stmt.setInt(7, random.nextDouble() < 0.25 ? 1 : 0);
+                        addBatch(stmt, ++rows);
+                    }
+                }
+            }
+            stmt.executeBatch();
+        }
+        return rows;
+    }
+
+    private int insertConflicts(Connection conn) throws SQLException {
+        String sql = "INSERT INTO permanent_conflicts " +
+                     "(employee_id, conflict_type, day_of_week, start_time, end_time, description) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)";
+        int rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int employeeId = 1; employeeId <= scale.staff; employeeId++) {
+                if (random.nextDouble() >= 0.2) {
+                    continue;
+                }
+                for (int c = 1 + random.nextInt(2); c > 0; c--) {
+                    boolean job = random.nextDouble() < 0.3;
+                    int startHour = job ? 17 : 15 + random.nextInt(4);
+                    stmt.setInt(1, employeeId);
+                    stmt.setString(2, job ? "JOB" : "CLASS");
+                    stmt.setString(3, DayOfWeek.of(1 + random.nextInt(5)).name());
+                    stmt.setTime(4, Time.valueOf(LocalTime.of(startHour, 0)));
+                    stmt.setTime(5, Time.valueOf(LocalTime.of(startHour + 2, 0)));
+                    stmt.setString(6, job ? "Part-time job" : "Evening class");
+                    addBatch(stmt, ++rows);
+                }
+            }
+            stmt.executeBatch();
+        }
+        return rows;
+    }
+
+    private int insertTimeOff(Connection conn) throws SQLException {
+        String sql = "INSERT INTO time_off_requests (employee_id, request_date, start_time, end_time, " +
+                     "is_full_day, request_status, reason, submitted_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        int days = scale.weeks * 7;
+        int rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int employeeId = 1; employeeId <= scale.staff; employeeId++) {
+                if (random.nextDouble() >= 0.1) {
+                    continue;
+                }
+                for (int r = 1 + random.nextInt(3); r > 0; r--) {
+                    LocalDate date = scale.getStart().plusDays(random.nextInt(days));
+                    stmt.setInt(1, employeeId);
+                    stmt.setDate(2, Date.valueOf(date));
+                    stmt.setTime(3, Time.valueOf(LocalTime.MIDNIGHT));
+                    stmt.setTime(4, Time.valueOf(LocalTime.of(23, 59)));
+                    stmt.setInt(5, 1);
+                    stmt.setString(6, random.nextDouble() < 0.7 ? "APPROVED" : "PENDING");
+                    stmt.setString(7, "Generated");
+                    stmt.setTimestamp(8, Timestamp.valueOf(date.minusDays(10).atTime(12, 0)));
+                    addBatch(stmt, ++rows);
+                }
+            }
+            stmt.executeBatch();
+        }
+        return rows;
+    }
+
+    private List<GameRow> buildGames(int[][] sportShape) {
+        int days = scale.weeks * 7;
+        List<GameRow> games = new ArrayList<>(scale.games);
+        for (int i = 0; i < scale.games; i++) {
+            int sportId = 1 + random.nextInt(scale.sports);
+            int[] shape = sportShape[sportId - 1];
+            LocalDate date = scale.getStart().plusDays(random.nextInt(days));
+            LocalTime start = LocalTime.of(16 + random.nextInt(5), random.nextBoolean() ? 0 : 30);
+            games.add(new GameRow(sportId, date, start, start.plusMinutes(shape[0]),
+                LOCATIONS[random.nextInt(LOCATIONS.length)], shape[1], shape[2]));
+        }
+        games.sort(Comparator.comparing((GameRow g) -> g.date).thenComparing(g -> g.start));
+        return games;
+    }
+
+    private int insertGames(Connection conn, List<GameRow> games) throws SQLException {
+        String sql = "INSERT INTO game_schedules (sport_id, game_date, start_time, end_time, location, " +
+                     "required_supervisors, required_referees, schedule_cycle_start, schedule_cycle_end, " +
+                     "created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int row = 0;
+            for (GameRow game : games) {
+                LocalDate weekStart = DateTimeUtil.getWeekStart(game.date);
+                stmt.setInt(1, game.sportId);
+                stmt.setDate(2, Date.valueOf(game.date));
+                stmt.setTime(3, Time.valueOf(game.start));
+                stmt.setTime(4, Time.valueOf(game.end));
+                stmt.setString(5, game.location);
+                stmt.setInt(6, game.supervisors);
+                stmt.setInt(7, game.referees);
+                stmt.setDate(8, Date.valueOf(weekStart));
+                stmt.setDate(9, Date.valueOf(weekStart.plusDays(6)));
+                stmt.setInt(10, 1);
+                addBatch(stmt, ++row);
+            }
+            stmt.executeBatch();
+        }
+        return games.size();
+    }
+
+    /**
+     * Shifts for every game; assignedFraction of them go to a random employee
+     * who stays within 20 hours that week (supervisor slots to eligible staff)
+     */
+    private int insertShifts(Connection conn, List<GameRow> games, boolean[] supervisorEligible,
+                             Map<Long, Double> hours) throws SQLException {
+        String sql = "INSERT INTO shifts (game_schedule_id, position_type, position_number, " +
+                     "assigned_employee_id, assignment_status, assigned_at) VALUES (?, ?, ?, ?, ?, ?)";
+        int rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int g = 0; g < games.size(); g++) {
+                GameRow game = games.get(g);
+                double duration = java.time.Duration.between(game.start, game.end).toMinutes() / 60.0;
+                long week = DateTimeUtil.getWeekStart(game.date).toEpochDay();
+                Set<Integer> onThisGame = new HashSet<>();
+                for (int p = 0; p < game.supervisors + game.referees; p++) {
+                    boolean supervisor = p < game.supervisors;
+                    Integer assigned = null;
+                    if (random.nextDouble() < scale.assignedFraction) {
+                        int employeeId = 1 + random.nextInt(scale.staff);
+                        long key = week * 100_000L + employeeId;
+                        if ((!supervisor || supervisorEligible[employeeId]) && onThisGame.add(employeeId) &&
+                            hours.getOrDefault(key, 0.0) + duration <= 20) {
+                            hours.merge(key, duration, Double::sum);
+                            assigned = employeeId;
+                        }
+                    }
+                    stmt.setInt(1, g + 1);
+                    stmt.setString(2, supervisor ? "SUPERVISOR" : "REFEREE");
+                    stmt.setInt(3, supervisor ? p + 1 : p - game.supervisors + 1);
+                    if (assigned != null) {
+                        stmt.setInt(4, assigned);
+                        stmt.setString(5, "ASSIGNED");
+                        stmt.setTimestamp(6, Timestamp.valueOf(LocalDateTime.of(game.date.minusDays(3), LocalTime.NOON)));
+                    } else {
+                        stmt.setNull(4, java.sql.Types.INTEGER);
+                        stmt.setString(5, "UNASSIGNED");
+                        stmt.setNull(6, java.sql.Types.TIMESTAMP);
+                    }
+                    addBatch(stmt, ++rows);
+                }
+            }
+            stmt.executeBatch();
+        }
+        return rows;
+    }
+
+    private int insertWeeklyHours(Connection conn, Map<Long, Double> hours) throws SQLException {
+        String sql = "INSERT INTO weekly_hours (employee_id, week_start_date, total_scheduled_hours) " +
+                     "VALUES (?, ?, ?)";
+        int rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Map.Entry<Long, Double> entry : new TreeMap<>(hours).entrySet()) {
+                stmt.setInt(1, (int) (entry.getKey() % 100_000L));
+                stmt.setDate(2, Date.valueOf(LocalDate.ofEpochDay(entry.getKey() / 100_000L)));
+                stmt.setDouble(3, entry.getValue());
+                addBatch(stmt, ++rows);
+            }
+            stmt.executeBatch();
+        }
+        return rows;
+    }
+
+    private static void addBatch(PreparedStatement stmt, int row) throws SQLException {
+        stmt.addBatch();
+        if (row % BATCH == 0) {
+            stmt.executeBatch();
+        }
+    }
+
+    private static final class GameRow {
+        final int sportId;
+        final LocalDate date;
+        final LocalTime start;
+        final LocalTime end;
+        final String location;
+        final int supervisors;
+        final int referees;
+
+        GameRow(int sportId, LocalDate date, LocalTime start, LocalTime end, String location,
+                int supervisors, int referees) {
+            this.sportId = sportId;
+            this.date = date;
+            this.start = start;
+            this.end = end;
+            this.location = location;
+            this.supervisors = supervisors;
+            this.referees = referees;
+        }
+    }
+}
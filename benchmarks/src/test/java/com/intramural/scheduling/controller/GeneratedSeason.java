@@ -0,0 +1,51 @@
+package com.intramural.scheduling.controller;
+
+import com.intramural.scheduling.dao.DatabaseConnection;
+import com.intramural.scheduling.loadtest.SeasonGenerator;
+import com.intramural.scheduling.util.LogConfig;
+import com.intramural.scheduling.util.LogLevel;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.Properties;
+
+/**
+ * A small fixed-seed season in the embedded database, generated once per test JVM.
+ * Tests that add rows of their own call ensureGenerated first, since the
+ * generator needs an empty schema.
+ */
+public final class GeneratedSeason {
+    static final LocalDate START = LocalDate.of(2025, 9, 1);
+    static final int WEEKS = 2;
+
+    private static boolean generated;
+
+    private GeneratedSeason() {
+    }
+
+    public static synchronized void ensureGenerated() throws Exception {
+        if (generated) {
+            return;
+        }
+        LogConfig.setRootLevel(LogLevel.WARN);
+        Properties props = new Properties();
+        props.setProperty("gen.seed", "7");
+        props.setProperty("gen.staff", "150");
+        props.setProperty("gen.games", "120");
+        props.setProperty("gen.weeks", String.valueOf(WEEKS));
+        props.setProperty("gen.start", START.toString());
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            new SeasonGenerator(SeasonGenerator.Scale.fromProperties(props)).generate(conn);
+        }
+        generated = true;
+    }
+
+    /** A controller on one of the generator's weekly cycles, with its games loaded */
+    static SchedulingController weekController(int week) throws Exception {
+        ensureGenerated();
+        LocalDate cycleStart = START.plusWeeks(week);
+        SchedulingController controller = new SchedulingController();
+        controller.createCycle(cycleStart, cycleStart.plusDays(6));
+        controller.loadGameSchedules();
+        return controller;
+    }
+}
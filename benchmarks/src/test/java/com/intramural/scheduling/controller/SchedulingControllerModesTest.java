@@ -0,0 +1,245 @@
+package com.intramural.scheduling.controller;
+
+import com.intramural.scheduling.model.Availability;
+import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.model.SchedulingRecommendation;
+import com.intramural.scheduling.service.AvailabilityService;
+import com.intramural.scheduling.service.LocalSearchOptimizer;
+import com.intramural.scheduling.util.DateTimeUtil;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The cycle recommendation modes end to end on the embedded database
+ */
+class SchedulingControllerModesTest {
+
+    @Test
+    void parallelMatchesSequential() throws Exception {
+        for (int week = 0; week < GeneratedSeason.WEEKS; week++) {
+            SchedulingController sequential = GeneratedSeason.weekController(week);
+            sequential.generateRecommendations();
+            SchedulingController parallel = GeneratedSeason.weekController(week);
+            parallel.generateRecommendationsParallel();
+
+            assertFalse(sequential.getCurrentCycle().getGameSchedules().isEmpty());
+            assertEquals(ranking(sequential), ranking(parallel), "week " + week);
+        }
+    }
+
+    @Test
+    void parallelModeFromTheDashboardEntryPoint() throws Exception {
+        SchedulingController sequential = GeneratedSeason.weekController(1);
+        sequential.generateRecommendations();
+        SchedulingController controller = new SchedulingController();
+        Schedule.Game game = sequential.getCurrentCycle().getGameSchedules().get(0);
+
+        int recommended = controller.generateCycleRecommendationsAsync(
+            game, SchedulingController.CycleMode.PARALLEL).get();
+
+        assertTrue(recommended > 0);
+        assertEquals(ranking(sequential), ranking(controller));
+    }
+
+    @Test
+    void constrainedModeFromTheDashboardEntryPoint() throws Exception {
+        SchedulingController controller = GeneratedSeason.weekController(0);
+        Schedule.Game game = controller.getCurrentCycle().getGameSchedules().get(0);
+
+        int recommended = controller.generateCycleRecommendationsAsync(
+            game, SchedulingController.CycleMode.CONSTRAINED).get();
+
+        assertTrue(recommended > 0);
+        assertNoOptionADoubleBooked(controller);
+    }
+
+    @Test
+    void optimalModeFromTheDashboardEntryPoint() throws Exception {
+        SchedulingController controller = GeneratedSeason.weekController(1);
+        Schedule.Game game = controller.getCurrentCycle().getGameSchedules().get(0);
+
+        int recommended = controller.generateCycleRecommendationsAsync(
+            game, SchedulingController.CycleMode.OPTIMAL).get();
+
+        assertTrue(recommended > 0);
+        assertNoOptionADoubleBooked(controller);
+    }
+
+    @Test
+    void incrementalModeFollowsAssignmentsFromTheDashboardEntryPoint() throws Exception {
+        SchedulingController controller = GeneratedSeason.weekController(0);
+        Schedule.Game first = controller.getCurrentCycle().getGameSchedules().get(0);
+
+        int recommended = controller.generateCycleRecommendationsAsync(
+            first, SchedulingController.CycleMode.INCREMENTAL).get();
+        assertTrue(recommended > 0);
+
+        Schedule.Game game = openGame(controller);
+        Schedule.Shift shift = openShift(controller, game);
+        int employeeId = controller.getRecommendations(shift.getShiftId()).get(0).getEmployee().getEmployeeId();
+        controller.assignShift(shift, employeeId, game);
+        try {
+            assertEquals(ranking(freshIncremental(0)), ranking(controller), "after assigning");
+        } finally {
+            controller.unassignShift(shift, game);
+        }
+        assertEquals(ranking(freshIncremental(0)), ranking(controller), "after unassigning");
+    }
+
+    @Test
+    void incrementalModeFollowsSavedAvailability() throws Exception {
+        SchedulingController controller = GeneratedSeason.weekController(1);
+        controller.generateRecommendationsIncremental();
+        Schedule.Game game = openGame(controller);
+        Schedule.Shift shift = openShift(controller, game);
+        int employeeId = controller.getRecommendations(shift.getShiftId()).get(0).getEmployee().getEmployeeId();
+
+        // Take the Option A off the game's weekday
+        AvailabilityService service = new AvailabilityService();
+        Availability.Season season = Availability.Season.valueOf(DateTimeUtil.getSeason(game.getGameDate()));
+        int year = game.getGameDate().getYear();
+        List<Availability.Seasonal> original = service.getSeasonalAvailability(employeeId, season, year);
+
+        service.submitSeasonalAvailability(employeeId, season, year, offGameDay(original, employeeId, game));
+        try {
+            SchedulingController.notifyAvailabilityChanged(employeeId).get();
+            assertNotEquals(employeeId,
+                controller.getRecommendations(shift.getShiftId()).get(0).getEmployee().getEmployeeId());
+            assertEquals(ranking(freshIncremental(1)), ranking(controller), "after the edit");
+        } finally {
+            service.submitSeasonalAvailability(employeeId, season, year, original);
+            SchedulingController.notifyAvailabilityChanged(employeeId).get();
+        }
+        assertEquals(ranking(freshIncremental(1)), ranking(controller), "after restoring");
+    }
+
+    @Test
+    void rerunSeesAvailabilitySavedSinceTheLastRun() throws Exception {
+        SchedulingController controller = GeneratedSeason.weekController(1);
+        controller.generateRecommendations();
+        Schedule.Game game = openGame(controller);
+        Schedule.Shift shift = openShift(controller, game);
+        int employeeId = controller.getRecommendations(shift.getShiftId()).get(0).getEmployee().getEmployeeId();
+
+        AvailabilityService service = new AvailabilityService();
+        Availability.Season season = Availability.Season.valueOf(DateTimeUtil.getSeason(game.getGameDate()));
+        int year = game.getGameDate().getYear();
+        List<Availability.Seasonal> original = service.getSeasonalAvailability(employeeId, season, year);
+
+        service.submitSeasonalAvailability(employeeId, season, year, offGameDay(original, employeeId, game));
+        try {
+            // Same controller, so the availability index must come from the new load
+            controller.generateRecommendations();
+            assertNotEquals(employeeId,
+                controller.getRecommendations(shift.getShiftId()).get(0).getEmployee().getEmployeeId());
+            SchedulingController fresh = GeneratedSeason.weekController(1);
+            fresh.generateRecommendations();
+            assertEquals(ranking(fresh), ranking(controller));
+        } finally {
+            service.submitSeasonalAvailability(employeeId, season, year, original);
+        }
+    }
+
+    @Test
+    void optimizeFromTheDashboardEntryPoint() throws Exception {
+        SchedulingController controller = GeneratedSeason.weekController(0);
+        Schedule.Game game = controller.getCurrentCycle().getGameSchedules().get(0);
+
+        LocalSearchOptimizer.Result result =
+            controller.optimizeScheduleAsync(game, Duration.ofMillis(300)).get();
+
+        assertEquals(result.getTotalShifts(), result.getAssignments().size());
+        assertTrue(result.getBestScore() >= result.getInitialScore() - 1e-9);
+        assertTrue(result.getIterations() > 0);
+    }
+
+    private static SchedulingController freshIncremental(int week) throws Exception {
+        SchedulingController controller = GeneratedSeason.weekController(week);
+        controller.generateRecommendationsIncremental();
+        return controller;
+    }
+
+    /** The availability without the game's weekday (one unrelated slot if nothing else is left) */
+    private static List<Availability.Seasonal> offGameDay(List<Availability.Seasonal> availability,
+                                                          int employeeId, Schedule.Game game) {
+        List<Availability.Seasonal> edited = new ArrayList<>();
+        for (Availability.Seasonal avail : availability) {
+            if (avail.getDayOfWeek() != game.getGameDate().getDayOfWeek()) {
+                edited.add(avail);
+            }
+        }
+        if (edited.isEmpty()) {
+            Availability.Season season = Availability.Season.valueOf(DateTimeUtil.getSeason(game.getGameDate()));
+            edited.add(new Availability.Seasonal(employeeId, season, game.getGameDate().getYear(),
+                game.getGameDate().getDayOfWeek().plus(1), LocalTime.of(6, 0), LocalTime.of(7, 0)));
+        }
+        return edited;
+    }
+
+    /** A cycle game with an unassigned shift that has recommendations */
+    private static Schedule.Game openGame(SchedulingController controller) {
+        for (Schedule.Game game : controller.getCurrentCycle().getGameSchedules()) {
+            if (openShift(controller, game) != null) {
+                return game;
+            }
+        }
+        return fail("No open shift with recommendations");
+    }
+
+    private static Schedule.Shift openShift(SchedulingController controller, Schedule.Game game) {
+        for (Schedule.Shift shift : game.getShifts()) {
+            if (shift.getAssignedEmployeeId() == null &&
+                    !controller.getRecommendations(shift.getShiftId()).isEmpty()) {
+                return shift;
+            }
+        }
+        return null;
+    }
+
+    /** No employee is Option A for two overlapping games, or for a game overlapping their assignments */
+    static void assertNoOptionADoubleBooked(SchedulingController controller) {
+        Map<Integer, List<Schedule.Game>> booked = new HashMap<>();
+        for (Schedule.Game game : controller.getCurrentCycle().getGameSchedules()) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                if (shift.getAssignedEmployeeId() != null) {
+                    booked.computeIfAbsent(shift.getAssignedEmployeeId(), k -> new ArrayList<>()).add(game);
+                }
+            }
+        }
+        for (Schedule.Game game : controller.getCurrentCycle().getGameSchedules()) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                List<SchedulingRecommendation> recs = controller.getRecommendations(shift.getShiftId());
+                if (recs.isEmpty() || shift.getAssignedEmployeeId() != null) {
+                    continue;
+                }
+                int employeeId = recs.get(0).getEmployee().getEmployeeId();
+                List<Schedule.Game> games = booked.computeIfAbsent(employeeId, k -> new ArrayList<>());
+                for (Schedule.Game other : games) {
+                    assertFalse(other.getStartDateTime().isBefore(game.getEndDateTime()) &&
+                                game.getStartDateTime().isBefore(other.getEndDateTime()),
+                        "Employee " + employeeId + " double-booked by shift " + shift.getShiftId());
+                }
+                games.add(game);
+            }
+        }
+    }
+
+    /** Shift ID to its recommended employee IDs, in rank order */
+    static Map<Integer, List<Integer>> ranking(SchedulingController controller) {
+        Map<Integer, List<Integer>> ranking = new TreeMap<>();
+        for (Schedule.Game game : controller.getCurrentCycle().getGameSchedules()) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                List<Integer> ranked = new ArrayList<>();
+                for (SchedulingRecommendation rec : controller.getRecommendations(shift.getShiftId())) {
+                    ranked.add(rec.getEmployee().getEmployeeId());
+                }
+                ranking.put(shift.getShiftId(), ranked);
+            }
+        }
+        return ranking;
+    }
+}
@@ -0,0 +1,62 @@
+package com.intramural.scheduling.controller;
+
+import com.intramural.scheduling.dao.EmployeeDAO;
+import com.intramural.scheduling.model.Schedule;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Background writes on the embedded database
+ */
+class SchedulingControllerWritesTest {
+
+    @Test
+    void assignShiftsIsAllOrNothing() throws Exception {
+        SchedulingController controller = GeneratedSeason.weekController(1);
+        Schedule.Game game = gameWithOpenShifts(controller, 2);
+        Iterator<Schedule.Shift> open = openShifts(game).iterator();
+        Schedule.Shift first = open.next();
+        Schedule.Shift second = open.next();
+        int employeeId = new EmployeeDAO().getAllActive().get(0).getEmployeeId();
+        int assignmentsBefore = controller.getAssignmentIndex().getAssignmentCount(employeeId);
+
+        // The second shift names an employee that does not exist
+        Map<Schedule.Shift, Integer> choices = new LinkedHashMap<>();
+        choices.put(first, employeeId);
+        choices.put(second, -1);
+        assertThrows(ExecutionException.class, () -> controller.assignShiftsAsync(game, choices).get());
+
+        assertNull(first.getAssignedEmployeeId());
+        SchedulingController reloaded = GeneratedSeason.weekController(1);
+        for (Schedule.Game reloadedGame : reloaded.getCurrentCycle().getGameSchedules()) {
+            for (Schedule.Shift shift : reloadedGame.getShifts()) {
+                if (shift.getShiftId() == first.getShiftId()) {
+                    assertNull(shift.getAssignedEmployeeId(), "first shift was saved without the second");
+                }
+            }
+        }
+        assertEquals(assignmentsBefore, controller.getAssignmentIndex().getAssignmentCount(employeeId));
+    }
+
+    private static Schedule.Game gameWithOpenShifts(SchedulingController controller, int count) {
+        for (Schedule.Game game : controller.getCurrentCycle().getGameSchedules()) {
+            if (openShifts(game).size() >= count) {
+                return game;
+            }
+        }
+        return fail("No game with " + count + " open shifts");
+    }
+
+    private static List<Schedule.Shift> openShifts(Schedule.Game game) {
+        List<Schedule.Shift> open = new ArrayList<>();
+        for (Schedule.Shift shift : game.getShifts()) {
+            if (shift.getAssignedEmployeeId() == null) {
+                open.add(shift);
+            }
+        }
+        return open;
+    }
+}
@@ -0,0 +1,108 @@
+package com.intramural.scheduling.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statements are reported under the method that ran them
+ */
+class JdbcMetricsTest {
+    private static final String URL = "jdbc:h2:mem:jdbc_metrics_test;DB_CLOSE_DELAY=-1";
+    private static final String COUNT = "SELECT COUNT(*) FROM metrics_rows";
+
+    private final JdbcMetrics metrics = new JdbcMetrics();
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = metrics.wrap(DriverManager.getConnection(URL, "sa", ""), 0);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS metrics_rows (id INT PRIMARY KEY)");
+            stmt.execute("MERGE INTO metrics_rows VALUES (1), (2), (3)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void sharedSqlIsReportedPerCallingMethod() throws SQLException {
+        countFromFirst();
+        countFromSecond();
+        countFromSecond();
+
+        assertEquals(1, metrics.getStatement("JdbcMetricsTest.countFromFirst").getCalls());
+        assertEquals(2, metrics.getStatement("JdbcMetricsTest.countFromSecond").getCalls());
+    }
+
+    @Test
+    void aMethodThatStartsSharingSqlLateIsCountedExactly() throws SQLException {
+        for (int i = 0; i < 200; i++) {
+            countFromFirst();
+        }
+        for (int i = 0; i < 200; i++) {
+            countFromSecond();
+        }
+
+        assertEquals(200, metrics.getStatement("JdbcMetricsTest.countFromFirst").getCalls());
+        assertEquals(200, metrics.getStatement("JdbcMetricsTest.countFromSecond").getCalls());
+    }
+
+    @Test
+    void privateSqlHelpersReportTheirCaller() throws SQLException {
+        assertEquals(3, countThroughHelper());
+
+        assertNotNull(metrics.getStatement("JdbcMetricsTest.countThroughHelper"));
+        assertNull(metrics.getStatement("JdbcMetricsTest.count"));
+    }
+
+    @Test
+    void rowsAreCountedThroughTheResultSet() throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM metrics_rows ORDER BY id");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                assertTrue(rs.getInt(1) > 0);
+            }
+        }
+
+        StatementMetrics statement = metrics.getStatement("JdbcMetricsTest.rowsAreCountedThroughTheResultSet");
+        assertEquals(1, statement.getCalls());
+        assertEquals(3, statement.getRows());
+    }
+
+    private long countFromFirst() throws SQLException {
+        return count(conn, COUNT, 0);
+    }
+
+    private long countFromSecond() throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(COUNT);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private long countThroughHelper() throws SQLException {
+        return count(conn, COUNT, 0);
+    }
+
+    /** Shaped like CycleSnapshotDAO.query: (Connection, String sql, ...) and private */
+    private static long count(Connection conn, String sql, int unused) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.controller.GeneratedSeason;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent weekly-hours adjustments on the embedded database, for weeks that
+ * have no row yet
+ */
+class WeeklyHoursDAOTest {
+
+    private static final int THREADS = 8;
+    private static final int ADJUSTMENTS = 25;
+
+    private static int employeeId;
+    private final WeeklyHoursDAO dao = new WeeklyHoursDAO();
+
+    @BeforeAll
+    static void pickEmployee() throws Exception {
+        GeneratedSeason.ensureGenerated();
+        employeeId = new EmployeeDAO().getAllActive().get(0).getEmployeeId();
+    }
+
+    @Test
+    void concurrentAssignsAddUpExactly() throws Exception {
+        LocalDate week = LocalDate.of(2040, 1, 2);
+        assertEquals(0, dao.findByEmployeeAndWeek(employeeId, week).getTrackingId(), "row exists already");
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            // Quarter and half hours are exact in both double and DECIMAL(5, 2)
+            double delta = t % 2 == 0 ? 0.25 : 0.5;
+            done.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ADJUSTMENTS; i++) {
+                    adjustInTransaction(week, delta);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        double expected = THREADS / 2 * ADJUSTMENTS * (0.25 + 0.5);
+        assertEquals(expected, dao.findByEmployeeAndWeek(employeeId, week).getTotalScheduledHours(), 0.0);
+    }
+
+    @Test
+    void insertThatLosesTheRaceIsRetriedAsAnUpdate() throws Exception {
+        LocalDate week = LocalDate.of(2040, 1, 9);
+        assertEquals(0, dao.findByEmployeeAndWeek(employeeId, week).getTrackingId(), "row exists already");
+
+        // First transaction creates the row and holds it uncommitted
+        Future<?> second;
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            dao.adjustScheduledHours(conn, Map.of(week, Map.of(employeeId, 3.0)));
+
+            // The second one finds no row to update, so its insert waits on the first
+            CountDownLatch started = new CountDownLatch(1);
+            second = pool.submit(() -> {
+                started.countDown();
+                adjustInTransaction(week, 1.5);
+                return null;
+            });
+            started.await();
+            Thread.sleep(500);
+            assertFalse(second.isDone());
+
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+        second.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(4.5, dao.findByEmployeeAndWeek(employeeId, week).getTotalScheduledHours(), 0.0);
+    }
+
+    private void adjustInTransaction(LocalDate week, double delta) throws Exception {
+        DatabaseConnection.inTransaction(conn -> {
+            dao.adjustScheduledHours(conn, Map.of(week, Map.of(employeeId, delta)));
+            return null;
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.model.Schedule;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The interval index against a plain list of assigned games, through random
+ * adds and removes
+ */
+class AssignmentIntervalIndexTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final int EMPLOYEE = 1;
+
+    @Test
+    void matchesAScanAfterEveryChange() {
+        Random random = new Random(42);
+        AssignmentIntervalIndex index = new AssignmentIntervalIndex();
+        Map<Integer, Schedule.Game> assigned = new HashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            if (assigned.isEmpty() || random.nextInt(3) > 0) {
+                int shiftId = step;
+                Schedule.Game game = randomGame(random);
+                index.add(EMPLOYEE, shiftId, game);
+                assigned.put(shiftId, game);
+            } else {
+                List<Integer> shiftIds = new ArrayList<>(assigned.keySet());
+                int shiftId = shiftIds.get(random.nextInt(shiftIds.size()));
+                assertTrue(index.remove(EMPLOYEE, shiftId, assigned.remove(shiftId)));
+            }
+
+            assertEquals(assigned.size(), index.getAssignmentCount(EMPLOYEE));
+            for (int probe = 0; probe < 5; probe++) {
+                Schedule.Game query = randomGame(random);
+                assertEquals(scanOverlaps(assigned.values(), query), index.overlaps(EMPLOYEE, query),
+                    "step " + step + ", " + query.getGameDate() + " " + query.getStartTime());
+            }
+        }
+    }
+
+    @Test
+    void removesAShiftWhoseGameMovedAfterIndexing() {
+        AssignmentIntervalIndex index = new AssignmentIntervalIndex();
+        Schedule.Game game = game(0, LocalTime.of(18, 0), LocalTime.of(20, 0));
+        index.add(EMPLOYEE, 7, game);
+
+        Schedule.Game moved = game(0, LocalTime.of(19, 0), LocalTime.of(20, 0));
+        assertTrue(index.remove(EMPLOYEE, 7, moved));
+        assertFalse(index.remove(EMPLOYEE, 7, moved));
+        assertEquals(0, index.getAssignmentCount(EMPLOYEE));
+    }
+
+    /** Games of 30 minutes to 5 hours over two days, often sharing a start, all ending before midnight */
+    private static Schedule.Game randomGame(Random random) {
+        LocalTime start = LocalTime.of(8 + random.nextInt(10), random.nextInt(4) * 15);
+        return game(random.nextInt(2), start, start.plusMinutes(30 + random.nextInt(10) * 30));
+    }
+
+    private static boolean scanOverlaps(Collection<Schedule.Game> games, Schedule.Game query) {
+        for (Schedule.Game game : games) {
+            if (game.getGameDate().equals(query.getGameDate()) &&
+                game.getStartTime().isBefore(query.getEndTime()) &&
+                query.getStartTime().isBefore(game.getEndTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Schedule.Game game(int day, LocalTime start, LocalTime end) {
+        LocalDate date = MONDAY.plusDays(day);
+        return new Schedule.Game(1, date, start, end, "Gym", 1, 1, MONDAY, MONDAY.plusDays(6), 1);
+    }
+}
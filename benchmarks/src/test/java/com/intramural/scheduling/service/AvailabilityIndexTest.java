@@ -0,0 +1,150 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.model.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The grid must answer every hard-constraint and preference check exactly as
+ * the list checks do, including windows that only touch the game
+ */
+class AvailabilityIndexTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+    private static final Availability.Season SEASON = Availability.Season.SPRING;
+
+    private static final int AVAILABLE = 1;
+    private static final int CLASSES = 2;
+    private static final int TIME_OFF = 3;
+    private static final int DAY_OFF = 4;
+
+    private final Map<Integer, List<Availability.Seasonal>> availability = new HashMap<>();
+    private final Map<Integer, List<Availability.PermanentConflict>> conflicts = new HashMap<>();
+    private final Map<Integer, List<TimeOffRequest>> timeOff = new HashMap<>();
+    private final ConflictChecker checker = new ConflictChecker();
+
+    AvailabilityIndexTest() {
+        availability.put(AVAILABLE, List.of(
+            window(9, 0, 12, 0, false),
+            window(12, 0, 15, 0, false),
+            window(16, 0, 18, 0, true),
+            // Ends at midnight, i.e. before it starts
+            window(20, 0, 0, 0, false),
+            new Availability.Seasonal(AVAILABLE, SEASON, 2025, DayOfWeek.MONDAY,
+                LocalTime.of(7, 7, 30), LocalTime.of(8, 0))));
+        conflicts.put(CLASSES, List.of(
+            new Availability.PermanentConflict(CLASSES, Availability.ConflictType.CLASS,
+                DayOfWeek.MONDAY, LocalTime.of(16, 0), LocalTime.of(18, 0), "Class"),
+            new Availability.PermanentConflict(CLASSES, Availability.ConflictType.JOB,
+                DayOfWeek.MONDAY, LocalTime.of(21, 10), LocalTime.of(21, 50), "Job")));
+        timeOff.put(TIME_OFF, List.of(
+            approved(new TimeOffRequest(TIME_OFF, MONDAY, LocalTime.of(10, 0), LocalTime.of(11, 15), "Exam")),
+            // Still pending: never counts
+            new TimeOffRequest(TIME_OFF, MONDAY, LocalTime.of(13, 0), LocalTime.of(14, 0), "Pending")));
+        timeOff.put(DAY_OFF, List.of(approved(new TimeOffRequest(DAY_OFF, MONDAY, true, "Trip"))));
+    }
+
+    @Test
+    void gridMatchesTheListChecksAtEverySlotBoundary() {
+        AvailabilityIndex index = AvailabilityIndex.build(
+            List.of(AVAILABLE, CLASSES, TIME_OFF, DAY_OFF), availability, conflicts, timeOff);
+
+        int checked = 0;
+        for (Schedule.Game game : games()) {
+            AvailabilityIndex.GameMask mask = AvailabilityIndex.maskFor(game);
+            String label = game.getStartTime() + "-" + game.getEndTime();
+            for (int employeeId : List.of(AVAILABLE, CLASSES, TIME_OFF, DAY_OFF)) {
+                Employee employee = new Employee(employeeId, employeeId, "Test", "Employee");
+                AvailabilityIndex.EmployeeGrid grid = index.getGrid(employeeId);
+
+                assertEquals(
+                    checker.checkHardConstraints(employee, game, availability.get(employeeId),
+                        conflicts.get(employeeId), timeOff.get(employeeId), null, null),
+                    checker.checkHardConstraints(employee, game, mask, grid, null, null),
+                    "employee " + employeeId + ", game " + label);
+                checked++;
+            }
+
+            AvailabilityIndex.EmployeeGrid grid = index.getGrid(AVAILABLE);
+            assertEquals(listPreferred(game), grid.isPreferred(mask), "preferred, game " + label);
+            assertEquals(listCovers(game), grid.coversGame(mask), "covers, game " + label);
+        }
+        assertTrue(checked > 5000);
+    }
+
+    @Test
+    void touchingWindowsCount() {
+        AvailabilityIndex index = AvailabilityIndex.build(
+            List.of(CLASSES), availability, conflicts, timeOff);
+
+        // The class ends at 18:00, the game starts at 18:00
+        AvailabilityIndex.GameMask mask = AvailabilityIndex.maskFor(game(LocalTime.of(18, 0), LocalTime.of(20, 0)));
+        assertTrue(index.getGrid(CLASSES).hasPermanentConflict(mask));
+        mask = AvailabilityIndex.maskFor(game(LocalTime.of(18, 1), LocalTime.of(20, 0)));
+        assertFalse(index.getGrid(CLASSES).hasPermanentConflict(mask));
+    }
+
+    /**
+     * Games starting on every 15-minute boundary and a minute either side, of
+     * several lengths, plus ones running past midnight
+     */
+    private static List<Schedule.Game> games() {
+        List<Schedule.Game> games = new ArrayList<>();
+        int[] lengths = {0, 1, 15, 59, 120};
+        for (int boundary = 0; boundary < 24 * 60; boundary += 15) {
+            for (int start = boundary - 1; start <= boundary + 1; start++) {
+                if (start < 0) {
+                    continue;
+                }
+                LocalTime startTime = LocalTime.MIN.plusMinutes(start);
+                for (int length : lengths) {
+                    games.add(game(startTime, startTime.plusMinutes(length)));
+                }
+                games.add(game(startTime, startTime.minusMinutes(60)));
+            }
+        }
+        return games;
+    }
+
+    private boolean listPreferred(Schedule.Game game) {
+        for (Availability.Seasonal avail : availability.get(AVAILABLE)) {
+            if (avail.isPreferred() && avail.overlapsWith(game.getStartTime(), game.getEndTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** ShiftValidationService's rule: one window from at or before the start to at or after the end */
+    private boolean listCovers(Schedule.Game game) {
+        for (Availability.Seasonal avail : availability.get(AVAILABLE)) {
+            if (!game.getStartTime().isBefore(avail.getStartTime()) &&
+                !game.getEndTime().isAfter(avail.getEndTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Availability.Seasonal window(int fromHour, int fromMinute, int toHour, int toMinute,
+                                                boolean preferred) {
+        Availability.Seasonal window = new Availability.Seasonal(AVAILABLE, SEASON, 2025, DayOfWeek.MONDAY,
+            LocalTime.of(fromHour, fromMinute), LocalTime.of(toHour, toMinute));
+        window.setPreferred(preferred);
+        return window;
+    }
+
+    private static TimeOffRequest approved(TimeOffRequest request) {
+        request.approve(1);
+        return request;
+    }
+
+    private static Schedule.Game game(LocalTime start, LocalTime end) {
+        return new Schedule.Game(1, MONDAY, start, end, "Gym", 1, 1, MONDAY, MONDAY.plusDays(6), 1);
+    }
+}
@@ -0,0 +1,275 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.bench.CycleFixture;
+import com.intramural.scheduling.model.*;
+import java.time.LocalDate;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The cycle-wide recommendation modes on the fixed-seed benchmark cycle
+ */
+class CycleModesTest {
+
+    private static final int PROCESSORS = 4;
+
+    private final CycleFixture fixture = new CycleFixture(120, 240, 0.5);
+    private final SchedulingEngine engine = new SchedulingEngine();
+
+    @Test
+    void parallelMatchesSequential() {
+        Map<Integer, List<SchedulingRecommendation>> sequential = engine.generateAllRecommendations(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, fixture.weeklyHoursMap);
+        Map<Integer, List<SchedulingRecommendation>> parallel = engine.generateAllRecommendationsParallel(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, sameHoursEveryWeek(), PROCESSORS);
+
+        assertEquals(fixture.shiftCount(), sequential.size());
+        assertEquals(ranking(sequential), ranking(parallel));
+    }
+
+    @Test
+    void parallelSeesAssignedGames() {
+        Map<Integer, List<Schedule.Game>> none = new HashMap<>();
+        Map<Integer, List<SchedulingRecommendation>> withAssigned = engine.generateAllRecommendationsParallel(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, sameHoursEveryWeek(), PROCESSORS);
+        Map<Integer, List<SchedulingRecommendation>> withoutAssigned = engine.generateAllRecommendationsParallel(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            none, sameHoursEveryWeek(), PROCESSORS);
+
+        assertNotEquals(ranking(withoutAssigned), ranking(withAssigned));
+        for (Schedule.Game game : fixture.games) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                for (SchedulingRecommendation rec : withAssigned.get(shift.getShiftId())) {
+                    int employeeId = rec.getEmployee().getEmployeeId();
+                    assertFalse(overlapsAny(fixture.existingGamesMap.get(employeeId), game),
+                        "Employee " + employeeId + " recommended during a game they already work");
+                }
+            }
+        }
+    }
+
+    @Test
+    void constrainedNeverViolatesHardConstraints() {
+        Map<Integer, List<SchedulingRecommendation>> constrained = engine.generateConstrainedRecommendations(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, sameHoursEveryWeek());
+
+        assertEquals(fixture.shiftCount(), constrained.size());
+        assertOptionAFeasible(constrained, sameHoursEveryWeek());
+    }
+
+    @Test
+    void optimalNeverViolatesHardConstraints() {
+        Map<Integer, List<SchedulingRecommendation>> optimal = engine.generateOptimalRecommendations(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, sameHoursEveryWeek());
+
+        assertEquals(fixture.shiftCount(), optimal.size());
+        assertOptionAFeasible(optimal, sameHoursEveryWeek());
+    }
+
+    @Test
+    void optimalSeedsEveryWeekWithItsOwnHours() {
+        // Everyone is at the limit in the last week only; the solver must not staff it
+        LocalDate lastWeek = HoursTracker.getWeekStartDate(CycleFixture.CYCLE_END);
+        Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> byWeek = new HashMap<>();
+        Map<Integer, Tracking.WeeklyHours> full = new HashMap<>();
+        for (Employee employee : fixture.employees) {
+            Tracking.WeeklyHours hours = new Tracking.WeeklyHours(employee.getEmployeeId(), lastWeek);
+            hours.setTotalScheduledHours(employee.getMaxHoursPerWeek());
+            full.put(employee.getEmployeeId(), hours);
+        }
+        byWeek.put(lastWeek, full);
+
+        Map<Integer, List<SchedulingRecommendation>> optimal = engine.generateOptimalRecommendations(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            fixture.existingGamesMap, byWeek);
+
+        int lastWeekShifts = 0;
+        for (Schedule.Game game : fixture.games) {
+            boolean inLastWeek = HoursTracker.getWeekStartDate(game.getGameDate()).equals(lastWeek);
+            for (Schedule.Shift shift : game.getShifts()) {
+                if (inLastWeek) {
+                    lastWeekShifts++;
+                    assertTrue(optimal.get(shift.getShiftId()).isEmpty(),
+                        "Shift " + shift.getShiftId() + " staffed past the weekly limit");
+                }
+            }
+        }
+        assertTrue(lastWeekShifts > 0);
+        assertOptionAFeasible(optimal, byWeek);
+    }
+
+    /** assertScheduleFeasible for the Option A picks, against the fixture's assigned games */
+    void assertOptionAFeasible(Map<Integer, List<SchedulingRecommendation>> recommendations,
+                               Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek) {
+        Map<Integer, Integer> optionA = new HashMap<>();
+        for (Map.Entry<Integer, List<SchedulingRecommendation>> entry : recommendations.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                optionA.put(entry.getKey(), entry.getValue().get(0).getEmployee().getEmployeeId());
+            }
+        }
+        assertScheduleFeasible(optionA, fixture.existingGamesMap, weeklyHoursByWeek);
+    }
+
+    /**
+     * Every scheduled employee passes the hard constraints against their assigned
+     * games, no one works two overlapping games, and each employee's hours fit the
+     * weekly limit on top of the hours already scheduled. Availability is checked
+     * on the same slot grid the engine uses.
+     *
+     * @param schedule shift ID to employee ID; missing or null = unstaffed
+     */
+    void assertScheduleFeasible(Map<Integer, Integer> schedule,
+                                Map<Integer, List<Schedule.Game>> existingGamesMap,
+                                Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek) {
+        ConflictChecker checker = new ConflictChecker();
+        Map<Integer, Employee> employees = new HashMap<>();
+        for (Employee employee : fixture.employees) {
+            employees.put(employee.getEmployeeId(), employee);
+        }
+        AvailabilityIndex index = AvailabilityIndex.build(
+            new ArrayList<>(employees.keySet()), fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap);
+        Map<Integer, List<Schedule.Game>> picked = new HashMap<>();
+        Map<String, Double> hours = new HashMap<>();
+
+        for (Schedule.Game game : fixture.games) {
+            LocalDate weekStart = HoursTracker.getWeekStartDate(game.getGameDate());
+            for (Schedule.Shift shift : game.getShifts()) {
+                Integer employeeId = schedule.get(shift.getShiftId());
+                if (employeeId == null) {
+                    continue;
+                }
+                Employee employee = employees.get(employeeId);
+                String label = "Shift " + shift.getShiftId() + ", employee " + employeeId;
+
+                assertEquals(List.of(), checker.checkHardConstraints(employee, game,
+                    AvailabilityIndex.maskFor(game), index.getGrid(employeeId),
+                    existingGamesMap.get(employeeId), null), label);
+                if (shift.getPositionType() == Schedule.PositionType.SUPERVISOR) {
+                    assertTrue(employee.isSupervisorEligible(), label + " is not supervisor eligible");
+                }
+                assertFalse(overlapsAny(picked.get(employeeId), game), label + " is double-booked");
+                picked.computeIfAbsent(employeeId, k -> new ArrayList<>()).add(game);
+
+                Tracking.WeeklyHours scheduled =
+                    weeklyHoursByWeek.getOrDefault(weekStart, Collections.emptyMap()).get(employeeId);
+                double total = hours.merge(employeeId + "@" + weekStart, game.getDurationHours(), Double::sum);
+                double start = scheduled != null ? scheduled.getTotalScheduledHours() : 0;
+                assertTrue(start + total <= employee.getMaxHoursPerWeek() + 1e-9,
+                    label + " exceeds the weekly limit in week " + weekStart);
+            }
+        }
+    }
+
+    @Test
+    void singleShiftIndexGivesTheSameRanking() {
+        List<Integer> ids = new ArrayList<>();
+        for (Employee employee : fixture.employees) {
+            ids.add(employee.getEmployeeId());
+        }
+        AvailabilityIndex index = AvailabilityIndex.build(
+            ids, fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap);
+
+        for (Schedule.Game game : fixture.games) {
+            Sport sport = fixture.sportsMap.get(game.getSportId());
+            for (Schedule.Shift shift : game.getShifts()) {
+                Map<Integer, List<SchedulingRecommendation>> fromMaps = Map.of(shift.getShiftId(),
+                    engine.generateTopRecommendations(shift, game, sport, fixture.employees,
+                        fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+                        fixture.existingGamesMap, fixture.weeklyHoursMap, Set.of(), 3));
+                Map<Integer, List<SchedulingRecommendation>> fromIndex = Map.of(shift.getShiftId(),
+                    engine.generateTopRecommendations(shift, game, sport, fixture.employees,
+                        fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+                        fixture.existingGamesMap, fixture.weeklyHoursMap, Set.of(), 3, index));
+                assertEquals(ranking(fromMaps), ranking(fromIndex));
+            }
+        }
+    }
+
+    @Test
+    void localSearchIsReproducibleForTheSameSeed() {
+        LocalSearchOptimizer.Result first = optimizeFromGreedy(7L);
+        LocalSearchOptimizer.Result second = optimizeFromGreedy(7L);
+
+        assertTrue(first.getIterations() > 0);
+        assertEquals(first.getAssignments(), second.getAssignments());
+        assertEquals(first.getBestScore(), second.getBestScore(), 1e-9);
+        assertEquals(first.getAcceptedMoves(), second.getAcceptedMoves());
+    }
+
+    @Test
+    void localSearchNeverViolatesHardConstraints() {
+        LocalSearchOptimizer.Result result = optimizeFromGreedy(11L);
+
+        assertTrue(result.getBestScore() >= result.getInitialScore() - 1e-9);
+        assertScheduleFeasible(result.getAssignments(), Collections.emptyMap(), sameHoursEveryWeek());
+    }
+
+    /**
+     * Greedy Option A picks, then a fixed number of local search iterations from
+     * them. The optimizer only knows the cycle's own assignments, so the fixture's
+     * assigned games are left out of the greedy pass too.
+     */
+    LocalSearchOptimizer.Result optimizeFromGreedy(long seed) {
+        engine.generateAllRecommendations(
+            fixture.cycle, fixture.employees, fixture.sportsMap,
+            fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap,
+            Collections.emptyMap(), fixture.weeklyHoursMap);
+        List<Integer> ids = new ArrayList<>();
+        for (Employee employee : fixture.employees) {
+            ids.add(employee.getEmployeeId());
+        }
+        AvailabilityIndex index = AvailabilityIndex.build(
+            ids, fixture.availabilityMap, fixture.conflictsMap, fixture.timeOffMap);
+        return new LocalSearchOptimizer(engine, seed).optimize(
+            fixture.cycle, fixture.employees, fixture.sportsMap, index, sameHoursEveryWeek(), 200_000L);
+    }
+
+    /** The fixture's one week of hours for every week of the cycle */
+    Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> sameHoursEveryWeek() {
+        Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> byWeek = new HashMap<>();
+        for (Schedule.Game game : fixture.games) {
+            byWeek.put(HoursTracker.getWeekStartDate(game.getGameDate()), fixture.weeklyHoursMap);
+        }
+        return byWeek;
+    }
+
+    /** Shift ID to its recommended employee IDs and scores, in rank order */
+    static Map<Integer, List<String>> ranking(Map<Integer, List<SchedulingRecommendation>> recommendations) {
+        Map<Integer, List<String>> ranking = new TreeMap<>();
+        for (Map.Entry<Integer, List<SchedulingRecommendation>> entry : recommendations.entrySet()) {
+            List<String> ranked = new ArrayList<>();
+            for (SchedulingRecommendation rec : entry.getValue()) {
+                ranked.add(rec.getEmployee().getEmployeeId() + "@" + String.format("%.6f", rec.getScore()));
+            }
+            ranking.put(entry.getKey(), ranked);
+        }
+        return ranking;
+    }
+
+    static boolean overlapsAny(List<Schedule.Game> games, Schedule.Game game) {
+        if (games == null) {
+            return false;
+        }
+        for (Schedule.Game other : games) {
+            if (other.getStartDateTime().isBefore(game.getEndDateTime()) &&
+                game.getStartDateTime().isBefore(other.getEndDateTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
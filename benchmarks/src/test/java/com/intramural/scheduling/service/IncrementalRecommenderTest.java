@@ -0,0 +1,145 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.bench.CycleFixture;
+import com.intramural.scheduling.model.*;
+import java.time.LocalDate;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * After each edit the incremental recommender must hold exactly what a fresh
+ * recompute over the edited inputs produces
+ */
+class IncrementalRecommenderTest {
+
+    private static final int EDITS = 12;
+
+    private final CycleFixture fixture = new CycleFixture(120, 240, 0.5);
+    private final SchedulingEngine engine = new SchedulingEngine();
+
+    private final Map<Integer, List<Availability.Seasonal>> availability = new HashMap<>();
+    private final Map<Integer, List<Schedule.Game>> existingGames = new HashMap<>();
+    private final Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> hoursByWeek = new HashMap<>();
+
+    IncrementalRecommenderTest() {
+        availability.putAll(fixture.availabilityMap);
+        fixture.existingGamesMap.forEach((id, games) -> existingGames.put(id, new ArrayList<>(games)));
+        fixture.weeklyHoursByWeek.forEach((week, hours) -> hours.forEach((id, wh) ->
+            weeklyHours(id, week).setTotalScheduledHours(wh.getTotalScheduledHours())));
+    }
+
+    @Test
+    void assignmentsMatchAFreshRecompute() {
+        IncrementalRecommender incremental = recommender();
+        incremental.recomputeAll();
+
+        for (Schedule.Game game : assignedGames(incremental)) {
+            int employeeId = optionA(incremental, game);
+            incremental.onAssignment(employeeId, game);
+            assign(employeeId, game);
+
+            assertEquals(listings(recommender().recomputeAll()), listings(incremental.getRecommendations()),
+                "after assigning employee " + employeeId + " to game " + game.getScheduleId());
+        }
+    }
+
+    @Test
+    void unassignmentsMatchAFreshRecompute() {
+        IncrementalRecommender incremental = recommender();
+        incremental.recomputeAll();
+        Map<Schedule.Game, Integer> assigned = new LinkedHashMap<>();
+        for (Schedule.Game game : assignedGames(incremental)) {
+            int employeeId = optionA(incremental, game);
+            incremental.onAssignment(employeeId, game);
+            assign(employeeId, game);
+            assigned.put(game, employeeId);
+        }
+
+        for (Map.Entry<Schedule.Game, Integer> entry : assigned.entrySet()) {
+            Schedule.Game game = entry.getKey();
+            int employeeId = entry.getValue();
+            incremental.onUnassignment(employeeId, game);
+            existingGames.get(employeeId).remove(game);
+            weeklyHours(employeeId, HoursTracker.getWeekStartDate(game.getGameDate()))
+                .removeScheduledHours(game.getDurationHours());
+
+            assertEquals(listings(recommender().recomputeAll()), listings(incremental.getRecommendations()),
+                "after unassigning employee " + employeeId + " from game " + game.getScheduleId());
+        }
+    }
+
+    @Test
+    void availabilityChangesMatchAFreshRecompute() {
+        IncrementalRecommender incremental = recommender();
+        incremental.recomputeAll();
+
+        for (Schedule.Game game : assignedGames(incremental)) {
+            // Drop the Option A's availability on the game's weekday
+            int employeeId = optionA(incremental, game);
+            List<Availability.Seasonal> edited = new ArrayList<>();
+            for (Availability.Seasonal avail : availability.getOrDefault(employeeId, Collections.emptyList())) {
+                if (avail.getDayOfWeek() != game.getGameDate().getDayOfWeek()) {
+                    edited.add(avail);
+                }
+            }
+            List<Availability.PermanentConflict> conflicts =
+                fixture.conflictsMap.getOrDefault(employeeId, Collections.emptyList());
+            incremental.onAvailabilityChanged(employeeId, edited, conflicts);
+            availability.put(employeeId, edited);
+
+            assertEquals(listings(recommender().recomputeAll()), listings(incremental.getRecommendations()),
+                "after editing the availability of employee " + employeeId);
+        }
+    }
+
+    private IncrementalRecommender recommender() {
+        return new IncrementalRecommender(engine, fixture.games, fixture.employees, fixture.sportsMap,
+            availability, fixture.conflictsMap, fixture.timeOffMap, existingGames, hoursByWeek);
+    }
+
+    /** Every few games across the cycle whose first shift has an Option A */
+    private List<Schedule.Game> assignedGames(IncrementalRecommender incremental) {
+        List<Schedule.Game> games = new ArrayList<>();
+        int step = Math.max(1, fixture.games.size() / EDITS);
+        for (int g = 0; g < fixture.games.size() && games.size() < EDITS; g += step) {
+            Schedule.Game game = fixture.games.get(g);
+            if (!incremental.getRecommendations(game.getShifts().get(0).getShiftId()).isEmpty()) {
+                games.add(game);
+            }
+        }
+        assertFalse(games.isEmpty());
+        return games;
+    }
+
+    /** The current Option A of the game's first shift */
+    private static int optionA(IncrementalRecommender incremental, Schedule.Game game) {
+        return incremental.getRecommendations(game.getShifts().get(0).getShiftId())
+            .get(0).getEmployee().getEmployeeId();
+    }
+
+    private void assign(int employeeId, Schedule.Game game) {
+        existingGames.computeIfAbsent(employeeId, k -> new ArrayList<>()).add(game);
+        weeklyHours(employeeId, HoursTracker.getWeekStartDate(game.getGameDate()))
+            .addScheduledHours(game.getDurationHours());
+    }
+
+    private Tracking.WeeklyHours weeklyHours(int employeeId, LocalDate weekStart) {
+        return hoursByWeek.computeIfAbsent(weekStart, k -> new HashMap<>())
+            .computeIfAbsent(employeeId, id -> new Tracking.WeeklyHours(id, weekStart));
+    }
+
+    /** Shift ID to its recommended employees with their scores, in rank order */
+    private static Map<Integer, List<String>> listings(Map<Integer, List<SchedulingRecommendation>> recs) {
+        Map<Integer, List<String>> listings = new TreeMap<>();
+        recs.forEach((shiftId, list) -> {
+            List<String> ranked = new ArrayList<>();
+            for (SchedulingRecommendation rec : list) {
+                ranked.add(rec.getEmployee().getEmployeeId() + "@" + rec.getScore());
+            }
+            listings.put(shiftId, ranked);
+        });
+        return listings;
+    }
+}
@@ -0,0 +1,231 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.controller.GeneratedSeason;
+import com.intramural.scheduling.dao.CycleSnapshotDAO;
+import com.intramural.scheduling.dao.DatabaseConnection;
+import com.intramural.scheduling.model.CycleSnapshot;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assignment validation on the embedded database, against a few rows of its own
+ * added after the generated season
+ */
+class ShiftValidationServiceTest {
+
+    // A Monday well clear of the generated season
+    private static final LocalDate MONDAY = LocalDate.of(2031, 3, 3);
+
+    private static int userId;
+    private static int sportId;
+    private static int available;
+    private static final List<Integer> mondayGames = new ArrayList<>();
+
+    @BeforeAll
+    static void addRows() throws Exception {
+        GeneratedSeason.ensureGenerated();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            userId = insert(conn, "INSERT INTO users (username, password_hash, role) VALUES (?, ?, ?)",
+                "validation.test", "-", "ADMIN");
+            sportId = insert(conn, "INSERT INTO sports (sport_name, default_duration_minutes, " +
+                "required_supervisors, required_referees) VALUES (?, ?, ?, ?)", "Validation Ball", 60, 1, 1);
+
+            // Two windows that meet at 18:00, and one ending at midnight
+            available = employee(conn, "available", 20);
+            availability(conn, available, DayOfWeek.MONDAY, "16:00", "18:00");
+            availability(conn, available, DayOfWeek.MONDAY, "18:00", "21:00");
+            availability(conn, available, DayOfWeek.MONDAY, "22:00", "00:00");
+            for (String[] times : new String[][] {
+                    {"16:00", "18:00"}, {"17:00", "19:00"}, {"18:00", "21:00"},
+                    {"20:30", "21:30"}, {"22:00", "23:00"}, {"09:00", "10:00"}}) {
+                mondayGames.add(game(conn, MONDAY, times[0], times[1]));
+            }
+        }
+    }
+
+    @Test
+    void availabilityIndexGivesTheSameVerdicts() throws Exception {
+        ShiftValidationService plain = new ShiftValidationService();
+        ShiftValidationService indexed = new ShiftValidationService();
+        indexed.setAvailabilityIndex(indexFor(MONDAY, available));
+
+        List<ShiftValidationService.ProposedAssignment> batch = new ArrayList<>();
+        Set<String> verdicts = new HashSet<>();
+        for (int gameId : mondayGames) {
+            String expected = plain.validateAssignment(available, gameId);
+            assertEquals(expected, indexed.validateAssignment(available, gameId), "game " + gameId);
+            assertEquals(expected, indexed.checkAvailability(available, gameId), "game " + gameId);
+            verdicts.add(String.valueOf(expected));
+            batch.add(new ShiftValidationService.ProposedAssignment(available, gameId));
+        }
+        // Both available and unavailable games are in the mix
+        assertTrue(verdicts.contains("null") && verdicts.size() > 1, verdicts.toString());
+
+        assertEquals(describe(plain.validateAll(batch)), describe(indexed.validateAll(batch)));
+    }
+
+    @Test
+    void everyOverlappingPairInTheBatchIsReported() throws Exception {
+        int a, b, c, after;
+        int busy;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            busy = employee(conn, "busy", 40);
+            availability(conn, busy, DayOfWeek.MONDAY, "08:00", "23:00");
+            // B and C both inside A and overlapping each other; the last game starts as A ends
+            a = game(conn, MONDAY, "16:00", "21:00");
+            b = game(conn, MONDAY, "17:00", "18:00");
+            c = game(conn, MONDAY, "17:30", "18:30");
+            after = game(conn, MONDAY, "21:00", "22:00");
+        }
+
+        Map<ShiftValidationService.ProposedAssignment, List<ShiftValidationService.Violation>> result =
+            new ShiftValidationService().validateAll(proposals(busy, a, b, c, after));
+
+        Map<Integer, Set<Integer>> doubleBooked = new TreeMap<>();
+        result.forEach((proposal, violations) -> {
+            for (ShiftValidationService.Violation violation : violations) {
+                assertEquals(ShiftValidationService.ViolationType.DOUBLE_BOOKED, violation.getType());
+                doubleBooked.computeIfAbsent(proposal.getGameScheduleId(), id -> new TreeSet<>())
+                    .add(violation.getConflictsWith().getGameScheduleId());
+            }
+        });
+        assertEquals(Map.of(a, Set.of(b, c), b, Set.of(a, c), c, Set.of(a, b)), doubleBooked);
+    }
+
+    @Test
+    void weeklyHoursAddUpAcrossTheBatch() throws Exception {
+        int monday, wednesday, nextMonday;
+        int limited;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            limited = employee(conn, "limited", 5);
+            availability(conn, limited, DayOfWeek.MONDAY, "08:00", "23:00");
+            availability(conn, limited, DayOfWeek.WEDNESDAY, "08:00", "23:00");
+            monday = game(conn, MONDAY, "09:00", "12:00");
+            wednesday = game(conn, MONDAY.plusDays(2), "09:00", "12:00");
+            nextMonday = game(conn, MONDAY.plusWeeks(1), "09:00", "12:00");
+        }
+
+        Map<ShiftValidationService.ProposedAssignment, List<ShiftValidationService.Violation>> result =
+            new ShiftValidationService().validateAll(proposals(limited, monday, wednesday, nextMonday));
+
+        // 3 + 3 hours in one week against a maximum of 5; the next week starts again from 0
+        assertEquals(List.of(wednesday + ": WEEKLY_HOURS_EXCEEDED"), types(result));
+    }
+
+    @Test
+    void alreadyAssignedGamesAreNotCountedTwice() throws Exception {
+        int held, extra;
+        int assigned;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            assigned = employee(conn, "assigned", 5);
+            availability(conn, assigned, DayOfWeek.MONDAY, "08:00", "23:00");
+            held = game(conn, MONDAY, "09:00", "12:00");
+            extra = game(conn, MONDAY, "13:00", "15:00");
+            insert(conn, "INSERT INTO shifts (game_schedule_id, position_type, position_number, " +
+                "assigned_employee_id, assignment_status) VALUES (?, ?, ?, ?, ?)",
+                held, "REFEREE", 1, assigned, "ASSIGNED");
+            insert(conn, "INSERT INTO weekly_hours (employee_id, week_start_date, total_scheduled_hours) " +
+                "VALUES (?, ?, ?)", assigned, Date.valueOf(HoursTracker.getWeekStartDate(MONDAY)), 3);
+        }
+
+        // 3 scheduled hours include the held game, so only the 2 extra hours add up: 5 of 5
+        assertEquals(List.of(), types(new ShiftValidationService().validateAll(proposals(assigned, held, extra))));
+    }
+
+    private static List<ShiftValidationService.ProposedAssignment> proposals(int employeeId, int... gameIds) {
+        List<ShiftValidationService.ProposedAssignment> proposals = new ArrayList<>();
+        for (int gameId : gameIds) {
+            proposals.add(new ShiftValidationService.ProposedAssignment(employeeId, gameId));
+        }
+        return proposals;
+    }
+
+    /** Violation types per proposal, in batch order */
+    private static List<String> types(
+            Map<ShiftValidationService.ProposedAssignment, List<ShiftValidationService.Violation>> result) {
+        List<String> types = new ArrayList<>();
+        result.forEach((proposal, violations) -> {
+            for (ShiftValidationService.Violation violation : violations) {
+                types.add(proposal.getGameScheduleId() + ": " + violation.getType());
+            }
+        });
+        return types;
+    }
+
+    /** The availability index the controller would build for the week of the given date */
+    private static AvailabilityIndex indexFor(LocalDate day, int... employeeIds) throws SQLException {
+        LocalDate weekStart = HoursTracker.getWeekStartDate(day);
+        CycleSnapshot snapshot = new CycleSnapshotDAO().load(weekStart, weekStart.plusDays(6));
+        List<Integer> ids = new ArrayList<>();
+        for (int employeeId : employeeIds) {
+            ids.add(employeeId);
+        }
+        return AvailabilityIndex.build(ids, snapshot.getAvailability(), snapshot.getConflicts(),
+            snapshot.getApprovedTimeOff());
+    }
+
+    /** Violations per proposal, as text, in batch order */
+    private static List<String> describe(
+            Map<ShiftValidationService.ProposedAssignment, List<ShiftValidationService.Violation>> result) {
+        List<String> described = new ArrayList<>();
+        result.forEach((proposal, violations) ->
+            described.add(proposal.getGameScheduleId() + ": " + violations));
+        return described;
+    }
+
+    private static int employee(Connection conn, String name, int maxHours) throws SQLException {
+        int user = insert(conn, "INSERT INTO users (username, password_hash, role) VALUES (?, ?, ?)",
+            "validation." + name, "-", "STAFF");
+        int employeeId = insert(conn, "INSERT INTO employees (user_id, first_name, last_name, " +
+            "max_hours_per_week, is_supervisor_eligible, active_status) VALUES (?, ?, ?, ?, ?, ?)",
+            user, "Validation", name, maxHours, true, true);
+        insert(conn, "INSERT INTO employee_expertise (employee_id, sport_id, expertise_level) VALUES (?, ?, ?)",
+            employeeId, sportId, "EXPERT");
+        return employeeId;
+    }
+
+    private static void availability(Connection conn, int employeeId, DayOfWeek day,
+                                     String start, String end) throws SQLException {
+        insert(conn, "INSERT INTO seasonal_availability (employee_id, season, year, day_of_week, " +
+            "start_time, end_time, is_preferred) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            employeeId, "SPRING", MONDAY.getYear(), day.name(), time(start), time(end), false);
+    }
+
+    static int game(Connection conn, LocalDate date, String start, String end) throws SQLException {
+        LocalDate weekStart = HoursTracker.getWeekStartDate(date);
+        return insert(conn, "INSERT INTO game_schedules (sport_id, game_date, start_time, end_time, location, " +
+            "required_supervisors, required_referees, created_by, schedule_cycle_start, schedule_cycle_end) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            sportId, Date.valueOf(date), time(start), time(end), "Validation Court", 1, 1, userId,
+            Date.valueOf(weekStart), Date.valueOf(weekStart.plusDays(6)));
+    }
+
+    private static Time time(String value) {
+        return Time.valueOf(LocalTime.parse(value));
+    }
+
+    private static int insert(Connection conn, String sql, Object... values) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < values.length; i++) {
+                stmt.setObject(i + 1, values[i]);
+            }
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                return keys.next() ? keys.getInt(1) : 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+-- Portable schema for embedded / throwaway databases (H2 and others with
+-- standard identity columns). Same tables and columns the DAOs use; schema.sql
+-- stays the SQL Server original for production.
+--
+-- Statements end with ';' at the end of a line, comments start with '--'.
+-- H2 treats YEAR as a keyword: connect with MODE=MSSQLServer;NON_KEYWORDS=YEAR.
+
+CREATE TABLE users (
+    user_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    email VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE sports (
+    sport_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sport_name VARCHAR(50) NOT NULL UNIQUE,
+    default_duration_minutes INT NOT NULL,
+    required_supervisors INT DEFAULT 1,
+    required_referees INT NOT NULL
+);
+
+CREATE TABLE employees (
+    employee_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id INT NOT NULL UNIQUE REFERENCES users (user_id) ON DELETE CASCADE,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    max_hours_per_week INT DEFAULT 20,
+    is_supervisor_eligible BOOLEAN DEFAULT FALSE,
+    active_status BOOLEAN DEFAULT TRUE
+);
+
+CREATE TABLE employee_expertise (
+    expertise_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id INT NOT NULL REFERENCES employees (employee_id) ON DELETE CASCADE,
+    sport_id INT NOT NULL REFERENCES sports (sport_id) ON DELETE CASCADE,
+    expertise_level VARCHAR(20) DEFAULT 'INTERMEDIATE',
+    UNIQUE (employee_id, sport_id)
+);
+
+CREATE TABLE seasonal_availability (
+    availability_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id INT NOT NULL REFERENCES employees (employee_id) ON DELETE CASCADE,
+    season VARCHAR(20) NOT NULL,
+    year INT NOT NULL,
+    day_of_week VARCHAR(20) NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    is_preferred BOOLEAN DEFAULT FALSE
+);
+CREATE INDEX ix_availability_employee ON seasonal_availability (employee_id, season, year);
+
+CREATE TABLE permanent_conflicts (
+    conflict_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id INT NOT NULL REFERENCES employees (employee_id) ON DELETE CASCADE,
+    conflict_type VARCHAR(20) NOT NULL,
+    day_of_week VARCHAR(20) NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    description VARCHAR(200)
+);
+CREATE INDEX ix_conflicts_employee ON permanent_conflicts (employee_id);
+
+CREATE TABLE time_off_requests (
+    request_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id INT NOT NULL REFERENCES employees (employee_id) ON DELETE CASCADE,
+    request_date DATE NOT NULL,
+    start_time TIME,
+    end_time TIME,
+    is_full_day BOOLEAN DEFAULT TRUE,
+    request_status VARCHAR(20) DEFAULT 'PENDING' NOT NULL,
+    reason VARCHAR(500),
+    submitted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    reviewed_by INT REFERENCES users (user_id),
+    reviewed_at TIMESTAMP
+);
+CREATE INDEX ix_time_off_date ON time_off_requests (request_status, request_date);
+CREATE INDEX ix_time_off_employee ON time_off_requests (employee_id);
+
+CREATE TABLE game_schedules (
+    schedule_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sport_id INT NOT NULL REFERENCES sports (sport_id),
+    game_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    location VARCHAR(100) NOT NULL,
+    required_supervisors INT DEFAULT 1,
+    required_referees INT NOT NULL,
+    created_by INT NOT NULL REFERENCES users (user_id),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    schedule_cycle_start DATE NOT NULL,
+    schedule_cycle_end DATE NOT NULL
+);
+CREATE INDEX ix_games_date ON game_schedules (game_date, start_time);
+
+CREATE TABLE shifts (
+    shift_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    game_schedule_id INT NOT NULL REFERENCES game_schedules (schedule_id) ON DELETE CASCADE,
+    position_type VARCHAR(20) NOT NULL,
+    position_number INT NOT NULL,
+    assigned_employee_id INT REFERENCES employees (employee_id),
+    recommendation_a_id INT REFERENCES employees (employee_id),
+    recommendation_b_id INT REFERENCES employees (employee_id),
+    assignment_status VARCHAR(20) DEFAULT 'UNASSIGNED',
+    assigned_at TIMESTAMP,
+    UNIQUE (game_schedule_id, position_type, position_number)
+);
+CREATE INDEX ix_shifts_assigned ON shifts (assigned_employee_id);
+
+CREATE TABLE weekly_hours (
+    tracking_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    employee_id INT NOT NULL REFERENCES employees (employee_id),
+    week_start_date DATE NOT NULL,
+    total_scheduled_hours DECIMAL(5, 2) DEFAULT 0,
+    last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (employee_id, week_start_date)
+);
+CREATE INDEX ix_weekly_hours_week ON weekly_hours (week_start_date);
+
+CREATE TABLE PasswordResetTokens (
+    token_id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id INT NOT NULL REFERENCES users (user_id) ON DELETE CASCADE,
+    reset_token VARCHAR(255) NOT NULL UNIQUE,
+    expiry_datetime TIMESTAMP NOT NULL,
+    is_used BOOLEAN DEFAULT FALSE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
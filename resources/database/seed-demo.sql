@@ -0,0 +1,56 @@
+-- Demo data for the embedded profile: one admin, a few staff with expertise and
+-- evening availability, and the usual sports. Runs right after
+-- schema-portable.sql on an empty database.
+--
+-- Logins: admin / admin, and jlee, mgarcia, tnguyen, kpatel with password staff.
+
+INSERT INTO users (username, password_hash, role, email) VALUES
+    ('admin', 'jGl25bVBBBW96Qi9Te4V37Fnqchz/Eu4qB9vKrRIqRg=', 'ADMIN', 'admin@example.edu'),
+    ('jlee', 'FWIgZUPadkEjwhvVJGdPCoqvSciol0TJc1L+Z39+QAY=', 'STAFF', 'jlee@example.edu'),
+    ('mgarcia', 'FWIgZUPadkEjwhvVJGdPCoqvSciol0TJc1L+Z39+QAY=', 'STAFF', 'mgarcia@example.edu'),
+    ('tnguyen', 'FWIgZUPadkEjwhvVJGdPCoqvSciol0TJc1L+Z39+QAY=', 'STAFF', 'tnguyen@example.edu'),
+    ('kpatel', 'FWIgZUPadkEjwhvVJGdPCoqvSciol0TJc1L+Z39+QAY=', 'STAFF', 'kpatel@example.edu');
+
+INSERT INTO sports (sport_name, default_duration_minutes, required_supervisors, required_referees) VALUES
+    ('Basketball', 60, 1, 2),
+    ('Soccer', 90, 1, 3),
+    ('Volleyball', 60, 1, 1),
+    ('Flag Football', 60, 1, 2);
+
+INSERT INTO employees (user_id, first_name, last_name, max_hours_per_week, is_supervisor_eligible, active_status) VALUES
+    ((SELECT user_id FROM users WHERE username = 'jlee'), 'Jordan', 'Lee', 20, TRUE, TRUE),
+    ((SELECT user_id FROM users WHERE username = 'mgarcia'), 'Maria', 'Garcia', 20, FALSE, TRUE),
+    ((SELECT user_id FROM users WHERE username = 'tnguyen'), 'Tam', 'Nguyen', 15, FALSE, TRUE),
+    ((SELECT user_id FROM users WHERE username = 'kpatel'), 'Kiran', 'Patel', 20, TRUE, TRUE);
+
+INSERT INTO employee_expertise (employee_id, sport_id, expertise_level)
+SELECT e.employee_id, s.sport_id, x.level
+FROM (VALUES
+        ('Lee', 'Basketball', 'EXPERT'),
+        ('Lee', 'Flag Football', 'INTERMEDIATE'),
+        ('Garcia', 'Soccer', 'EXPERT'),
+        ('Garcia', 'Volleyball', 'INTERMEDIATE'),
+        ('Nguyen', 'Volleyball', 'BEGINNER'),
+        ('Nguyen', 'Basketball', 'INTERMEDIATE'),
+        ('Patel', 'Soccer', 'INTERMEDIATE'),
+        ('Patel', 'Flag Football', 'EXPERT')
+    ) AS x (last_name, sport_name, level)
+JOIN employees e ON e.last_name = x.last_name
+JOIN sports s ON s.sport_name = x.sport_name;
+
+-- Weekday evenings in every season of the current year, plus Saturday for two of them
+INSERT INTO seasonal_availability (employee_id, season, year, day_of_week, start_time, end_time, is_preferred)
+SELECT e.employee_id, s.season, EXTRACT(YEAR FROM CURRENT_DATE), d.day_of_week, TIME '16:00:00', TIME '23:00:00', FALSE
+FROM employees e
+CROSS JOIN (VALUES ('FALL'), ('SPRING'), ('SUMMER')) AS s (season)
+CROSS JOIN (VALUES ('MONDAY'), ('TUESDAY'), ('WEDNESDAY'), ('THURSDAY'), ('FRIDAY')) AS d (day_of_week);
+
+INSERT INTO seasonal_availability (employee_id, season, year, day_of_week, start_time, end_time, is_preferred)
+SELECT e.employee_id, s.season, EXTRACT(YEAR FROM CURRENT_DATE), 'SATURDAY', TIME '10:00:00', TIME '18:00:00', TRUE
+FROM employees e
+CROSS JOIN (VALUES ('FALL'), ('SPRING'), ('SUMMER')) AS s (season)
+WHERE e.last_name IN ('Lee', 'Patel');
+
+INSERT INTO permanent_conflicts (employee_id, conflict_type, day_of_week, start_time, end_time, description)
+SELECT employee_id, 'CLASS', 'TUESDAY', TIME '16:00:00', TIME '18:00:00', 'Evening lab'
+FROM employees WHERE last_name = 'Nguyen';
@@ -9,11 +9,15 @@ Examples:
 > .\run.ps1
 > .\run.ps1 -JavaFXLib 'C:\path\to\javafx-sdk\lib'
 > .\run.ps1 -JavaFXLib 'C:\...\lib' -NativeLibPath '.\\lib'
+> .\run.ps1 -DbProfile embedded     # in-process H2, needs lib\h2-*.jar
+> .\run.ps1 -Jfr                     # Flight Recorder, writes scheduling.jfr on exit
 #>
 
 param(
     [string]$JavaFXLib = 'C:\Users\Misha\Downloads\openjfx-21.0.9_windows-x64_bin-sdk\javafx-sdk-21.0.9\lib',
-    [string]$NativeLibPath = '.\lib'
+    [string]$NativeLibPath = '.\lib',
+    [string]$DbProfile = '',
+    [switch]$Jfr
 )
 
 Write-Host "JavaFX lib: $JavaFXLib"
@@ -31,12 +35,18 @@ if($LASTEXITCODE -ne 0){
 
 Write-Host "Running application..."
 
-$libcp = "out;lib/*"
+$libcp = "out;resources;resources/config;lib/*"
 
 $javaArgs = @()
 if(Test-Path $NativeLibPath){
     $javaArgs += "-Djava.library.path=$NativeLibPath"
 }
+if($DbProfile){
+    $javaArgs += "-Ddb.profile=$DbProfile"
+}
+if($Jfr){
+    $javaArgs += "-XX:StartFlightRecording:settings=default,settings=resources/jfr/scheduling.jfc,filename=scheduling.jfr"
+}
 $javaArgs += "--module-path"; $javaArgs += $JavaFXLib
 $javaArgs += "--add-modules"; $javaArgs += "javafx.controls"
 $javaArgs += "-cp"; $javaArgs += $libcp
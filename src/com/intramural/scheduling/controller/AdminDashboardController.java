@@ -1,55 +1,129 @@
 package com.intramural.scheduling.controller;
 
+import com.intramural.scheduling.dao.AvailabilityDAO;
 import com.intramural.scheduling.dao.EmployeeDAO;
+import com.intramural.scheduling.dao.EmployeeExpertiseDAO;
 import com.intramural.scheduling.dao.GameScheduleDAO;
+import com.intramural.scheduling.model.Availability;
 import com.intramural.scheduling.model.Employee;
 import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.util.AsyncTasks;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 public class AdminDashboardController {
     private EmployeeDAO employeeDAO;
     private GameScheduleDAO gameScheduleDAO;
-    
+    private EmployeeExpertiseDAO expertiseDAO;
+    private AvailabilityDAO availabilityDAO;
+
     public AdminDashboardController() {
         this.employeeDAO = new EmployeeDAO();
         this.gameScheduleDAO = new GameScheduleDAO();
+        this.expertiseDAO = new EmployeeExpertiseDAO();
+        this.availabilityDAO = new AvailabilityDAO();
     }
-    
+
     public Map<String, Object> getDashboardStats() throws SQLException {
+        LocalDate weekStart = LocalDate.now().with(java.time.DayOfWeek.MONDAY);
+        return buildStats(employeeDAO.getAll(), employeeDAO.getAllActive(),
+            gameScheduleDAO.getByDateRange(weekStart, weekStart.plusDays(6)));
+    }
+
+    /**
+     * getDashboardStats on background threads, its three queries in parallel
+     */
+    public CompletableFuture<Map<String, Object>> getDashboardStatsAsync() {
+        LocalDate weekStart = LocalDate.now().with(java.time.DayOfWeek.MONDAY);
+        CompletableFuture<List<Employee>> all = AsyncTasks.supply(employeeDAO::getAll);
+        CompletableFuture<List<Employee>> active = AsyncTasks.supply(employeeDAO::getAllActive);
+        CompletableFuture<List<Schedule.Game>> weekGames = AsyncTasks.supply(
+            () -> gameScheduleDAO.getByDateRange(weekStart, weekStart.plusDays(6)));
+
+        CompletableFuture<Map<String, Object>> stats = CompletableFuture.allOf(all, active, weekGames)
+            .thenApply(done -> buildStats(all.join(), active.join(), weekGames.join()));
+        return AsyncTasks.cancelling(stats, all, active, weekGames);
+    }
+
+    private Map<String, Object> buildStats(List<Employee> allEmployees, List<Employee> activeEmployees,
+                                           List<Schedule.Game> weekGames) {
         Map<String, Object> stats = new HashMap<>();
-        
+
         // Get employee counts
-        List<Employee> allEmployees = employeeDAO.getAll();
-        List<Employee> activeEmployees = employeeDAO.getAllActive();
-        
         stats.put("totalEmployees", allEmployees.size());
         stats.put("activeEmployees", activeEmployees.size());
-        
+
         long supervisors = activeEmployees.stream()
             .filter(Employee::isSupervisorEligible)
             .count();
         stats.put("supervisors", supervisors);
-        
-        // Get current week's games
-        LocalDate today = LocalDate.now();
-        LocalDate weekStart = today.with(java.time.DayOfWeek.MONDAY);
-        LocalDate weekEnd = weekStart.plusDays(6);
-        
-        List<Schedule.Game> weekGames = gameScheduleDAO.getByDateRange(weekStart, weekEnd);
+
+        // Current week's games
         stats.put("currentWeekGames", weekGames.size());
-        
+
         return stats;
     }
-    
+
     public List<Employee> getAllEmployees() throws SQLException {
         return employeeDAO.getAll();
     }
-    
+
     public List<Employee> getActiveEmployees() throws SQLException {
         return employeeDAO.getAllActive();
     }
-}
\ No newline at end of file
+
+    /**
+     * Active employees on a background thread; those in withDetails also get
+     * their expertise (with sport names)
+     */
+    public CompletableFuture<List<Employee>> getActiveEmployeesAsync(Collection<Integer> withDetails) {
+        return loadWithDetails(employeeDAO::getAllActive, withDetails);
+    }
+
+    /**
+     * getActiveEmployeesAsync including inactive employees
+     */
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync(Collection<Integer> withDetails) {
+        return loadWithDetails(employeeDAO::getAllIncludingInactive, withDetails);
+    }
+
+    private CompletableFuture<List<Employee>> loadWithDetails(Callable<List<Employee>> load,
+                                                              Collection<Integer> withDetails) {
+        Set<Integer> wanted = new HashSet<>(withDetails);
+        return AsyncTasks.supply(() -> {
+            List<Employee> employees = load.call();
+            List<Employee> detailed = new ArrayList<>();
+            for (Employee employee : employees) {
+                if (wanted.contains(employee.getEmployeeId())) {
+                    detailed.add(employee);
+                }
+            }
+            expertiseDAO.loadExpertise(detailed, true);
+            return employees;
+        });
+    }
+
+    /**
+     * Seasonal availability (all seasons) of the given employees on a background thread
+     */
+    public CompletableFuture<Map<Integer, List<Availability.Seasonal>>> getAvailabilityAsync(
+            Collection<Integer> employeeIds) {
+        List<Integer> ids = new ArrayList<>(employeeIds);
+        return AsyncTasks.supply(() -> {
+            Map<Integer, List<Availability.Seasonal>> byEmployee = new HashMap<>();
+            for (Integer employeeId : ids) {
+                byEmployee.put(employeeId, availabilityDAO.getAllByEmployee(employeeId));
+            }
+            return byEmployee;
+        });
+    }
+}
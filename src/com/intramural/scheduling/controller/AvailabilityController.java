@@ -38,6 +38,7 @@ public class AvailabilityController {
         availabilityService.submitSeasonalAvailability(
             employeeId, season, year, availabilities
         );
+        SchedulingController.notifyAvailabilityChanged(employeeId);
     }
     
     /**
@@ -68,13 +69,16 @@ public class AvailabilityController {
                 employeeId, type, day, start, end, description
             );
         availabilityService.addPermanentConflict(conflict);
+        SchedulingController.notifyAvailabilityChanged(employeeId);
     }
     
     /**
      * Remove permanent conflict
+     * @param employeeId owner of the conflict, whose recommendations are refreshed
      */
-    public void removeConflict(int conflictId) throws SQLException {
+    public void removeConflict(int employeeId, int conflictId) throws SQLException {
         availabilityService.removePermanentConflict(conflictId);
+        SchedulingController.notifyAvailabilityChanged(employeeId);
     }
     
     /**
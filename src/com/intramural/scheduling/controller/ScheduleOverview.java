@@ -0,0 +1,37 @@
+package com.intramural.scheduling.controller;
+
+import com.intramural.scheduling.model.Employee;
+import com.intramural.scheduling.model.Schedule;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Games of a date range with their stored shifts, plus the sport names and
+ * employees needed to display them, loaded together so views can render
+ * without further queries
+ */
+public class ScheduleOverview {
+    private final List<Schedule.Game> games;
+    private final Map<Integer, String> sportNames;
+    private final Map<Integer, Employee> employees;
+
+    ScheduleOverview(List<Schedule.Game> games, Map<Integer, String> sportNames,
+                     Map<Integer, Employee> employees) {
+        this.games = Collections.unmodifiableList(games);
+        this.sportNames = sportNames;
+        this.employees = employees;
+    }
+
+    /** Games by date and start time; getShifts() holds the stored shifts */
+    public List<Schedule.Game> getGames() { return games; }
+
+    public String getSportName(int sportId) {
+        return sportNames.get(sportId);
+    }
+
+    /** Any employee, active or not, or null if unknown */
+    public Employee getEmployee(Integer employeeId) {
+        return employeeId == null ? null : employees.get(employeeId);
+    }
+}
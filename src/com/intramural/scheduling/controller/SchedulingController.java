@@ -3,35 +3,77 @@ package com.intramural.scheduling.controller;
 import com.intramural.scheduling.dao.*;
 import com.intramural.scheduling.model.*;
 import com.intramural.scheduling.service.*;
+import com.intramural.scheduling.util.AsyncTasks;
+import com.intramural.scheduling.util.Logger;
+import com.intramural.scheduling.util.SchedulingEvents;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class SchedulingController {
+    private static final Logger log = Logger.getLogger(SchedulingController.class);
+    
+    /**
+     * Whole-cycle recommendation modes offered next to the per-game greedy pass
+     */
+    public enum CycleMode {
+        PARALLEL("Greedy (all cores)"),
+        CONSTRAINED("Most constrained first"),
+        OPTIMAL("Optimal assignment"),
+        INCREMENTAL("Greedy, kept current on edits");
+        
+        private final String label;
+        CycleMode(String label) { this.label = label; }
+        public String getLabel() { return label; }
+    }
+
     private SchedulingEngine schedulingEngine;
-    private GameScheduleDAO gameScheduleDAO;
     private ShiftDAO shiftDAO;
-    private EmployeeDAO employeeDAO;
-    private SportDAO sportDAO;
-    private WeeklyHoursDAO weeklyHoursDAO;
+    private CycleSnapshotDAO cycleSnapshotDAO;
     private HoursTracker hoursTracker;
+    private AssignmentIntervalIndex assignmentIndex;
+    private IncrementalRecommender incrementalRecommender;
+    private GameScheduleDAO gameScheduleDAO;
+    private SportDAO sportDAO;
+    private EmployeeDAO employeeDAO;
+    
+    // Controllers in incremental mode, held weakly so a closed view's controller
+    // can still be collected
+    private static final Set<SchedulingController> incrementalControllers =
+        Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
     
     private Schedule.Cycle currentCycle;
     private Map<Integer, List<SchedulingRecommendation>> recommendations;
     
+    // Availability grids of the last cycle data loaded, and the load they came from
+    private CycleSnapshot indexedCycleData;
+    private AvailabilityIndex availabilityIndex;
+    
+    // The *Async methods change the cycle, recommendations and assignment index
+    // from background threads, so they take turns on this lock
+    private final ReentrantLock stateLock = new ReentrantLock();
+    
     public SchedulingController() {
         this.schedulingEngine = new SchedulingEngine();
-        this.gameScheduleDAO = new GameScheduleDAO();
         this.shiftDAO = new ShiftDAO();
-        this.employeeDAO = new EmployeeDAO();
-        this.sportDAO = new SportDAO();
-        this.weeklyHoursDAO = new WeeklyHoursDAO();
+        this.cycleSnapshotDAO = new CycleSnapshotDAO();
         this.hoursTracker = new HoursTracker();
+        this.assignmentIndex = new AssignmentIntervalIndex();
+        this.schedulingEngine.getConflictChecker().setAssignmentIndex(assignmentIndex);
         this.recommendations = new HashMap<>();
+        this.gameScheduleDAO = new GameScheduleDAO();
+        this.sportDAO = new CachingSportDAO();
+        this.employeeDAO = new CachingEmployeeDAO();
     }
     
     public void createCycle(LocalDate startDate, LocalDate endDate) {
         this.currentCycle = new Schedule.Cycle(startDate, endDate);
+        // Incremental state belongs to the previous cycle
+        this.incrementalRecommender = null;
     }
     
     public Schedule.Cycle getCurrentCycle() {
@@ -42,78 +84,78 @@ public class SchedulingController {
      * FIXED: Auto-generate recommendations with employee tracking to avoid duplicates
      */
     public void autoGenerateRecommendations(Schedule.Game game) throws SQLException {
-        System.out.println("=== Auto-Generating Recommendations ===");
-        System.out.println("Game: " + game.getGameDate() + " at " + game.getLocation());
+        CycleSnapshot cycleData = cycleSnapshotDAO.load(
+            game.getScheduleCycleStart(), game.getScheduleCycleEnd());
+        log.debug(cycleData::toString);
+        List<Schedule.Shift> toSave = new ArrayList<>();
+        autoGenerateRecommendations(game, cycleData, toSave);
+        shiftDAO.updateRecommendationsBatch(toSave);
+    }
+    
+    /**
+     * Generate recommendations for one game entirely from preloaded cycle data
+     * (real availability, conflicts, time-off, assignments and weekly hours)
+     *
+     * @param toSave receives the shifts that got recommendations; the caller saves them in one batch
+     */
+    private void autoGenerateRecommendations(Schedule.Game game, CycleSnapshot cycleData,
+                                             List<Schedule.Shift> toSave) throws SQLException {
+        SchedulingEvents.GameRecommendations event = new SchedulingEvents.GameRecommendations();
+        event.begin();
+        log.info("Auto-generating recommendations for game on " + game.getGameDate() +
+                 " at " + game.getLocation());
+        
+        // Shifts stored in the database, if any (copied first: game may be the stored object)
+        Schedule.Game stored = cycleData.getGame(game.getScheduleId());
+        List<Schedule.Shift> dbShifts = stored != null ?
+            new ArrayList<>(stored.getShifts()) : Collections.emptyList();
         
         // Ensure game has shifts generated
         game.generateShifts();
-        
-        // Load shifts from database
-        List<Schedule.Shift> dbShifts = shiftDAO.getByGameSchedule(game.getScheduleId());
         if (!dbShifts.isEmpty()) {
             game.getShifts().clear();
             game.getShifts().addAll(dbShifts);
         }
         
-        System.out.println("Total shifts: " + game.getShifts().size());
+        log.debug(() -> "Total shifts: " + game.getShifts().size());
         
-        // Get all active employees
-        List<Employee> allEmployees = employeeDAO.getAllActive();
-        System.out.println("Active employees: " + allEmployees.size());
+        List<Employee> allEmployees = cycleData.getEmployees();
+        log.debug(() -> "Active employees: " + allEmployees.size());
         
         if (allEmployees.isEmpty()) {
-            System.out.println("No employees available for recommendations");
+            log.warn("No employees available for recommendations");
             throw new SQLException("No active employees found. Please add employees first.");
         }
         
-        // Get sport info
-        Sport sport = sportDAO.getById(game.getSportId());
+        Sport sport = cycleData.getSport(game.getSportId());
+        Map<Integer, Tracking.WeeklyHours> weeklyHoursMap = cycleData.getWeeklyHours(
+            HoursTracker.getWeekStartDate(game.getGameDate()));
         
-        // Simple data maps - NO availability/conflicts for MVP
-        Map<Integer, List<Availability.Seasonal>> availabilityMap = new HashMap<>();
-        Map<Integer, List<Availability.PermanentConflict>> conflictsMap = new HashMap<>();
-        Map<Integer, List<TimeOffRequest>> timeOffMap = new HashMap<>();
-        Map<Integer, List<Schedule.Game>> existingGamesMap = new HashMap<>();
-        Map<Integer, Tracking.WeeklyHours> weeklyHoursMap = new HashMap<>();
-        
-        // Initialize empty maps for each employee
-        for (Employee emp : allEmployees) {
-            availabilityMap.put(emp.getEmployeeId(), new ArrayList<>());
-            conflictsMap.put(emp.getEmployeeId(), new ArrayList<>());
-            timeOffMap.put(emp.getEmployeeId(), new ArrayList<>());
-            existingGamesMap.put(emp.getEmployeeId(), new ArrayList<>());
-            
-            // Get weekly hours
-            try {
-                LocalDate weekStart = hoursTracker.getWeekStartDate(game.getGameDate());
-                Tracking.WeeklyHours hours = weeklyHoursDAO.getByEmployeeAndWeek(
-                    emp.getEmployeeId(), weekStart);
-                weeklyHoursMap.put(emp.getEmployeeId(), hours);
-            } catch (Exception e) {
-                Tracking.WeeklyHours hours = new Tracking.WeeklyHours(
-                    emp.getEmployeeId(), game.getGameDate());
-                weeklyHoursMap.put(emp.getEmployeeId(), hours);
-            }
-        }
+        // Primitive-array view of the employees, built once for all shifts of the game
+        long snapshotStart = System.nanoTime();
+        ScoringSnapshot snapshot = schedulingEngine.createScoringSnapshot(
+            allEmployees, Collections.singletonList(sport), availabilityIndexFor(cycleData),
+            cycleData.getAssignedGames(), weeklyHoursMap
+        );
+        long snapshotNanos = System.nanoTime() - snapshotStart;
         
-        // NEW: Track already-recommended employees for this game
-        Set<Integer> alreadyRecommendedAsOptionA = new HashSet<>();
+        // NEW: Track already-recommended employees for this game (snapshot indices)
+        BitSet alreadyRecommendedAsOptionA = new BitSet(snapshot.size());
         
         // Generate recommendations for each shift
         int recommendationsGenerated = 0;
         for (Schedule.Shift shift : game.getShifts()) {
-            System.out.println("\n--- Generating for Shift " + shift.getShiftId() + 
-                             " (" + shift.getPositionType() + " #" + shift.getPositionNumber() + ") ---");
+            log.debug(() -> "Generating for shift " + shift.getShiftId() +
+                            " (" + shift.getPositionType() + " #" + shift.getPositionNumber() + ")");
             
             // NEW: Pass set of already-recommended employees
-            List<SchedulingRecommendation> recs = schedulingEngine.generateRecommendationsWithExclusions(
-                shift, game, sport, allEmployees,
-                availabilityMap, conflictsMap, timeOffMap,
-                existingGamesMap, weeklyHoursMap,
-                alreadyRecommendedAsOptionA  // NEW PARAMETER
+            List<SchedulingRecommendation> recs = schedulingEngine.generateTopRecommendations(
+                shift, game, sport, snapshot,
+                alreadyRecommendedAsOptionA,  // NEW PARAMETER
+                schedulingEngine.getRecommendationCount()
             );
             
-            System.out.println("Generated " + recs.size() + " recommendations");
+            log.debug(() -> "Generated " + recs.size() + " recommendations");
             
             if (recs.size() >= 1) {
                 Integer optionA = recs.get(0).getEmployee().getEmployeeId();
@@ -121,36 +163,42 @@ public class SchedulingController {
                     recs.get(1).getEmployee().getEmployeeId() : optionA;
                 
                 // NEW: Track Option A employee to avoid recommending again
-                alreadyRecommendedAsOptionA.add(optionA);
+                alreadyRecommendedAsOptionA.set(snapshot.indexOf(optionA));
                 
                 shift.setRecommendations(optionA, optionB);
                 
-                System.out.println("Option A: " + recs.get(0).getEmployee().getFirstName() + 
-                                 " " + recs.get(0).getEmployee().getLastName() + 
-                                 " (Score: " + String.format("%.2f", recs.get(0).getScore()) + ")");
+                log.debug(() -> "Option A: " + recs.get(0).getEmployee().getFirstName() +
+                                " " + recs.get(0).getEmployee().getLastName() +
+                                " (Score: " + String.format("%.2f", recs.get(0).getScore()) + ")");
                 
-               if (recs.size() >= 2 && recs.get(1).getEmployee().getEmployeeId() != optionA) {
-                    System.out.println("Option B: " + recs.get(1).getEmployee().getFirstName() + 
-                                     " " + recs.get(1).getEmployee().getLastName() + 
-                                     " (Score: " + String.format("%.2f", recs.get(1).getScore()) + ")");
+                if (recs.size() >= 2 && recs.get(1).getEmployee().getEmployeeId() != optionA) {
+                    log.debug(() -> "Option B: " + recs.get(1).getEmployee().getFirstName() +
+                                    " " + recs.get(1).getEmployee().getLastName() +
+                                    " (Score: " + String.format("%.2f", recs.get(1).getScore()) + ")");
                 }
                 
-                // Save to database
-                shiftDAO.updateRecommendations(
-                    shift.getShiftId(), optionA, optionB
-                );
+                // Saved to database by the caller
+                toSave.add(shift);
                 
                 // Store recommendations
                 recommendations.put(shift.getShiftId(), recs);
                 recommendationsGenerated++;
             } else {
-                System.out.println("No valid recommendations found for this shift");
+                log.debug(() -> "No valid recommendations found for shift " + shift.getShiftId());
             }
         }
         
-        System.out.println("\n=== Summary ===");
-        System.out.println("Recommendations generated for " + recommendationsGenerated + 
-                         " out of " + game.getShifts().size() + " shifts");
+        log.info("Recommendations generated for " + recommendationsGenerated +
+                 " out of " + game.getShifts().size() + " shifts");
+        
+        if (event.shouldCommit()) {
+            event.scheduleId = game.getScheduleId();
+            event.shifts = game.getShifts().size();
+            event.recommended = recommendationsGenerated;
+            event.candidates = snapshot.size();
+            event.snapshotDuration = snapshotNanos;
+            event.commit();
+        }
     }
     
     /**
@@ -161,43 +209,539 @@ public class SchedulingController {
             throw new IllegalStateException("No active cycle");
         }
         
-        System.out.println("Generating recommendations for all shifts in cycle...");
+        log.info("Generating recommendations for all shifts in cycle...");
+        incrementalRecommender = null;
         
-        // Reload games from database
-        loadGameSchedules();
+        // Load the whole cycle once, then generate game by game from memory
+        CycleSnapshot cycleData = loadCycleSnapshot();
         
+        List<Schedule.Shift> toSave = new ArrayList<>();
         for (Schedule.Game game : currentCycle.getGameSchedules()) {
-            autoGenerateRecommendations(game);
+            autoGenerateRecommendations(game, cycleData, toSave);
         }
+        shiftDAO.updateRecommendationsBatch(toSave);
         
-        System.out.println("All recommendations generated!");
+        log.info("All recommendations generated!");
     }
-    
+
+    /**
+     * Parallel cycle mode: same output as generateRecommendations, but employees,
+     * sports and weekly hours are loaded once and games are scored on all cores.
+     * Database writes still happen sequentially in cycle order.
+     */
+    public void generateRecommendationsParallel() throws SQLException {
+        if (currentCycle == null) {
+            throw new IllegalStateException("No active cycle");
+        }
+
+        log.info("Generating recommendations for all shifts in cycle (parallel)...");
+        incrementalRecommender = null;
+
+        CycleSnapshot cycleData = loadCycleSnapshot();
+        for (Schedule.Game game : currentCycle.getGameSchedules()) {
+            if (game.getShifts().isEmpty()) {
+                game.generateShifts();
+            }
+        }
+
+        List<Employee> allEmployees = cycleData.getEmployees();
+        if (allEmployees.isEmpty()) {
+            throw new SQLException("No active employees found. Please add employees first.");
+        }
+
+        Map<Integer, Sport> sportsMap = cycleData.getSports();
+
+        Map<Integer, List<SchedulingRecommendation>> generated =
+            schedulingEngine.generateAllRecommendationsParallel(
+                currentCycle, allEmployees, sportsMap,
+                cycleData.getAvailability(), cycleData.getConflicts(), cycleData.getApprovedTimeOff(),
+                cycleData.getAssignedGames(), cycleData.getWeeklyHoursByWeek(),
+                Runtime.getRuntime().availableProcessors()
+            );
+
+        List<Schedule.Shift> toSave = new ArrayList<>();
+        for (Schedule.Game game : currentCycle.getGameSchedules()) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                List<SchedulingRecommendation> recs = generated.get(shift.getShiftId());
+                if (recs == null || recs.isEmpty()) {
+                    continue;
+                }
+                toSave.add(shift);
+                recommendations.put(shift.getShiftId(), recs);
+            }
+        }
+        int recommendationsGenerated = shiftDAO.updateRecommendationsBatch(toSave);
+
+        log.info("Recommendations generated for " + recommendationsGenerated + " shifts");
+    }
+
+    /**
+     * Constraint-propagation cycle mode: prunes every shift's candidates up front,
+     * reports shifts nobody can work, and picks Option A most-constrained-first so
+     * the Option A picks never double-book anyone or exceed weekly hours
+     */
+    public void generateRecommendationsConstrained() throws SQLException {
+        if (currentCycle == null) {
+            throw new IllegalStateException("No active cycle");
+        }
+
+        log.info("Generating recommendations for all shifts in cycle (constrained)...");
+        incrementalRecommender = null;
+
+        CycleSnapshot cycleData = loadCycleSnapshot();
+        for (Schedule.Game game : currentCycle.getGameSchedules()) {
+            if (game.getShifts().isEmpty()) {
+                game.generateShifts();
+            }
+        }
+
+        List<Employee> allEmployees = cycleData.getEmployees();
+        if (allEmployees.isEmpty()) {
+            throw new SQLException("No active employees found. Please add employees first.");
+        }
+
+        Map<Integer, Sport> sportsMap = cycleData.getSports();
+
+        Map<Integer, List<SchedulingRecommendation>> generated =
+            schedulingEngine.generateConstrainedRecommendations(
+                currentCycle, allEmployees, sportsMap,
+                cycleData.getAvailability(), cycleData.getConflicts(), cycleData.getApprovedTimeOff(),
+                cycleData.getAssignedGames(), cycleData.getWeeklyHoursByWeek()
+            );
+
+        List<Schedule.Shift> toSave = new ArrayList<>();
+        for (Schedule.Game game : currentCycle.getGameSchedules()) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                List<SchedulingRecommendation> recs = generated.get(shift.getShiftId());
+                if (recs == null || recs.isEmpty()) {
+                    continue;
+                }
+                toSave.add(shift);
+                recommendations.put(shift.getShiftId(), recs);
+            }
+        }
+        int recommendationsGenerated = shiftDAO.updateRecommendationsBatch(toSave);
+
+        log.info("Recommendations generated for " + recommendationsGenerated + " shifts");
+    }
+
+    /**
+     * Incremental cycle mode: computes the same greedy recommendations as
+     * generateRecommendationsParallel, then keeps them current. Later assignments,
+     * unassignments and availability edits saved through AvailabilityController
+     * refresh only the affected shifts instead of requiring a full re-run.
+     */
+    public void generateRecommendationsIncremental() throws SQLException {
+        if (currentCycle == null) {
+            throw new IllegalStateException("No active cycle");
+        }
+
+        log.info("Generating recommendations for all shifts in cycle (incremental)...");
+
+        CycleSnapshot cycleData = loadCycleSnapshot();
+        for (Schedule.Game game : currentCycle.getGameSchedules()) {
+            if (game.getShifts().isEmpty()) {
+                game.generateShifts();
+            }
+        }
+
+        List<Employee> allEmployees = cycleData.getEmployees();
+        if (allEmployees.isEmpty()) {
+            throw new SQLException("No active employees found. Please add employees first.");
+        }
+
+        Map<Integer, Sport> sportsMap = cycleData.getSports();
+
+        incrementalRecommender = new IncrementalRecommender(
+            schedulingEngine, currentCycle.getGameSchedules(), allEmployees, sportsMap,
+            cycleData.getAvailability(), cycleData.getConflicts(), cycleData.getApprovedTimeOff(),
+            cycleData.getAssignedGames(), cycleData.getWeeklyHoursByWeek()
+        );
+        recommendations.clear();
+        int recommendationsGenerated = refreshRecommendations(
+            incrementalRecommender.recomputeAll().keySet());
+        incrementalControllers.add(this);
+
+        log.info("Recommendations generated for " + recommendationsGenerated + " shifts");
+    }
+
+    /**
+     * Search for a better whole-cycle schedule than the current assignments (and
+     * Option A picks for open shifts) within the given wall-clock budget.
+     * Nothing is saved; the result lists the proposed employee per shift.
+     * @param seed random seed for the search, so a run can be repeated
+     */
+    public LocalSearchOptimizer.Result optimizeSchedule(Duration budget, long seed) throws SQLException {
+        if (currentCycle == null) {
+            throw new IllegalStateException("No active cycle");
+        }
+
+        CycleSnapshot cycleData = loadCycleSnapshot();
+        List<Employee> allEmployees = cycleData.getEmployees();
+        Map<Integer, Sport> sportsMap = cycleData.getSports();
+
+        LocalSearchOptimizer optimizer = new LocalSearchOptimizer(schedulingEngine, seed);
+        LocalSearchOptimizer.Result result = optimizer.optimize(
+            currentCycle, allEmployees, sportsMap, availabilityIndexFor(cycleData),
+            cycleData.getWeeklyHoursByWeek(), budget
+        );
+
+        log.info("Schedule optimization: " + result);
+        return result;
+    }
+
+    /**
+     * Refresh recommendations after an employee's availability or permanent conflicts
+     * changed (no-op unless incremental mode is active)
+     */
+    public void onAvailabilityChanged(int employeeId,
+                                      List<Availability.Seasonal> availability,
+                                      List<Availability.PermanentConflict> conflicts) throws SQLException {
+        if (incrementalRecommender != null) {
+            refreshRecommendations(
+                incrementalRecommender.onAvailabilityChanged(employeeId, availability, conflicts));
+        }
+    }
+
+    /**
+     * Reload an employee's availability and permanent conflicts for the current
+     * cycle and refresh the affected recommendations (no-op unless incremental
+     * mode is active)
+     */
+    public void onAvailabilityChanged(int employeeId) throws SQLException {
+        if (incrementalRecommender != null) {
+            onAvailabilityChanged(employeeId,
+                cycleSnapshotDAO.loadAvailability(
+                    employeeId, currentCycle.getCycleStart(), currentCycle.getCycleEnd()),
+                cycleSnapshotDAO.loadConflicts(employeeId));
+        }
+    }
+
+    /**
+     * Refresh every controller in incremental mode after an employee's availability
+     * or permanent conflicts were saved. Runs in the background; a failure is only
+     * logged, since the save itself already succeeded.
+     * @return completes once every controller has refreshed
+     */
+    public static CompletableFuture<Void> notifyAvailabilityChanged(int employeeId) {
+        List<SchedulingController> controllers;
+        synchronized (incrementalControllers) {
+            controllers = new ArrayList<>(incrementalControllers);
+        }
+        List<CompletableFuture<Void>> refreshes = new ArrayList<>(controllers.size());
+        for (SchedulingController controller : controllers) {
+            refreshes.add(AsyncTasks.<Void>supply(() -> controller.locked(() -> {
+                controller.onAvailabilityChanged(employeeId);
+                return null;
+            })).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    log.warn("Could not refresh recommendations for employee " + employeeId +
+                             " after an availability change", AsyncTasks.unwrap(error));
+                }
+            }));
+        }
+        return CompletableFuture.allOf(refreshes.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Refresh recommendations after a time-off request was approved
+     * (no-op unless incremental mode is active). The app has no approval
+     * screen yet, so code that approves a request must call this itself.
+     */
+    public void onTimeOffApproved(TimeOffRequest request) throws SQLException {
+        if (incrementalRecommender != null) {
+            refreshRecommendations(incrementalRecommender.onTimeOffApproved(request));
+        }
+    }
+
+    /**
+     * Store and persist the incremental recommender's current lists for these shifts
+     * @return number of shifts that have recommendations
+     */
+    private int refreshRecommendations(Collection<Integer> shiftIds) throws SQLException {
+        if (shiftIds.isEmpty()) {
+            return 0;
+        }
+        Map<Integer, Schedule.Shift> shiftsById = new HashMap<>();
+        for (Schedule.Game game : currentCycle.getGameSchedules()) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                shiftsById.put(shift.getShiftId(), shift);
+            }
+        }
+        
+        List<Schedule.Shift> toSave = new ArrayList<>();
+        int withRecommendations = 0;
+        for (Integer shiftId : shiftIds) {
+            List<SchedulingRecommendation> recs = incrementalRecommender.getRecommendations(shiftId);
+            if (recs.isEmpty()) {
+                recommendations.remove(shiftId);
+                continue;
+            }
+            int optionA = recs.get(0).getEmployee().getEmployeeId();
+            int optionB = recs.size() >= 2 ? recs.get(1).getEmployee().getEmployeeId() : optionA;
+            Schedule.Shift shift = shiftsById.get(shiftId);
+            if (shift != null) {
+                shift.setRecommendations(optionA, optionB);
+                toSave.add(shift);
+            } else {
+                shiftDAO.updateRecommendations(shiftId, optionA, optionB);
+            }
+            recommendations.put(shiftId, recs);
+            withRecommendations++;
+        }
+        shiftDAO.updateRecommendationsBatch(toSave);
+        return withRecommendations;
+    }
+
+    /**
+     * Load the current cycle's data in a handful of set-based queries, refresh the
+     * cycle's games from it and rebuild the double-booking and availability indexes
+     */
+    private CycleSnapshot loadCycleSnapshot() throws SQLException {
+        CycleSnapshot cycleData = cycleSnapshotDAO.load(
+            currentCycle.getCycleStart(), currentCycle.getCycleEnd());
+        log.debug(cycleData::toString);
+        
+        currentCycle.getGameSchedules().clear();
+        currentCycle.getGameSchedules().addAll(cycleData.getGames());
+        assignmentIndex.clear();
+        assignmentIndex.addAll(cycleData.getGames());
+        return cycleData;
+    }
+
+    /**
+     * Availability grids of the given cycle data, built once per load so each
+     * game's scoring snapshot reuses them instead of rebuilding its own. Grids
+     * are only reused for the very load they were built from.
+     */
+    private synchronized AvailabilityIndex availabilityIndexFor(CycleSnapshot cycleData) {
+        if (indexedCycleData != cycleData) {
+            List<Integer> employeeIds = new ArrayList<>(cycleData.getEmployees().size());
+            for (Employee employee : cycleData.getEmployees()) {
+                employeeIds.add(employee.getEmployeeId());
+            }
+            availabilityIndex = AvailabilityIndex.build(employeeIds,
+                cycleData.getAvailability(), cycleData.getConflicts(), cycleData.getApprovedTimeOff());
+            indexedCycleData = cycleData;
+        }
+        return availabilityIndex;
+    }
+
+    /**
+     * Generate recommendations for the whole cycle with the optimal assignment solver
+     * instead of the per-game greedy pass
+     */
+    public void generateOptimalRecommendations() throws SQLException {
+        if (currentCycle == null) {
+            throw new IllegalStateException("No active cycle");
+        }
+
+        log.info("Generating optimal recommendations for cycle...");
+        incrementalRecommender = null;
+
+        CycleSnapshot cycleData = loadCycleSnapshot();
+        for (Schedule.Game game : currentCycle.getGameSchedules()) {
+            if (game.getShifts().isEmpty()) {
+                game.generateShifts();
+            }
+        }
+
+        List<Employee> allEmployees = cycleData.getEmployees();
+        if (allEmployees.isEmpty()) {
+            throw new SQLException("No active employees found. Please add employees first.");
+        }
+
+        Map<Integer, Sport> sportsMap = cycleData.getSports();
+
+        Map<Integer, List<SchedulingRecommendation>> optimal =
+            schedulingEngine.generateOptimalRecommendations(
+                currentCycle, allEmployees, sportsMap,
+                cycleData.getAvailability(), cycleData.getConflicts(), cycleData.getApprovedTimeOff(),
+                cycleData.getAssignedGames(), cycleData.getWeeklyHoursByWeek()
+            );
+
+        List<Schedule.Shift> toSave = new ArrayList<>();
+        for (Schedule.Game game : currentCycle.getGameSchedules()) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                List<SchedulingRecommendation> recs = optimal.get(shift.getShiftId());
+                if (recs == null || recs.isEmpty()) {
+                    continue;
+                }
+                toSave.add(shift);
+                recommendations.put(shift.getShiftId(), recs);
+            }
+        }
+        int recommendationsGenerated = shiftDAO.updateRecommendationsBatch(toSave);
+
+        log.info("Optimal recommendations generated for " + recommendationsGenerated + " shifts");
+    }
+
     public List<Schedule.Game> loadGameSchedules() throws SQLException {
         if (currentCycle == null) {
             return new ArrayList<>();
         }
         
-        List<Schedule.Game> games = gameScheduleDAO.getByCycle(
+        // Games and their shifts in two queries
+        List<Schedule.Game> games = cycleSnapshotDAO.loadGames(
             currentCycle.getCycleStart(),
             currentCycle.getCycleEnd()
         );
         
-        for (Schedule.Game game : games) {
-            game.generateShifts();
-            
-            // Load shifts from database
-            List<Schedule.Shift> shifts = shiftDAO.getByGameSchedule(game.getScheduleId());
-            game.getShifts().clear();
-            game.getShifts().addAll(shifts);
-        }
-        
         currentCycle.getGameSchedules().clear();
         currentCycle.getGameSchedules().addAll(games);
         
+        // Rebuild the double-booking index from the loaded assignments
+        assignmentIndex.clear();
+        assignmentIndex.addAll(games);
+        
         return games;
     }
     
+    /**
+     * Games between two dates with their stored shifts, sport names and all
+     * employees, for display. The four queries run in parallel.
+     */
+    public CompletableFuture<ScheduleOverview> loadOverviewAsync(LocalDate startDate, LocalDate endDate) {
+        CompletableFuture<List<Schedule.Game>> games =
+            AsyncTasks.supply(() -> gameScheduleDAO.getByDateRange(startDate, endDate));
+        CompletableFuture<List<Schedule.Shift>> shifts =
+            AsyncTasks.supply(() -> shiftDAO.getByGameDateRange(startDate, endDate));
+        CompletableFuture<List<Sport>> sports = AsyncTasks.supply(sportDAO::getAll);
+        CompletableFuture<List<Employee>> employees = AsyncTasks.supply(employeeDAO::getAllIncludingInactive);
+        
+        CompletableFuture<ScheduleOverview> overview = CompletableFuture.allOf(games, shifts, sports, employees)
+            .thenApply(done -> {
+                Map<Integer, Schedule.Game> gamesById = new HashMap<>();
+                for (Schedule.Game game : games.join()) {
+                    game.getShifts().clear();
+                    gamesById.put(game.getScheduleId(), game);
+                }
+                for (Schedule.Shift shift : shifts.join()) {
+                    Schedule.Game game = gamesById.get(shift.getGameScheduleId());
+                    if (game != null) {
+                        game.getShifts().add(shift);
+                    }
+                }
+                
+                Map<Integer, String> sportNames = new HashMap<>();
+                for (Sport sport : sports.join()) {
+                    sportNames.put(sport.getSportId(), sport.getSportName());
+                }
+                Map<Integer, Employee> employeesById = new HashMap<>();
+                for (Employee employee : employees.join()) {
+                    employeesById.put(employee.getEmployeeId(), employee);
+                }
+                return new ScheduleOverview(games.join(), sportNames, employeesById);
+            });
+        return AsyncTasks.cancelling(overview, games, shifts, sports, employees);
+    }
+    
+    /**
+     * Delete a game and its shifts in one transaction on a background thread.
+     * The write is never interrupted, even if the caller cancels the future.
+     */
+    public CompletableFuture<Void> deleteGameAsync(Schedule.Game game) {
+        return AsyncTasks.submit(() -> {
+            DatabaseConnection.inTransaction(conn -> {
+                // Delete shifts first (foreign key constraint)
+                shiftDAO.deleteByGameSchedule(conn, game.getScheduleId());
+                gameScheduleDAO.delete(conn, game.getScheduleId());
+                return null;
+            });
+            DaoCaches.GAMES.invalidate(game.getScheduleId());
+            return null;
+        });
+    }
+    
+    /**
+     * Generate recommendations for one game on a background thread, adding the
+     * game to the current cycle (created from the game's cycle if there is none)
+     */
+    public CompletableFuture<Void> generateRecommendationsForGameAsync(Schedule.Game game) {
+        return AsyncTasks.supply(() -> locked(() -> {
+            if (currentCycle == null) {
+                createCycle(game.getScheduleCycleStart(), game.getScheduleCycleEnd());
+            }
+            if (!currentCycle.getGameSchedules().contains(game)) {
+                currentCycle.addGameSchedule(game);
+            }
+            autoGenerateRecommendations(game);
+            return null;
+        }));
+    }
+    
+    /**
+     * Load the game's scheduling cycle and generate recommendations for all of its
+     * shifts with one of the cycle modes, on a background thread
+     * @return number of shifts that got recommendations
+     */
+    public CompletableFuture<Integer> generateCycleRecommendationsAsync(Schedule.Game game, CycleMode mode) {
+        return AsyncTasks.supply(() -> locked(() -> {
+            createCycle(game.getScheduleCycleStart(), game.getScheduleCycleEnd());
+            loadGameSchedules();
+            switch (mode) {
+                case PARALLEL:
+                    generateRecommendationsParallel();
+                    break;
+                case CONSTRAINED:
+                    generateRecommendationsConstrained();
+                    break;
+                case OPTIMAL:
+                    generateOptimalRecommendations();
+                    break;
+                case INCREMENTAL:
+                    generateRecommendationsIncremental();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown cycle mode: " + mode);
+            }
+            
+            int recommended = 0;
+            for (Schedule.Game cycleGame : currentCycle.getGameSchedules()) {
+                for (Schedule.Shift shift : cycleGame.getShifts()) {
+                    if (recommendations.containsKey(shift.getShiftId())) {
+                        recommended++;
+                    }
+                }
+            }
+            return recommended;
+        }));
+    }
+    
+    /**
+     * Load the game's scheduling cycle and run optimizeSchedule on it on a
+     * background thread. The seed is the cycle's start day, so the same cycle
+     * starts the same search every time.
+     */
+    public CompletableFuture<LocalSearchOptimizer.Result> optimizeScheduleAsync(Schedule.Game game,
+                                                                                Duration budget) {
+        return AsyncTasks.supply(() -> locked(() -> {
+            createCycle(game.getScheduleCycleStart(), game.getScheduleCycleEnd());
+            loadGameSchedules();
+            return optimizeSchedule(budget, game.getScheduleCycleStart().toEpochDay());
+        }));
+    }
+    
+    /**
+     * Run assignShifts on a background thread. The write is never interrupted,
+     * even if the caller cancels the future.
+     * @param choices employee ID per shift
+     * @return number of shifts assigned
+     */
+    public CompletableFuture<Integer> assignShiftsAsync(Schedule.Game game,
+                                                       Map<Schedule.Shift, Integer> choices) {
+        return AsyncTasks.submit(() -> locked(() -> assignShifts(game, choices)));
+    }
+    
+    private <T> T locked(Callable<T> work) throws Exception {
+        stateLock.lockInterruptibly();
+        try {
+            return work.call();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+    
     public Map<String, Integer> getStatistics() {
         Map<String, Integer> stats = new HashMap<>();
         
@@ -240,17 +784,96 @@ public class SchedulingController {
      * Assign an employee to a shift and update hours tracking
      */
     public void assignShift(Schedule.Shift shift, int employeeId, Schedule.Game game) throws SQLException {
-        System.out.println("Assigning employee " + employeeId + " to shift " + shift.getShiftId());
+        log.info("Assigning employee " + employeeId + " to shift " + shift.getShiftId());
         
-        // Assign employee to shift
+        // Save the assignment and the weekly hours change together
+        DatabaseConnection.inTransaction(conn -> {
+            shiftDAO.updateAssignment(conn, shift.getShiftId(), employeeId);
+            hoursTracker.assignShift(conn, employeeId, game);
+            return null;
+        });
+        
+        refreshRecommendations(recordAssignment(shift, employeeId, game));
+        
+        log.debug("Assignment completed successfully");
+    }
+    
+    /**
+     * Assign the chosen employee to each shift of a game and update hours
+     * tracking, all in one transaction: either every shift is assigned or none
+     * @param choices employee ID per shift
+     * @return number of shifts assigned
+     */
+    public int assignShifts(Schedule.Game game, Map<Schedule.Shift, Integer> choices) throws SQLException {
+        log.info("Assigning " + choices.size() + " shifts of game " + game.getScheduleId());
+        
+        DatabaseConnection.inTransaction(conn -> {
+            for (Map.Entry<Schedule.Shift, Integer> choice : choices.entrySet()) {
+                shiftDAO.updateAssignment(conn, choice.getKey().getShiftId(), choice.getValue());
+                hoursTracker.assignShift(conn, choice.getValue(), game);
+            }
+            return null;
+        });
+        
+        Set<Integer> refreshed = new LinkedHashSet<>();
+        for (Map.Entry<Schedule.Shift, Integer> choice : choices.entrySet()) {
+            refreshed.addAll(recordAssignment(choice.getKey(), choice.getValue(), game));
+        }
+        refreshRecommendations(refreshed);
+        return choices.size();
+    }
+    
+    /**
+     * Apply a saved assignment to the in-memory shift, the double-booking index
+     * and the incremental recommender
+     * @return IDs of the shifts whose recommendations need saving
+     */
+    private Set<Integer> recordAssignment(Schedule.Shift shift, int employeeId, Schedule.Game game) {
         shift.assignEmployee(employeeId);
+        assignmentIndex.add(employeeId, shift.getShiftId(), game);
+        if (incrementalRecommender == null) {
+            return Collections.emptySet();
+        }
+        return incrementalRecommender.onAssignment(employeeId, game);
+    }
+    
+    /**
+     * Remove the assigned employee from a shift and update hours tracking
+     */
+    public void unassignShift(Schedule.Shift shift, Schedule.Game game) throws SQLException {
+        Integer employeeId = shift.getAssignedEmployeeId();
+        if (employeeId == null) {
+            return;
+        }
         
-        // Update database
-        shiftDAO.updateAssignment(shift.getShiftId(), employeeId);
+        log.info("Unassigning employee " + employeeId + " from shift " + shift.getShiftId());
         
-        // Update weekly hours tracking
-        hoursTracker.assignShift(employeeId, game);
+        shift.unassign();
+        try {
+            DatabaseConnection.inTransaction(conn -> {
+                shiftDAO.update(conn, shift);
+                hoursTracker.unassignShift(conn, employeeId, game);
+                return null;
+            });
+        } catch (SQLException e) {
+            shift.assignEmployee(employeeId);
+            throw e;
+        }
+        assignmentIndex.remove(employeeId, shift.getShiftId(), game);
         
-        System.out.println("Assignment completed successfully");
+        if (incrementalRecommender != null) {
+            refreshRecommendations(incrementalRecommender.onUnassignment(employeeId, game));
+        }
+    }
+    
+    /**
+     * Number of ranked recommendations to keep per shift (2 = Option A/B)
+     */
+    public void setRecommendationCount(int count) {
+        schedulingEngine.setRecommendationCount(count);
+    }
+    
+    public AssignmentIntervalIndex getAssignmentIndex() {
+        return assignmentIndex;
     }
 }
\ No newline at end of file
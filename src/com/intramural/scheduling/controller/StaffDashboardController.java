@@ -3,22 +3,26 @@ package com.intramural.scheduling.controller;
 import com.intramural.scheduling.dao.*;
 import com.intramural.scheduling.model.*;
 import com.intramural.scheduling.service.HoursTracker;
+import com.intramural.scheduling.util.AsyncTasks;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class StaffDashboardController {
     private EmployeeDAO employeeDAO;
     private GameScheduleDAO gameScheduleDAO;
     private WeeklyHoursDAO weeklyHoursDAO;
+    private ShiftDAO shiftDAO;
     // private TimeOffDAO timeOffDAO;
     private HoursTracker hoursTracker;
     
     public StaffDashboardController() {
-        this.employeeDAO = new EmployeeDAO();
+        this.employeeDAO = new CachingEmployeeDAO();
         this.gameScheduleDAO = new GameScheduleDAO();
         this.weeklyHoursDAO = new WeeklyHoursDAO();
+        this.shiftDAO = new ShiftDAO();
         // this.timeOffDAO = new TimeOffDAO();
         this.hoursTracker = new HoursTracker();
     }
@@ -30,6 +34,13 @@ public class StaffDashboardController {
         return employeeDAO.getById(employeeId);
     }
     
+    /**
+     * Games the employee is assigned to, loaded on a background thread
+     */
+    public CompletableFuture<List<Schedule.Game>> getAssignedShiftsAsync(int employeeId) {
+        return AsyncTasks.supply(() -> shiftDAO.getShiftsByEmployee(employeeId));
+    }
+    
     /**
      * Get upcoming shifts for employee
      */
@@ -176,16 +187,16 @@ public class StaffDashboardController {
                     continue; // Skip if not eligible for supervisor
                 }
                 
+                // Save the assignment and the weekly hours change together
+                DatabaseConnection.inTransaction(conn -> {
+                    shiftDAO.updateAssignment(conn, shift.getShiftId(), employeeId);
+                    hoursTracker.assignShift(conn, employeeId, game);
+                    return null;
+                });
+                
                 // Assign the shift
                 shift.assignEmployee(employeeId);
                 
-                // Update database
-                ShiftDAO shiftDAO = new ShiftDAO();
-                shiftDAO.updateAssignment(shift);
-                
-                // Update weekly hours
-                hoursTracker.assignShift(employeeId, game);
-                
                 break;
             }
         }
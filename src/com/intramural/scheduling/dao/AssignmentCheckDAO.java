@@ -0,0 +1,339 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.model.Availability;
+import com.intramural.scheduling.model.Employee;
+import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.model.Tracking;
+import com.intramural.scheduling.util.DateTimeUtil;
+import com.intramural.scheduling.util.IntObjectMap;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads what ShiftValidationService needs to check one assignment with at most
+ * two queries on one connection:
+ *
+ *   1. the target game, whether the employee has its sport, and the games on the
+ *      same date that overlap it and already have the employee assigned
+ *   2. the employee's availability for the game's season (only when asked for)
+ *
+ * The cost doesn't depend on how many games share the date.
+ *
+ * loadBatch does the same for a whole set of proposed assignments with a fixed
+ * number of queries, splitting long ID lists into IN lists of MAX_IN_LIST.
+ */
+public class AssignmentCheckDAO {
+
+    // Target row first ('T'), then overlapping assigned games ('C') by start time
+    private static final String GAME_AND_CONFLICTS_SQL =
+        "SELECT 'T' AS row_kind, g.*, " +
+        "CASE WHEN EXISTS (SELECT 1 FROM employee_expertise ee " +
+        "WHERE ee.employee_id = ? AND ee.sport_id = g.sport_id) THEN 1 ELSE 0 END AS has_expertise " +
+        "FROM game_schedules g WHERE g.schedule_id = ? " +
+        "UNION ALL " +
+        "SELECT 'C' AS row_kind, c.*, 0 AS has_expertise " +
+        "FROM game_schedules t " +
+        "JOIN game_schedules c ON c.game_date = t.game_date " +
+        "AND c.schedule_id <> t.schedule_id " +
+        "AND c.start_time < t.end_time AND t.start_time < c.end_time " +
+        "WHERE t.schedule_id = ? " +
+        "AND EXISTS (SELECT 1 FROM shifts s " +
+        "WHERE s.game_schedule_id = c.schedule_id AND s.assigned_employee_id = ?) " +
+        "ORDER BY row_kind DESC, start_time";
+
+    private static final int MAX_IN_LIST = 500;
+
+    private final GameScheduleDAO gameScheduleDAO = new GameScheduleDAO();
+    private final AvailabilityDAO availabilityDAO = new AvailabilityDAO();
+    private final EmployeeDAO employeeDAO = new EmployeeDAO();
+    private final WeeklyHoursDAO weeklyHoursDAO = new WeeklyHoursDAO();
+
+    /**
+     * Everything known about one proposed assignment
+     */
+    public static class Facts {
+        private final int employeeId;
+        private final Schedule.Game game;
+        private final boolean hasExpertise;
+        private final List<Schedule.Game> conflictingGames;
+        private final List<Availability.Seasonal> availability;
+
+        Facts(int employeeId, Schedule.Game game, boolean hasExpertise,
+              List<Schedule.Game> conflictingGames, List<Availability.Seasonal> availability) {
+            this.employeeId = employeeId;
+            this.game = game;
+            this.hasExpertise = hasExpertise;
+            this.conflictingGames = Collections.unmodifiableList(conflictingGames);
+            this.availability = availability == null ? null : Collections.unmodifiableList(availability);
+        }
+
+        public int getEmployeeId() { return employeeId; }
+
+        /** The target game, or null if it doesn't exist */
+        public Schedule.Game getGame() { return game; }
+
+        public boolean hasExpertise() { return hasExpertise; }
+
+        /** Other games overlapping the target that the employee is assigned to, by start time */
+        public List<Schedule.Game> getConflictingGames() { return conflictingGames; }
+
+        /** Availability for the game's season and year, or null if it wasn't loaded */
+        public List<Availability.Seasonal> getAvailability() { return availability; }
+    }
+
+    /**
+     * Everything known about a set of proposed assignments, keyed by ID
+     */
+    public static class BatchFacts {
+        private final IntObjectMap<Schedule.Game> games = new IntObjectMap<>();
+        private final IntObjectMap<Employee> employees = new IntObjectMap<>();
+        private final Set<Long> expertise = new HashSet<>();
+        private final IntObjectMap<List<Schedule.Game>> assignedGames = new IntObjectMap<>();
+        private IntObjectMap<List<Availability.Seasonal>> availability;
+        private final IntObjectMap<Map<LocalDate, Double>> scheduledHours = new IntObjectMap<>();
+
+        BatchFacts() {
+        }
+
+        /** The game, or null if it doesn't exist */
+        public Schedule.Game getGame(int gameScheduleId) { return games.get(gameScheduleId); }
+
+        /** The employee (without expertise), or null if it doesn't exist */
+        public Employee getEmployee(int employeeId) { return employees.get(employeeId); }
+
+        public boolean hasExpertise(int employeeId, int sportId) {
+            return expertise.contains(key(employeeId, sportId));
+        }
+
+        /** Games the employee is already assigned to on the dates of the batch, by date and start time */
+        public List<Schedule.Game> getAssignedGames(int employeeId) {
+            return assignedGames.getOrDefault(employeeId, Collections.emptyList());
+        }
+
+        /** All seasonal availability of the employee for the seasons the batch touches, or null if not loaded */
+        public List<Availability.Seasonal> getAvailability(int employeeId) {
+            if (availability == null) {
+                return null;
+            }
+            return availability.getOrDefault(employeeId, Collections.emptyList());
+        }
+
+        /** Hours already scheduled for the employee in the week starting weekStart (0 without a row) */
+        public double getScheduledHours(int employeeId, LocalDate weekStart) {
+            Map<LocalDate, Double> weeks = scheduledHours.get(employeeId);
+            Double hours = weeks == null ? null : weeks.get(weekStart);
+            return hours == null ? 0.0 : hours;
+        }
+
+        static long key(int a, int b) {
+            return ((long) a << 32) | (b & 0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * Load the facts for assigning an employee to a game
+     * @param withAvailability also load the employee's availability for the game's season
+     */
+    public Facts load(int employeeId, int gameScheduleId, boolean withAvailability) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            Schedule.Game game = null;
+            boolean hasExpertise = false;
+            List<Schedule.Game> conflicts = new ArrayList<>();
+
+            try (PreparedStatement stmt = conn.prepareStatement(GAME_AND_CONFLICTS_SQL)) {
+                stmt.setInt(1, employeeId);
+                stmt.setInt(2, gameScheduleId);
+                stmt.setInt(3, gameScheduleId);
+                stmt.setInt(4, employeeId);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        if ("T".equals(rs.getString("row_kind"))) {
+                            game = gameScheduleDAO.extractGameFromResultSet(rs);
+                            hasExpertise = rs.getInt("has_expertise") == 1;
+                        } else {
+                            conflicts.add(gameScheduleDAO.extractGameFromResultSet(rs));
+                        }
+                    }
+                }
+            }
+
+            List<Availability.Seasonal> availability = null;
+            if (game != null && withAvailability) {
+                availability = availabilityDAO.getByEmployee(conn, employeeId,
+                    Availability.Season.valueOf(DateTimeUtil.getSeason(game.getGameDate())),
+                    game.getGameDate().getYear());
+            }
+
+            return new Facts(employeeId, game, hasExpertise, conflicts, availability);
+        }
+    }
+
+    /**
+     * Load the facts for a set of proposed assignments: the games, the employees,
+     * their expertise, what they are already assigned to on the batch's dates,
+     * their availability for the seasons involved and their scheduled weekly hours.
+     * @param withAvailability also load seasonal availability
+     */
+    public BatchFacts loadBatch(Collection<Integer> employeeIds, Collection<Integer> gameScheduleIds,
+                                boolean withAvailability) throws SQLException {
+        BatchFacts facts = new BatchFacts();
+        List<Integer> employees = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+        List<Integer> gameIds = new ArrayList<>(new LinkedHashSet<>(gameScheduleIds));
+        if (employees.isEmpty() || gameIds.isEmpty()) {
+            return facts;
+        }
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            LocalDate from = null;
+            LocalDate to = null;
+            for (Schedule.Game game : queryByIds(conn,
+                    "SELECT * FROM game_schedules WHERE schedule_id IN (%s)",
+                    gameIds, stmt -> 1, gameScheduleDAO::extractGameFromResultSet)) {
+                facts.games.put(game.getScheduleId(), game);
+                LocalDate date = game.getGameDate();
+                from = from == null || date.isBefore(from) ? date : from;
+                to = to == null || date.isAfter(to) ? date : to;
+            }
+
+            for (Employee employee : queryByIds(conn,
+                    "SELECT * FROM employees WHERE employee_id IN (%s)",
+                    employees, stmt -> 1, employeeDAO::extractEmployee)) {
+                facts.employees.put(employee.getEmployeeId(), employee);
+            }
+
+            for (long key : queryByIds(conn,
+                    "SELECT employee_id, sport_id FROM employee_expertise WHERE employee_id IN (%s)",
+                    employees, stmt -> 1,
+                    rs -> BatchFacts.key(rs.getInt("employee_id"), rs.getInt("sport_id")))) {
+                facts.expertise.add(key);
+            }
+
+            if (from == null) {
+                return facts; // none of the games exist
+            }
+            LocalDate firstDay = from;
+            LocalDate lastDay = to;
+
+            loadAssignedGames(conn, facts, employees, firstDay, lastDay);
+            if (withAvailability) {
+                loadAvailability(conn, facts, employees, firstDay, lastDay);
+            }
+
+            LocalDate firstWeek = DateTimeUtil.getWeekStart(firstDay);
+            LocalDate lastWeek = DateTimeUtil.getWeekStart(lastDay);
+            for (Tracking.WeeklyHours hours : queryByIds(conn,
+                    "SELECT * FROM weekly_hours WHERE week_start_date BETWEEN ? AND ? " +
+                    "AND employee_id IN (%s)",
+                    employees, stmt -> {
+                        stmt.setDate(1, Date.valueOf(firstWeek));
+                        stmt.setDate(2, Date.valueOf(lastWeek));
+                        return 3;
+                    }, weeklyHoursDAO::extractWeeklyHoursFromResultSet)) {
+                facts.scheduledHours.computeIfAbsent(hours.getEmployeeId(), id -> new HashMap<>())
+                    .put(hours.getWeekStartDate(), hours.getTotalScheduledHours());
+            }
+        }
+
+        return facts;
+    }
+
+    private void loadAssignedGames(Connection conn, BatchFacts facts, List<Integer> employeeIds,
+                                   LocalDate from, LocalDate to) throws SQLException {
+        String sql = "SELECT gs.*, s.assigned_employee_id FROM shifts s " +
+                    "JOIN game_schedules gs ON gs.schedule_id = s.game_schedule_id " +
+                    "WHERE gs.game_date BETWEEN ? AND ? AND s.assigned_employee_id IN (%s) " +
+                    "ORDER BY gs.game_date, gs.start_time";
+        List<Map.Entry<Integer, Schedule.Game>> rows = queryByIds(conn, sql, employeeIds, stmt -> {
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(to));
+            return 3;
+        }, rs -> new AbstractMap.SimpleImmutableEntry<>(
+            rs.getInt("assigned_employee_id"), gameScheduleDAO.extractGameFromResultSet(rs)));
+
+        // Each employee falls in exactly one chunk, so their games stay in order
+        for (Map.Entry<Integer, Schedule.Game> row : rows) {
+            facts.assignedGames.computeIfAbsent(row.getKey(), id -> new ArrayList<>()).add(row.getValue());
+        }
+    }
+
+    /**
+     * Seasonal availability for every (season, year) the window touches
+     */
+    private void loadAvailability(Connection conn, BatchFacts facts, List<Integer> employeeIds,
+                                  LocalDate from, LocalDate to) throws SQLException {
+        Set<String> seasons = new LinkedHashSet<>();
+        for (LocalDate month = from.withDayOfMonth(1); !month.isAfter(to); month = month.plusMonths(1)) {
+            seasons.add(DateTimeUtil.getSeason(month) + ":" + month.getYear());
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM seasonal_availability WHERE (");
+        int i = 0;
+        for (String ignored : seasons) {
+            sql.append(i++ == 0 ? "" : " OR ").append("(season = ? AND year = ?)");
+        }
+        sql.append(") AND employee_id IN (%s) ORDER BY employee_id, start_time");
+
+        facts.availability = new IntObjectMap<>();
+        for (Availability.Seasonal row : queryByIds(conn, sql.toString(), employeeIds, stmt -> {
+                int index = 1;
+                for (String season : seasons) {
+                    String[] parts = season.split(":");
+                    stmt.setString(index++, parts[0]);
+                    stmt.setInt(index++, Integer.parseInt(parts[1]));
+                }
+                return index;
+            }, availabilityDAO::extractAvailabilityFromResultSet)) {
+            facts.availability.computeIfAbsent(row.getEmployeeId(), id -> new ArrayList<>()).add(row);
+        }
+    }
+
+    /**
+     * Binds the parameters before the ID list and returns the next parameter index
+     */
+    private interface Binder {
+        int bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Run sql once per chunk of at most MAX_IN_LIST IDs, substituted for its %s
+     */
+    private static <T> List<T> queryByIds(Connection conn, String sql, List<Integer> ids,
+                                          Binder binder, RowMapper<T> mapper) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += MAX_IN_LIST) {
+            List<Integer> chunk = ids.subList(start, Math.min(ids.size(), start + MAX_IN_LIST));
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(String.format(sql, placeholders))) {
+                int index = binder.bind(stmt);
+                for (Integer id : chunk) {
+                    stmt.setInt(index++, id);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(mapper.map(rs));
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+}
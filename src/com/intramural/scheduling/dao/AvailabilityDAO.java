@@ -45,6 +45,17 @@ public class AvailabilityDAO {
     public List<Availability.Seasonal> getByEmployee(int employeeId, 
                                                      Availability.Season season, 
                                                      int year) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return getByEmployee(conn, employeeId, season, year);
+        }
+    }
+    
+    /**
+     * Get availability by employee, season, and year on an existing connection
+     */
+    List<Availability.Seasonal> getByEmployee(Connection conn, int employeeId,
+                                              Availability.Season season,
+                                              int year) throws SQLException {
         List<Availability.Seasonal> availabilities = new ArrayList<>();
         String sql = "SELECT * FROM seasonal_availability " +
                     "WHERE employee_id = ? AND season = ? AND year = ? " +
@@ -57,8 +68,7 @@ public class AvailabilityDAO {
                     "WHEN 'SATURDAY' THEN 6 " +
                     "WHEN 'SUNDAY' THEN 7 END, start_time";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, employeeId);
             stmt.setString(2, season.toString());
@@ -236,7 +246,7 @@ public class AvailabilityDAO {
     /**
      * Extract Availability.Seasonal from ResultSet
      */
-    private Availability.Seasonal extractAvailabilityFromResultSet(ResultSet rs) 
+    Availability.Seasonal extractAvailabilityFromResultSet(ResultSet rs) 
             throws SQLException {
         
         Availability.Seasonal availability = new Availability.Seasonal(
@@ -257,7 +267,7 @@ public class AvailabilityDAO {
     /**
      * Extract Availability.PermanentConflict from ResultSet
      */
-    private Availability.PermanentConflict extractConflictFromResultSet(ResultSet rs) 
+    Availability.PermanentConflict extractConflictFromResultSet(ResultSet rs) 
             throws SQLException {
         
         Availability.PermanentConflict conflict = new Availability.PermanentConflict(
@@ -0,0 +1,16 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.model.Employee;
+import java.sql.SQLException;
+
+/**
+ * EmployeeDAO whose lookups by ID are served from DaoCaches.EMPLOYEES.
+ * Each call returns its own copy, so callers may edit it before saving.
+ */
+public class CachingEmployeeDAO extends EmployeeDAO {
+
+    @Override
+    public Employee getById(int employeeId) throws SQLException {
+        return DaoCaches.EMPLOYEES.get(employeeId, () -> super.getById(employeeId));
+    }
+}
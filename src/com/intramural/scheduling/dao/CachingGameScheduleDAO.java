@@ -0,0 +1,16 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.model.Schedule;
+import java.sql.SQLException;
+
+/**
+ * GameScheduleDAO whose lookups by ID are served from DaoCaches.GAMES.
+ * Each call returns its own copy of the game (without shifts, like getById).
+ */
+public class CachingGameScheduleDAO extends GameScheduleDAO {
+
+    @Override
+    public Schedule.Game getById(int scheduleId) throws SQLException {
+        return DaoCaches.GAMES.get(scheduleId, () -> super.getById(scheduleId));
+    }
+}
@@ -0,0 +1,27 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.model.Sport;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * SportDAO whose lookups by ID are served from DaoCaches.SPORTS.
+ * getAll still queries, and warms the cache with what it read.
+ */
+public class CachingSportDAO extends SportDAO {
+
+    @Override
+    public Sport getById(int sportId) throws SQLException {
+        return DaoCaches.SPORTS.get(sportId, () -> super.getById(sportId));
+    }
+
+    @Override
+    public List<Sport> getAll() throws SQLException {
+        long stamp = DaoCaches.SPORTS.stamp();
+        List<Sport> sports = super.getAll();
+        for (Sport sport : sports) {
+            DaoCaches.SPORTS.put(sport.getSportId(), sport, stamp);
+        }
+        return sports;
+    }
+}
@@ -0,0 +1,764 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.util.Logger;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Small JDBC connection pool behind DatabaseConnection.getConnection().
+ *
+ * DAOs keep their try-with-resources pattern: close() on the returned
+ * Connection gives the physical connection back to the pool, and close() on a
+ * PreparedStatement keeps it open in a per-connection LRU cache so the same SQL
+ * is not re-prepared on every call.
+ *
+ * Idle connections are reused most-recently-used first. A connection idle for
+ * longer than the validation interval is checked with isValid() before it is
+ * handed out; connections idle past the idle timeout are closed down to the
+ * minimum size by a background task, which also keeps the minimum topped up.
+ * When all connections are in use, callers wait up to the acquisition timeout
+ * and then get an SQLTimeoutException.
+ */
+public class ConnectionPool implements ConnectionPoolMXBean {
+
+    private static final Logger log = Logger.getLogger(ConnectionPool.class);
+
+    public static final String OBJECT_NAME = "com.intramural.scheduling:type=ConnectionPool";
+
+    // Borrow latency histogram bucket upper bounds, in microseconds
+    private static final long[] LATENCY_BUCKETS_MICROS =
+        {50, 100, 250, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 1_000_000};
+
+    /**
+     * Pool settings, read from db.pool.* properties
+     */
+    public static class Config {
+        private int minSize = 2;
+        private int maxSize = 10;
+        private long idleTimeoutMillis = 5 * 60_000;
+        private long acquireTimeoutMillis = 30_000;
+        private long validationIntervalMillis = 5_000;
+        private int validationTimeoutSeconds = 5;
+        private int statementCacheSize = 64;
+
+        public static Config fromProperties(Properties props) {
+            Config config = new Config();
+            config.minSize = intProperty(props, "db.pool.minSize", config.minSize);
+            config.maxSize = intProperty(props, "db.pool.maxSize", config.maxSize);
+            config.idleTimeoutMillis = longProperty(props, "db.pool.idleTimeoutMs", config.idleTimeoutMillis);
+            config.acquireTimeoutMillis = longProperty(props, "db.pool.acquireTimeoutMs",
+                config.acquireTimeoutMillis);
+            config.validationIntervalMillis = longProperty(props, "db.pool.validationIntervalMs",
+                config.validationIntervalMillis);
+            config.validationTimeoutSeconds = intProperty(props, "db.pool.validationTimeoutSeconds",
+                config.validationTimeoutSeconds);
+            config.statementCacheSize = intProperty(props, "db.pool.statementCacheSize",
+                config.statementCacheSize);
+
+            if (config.maxSize < 1 || config.minSize < 0 || config.minSize > config.maxSize) {
+                throw new IllegalStateException("Invalid pool size: min=" + config.minSize +
+                    ", max=" + config.maxSize);
+            }
+            return config;
+        }
+
+        private static int intProperty(Properties props, String key, int defaultValue) {
+            String value = props.getProperty(key);
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        }
+
+        private static long longProperty(Properties props, String key, long defaultValue) {
+            String value = props.getProperty(key);
+            return value != null ? Long.parseLong(value.trim()) : defaultValue;
+        }
+
+        public int getMinSize() { return minSize; }
+        public int getMaxSize() { return maxSize; }
+        public long getIdleTimeoutMillis() { return idleTimeoutMillis; }
+        public long getAcquireTimeoutMillis() { return acquireTimeoutMillis; }
+        public long getValidationIntervalMillis() { return validationIntervalMillis; }
+        public int getStatementCacheSize() { return statementCacheSize; }
+    }
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Config config;
+
+    // Fair, so a woken waiter is not overtaken by threads arriving after it
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private int total;
+    private int active;
+    private int waiting;
+    private boolean shutdown;
+
+    private final ScheduledExecutorService maintenance;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong closedCount = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong borrowNanos = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS_MICROS.length + 1);
+
+    public ConnectionPool(String url, String username, String password, Config config) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.config = config;
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start the background task that fills the pool to its minimum size and
+     * closes connections idle past the idle timeout
+     */
+    public void start() {
+        long interval = Math.max(1_000, Math.min(config.idleTimeoutMillis / 2, 30_000));
+        maintenance.scheduleWithFixedDelay(this::maintain, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection; close() returns it to the pool
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.acquireTimeoutMillis);
+
+        while (true) {
+            PooledConnection pooled = null;
+            lock.lock();
+            try {
+                long waitStart = 0;
+                while (!shutdown && idle.isEmpty() && total >= config.maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.incrementAndGet();
+                        throw new SQLTimeoutException("Timed out after " + config.acquireTimeoutMillis +
+                            " ms waiting for a database connection (" + total + " in use)");
+                    }
+                    if (waitStart == 0) {
+                        waitStart = System.nanoTime();
+                    }
+                    waiting++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiting--;
+                    }
+                }
+                if (shutdown) {
+                    throw new SQLException("Connection pool is shut down");
+                }
+                if (waitStart != 0) {
+                    long waited = System.nanoTime() - waitStart;
+                    waitNanos.addAndGet(waited);
+                    maxWaitNanos.accumulateAndGet(waited, Math::max);
+                }
+                pooled = idle.pollFirst();
+                if (pooled == null) {
+                    total++;
+                }
+                active++;
+            } finally {
+                lock.unlock();
+            }
+
+            if (pooled == null) {
+                try {
+                    pooled = open();
+                } catch (SQLException | RuntimeException e) {
+                    release(null, true);
+                    throw e;
+                }
+            } else if (!isUsable(pooled)) {
+                release(pooled, true);
+                continue;
+            }
+
+            long elapsed = System.nanoTime() - start;
+            borrowCount.incrementAndGet();
+            borrowNanos.addAndGet(elapsed);
+            latencyHistogram.incrementAndGet(bucketFor(elapsed / 1_000));
+            return pooled.newHandle();
+        }
+    }
+
+    /**
+     * Close idle connections and refuse new borrows; borrowed connections are
+     * closed as they come back
+     */
+    public void shutdown() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        maintenance.shutdownNow();
+        toClose.forEach(this::closePhysical);
+    }
+
+    /**
+     * Expose the pool statistics through the platform MBean server
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            log.warn("Could not register connection pool MBean: " + e.getMessage());
+        }
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, username, password);
+        createdCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.physical.isClosed()) {
+                return false;
+            }
+            long idleMillis = System.currentTimeMillis() - pooled.lastReturned;
+            return idleMillis < config.validationIntervalMillis ||
+                   pooled.physical.isValid(config.validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Give a connection back (or account for a failed open when pooled is null)
+     */
+    private void release(PooledConnection pooled, boolean broken) {
+        boolean close = broken;
+        if (pooled != null && !broken) {
+            close = !pooled.reset();
+        }
+        lock.lock();
+        try {
+            active--;
+            if (close || shutdown || pooled == null) {
+                total--;
+            } else {
+                pooled.lastReturned = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (pooled != null && (close || shutdown)) {
+            closePhysical(pooled);
+        }
+    }
+
+    private void closePhysical(PooledConnection pooled) {
+        pooled.closeStatements();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            log.debug(() -> "Error closing pooled connection: " + e.getMessage());
+        }
+        closedCount.incrementAndGet();
+    }
+
+    /**
+     * Background task: evict long-idle connections, then top up to the minimum size
+     */
+    private void maintain() {
+        try {
+            evictIdleConnections();
+
+            while (true) {
+                lock.lock();
+                try {
+                    if (shutdown || total >= config.minSize) {
+                        return;
+                    }
+                    total++;
+                    active++;
+                } finally {
+                    lock.unlock();
+                }
+                PooledConnection pooled;
+                try {
+                    pooled = open();
+                } catch (SQLException e) {
+                    release(null, true);
+                    log.warn("Could not open pooled connection: " + e.getMessage());
+                    return;
+                }
+                release(pooled, false);
+            }
+        } catch (RuntimeException e) {
+            log.error("Connection pool maintenance failed", e);
+        }
+    }
+
+    @Override
+    public void evictIdleConnections() {
+        long cutoff = System.currentTimeMillis() - config.idleTimeoutMillis;
+        List<PooledConnection> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            // Least recently used connections sit at the tail
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && total > config.minSize) {
+                PooledConnection pooled = it.next();
+                if (pooled.lastReturned > cutoff) {
+                    break;
+                }
+                it.remove();
+                total--;
+                evicted.add(pooled);
+            }
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(this::closePhysical);
+    }
+
+    private static int bucketFor(long micros) {
+        for (int i = 0; i < LATENCY_BUCKETS_MICROS.length; i++) {
+            if (micros <= LATENCY_BUCKETS_MICROS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKETS_MICROS.length;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // ==================== MXBEAN ====================
+
+    @Override
+    public int getActiveConnections() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getTotalConnections() {
+        lock.lock();
+        try {
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getWaitingThreads() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override public int getMinSize() { return config.minSize; }
+    @Override public int getMaxSize() { return config.maxSize; }
+    @Override public long getBorrowCount() { return borrowCount.get(); }
+    @Override public long getTimeoutCount() { return timeoutCount.get(); }
+    @Override public long getCreatedCount() { return createdCount.get(); }
+    @Override public long getClosedCount() { return closedCount.get(); }
+    @Override public double getTotalWaitMillis() { return waitNanos.get() / 1e6; }
+    @Override public double getMaxWaitMillis() { return maxWaitNanos.get() / 1e6; }
+    @Override public long getStatementCacheHits() { return statementHits.get(); }
+    @Override public long getStatementCacheMisses() { return statementMisses.get(); }
+
+    @Override
+    public double getAverageBorrowMillis() {
+        long borrows = borrowCount.get();
+        return borrows == 0 ? 0.0 : borrowNanos.get() / 1e6 / borrows;
+    }
+
+    @Override
+    public long[] getBorrowLatencyBucketsMicros() {
+        return LATENCY_BUCKETS_MICROS.clone();
+    }
+
+    @Override
+    public long[] getBorrowLatencyHistogram() {
+        long[] counts = new long[latencyHistogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = latencyHistogram.get(i);
+        }
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[active=%d, idle=%d, max=%d, borrows=%d, avg borrow %.3f ms]",
+            getActiveConnections(), getIdleConnections(), config.maxSize,
+            getBorrowCount(), getAverageBorrowMillis());
+    }
+
+    // ==================== POOLED CONNECTION ====================
+
+    /**
+     * One physical connection and its prepared statement cache.
+     * Only the thread that borrowed it touches it, so no locking is needed.
+     */
+    private class PooledConnection {
+        final Connection physical;
+        final Map<String, CachedStatement> statements;
+        volatile long lastReturned = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= config.statementCacheSize) {
+                        return false;
+                    }
+                    eldest.getValue().evicted = true;
+                    if (!eldest.getValue().inUse) {
+                        eldest.getValue().closePhysical();
+                    }
+                    return true;
+                }
+            };
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConnectionHandle(this));
+        }
+
+        /**
+         * Restore default session state before the connection goes back to the pool
+         * @return false if the connection should be discarded instead
+         */
+        boolean reset() {
+            try {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closeStatements() {
+            for (CachedStatement cached : statements.values()) {
+                cached.closePhysical();
+            }
+            statements.clear();
+        }
+    }
+
+    private class CachedStatement {
+        final String key;
+        final PreparedStatement physical;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(String key, PreparedStatement physical) {
+            this.key = key;
+            this.physical = physical;
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                log.debug(() -> "Error closing cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The Connection a DAO sees: close() returns it to the pool, prepareStatement
+     * goes through the cache, and statements it created without the cache are
+     * closed with it
+     */
+    private class ConnectionHandle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final List<Statement> uncached = new ArrayList<>();
+        private final List<StatementHandle> cachedInUse = new ArrayList<>();
+        private Connection proxy;
+        private boolean closed;
+        private boolean broken;
+
+        ConnectionHandle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            this.proxy = (Connection) proxy;
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + pooled.physical;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed");
+            }
+            if (method.getName().equals("abort")) {
+                broken = true;
+                close();
+                return null;
+            }
+            if (method.getName().equals("prepareStatement") && isCacheable(method)) {
+                int keys = args.length > 1 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                return prepare((String) args[0], keys);
+            }
+
+            try {
+                Object result = ConnectionPool.invoke(pooled.physical, method, args);
+                if (result instanceof Statement) {
+                    uncached.add((Statement) result);
+                }
+                return result;
+            } catch (SQLException e) {
+                checkBroken(e);
+                throw e;
+            }
+        }
+
+        private boolean isCacheable(Method method) {
+            Class<?>[] params = method.getParameterTypes();
+            return config.statementCacheSize > 0 &&
+                   (params.length == 1 ||
+                    (params.length == 2 && params[1] == int.class));
+        }
+
+        private PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+            String key = autoGeneratedKeys + ":" + sql;
+            CachedStatement cached = pooled.statements.get(key);
+            if (cached != null && !cached.inUse) {
+                statementHits.incrementAndGet();
+            } else {
+                statementMisses.incrementAndGet();
+                PreparedStatement physical;
+                try {
+                    physical = pooled.physical.prepareStatement(sql, autoGeneratedKeys);
+                } catch (SQLException e) {
+                    checkBroken(e);
+                    throw e;
+                }
+                if (cached != null) {
+                    // Same SQL already open on this connection: use a one-off statement
+                    uncached.add(physical);
+                    return physical;
+                }
+                cached = new CachedStatement(key, physical);
+                pooled.statements.put(key, cached);
+            }
+            cached.inUse = true;
+            StatementHandle handle = new StatementHandle(this, cached);
+            cachedInUse.add(handle);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                handle);
+        }
+
+        void checkBroken(SQLException e) {
+            // SQLState class 08 = connection exception
+            String state = e.getSQLState();
+            if (state != null && state.startsWith("08")) {
+                broken = true;
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (StatementHandle handle : new ArrayList<>(cachedInUse)) {
+                handle.close();
+            }
+            for (Statement statement : uncached) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    broken = true;
+                }
+            }
+            uncached.clear();
+            release(pooled, broken);
+        }
+    }
+
+    /**
+     * A cached PreparedStatement as seen by one borrower: close() clears
+     * parameters and open result sets and returns it to the cache
+     */
+    private class StatementHandle implements InvocationHandler {
+        private final ConnectionHandle connection;
+        private final CachedStatement cached;
+        private final List<ResultSet> resultSets = new ArrayList<>(2);
+        private boolean batched;
+        private boolean closed;
+
+        StatementHandle(ConnectionHandle connection, CachedStatement cached) {
+            this.connection = connection;
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + cached.physical;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            if (method.getName().equals("getConnection")) {
+                return connection.proxy;
+            }
+            if (method.getName().equals("addBatch")) {
+                batched = true;
+            }
+
+            try {
+                Object result = ConnectionPool.invoke(cached.physical, method, args);
+                if (result instanceof ResultSet) {
+                    resultSets.add((ResultSet) result);
+                }
+                return result;
+            } catch (SQLException e) {
+                connection.checkBroken(e);
+                throw e;
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            connection.cachedInUse.remove(this);
+            boolean reusable = !cached.evicted;
+            try {
+                for (ResultSet rs : resultSets) {
+                    rs.close();
+                }
+                resultSets.clear();
+                cached.physical.clearParameters();
+                if (batched) {
+                    cached.physical.clearBatch();
+                }
+            } catch (SQLException e) {
+                reusable = false;
+            }
+            cached.inUse = false;
+            if (!reusable) {
+                connection.pooled.statements.remove(cached.key, cached);
+                cached.closePhysical();
+            }
+        }
+    }
+}
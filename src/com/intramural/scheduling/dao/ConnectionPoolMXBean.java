@@ -0,0 +1,63 @@
+package com.intramural.scheduling.dao;
+
+/**
+ * JMX view of the connection pool, registered as
+ * com.intramural.scheduling:type=ConnectionPool
+ */
+public interface ConnectionPoolMXBean {
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getTotalConnections();
+
+    int getMinSize();
+
+    int getMaxSize();
+
+    /**
+     * Threads currently blocked waiting for a free connection
+     */
+    int getWaitingThreads();
+
+    long getBorrowCount();
+
+    /**
+     * Borrows that gave up after the acquisition timeout
+     */
+    long getTimeoutCount();
+
+    /**
+     * Physical connections opened / closed (evicted, invalid or shut down) since startup
+     */
+    long getCreatedCount();
+
+    long getClosedCount();
+
+    /**
+     * Total and worst time spent blocked on a full pool, in milliseconds
+     */
+    double getTotalWaitMillis();
+
+    double getMaxWaitMillis();
+
+    double getAverageBorrowMillis();
+
+    /**
+     * Upper bounds (inclusive, in microseconds) of the borrow latency histogram buckets;
+     * the histogram has one extra bucket for everything slower
+     */
+    long[] getBorrowLatencyBucketsMicros();
+
+    long[] getBorrowLatencyHistogram();
+
+    long getStatementCacheHits();
+
+    long getStatementCacheMisses();
+
+    /**
+     * Close idle connections above the minimum size now
+     */
+    void evictIdleConnections();
+}
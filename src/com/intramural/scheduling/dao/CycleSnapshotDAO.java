@@ -0,0 +1,351 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.model.*;
+import com.intramural.scheduling.util.DateTimeUtil;
+import com.intramural.scheduling.util.SchedulingEvents;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads a CycleSnapshot with a fixed number of set-based queries on one
+ * connection, instead of per-employee / per-game round trips:
+ *
+ *   games of the cycle, their shifts, active employees, their expertise,
+ *   sports, seasonal availability, permanent conflicts, approved time-off,
+ *   current assignments and weekly hours for the cycle window.
+ */
+public class CycleSnapshotDAO {
+
+    private final GameScheduleDAO gameScheduleDAO = new GameScheduleDAO();
+    private final ShiftDAO shiftDAO = new ShiftDAO();
+    private final EmployeeExpertiseDAO expertiseDAO = new EmployeeExpertiseDAO();
+    private final EmployeeDAO employeeDAO = new EmployeeDAO();
+    private final SportDAO sportDAO = new SportDAO();
+    private final AvailabilityDAO availabilityDAO = new AvailabilityDAO();
+    private final TimeOffDAO timeOffDAO = new TimeOffDAO();
+    private final WeeklyHoursDAO weeklyHoursDAO = new WeeklyHoursDAO();
+
+    /**
+     * Load everything the scheduling engine needs for a cycle
+     */
+    public CycleSnapshot load(LocalDate cycleStart, LocalDate cycleEnd) throws SQLException {
+        long started = System.currentTimeMillis();
+        SchedulingEvents.CycleLoad event = new SchedulingEvents.CycleLoad();
+        event.begin();
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            List<Schedule.Game> games = loadGames(conn, cycleStart, cycleEnd);
+            List<Employee> employees = loadActiveEmployees(conn);
+
+            Map<Integer, Sport> sports = new LinkedHashMap<>();
+            for (Sport sport : query(conn, "SELECT * FROM sports ORDER BY sport_name",
+                    stmt -> { }, sportDAO::extractSportFromResultSet)) {
+                sports.put(sport.getSportId(), sport);
+            }
+
+            Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek =
+                loadWeeklyHours(conn, employees, cycleStart, cycleEnd);
+
+            CycleSnapshot snapshot = new CycleSnapshot(
+                cycleStart, cycleEnd, games, employees, sports,
+                loadAvailability(conn, cycleStart, cycleEnd),
+                loadConflicts(conn),
+                loadApprovedTimeOff(conn, cycleStart, cycleEnd),
+                loadAssignedGames(conn, games, cycleStart, cycleEnd),
+                weeklyHoursByWeek,
+                System.currentTimeMillis() - started
+            );
+            if (event.shouldCommit()) {
+                event.cycleStart = String.valueOf(cycleStart);
+                event.cycleEnd = String.valueOf(cycleEnd);
+                event.games = games.size();
+                event.employees = employees.size();
+                event.commit();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Games of a cycle with their shifts, in two queries
+     */
+    public List<Schedule.Game> loadGames(LocalDate cycleStart, LocalDate cycleEnd) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return loadGames(conn, cycleStart, cycleEnd);
+        }
+    }
+
+    private List<Schedule.Game> loadGames(Connection conn, LocalDate cycleStart, LocalDate cycleEnd)
+            throws SQLException {
+        List<Schedule.Game> games = query(conn,
+            "SELECT * FROM game_schedules " +
+            "WHERE schedule_cycle_start = ? AND schedule_cycle_end = ? " +
+            "ORDER BY game_date, start_time",
+            stmt -> {
+                stmt.setDate(1, Date.valueOf(cycleStart));
+                stmt.setDate(2, Date.valueOf(cycleEnd));
+            },
+            gameScheduleDAO::extractGameFromResultSet);
+
+        Map<Integer, Schedule.Game> byId = new HashMap<>();
+        for (Schedule.Game game : games) {
+            game.getShifts().clear();
+            byId.put(game.getScheduleId(), game);
+        }
+
+        List<Schedule.Shift> shifts = query(conn,
+            "SELECT s.* FROM shifts s " +
+            "JOIN game_schedules gs ON gs.schedule_id = s.game_schedule_id " +
+            "WHERE gs.schedule_cycle_start = ? AND gs.schedule_cycle_end = ? " +
+            "ORDER BY s.game_schedule_id, s.position_type, s.position_number",
+            stmt -> {
+                stmt.setDate(1, Date.valueOf(cycleStart));
+                stmt.setDate(2, Date.valueOf(cycleEnd));
+            },
+            shiftDAO::extractShiftFromResultSet);
+        for (Schedule.Shift shift : shifts) {
+            Schedule.Game game = byId.get(shift.getGameScheduleId());
+            if (game != null) {
+                game.getShifts().add(shift);
+            }
+        }
+
+        return games;
+    }
+
+    private List<Employee> loadActiveEmployees(Connection conn) throws SQLException {
+        List<Employee> employees = query(conn,
+            "SELECT * FROM employees WHERE active_status = 1 ORDER BY last_name, first_name",
+            stmt -> { }, employeeDAO::extractEmployee);
+
+        Map<Integer, Employee> byId = new HashMap<>();
+        for (Employee employee : employees) {
+            byId.put(employee.getEmployeeId(), employee);
+        }
+
+        String sql = "SELECT ee.* FROM employee_expertise ee " +
+                    "JOIN employees e ON e.employee_id = ee.employee_id " +
+                    "WHERE e.active_status = 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Employee employee = byId.get(rs.getInt("employee_id"));
+                if (employee == null) {
+                    continue;
+                }
+                employee.addExpertise(expertiseDAO.extractExpertise(rs));
+            }
+        }
+
+        return employees;
+    }
+
+    /**
+     * One employee's seasonal availability for every season the window touches,
+     * as load() would return it (e.g. after they saved an edit)
+     */
+    public List<Availability.Seasonal> loadAvailability(int employeeId, LocalDate cycleStart,
+                                                        LocalDate cycleEnd) throws SQLException {
+        List<Availability.Seasonal> availability = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (String season : seasonsCovering(cycleStart, cycleEnd)) {
+                String[] parts = season.split(":");
+                availability.addAll(availabilityDAO.getByEmployee(conn, employeeId,
+                    Availability.Season.valueOf(parts[0]), Integer.parseInt(parts[1])));
+            }
+        }
+        return availability;
+    }
+
+    /**
+     * One employee's permanent conflicts, as load() would return them
+     */
+    public List<Availability.PermanentConflict> loadConflicts(int employeeId) throws SQLException {
+        return availabilityDAO.getConflictsByEmployee(employeeId);
+    }
+
+    /**
+     * (season, year) pairs covered by the window as "SEASON:year", one per month at most
+     */
+    private static Set<String> seasonsCovering(LocalDate cycleStart, LocalDate cycleEnd) {
+        Set<String> seasons = new LinkedHashSet<>();
+        for (LocalDate month = cycleStart.withDayOfMonth(1); !month.isAfter(cycleEnd);
+             month = month.plusMonths(1)) {
+            seasons.add(DateTimeUtil.getSeason(month) + ":" + month.getYear());
+        }
+        return seasons;
+    }
+
+    /**
+     * Seasonal availability of active employees for every season the window touches
+     */
+    private Map<Integer, List<Availability.Seasonal>> loadAvailability(
+            Connection conn, LocalDate cycleStart, LocalDate cycleEnd) throws SQLException {
+        Set<String> seasons = seasonsCovering(cycleStart, cycleEnd);
+
+        StringBuilder sql = new StringBuilder(
+            "SELECT sa.* FROM seasonal_availability sa " +
+            "JOIN employees e ON e.employee_id = sa.employee_id " +
+            "WHERE e.active_status = 1 AND (");
+        for (int i = 0; i < seasons.size(); i++) {
+            sql.append(i == 0 ? "" : " OR ").append("(sa.season = ? AND sa.year = ?)");
+        }
+        sql.append(") ORDER BY sa.employee_id, sa.start_time");
+
+        List<Availability.Seasonal> rows = query(conn, sql.toString(), stmt -> {
+            int index = 1;
+            for (String season : seasons) {
+                String[] parts = season.split(":");
+                stmt.setString(index++, parts[0]);
+                stmt.setInt(index++, Integer.parseInt(parts[1]));
+            }
+        }, availabilityDAO::extractAvailabilityFromResultSet);
+
+        Map<Integer, List<Availability.Seasonal>> byEmployee = new HashMap<>();
+        for (Availability.Seasonal row : rows) {
+            addTo(byEmployee, row.getEmployeeId(), row);
+        }
+        return byEmployee;
+    }
+
+    private Map<Integer, List<Availability.PermanentConflict>> loadConflicts(Connection conn)
+            throws SQLException {
+        List<Availability.PermanentConflict> rows = query(conn,
+            "SELECT pc.* FROM permanent_conflicts pc " +
+            "JOIN employees e ON e.employee_id = pc.employee_id " +
+            "WHERE e.active_status = 1 ORDER BY pc.employee_id, pc.start_time",
+            stmt -> { }, availabilityDAO::extractConflictFromResultSet);
+
+        Map<Integer, List<Availability.PermanentConflict>> byEmployee = new HashMap<>();
+        for (Availability.PermanentConflict row : rows) {
+            addTo(byEmployee, row.getEmployeeId(), row);
+        }
+        return byEmployee;
+    }
+
+    private Map<Integer, List<TimeOffRequest>> loadApprovedTimeOff(
+            Connection conn, LocalDate cycleStart, LocalDate cycleEnd) throws SQLException {
+        List<TimeOffRequest> rows = query(conn,
+            "SELECT * FROM time_off_requests " +
+            "WHERE request_status = 'APPROVED' AND request_date BETWEEN ? AND ? " +
+            "ORDER BY employee_id, request_date",
+            stmt -> {
+                stmt.setDate(1, Date.valueOf(cycleStart));
+                stmt.setDate(2, Date.valueOf(cycleEnd));
+            },
+            timeOffDAO::mapResultSetToTimeOffRequest);
+
+        Map<Integer, List<TimeOffRequest>> byEmployee = new HashMap<>();
+        for (TimeOffRequest row : rows) {
+            addTo(byEmployee, row.getEmployeeId(), row);
+        }
+        return byEmployee;
+    }
+
+    /**
+     * Games each employee is assigned to inside the window, from any cycle.
+     * Games of this cycle reuse the already loaded objects.
+     */
+    private Map<Integer, List<Schedule.Game>> loadAssignedGames(
+            Connection conn, List<Schedule.Game> cycleGames,
+            LocalDate cycleStart, LocalDate cycleEnd) throws SQLException {
+        Map<Integer, Schedule.Game> gamesById = new HashMap<>();
+        for (Schedule.Game game : cycleGames) {
+            gamesById.put(game.getScheduleId(), game);
+        }
+
+        Map<Integer, List<Schedule.Game>> byEmployee = new HashMap<>();
+        String sql = "SELECT gs.*, s.assigned_employee_id FROM shifts s " +
+                    "JOIN game_schedules gs ON gs.schedule_id = s.game_schedule_id " +
+                    "WHERE s.assigned_employee_id IS NOT NULL AND gs.game_date BETWEEN ? AND ? " +
+                    "ORDER BY gs.game_date, gs.start_time";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, Date.valueOf(cycleStart));
+            stmt.setDate(2, Date.valueOf(cycleEnd));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int scheduleId = rs.getInt("schedule_id");
+                    Schedule.Game game = gamesById.get(scheduleId);
+                    if (game == null) {
+                        game = gameScheduleDAO.extractGameFromResultSet(rs);
+                        gamesById.put(scheduleId, game);
+                    }
+                    addTo(byEmployee, rs.getInt("assigned_employee_id"), game);
+                }
+            }
+        }
+        return byEmployee;
+    }
+
+    /**
+     * Weekly hours for every week of the window; active employees without a row
+     * get a zero-hours record (not inserted, unlike getByEmployeeAndWeek)
+     */
+    private Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> loadWeeklyHours(
+            Connection conn, List<Employee> employees,
+            LocalDate cycleStart, LocalDate cycleEnd) throws SQLException {
+        LocalDate firstWeek = DateTimeUtil.getWeekStart(cycleStart);
+        LocalDate lastWeek = DateTimeUtil.getWeekStart(cycleEnd);
+
+        Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> byWeek = new LinkedHashMap<>();
+        for (LocalDate week = firstWeek; !week.isAfter(lastWeek); week = week.plusWeeks(1)) {
+            byWeek.put(week, new HashMap<>());
+        }
+
+        List<Tracking.WeeklyHours> rows = query(conn,
+            "SELECT * FROM weekly_hours WHERE week_start_date BETWEEN ? AND ?",
+            stmt -> {
+                stmt.setDate(1, Date.valueOf(firstWeek));
+                stmt.setDate(2, Date.valueOf(lastWeek));
+            },
+            weeklyHoursDAO::extractWeeklyHoursFromResultSet);
+        for (Tracking.WeeklyHours hours : rows) {
+            Map<Integer, Tracking.WeeklyHours> week = byWeek.get(hours.getWeekStartDate());
+            if (week != null) {
+                week.put(hours.getEmployeeId(), hours);
+            }
+        }
+
+        for (Map.Entry<LocalDate, Map<Integer, Tracking.WeeklyHours>> week : byWeek.entrySet()) {
+            for (Employee employee : employees) {
+                week.getValue().computeIfAbsent(employee.getEmployeeId(),
+                    id -> new Tracking.WeeklyHours(id, week.getKey()));
+            }
+        }
+        return byWeek;
+    }
+
+    private static <T> void addTo(Map<Integer, List<T>> map, int employeeId, T value) {
+        map.computeIfAbsent(employeeId, id -> new ArrayList<>()).add(value);
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private static <T> List<T> query(Connection conn, String sql, Binder binder, RowMapper<T> mapper)
+            throws SQLException {
+        List<T> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            binder.bind(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+        }
+        return rows;
+    }
+}
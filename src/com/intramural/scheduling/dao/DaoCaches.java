@@ -0,0 +1,59 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.model.Employee;
+import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.model.Sport;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The shared read caches behind CachingSportDAO, CachingEmployeeDAO and
+ * CachingGameScheduleDAO. The plain DAOs invalidate them from their write
+ * methods, so a write through any DAO instance is seen by every cached reader.
+ *
+ * Configured in application.properties (defaults in parentheses):
+ *   cache.enabled (true)
+ *   cache.sports.maxSize (256), cache.sports.ttlSeconds (600)
+ *   cache.employees.maxSize (2048), cache.employees.ttlSeconds (60)
+ *   cache.games.maxSize (4096), cache.games.ttlSeconds (60)
+ */
+public final class DaoCaches {
+
+    public static final EntityCache<Integer, Sport> SPORTS;
+    public static final EntityCache<Integer, Employee> EMPLOYEES;
+    public static final EntityCache<Integer, Schedule.Game> GAMES;
+
+    static {
+        Properties props = DatabaseConnection.getProperties();
+        // Sports are immutable; employees and games are copied in and out
+        SPORTS = new EntityCache<>("sports",
+            EntityCache.Config.fromProperties(props, "sports", 256, 600), null);
+        EMPLOYEES = new EntityCache<>("employees",
+            EntityCache.Config.fromProperties(props, "employees", 2048, 60), Employee::new);
+        GAMES = new EntityCache<>("games",
+            EntityCache.Config.fromProperties(props, "games", 4096, 60), Schedule.Game::new);
+
+        for (EntityCache<?, ?> cache : all()) {
+            cache.registerMBean();
+        }
+    }
+
+    private DaoCaches() {
+        // Utility class - prevent instantiation
+    }
+
+    public static List<EntityCache<?, ?>> all() {
+        return Collections.unmodifiableList(Arrays.asList(SPORTS, EMPLOYEES, GAMES));
+    }
+
+    /**
+     * Drop every cached entity (e.g. after changing data outside the DAOs)
+     */
+    public static void invalidateAll() {
+        for (EntityCache<?, ?> cache : all()) {
+            cache.invalidateAll();
+        }
+    }
+}
@@ -1,33 +1,48 @@
 package com.intramural.scheduling.dao;
 
+import com.intramural.scheduling.util.Logger;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Properties;
 import java.io.InputStream;
 import java.io.IOException;
 
 public class DatabaseConnection {
+    private static final Logger log = Logger.getLogger(DatabaseConnection.class);
+
     private static String url;
     private static String username;
     private static String password;
     private static String driver;
+    private static ConnectionPool pool;
+    private static int batchSize = 500;
+    private static Properties properties;
+    private static SqlDialect dialect;
+    private static JdbcMetrics metrics;
 
     static {
         try {
             Properties props = new Properties();
             
-            // Load from classpath (src/main/resources)
+            // Load from classpath (src/main/resources); -Ddb.profile=embedded
+            // reads application-embedded.properties instead
+            String profile = System.getProperty("db.profile");
+            String resource = profile == null || profile.isBlank()
+                ? "application.properties"
+                : "application-" + profile.trim() + ".properties";
             try (InputStream in = DatabaseConnection.class.getClassLoader()
-                    .getResourceAsStream("application.properties")) {
+                    .getResourceAsStream(resource)) {
                 
                 if (in == null) {
-                    throw new IOException("application.properties not found in classpath");
+                    throw new IOException(resource + " not found in classpath");
                 }
                 
                 props.load(in);
             }
             
+            properties = props;
             url = props.getProperty("db.url");
             username = props.getProperty("db.username");
             password = props.getProperty("db.password");
@@ -40,28 +55,159 @@ public class DatabaseConnection {
             
             // Load JDBC driver
             Class.forName(driver);
+            dialect = SqlDialect.resolve(props.getProperty("db.dialect"), url);
             
             System.out.println("✅ Database configuration loaded successfully");
             System.out.println("URL: " + url);
             System.out.println("Username: " + username);
             
-        } catch (IOException | ClassNotFoundException e) {
+            // Rows per executeBatch round trip for the DAOs' batch writes
+            String batch = props.getProperty("db.batch.size");
+            if (batch != null) {
+                batchSize = Integer.parseInt(batch.trim());
+                if (batchSize < 1) {
+                    throw new IllegalStateException("db.batch.size must be at least 1");
+                }
+            }
+            
+            // Connection pool (db.pool.enabled=false falls back to DriverManager)
+            if (!"false".equalsIgnoreCase(props.getProperty("db.pool.enabled", "true").trim())) {
+                pool = new ConnectionPool(url, username, password,
+                    ConnectionPool.Config.fromProperties(props));
+                pool.start();
+                pool.registerMBean();
+                log.info("Connection pool: min " + pool.getMinSize() +
+                         ", max " + pool.getMaxSize());
+            }
+            
+            // Per-statement metrics (db.metrics.enabled=false hands out the raw connections)
+            if (!"false".equalsIgnoreCase(props.getProperty("db.metrics.enabled", "true").trim())) {
+                metrics = new JdbcMetrics();
+                metrics.registerMBeans();
+            }
+            
+            // Schema and seed scripts for a database that has no tables yet
+            // (embedded profile: every in-memory start, first start of a file DB)
+            String scripts = props.getProperty("db.init.scripts");
+            if (scripts != null && !scripts.isBlank()) {
+                initializeSchema(scripts.split(","));
+            }
+            
+        } catch (IOException | ClassNotFoundException | SQLException e) {
             e.printStackTrace();
             throw new ExceptionInInitializerError("Failed to load database configuration: " + e.getMessage());
         }
     }
 
+    /**
+     * Database work that must commit or roll back as a unit
+     */
+    public interface TransactionWork<R> {
+        R run(Connection conn) throws SQLException;
+    }
+
     private DatabaseConnection() {
         // Utility class - prevent instantiation
     }
 
     /**
-     * Get a database connection
+     * Get a database connection (borrowed from the pool; close() returns it)
      * @return Connection object
-     * @throws SQLException if connection fails
+     * @throws SQLException if connection fails or none frees up in time
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(url, username, password);
+        long start = System.nanoTime();
+        Connection conn = pool != null
+            ? pool.getConnection()
+            : DriverManager.getConnection(url, username, password);
+        return metrics != null ? metrics.wrap(conn, System.nanoTime() - start) : conn;
+    }
+    
+    /**
+     * Run work on one connection with auto-commit off; commit on success, roll back on failure
+     */
+    public static <R> R inTransaction(TransactionWork<R> work) throws SQLException {
+        try (Connection conn = getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                R result = work.run(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+    
+    /**
+     * The connection pool, or null if pooling is disabled
+     */
+    public static ConnectionPool getPool() {
+        return pool;
+    }
+    
+    /**
+     * Settings from application.properties (for the DAO layer's own configuration)
+     */
+    static Properties getProperties() {
+        return properties;
+    }
+    
+    /**
+     * Per-statement JDBC metrics, or null if disabled
+     */
+    public static JdbcMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * SQL dialect of the configured database (db.dialect, or guessed from db.url)
+     */
+    public static SqlDialect getDialect() {
+        return dialect;
+    }
+    
+    /**
+     * Run the init scripts in order, unless the users table already exists
+     */
+    private static void initializeSchema(String[] scripts) throws SQLException {
+        try (Connection conn = getConnection()) {
+            try (ResultSet tables = conn.getMetaData().getTables(conn.getCatalog(), conn.getSchema(), "%", null)) {
+                while (tables.next()) {
+                    if ("users".equalsIgnoreCase(tables.getString("TABLE_NAME"))) {
+                        return;
+                    }
+                }
+            }
+            for (String script : scripts) {
+                int statements = SqlScript.run(conn, script.trim());
+                log.info("Ran " + script.trim() + " (" + statements + " statements)");
+            }
+        }
+    }
+    
+    /**
+     * Rows sent per executeBatch call (db.batch.size, default 500)
+     */
+    public static int getBatchSize() {
+        return batchSize;
+    }
+    
+    /**
+     * Close pooled connections (e.g. on application exit)
+     */
+    public static void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
     }
     
     /**
@@ -104,6 +104,7 @@ public class EmployeeDAO {
             
             stmt.executeUpdate();
         }
+        DaoCaches.EMPLOYEES.invalidate(employee.getEmployeeId());
     }
     public List<Employee> getAll() throws SQLException {
         // BUG-006: Add null check
@@ -147,7 +148,7 @@ public class EmployeeDAO {
         return false;
     }
     
-    private Employee extractEmployee(ResultSet rs) throws SQLException {
+    Employee extractEmployee(ResultSet rs) throws SQLException {
         Employee employee = new Employee(
             rs.getInt("employee_id"),
             rs.getInt("user_id"),
@@ -183,6 +184,7 @@ public class EmployeeDAO {
             
             stmt.executeUpdate();
         }
+        DaoCaches.EMPLOYEES.invalidate(employee.getEmployeeId());
     }
     
     public void deleteEmployee(int employeeId) throws SQLException {
@@ -201,6 +203,7 @@ public class EmployeeDAO {
                 throw new SQLException("Employee not found with ID: " + employeeId);
             }
         }
+        DaoCaches.EMPLOYEES.invalidate(employeeId);
     }
     
     /**
@@ -220,6 +223,7 @@ public class EmployeeDAO {
                 throw new SQLException("Employee not found with ID: " + employeeId);
             }
         }
+        DaoCaches.EMPLOYEES.invalidate(employeeId);
     }
     
     /**
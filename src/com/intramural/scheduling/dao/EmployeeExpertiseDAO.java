@@ -1,12 +1,17 @@
 package com.intramural.scheduling.dao;
 
 import com.intramural.scheduling.model.Employee;
+import com.intramural.scheduling.util.IntObjectMap;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class EmployeeExpertiseDAO {
     
+    // Above this many employees the bulk loaders filter in Java instead of an IN list
+    private static final int MAX_IN_LIST = 500;
+    
     /**
      * Add sport expertise for an employee
      */
@@ -72,6 +77,112 @@ public class EmployeeExpertiseDAO {
         return Employee.ExpertiseLevel.BEGINNER;
     }
     
+    /**
+     * Expertise of every employee in one query
+     * @param withSportNames also join sports and fill in SportExpertise.getSportName()
+     * @return expertise lists keyed by employee ID (employees without expertise are absent)
+     */
+    public IntObjectMap<List<Employee.SportExpertise>> getAllExpertise(boolean withSportNames)
+            throws SQLException {
+        return loadExpertiseRows(null, withSportNames);
+    }
+    
+    /**
+     * Expertise of the given employees in one query
+     * @param withSportNames also join sports and fill in SportExpertise.getSportName()
+     * @return expertise lists keyed by employee ID; every requested employee has an entry
+     */
+    public IntObjectMap<List<Employee.SportExpertise>> getExpertiseByEmployees(
+            Collection<Integer> employeeIds, boolean withSportNames) throws SQLException {
+        if (employeeIds.isEmpty()) {
+            return new IntObjectMap<>();
+        }
+        IntObjectMap<List<Employee.SportExpertise>> rows = loadExpertiseRows(employeeIds, withSportNames);
+        
+        IntObjectMap<List<Employee.SportExpertise>> result = new IntObjectMap<>(employeeIds.size());
+        for (Integer employeeId : employeeIds) {
+            result.put(employeeId, rows.getOrDefault(employeeId, new ArrayList<>()));
+        }
+        return result;
+    }
+    
+    /**
+     * Hydrate the employees' expertise lists in one query (replacing whatever they held)
+     */
+    public void loadExpertise(Collection<Employee> employees, boolean withSportNames)
+            throws SQLException {
+        if (employees.isEmpty()) {
+            return;
+        }
+        List<Integer> employeeIds = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            employeeIds.add(employee.getEmployeeId());
+        }
+        IntObjectMap<List<Employee.SportExpertise>> byEmployee =
+            getExpertiseByEmployees(employeeIds, withSportNames);
+        for (Employee employee : employees) {
+            employee.setExpertise(byEmployee.get(employee.getEmployeeId()));
+        }
+    }
+    
+    /**
+     * Expertise rows grouped by employee; null employeeIds loads everyone.
+     * Large ID sets would exceed driver parameter limits, so they read every row
+     * and drop other employees here.
+     */
+    private IntObjectMap<List<Employee.SportExpertise>> loadExpertiseRows(
+            Collection<Integer> employeeIds, boolean withSportNames) throws SQLException {
+        IntObjectMap<Integer> wanted = null;
+        if (employeeIds != null) {
+            wanted = new IntObjectMap<>(employeeIds.size());
+            for (Integer employeeId : employeeIds) {
+                wanted.put(employeeId, employeeId);
+            }
+        }
+        boolean inList = employeeIds != null && employeeIds.size() <= MAX_IN_LIST;
+        
+        StringBuilder sql = new StringBuilder(withSportNames ?
+            "SELECT ee.*, s.sport_name FROM employee_expertise ee " +
+            "LEFT JOIN sports s ON s.sport_id = ee.sport_id" :
+            "SELECT ee.* FROM employee_expertise ee");
+        if (inList) {
+            sql.append(" WHERE ee.employee_id IN (");
+            for (int i = 0; i < employeeIds.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+        }
+        sql.append(" ORDER BY ee.employee_id, ee.expertise_id");
+        
+        IntObjectMap<List<Employee.SportExpertise>> byEmployee = new IntObjectMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            
+            if (inList) {
+                int index = 1;
+                for (Integer employeeId : employeeIds) {
+                    stmt.setInt(index++, employeeId);
+                }
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int employeeId = rs.getInt("employee_id");
+                    if (wanted != null && !wanted.containsKey(employeeId)) {
+                        continue;
+                    }
+                    Employee.SportExpertise expertise = extractExpertise(rs);
+                    if (withSportNames) {
+                        expertise.setSportName(rs.getString("sport_name"));
+                    }
+                    byEmployee.computeIfAbsent(employeeId, id -> new ArrayList<>()).add(expertise);
+                }
+            }
+        }
+        
+        return byEmployee;
+    }
+    
     /**
      * Get all employees for a specific sport
      */
@@ -141,4 +252,16 @@ public class EmployeeExpertiseDAO {
             stmt.executeUpdate();
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Extract SportExpertise from ResultSet (a missing level counts as BEGINNER)
+     */
+    Employee.SportExpertise extractExpertise(ResultSet rs) throws SQLException {
+        String level = rs.getString("expertise_level");
+        return new Employee.SportExpertise(
+            rs.getInt("expertise_id"),
+            rs.getInt("sport_id"),
+            level != null ? Employee.ExpertiseLevel.valueOf(level) : Employee.ExpertiseLevel.BEGINNER
+        );
+    }
+}
@@ -0,0 +1,268 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.util.Logger;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Bounded read cache for one entity type, used by the Caching*DAO decorators.
+ *
+ * Entries are kept in LRU order and expire after a TTL. DAO write methods
+ * invalidate the affected keys. Every invalidation bumps a version, and a value
+ * loaded from the database is only stored if no invalidation happened while it
+ * was being read, so a slow read can't put back a row that was just changed.
+ *
+ * Mutable entities get a copier: the cache stores its own copy and hands out
+ * fresh copies, so callers can modify what they get.
+ */
+public class EntityCache<K, V> implements EntityCacheMXBean {
+    private static final Logger log = Logger.getLogger(EntityCache.class);
+
+    public static final String OBJECT_NAME_PREFIX = "com.intramural.scheduling:type=DaoCache,name=";
+
+    /**
+     * Size and TTL for one cache, from cache.&lt;name&gt;.maxSize / .ttlSeconds;
+     * cache.enabled=false turns every cache off
+     */
+    public static class Config {
+        private boolean enabled = true;
+        private int maxSize;
+        private long ttlMillis;
+
+        public Config(int maxSize, long ttlSeconds) {
+            this.maxSize = maxSize;
+            this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        }
+
+        public static Config fromProperties(Properties props, String name,
+                                            int defaultMaxSize, long defaultTtlSeconds) {
+            String prefix = "cache." + name + ".";
+            Config config = new Config(
+                Integer.parseInt(props.getProperty(prefix + "maxSize",
+                    String.valueOf(defaultMaxSize)).trim()),
+                Long.parseLong(props.getProperty(prefix + "ttlSeconds",
+                    String.valueOf(defaultTtlSeconds)).trim()));
+            config.enabled = !"false".equalsIgnoreCase(props.getProperty("cache.enabled", "true").trim()) &&
+                             !"false".equalsIgnoreCase(props.getProperty(prefix + "enabled", "true").trim());
+
+            if (config.maxSize < 1 || config.ttlMillis <= 0) {
+                throw new IllegalStateException("Invalid cache settings for " + name +
+                    ": maxSize=" + config.maxSize + ", ttlSeconds=" + config.ttlMillis / 1000);
+            }
+            return config;
+        }
+
+        public boolean isEnabled() { return enabled; }
+        public int getMaxSize() { return maxSize; }
+        public long getTtlMillis() { return ttlMillis; }
+    }
+
+    /**
+     * Reads a value from the database on a miss
+     */
+    public interface Loader<V> {
+        V load() throws SQLException;
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAtNanos;
+
+        Entry(V value, long loadedAtNanos) {
+            this.value = value;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    private final String name;
+    private final Config config;
+    private final UnaryOperator<V> copier;
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access order, so iteration starts at the least recently used entry
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long version;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param copier copies a value on the way in and out, or null for immutable values
+     */
+    public EntityCache(String name, Config config, UnaryOperator<V> copier) {
+        this.name = name;
+        this.config = config;
+        this.copier = copier != null ? copier : UnaryOperator.identity();
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(config.getTtlMillis());
+    }
+
+    /**
+     * Cached value for key, or the loader's value (stored unless null or
+     * invalidated meanwhile)
+     */
+    public V get(K key, Loader<V> loader) throws SQLException {
+        if (!config.isEnabled()) {
+            return loader.load();
+        }
+
+        long stamp;
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAtNanos < ttlNanos) {
+                    hits.incrementAndGet();
+                    return copier.apply(entry.value);
+                }
+                entries.remove(key);
+                expired.incrementAndGet();
+            }
+            stamp = version;
+        } finally {
+            lock.unlock();
+        }
+
+        misses.incrementAndGet();
+        V value = loader.load();
+        if (value != null) {
+            put(key, value, stamp);
+        }
+        return value;
+    }
+
+    /**
+     * Version to pass to put() for values read outside get() (e.g. from a list query);
+     * take it before running the query
+     */
+    public long stamp() {
+        lock.lock();
+        try {
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Store a value read at the given stamp, unless something was invalidated since
+     */
+    public void put(K key, V value, long stamp) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        V copy = copier.apply(value);
+        lock.lock();
+        try {
+            if (stamp != version) {
+                return;
+            }
+            entries.put(key, new Entry<>(copy, System.nanoTime()));
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            while (entries.size() > config.getMaxSize() && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop one key after a write to its row
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            version++;
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Drop everything (writes whose affected keys aren't known)
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            version++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            log.warn("Could not register cache MBean " + name + ": " + e.getMessage());
+        }
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    @Override public String getName() { return name; }
+    @Override public boolean isEnabled() { return config.isEnabled(); }
+    @Override public int getMaxSize() { return config.getMaxSize(); }
+    @Override public long getTtlSeconds() { return TimeUnit.MILLISECONDS.toSeconds(config.getTtlMillis()); }
+    @Override public long getHitCount() { return hits.get(); }
+    @Override public long getMissCount() { return misses.get(); }
+    @Override public long getEvictionCount() { return evictions.get(); }
+    @Override public long getExpiredCount() { return expired.get(); }
+    @Override public long getInvalidationCount() { return invalidations.get(); }
+
+    @Override
+    public int getSize() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public void clear() {
+        invalidateAll();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EntityCache[%s: %d/%d entries, %d hits, %d misses, %.1f%% hit ratio]",
+            name, getSize(), config.getMaxSize(), hits.get(), misses.get(), getHitRatio() * 100);
+    }
+}
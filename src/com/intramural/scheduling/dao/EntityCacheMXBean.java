@@ -0,0 +1,47 @@
+package com.intramural.scheduling.dao;
+
+/**
+ * JMX view of one DAO read cache, registered as
+ * com.intramural.scheduling:type=DaoCache,name=&lt;cache name&gt;
+ */
+public interface EntityCacheMXBean {
+
+    String getName();
+
+    boolean isEnabled();
+
+    int getSize();
+
+    int getMaxSize();
+
+    long getTtlSeconds();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    /**
+     * Hits / (hits + misses), 0 before the first lookup
+     */
+    double getHitRatio();
+
+    /**
+     * Entries dropped to stay within the maximum size
+     */
+    long getEvictionCount();
+
+    /**
+     * Entries found older than the TTL
+     */
+    long getExpiredCount();
+
+    /**
+     * Invalidations triggered by DAO writes (or clear())
+     */
+    long getInvalidationCount();
+
+    /**
+     * Drop every entry now
+     */
+    void clear();
+}
@@ -9,29 +9,23 @@ import java.util.List;
 
 public class GameScheduleDAO {
     
+    private static final String INSERT_SQL =
+        "INSERT INTO game_schedules " +
+        "(sport_id, game_date, start_time, end_time, location, " +
+        "required_supervisors, required_referees, schedule_cycle_start, " +
+        "schedule_cycle_end, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final ShiftDAO shiftDAO = new ShiftDAO();
+    
     /**
      * Insert new game schedule
      */
     public void insert(Schedule.Game game) throws SQLException {
-        String sql = "INSERT INTO game_schedules " +
-                    "(sport_id, game_date, start_time, end_time, location, " +
-                    "required_supervisors, required_referees, schedule_cycle_start, " +
-                    "schedule_cycle_end, created_by) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setInt(1, game.getSportId());
-            stmt.setDate(2, Date.valueOf(game.getGameDate()));
-            stmt.setTime(3, Time.valueOf(game.getStartTime()));
-            stmt.setTime(4, Time.valueOf(game.getEndTime()));
-            stmt.setString(5, game.getLocation());
-            stmt.setInt(6, game.getRequiredSupervisors());
-            stmt.setInt(7, game.getRequiredReferees());
-            stmt.setDate(8, Date.valueOf(game.getScheduleCycleStart()));
-            stmt.setDate(9, Date.valueOf(game.getScheduleCycleEnd()));
-            stmt.setInt(10, game.getCreatedBy());
+            bindInsert(stmt, game);
             
             stmt.executeUpdate();
             
@@ -44,6 +38,54 @@ public class GameScheduleDAO {
         }
     }
     
+    /**
+     * Insert many games in one transaction (batched); each game gets its generated schedule ID
+     */
+    public void insertAll(List<Schedule.Game> games) throws SQLException {
+        if (games.isEmpty()) {
+            return;
+        }
+        DatabaseConnection.inTransaction(conn -> {
+            JdbcBatch.insert(conn, INSERT_SQL, games, this::bindInsert, Schedule.Game::setScheduleId);
+            return null;
+        });
+    }
+    
+    /**
+     * Insert games, then generate and insert their shifts, all in one transaction.
+     * Either every game and shift is saved or none is.
+     */
+    public void insertAllWithShifts(List<Schedule.Game> games) throws SQLException {
+        if (games.isEmpty()) {
+            return;
+        }
+        DatabaseConnection.inTransaction(conn -> {
+            JdbcBatch.insert(conn, INSERT_SQL, games, this::bindInsert, Schedule.Game::setScheduleId);
+            
+            // Shifts take the schedule ID at generation time, so generate after the insert
+            List<Schedule.Shift> shifts = new ArrayList<>();
+            for (Schedule.Game game : games) {
+                game.generateShifts();
+                shifts.addAll(game.getShifts());
+            }
+            shiftDAO.insertAll(conn, shifts);
+            return null;
+        });
+    }
+    
+    private void bindInsert(PreparedStatement stmt, Schedule.Game game) throws SQLException {
+        stmt.setInt(1, game.getSportId());
+        stmt.setDate(2, Date.valueOf(game.getGameDate()));
+        stmt.setTime(3, Time.valueOf(game.getStartTime()));
+        stmt.setTime(4, Time.valueOf(game.getEndTime()));
+        stmt.setString(5, game.getLocation());
+        stmt.setInt(6, game.getRequiredSupervisors());
+        stmt.setInt(7, game.getRequiredReferees());
+        stmt.setDate(8, Date.valueOf(game.getScheduleCycleStart()));
+        stmt.setDate(9, Date.valueOf(game.getScheduleCycleEnd()));
+        stmt.setInt(10, game.getCreatedBy());
+    }
+    
     /**
      * Get game schedule by ID
      */
@@ -188,17 +230,28 @@ public class GameScheduleDAO {
             
             stmt.executeUpdate();
         }
+        DaoCaches.GAMES.invalidate(game.getScheduleId());
     }
     
     /**
      * Delete game schedule
      */
     public void delete(int scheduleId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            delete(conn, scheduleId);
+        }
+        DaoCaches.GAMES.invalidate(scheduleId);
+    }
+    
+    /**
+     * Delete game schedule on a connection whose transaction the caller manages.
+     * The caller invalidates DaoCaches.GAMES after the commit, so no reader can
+     * cache the row again in between.
+     */
+    public void delete(Connection conn, int scheduleId) throws SQLException {
         String sql = "DELETE FROM game_schedules WHERE schedule_id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, scheduleId);
             stmt.executeUpdate();
         }
@@ -254,7 +307,7 @@ public class GameScheduleDAO {
     /**
      * Extract Game object from ResultSet
      */
-    private Schedule.Game extractGameFromResultSet(ResultSet rs) throws SQLException {
+    Schedule.Game extractGameFromResultSet(ResultSet rs) throws SQLException {
         Schedule.Game game = new Schedule.Game(
             rs.getInt("sport_id"),
             rs.getDate("game_date").toLocalDate(),
@@ -0,0 +1,122 @@
+package com.intramural.scheduling.dao;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared plumbing for the DAOs' batch writes. Rows are bound with addBatch and
+ * sent every db.batch.size rows; callers run everything inside one transaction
+ * (see DatabaseConnection.inTransaction).
+ */
+final class JdbcBatch {
+
+    /**
+     * Binds one row's parameters
+     */
+    interface Binder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    /**
+     * Receives the generated key of an inserted row
+     */
+    interface KeySetter<T> {
+        void setKey(T row, int key);
+    }
+
+    private JdbcBatch() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Execute sql once per row in batches
+     * @return update count per row, in row order (may be Statement.SUCCESS_NO_INFO)
+     */
+    static <T> int[] execute(Connection conn, String sql, List<T> rows, Binder<T> binder)
+            throws SQLException {
+        int[] counts = new int[rows.size()];
+        int batchSize = DatabaseConnection.getBatchSize();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int pending = 0;
+            int done = 0;
+            for (T row : rows) {
+                binder.bind(stmt, row);
+                stmt.addBatch();
+                if (++pending == batchSize) {
+                    done = copyCounts(stmt.executeBatch(), counts, done);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                copyCounts(stmt.executeBatch(), counts, done);
+            }
+        }
+
+        return counts;
+    }
+
+    /**
+     * Insert rows in batches and hand each row its generated key.
+     *
+     * Drivers that only report the last identity of a batch (SQL Server's) get one
+     * executeUpdate per row instead, still on the same statement and transaction.
+     */
+    static <T> void insert(Connection conn, String sql, List<T> rows, Binder<T> binder,
+                           KeySetter<T> keys) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            if (!DatabaseConnection.getDialect().returnsBatchKeys()) {
+                for (T row : rows) {
+                    binder.bind(stmt, row);
+                    stmt.executeUpdate();
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            keys.setKey(row, generatedKeys.getInt(1));
+                        }
+                    }
+                }
+                return;
+            }
+
+            int batchSize = DatabaseConnection.getBatchSize();
+            List<T> chunk = new ArrayList<>(Math.min(batchSize, rows.size()));
+            for (T row : rows) {
+                binder.bind(stmt, row);
+                stmt.addBatch();
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    executeWithKeys(stmt, chunk, keys);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                executeWithKeys(stmt, chunk, keys);
+            }
+        }
+    }
+
+    private static <T> void executeWithKeys(PreparedStatement stmt, List<T> chunk,
+                                            KeySetter<T> keys) throws SQLException {
+        stmt.executeBatch();
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            int i = 0;
+            while (i < chunk.size() && generatedKeys.next()) {
+                keys.setKey(chunk.get(i++), generatedKeys.getInt(1));
+            }
+            if (i < chunk.size()) {
+                throw new SQLException("Driver returned " + i + " generated keys for a batch of " +
+                                       chunk.size() + " rows");
+            }
+        }
+    }
+
+    private static int copyCounts(int[] batchCounts, int[] counts, int offset) {
+        System.arraycopy(batchCounts, 0, counts, offset, batchCounts.length);
+        return offset + batchCounts.length;
+    }
+}
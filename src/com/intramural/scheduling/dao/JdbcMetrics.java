@@ -0,0 +1,455 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.util.LatencyHistogram;
+import com.intramural.scheduling.util.Logger;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Per-statement JDBC metrics behind DatabaseConnection.getConnection().
+ *
+ * The Connection a DAO gets is wrapped so that each PreparedStatement (and each
+ * Statement.execute*(sql)) records into the StatementMetrics of the DAO method
+ * that ran it (e.g. ShiftDAO.getByGameSchedule). Every statement walks the
+ * stack to that method, looking through private helpers that take
+ * (Connection, String sql, ...), so SQL that different methods share is
+ * counted exactly under each of them, and statements one method builds with a
+ * varying shape (IN lists) fold into its name.
+ *
+ * The walk fetches a small first batch of frames and only resolves the method
+ * of the frame it stops at; what it learns about each class (application code
+ * or plumbing, which methods are SQL helpers, the name of each method) is
+ * cached per class. JdbcMetricsBenchmark measures the per-statement overhead.
+ *
+ * Connection acquisition time (pool borrow or DriverManager connect) is
+ * recorded separately.
+ */
+public class JdbcMetrics implements JdbcMetricsMXBean {
+
+    private static final Logger log = Logger.getLogger(JdbcMetrics.class);
+
+    public static final String OBJECT_NAME_PREFIX = "com.intramural.scheduling:type=JdbcMetrics,";
+
+    // Statements without an application method on the stack
+    private static final String OTHER = "other";
+
+    private static final String APP_PACKAGE = "com.intramural.scheduling.";
+    private static final String SQL_HELPER_PREFIX = "(Ljava/sql/Connection;Ljava/lang/String;";
+
+    // Frames in the first batch: the proxy, its handler and this class, then the caller
+    private static final int WALK_DEPTH = 8;
+    private static final StackWalker WALKER = StackWalker.getInstance(
+        Set.of(StackWalker.Option.RETAIN_CLASS_REFERENCE), WALK_DEPTH);
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    // Frames that are plumbing, not the DAO method a statement belongs to
+    private static final Set<Class<?>> INFRASTRUCTURE = Set.of(
+        JdbcMetrics.class, ConnectionPool.class, DatabaseConnection.class, JdbcBatch.class);
+
+    private static final ClassValue<CallerClass> CALLER_CLASSES = new ClassValue<CallerClass>() {
+        @Override
+        protected CallerClass computeValue(Class<?> type) {
+            return new CallerClass(type);
+        }
+    };
+
+    private final Map<String, StatementMetrics> byName = new ConcurrentHashMap<>();
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private volatile boolean registerBeans;
+
+    /**
+     * Wrap a freshly borrowed connection
+     * @param acquireNanos time it took to get the connection
+     */
+    Connection wrap(Connection conn, long acquireNanos) {
+        acquire.record(acquireNanos);
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new ConnectionHandler(conn));
+    }
+
+    /**
+     * Expose the summary now, and each statement's metrics as it first shows up
+     */
+    public void registerMBeans() {
+        registerBeans = true;
+        register(this, OBJECT_NAME_PREFIX + "name=summary");
+        for (StatementMetrics metrics : byName.values()) {
+            register(metrics, OBJECT_NAME_PREFIX + "statement=" + ObjectName.quote(metrics.getName()));
+        }
+    }
+
+    /**
+     * Metrics of one statement by name, or null if it has not run
+     */
+    public StatementMetrics getStatement(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Metrics of the method on the stack that runs the SQL
+     */
+    StatementMetrics forSql(String sql) {
+        StackWalker.StackFrame caller = WALKER.walk(frames -> frames
+            .filter(JdbcMetrics::isCaller)
+            .findFirst()
+            .orElse(null));
+        String name = caller != null ?
+            CALLER_CLASSES.get(caller.getDeclaringClass()).nameOf(caller.getMethodName()) : OTHER;
+        StatementMetrics metrics = byName.get(name);
+        return metrics != null ? metrics : byName.computeIfAbsent(name, n -> newStatement(n, sql));
+    }
+
+    private StatementMetrics newStatement(String name, String sql) {
+        StatementMetrics metrics = new StatementMetrics(name, sql);
+        if (registerBeans) {
+            register(metrics, OBJECT_NAME_PREFIX + "statement=" + ObjectName.quote(name));
+        }
+        return metrics;
+    }
+
+    /**
+     * An application frame outside the JDBC plumbing and SQL helpers
+     */
+    private static boolean isCaller(StackWalker.StackFrame frame) {
+        CallerClass type = CALLER_CLASSES.get(frame.getDeclaringClass());
+        return type.application && (type.sqlHelpers.isEmpty() || !type.isSqlHelper(frame));
+    }
+
+    /**
+     * What the stack walk needs to know about one class, worked out once
+     */
+    private static final class CallerClass {
+        final boolean application;
+        // Name and descriptor of each non-public method taking (Connection, String sql, ...),
+        // like CycleSnapshotDAO.query: its statements belong to whoever called it
+        final Set<String> sqlHelpers;
+        private final String simpleName;
+        private final Map<String, String> names = new ConcurrentHashMap<>();
+
+        CallerClass(Class<?> type) {
+            application = type.getName().startsWith(APP_PACKAGE) &&
+                          !INFRASTRUCTURE.contains(type.getNestHost());
+            sqlHelpers = application ? sqlHelpers(type) : Set.of();
+            String topLevel = topLevel(type.getName());
+            simpleName = topLevel.substring(topLevel.lastIndexOf('.') + 1);
+        }
+
+        boolean isSqlHelper(StackWalker.StackFrame frame) {
+            String descriptor = frame.getDescriptor();
+            return descriptor.startsWith(SQL_HELPER_PREFIX) &&
+                   sqlHelpers.contains(frame.getMethodName() + descriptor);
+        }
+
+        /**
+         * "Class.method" of a method of this class
+         */
+        String nameOf(String method) {
+            String name = names.get(method);
+            return name != null ? name : names.computeIfAbsent(method, m -> {
+                // lambda$upsertAll$3 -> upsertAll
+                if (m.startsWith("lambda$")) {
+                    int end = m.indexOf('$', 7);
+                    m = m.substring(7, end > 7 ? end : m.length());
+                }
+                return simpleName + "." + m;
+            });
+        }
+
+        private static Set<String> sqlHelpers(Class<?> type) {
+            Set<String> helpers = new HashSet<>();
+            try {
+                for (Method method : type.getDeclaredMethods()) {
+                    Class<?>[] params = method.getParameterTypes();
+                    if (!Modifier.isPublic(method.getModifiers()) && params.length >= 2 &&
+                        params[0] == Connection.class && params[1] == String.class) {
+                        helpers.add(method.getName() +
+                            MethodType.methodType(method.getReturnType(), params).toMethodDescriptorString());
+                    }
+                }
+            } catch (LinkageError e) {
+                log.warn("Could not inspect " + type.getName() + " for SQL helpers: " + e.getMessage());
+            }
+            return helpers.isEmpty() ? Set.of() : helpers;
+        }
+    }
+
+    private static String topLevel(String className) {
+        int inner = className.indexOf('$');
+        return inner > 0 ? className.substring(0, inner) : className;
+    }
+
+    private static void register(Object bean, String objectName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(bean, name);
+        } catch (JMException e) {
+            log.warn("Could not register JDBC metrics MBean " + objectName + ": " + e.getMessage());
+        }
+    }
+
+    // ==================== MXBEAN ====================
+
+    @Override
+    public String[] getStatementNames() {
+        return byName.keySet().stream().sorted().toArray(String[]::new);
+    }
+
+    @Override
+    public long getConnectionAcquireCount() {
+        return acquire.getCount();
+    }
+
+    @Override
+    public double getConnectionAcquireP50Millis() {
+        return acquire.getPercentileNanos(50) / 1e6;
+    }
+
+    @Override
+    public double getConnectionAcquireP99Millis() {
+        return acquire.getPercentileNanos(99) / 1e6;
+    }
+
+    @Override
+    public double getConnectionAcquireMaxMillis() {
+        return acquire.getMaxNanos() / 1e6;
+    }
+
+    @Override
+    public String dump() {
+        List<StatementMetrics> statements = new ArrayList<>(byName.values());
+        statements.sort(Comparator.comparingDouble(StatementMetrics::getTotalMillis).reversed());
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-48s %9s %6s %10s %11s %9s %9s %9s %9s %9s%n",
+            "statement", "calls", "errors", "rows", "total ms", "mean ms", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (StatementMetrics s : statements) {
+            out.append(String.format("%-48s %9d %6d %10d %11.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                s.getName(), s.getCalls(), s.getErrors(), s.getRows(), s.getTotalMillis(), s.getMeanMillis(),
+                s.getP50Millis(), s.getP95Millis(), s.getP99Millis(), s.getMaxMillis()));
+        }
+        out.append(String.format("%-48s %9d %6s %10s %11.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+            "(connection acquire)", acquire.getCount(), "", "", acquire.getTotalNanos() / 1e6,
+            acquire.getMeanNanos() / 1e6, acquire.getPercentileNanos(50) / 1e6,
+            acquire.getPercentileNanos(95) / 1e6, acquire.getPercentileNanos(99) / 1e6,
+            acquire.getMaxNanos() / 1e6));
+        return out.toString();
+    }
+
+    @Override
+    public void reset() {
+        byName.values().forEach(StatementMetrics::reset);
+        acquire.reset();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Hands out timed statements; everything else goes straight through
+     */
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Metered" + target;
+                default:
+                    break;
+            }
+            Object result = JdbcMetrics.invoke(target, method, args);
+            if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")) {
+                return new StatementHandler((Connection) proxy, (Statement) result,
+                    forSql((String) args[0])).proxy(PreparedStatement.class);
+            }
+            if (result instanceof Statement && method.getName().equals("createStatement")) {
+                return new StatementHandler((Connection) proxy, (Statement) result, null).proxy(Statement.class);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Times execute* calls. An update is recorded when it returns; a query stays
+     * open until its result set is exhausted or closed, the statement is closed
+     * or runs again.
+     */
+    private class StatementHandler implements InvocationHandler {
+        private final Connection connection;
+        private final Statement target;
+        private final StatementMetrics prepared;
+        private Object proxy;
+
+        private StatementMetrics open;
+        private long openStart;
+        private long openRows;
+
+        StatementHandler(Connection connection, Statement target, StatementMetrics prepared) {
+            this.connection = connection;
+            this.target = target;
+            this.prepared = prepared;
+        }
+
+        <T extends Statement> T proxy(Class<T> type) {
+            proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, this);
+            return type.cast(proxy);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+            switch (name) {
+                case "close":
+                    finish();
+                    break;
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Metered" + target;
+                default:
+                    break;
+            }
+            return JdbcMetrics.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finish();
+            StatementMetrics metrics = args != null && args.length > 0 && args[0] instanceof String
+                ? forSql((String) args[0])
+                : prepared;
+            if (metrics == null) {
+                return JdbcMetrics.invoke(target, method, args);
+            }
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = JdbcMetrics.invoke(target, method, args);
+            } catch (Throwable e) {
+                metrics.recordError(System.nanoTime() - start);
+                throw e;
+            }
+
+            if (result instanceof ResultSet) {
+                open = metrics;
+                openStart = start;
+                openRows = 0;
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, new ResultSetHandler(this, (ResultSet) result));
+            }
+            metrics.record(System.nanoTime() - start, rowCount(result));
+            return result;
+        }
+
+        private long rowCount(Object result) {
+            if (result instanceof Integer || result instanceof Long) {
+                return ((Number) result).longValue();
+            }
+            long rows = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+
+        void finish() {
+            if (open != null) {
+                open.record(System.nanoTime() - openStart, openRows);
+                open = null;
+            }
+        }
+    }
+
+    /**
+     * Counts rows and ends the query's timing when read to the end or closed
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+        private final StatementHandler statement;
+        private final ResultSet target;
+
+        ResultSetHandler(StatementHandler statement, ResultSet target) {
+            this.statement = statement;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    boolean more = target.next();
+                    if (more) {
+                        statement.openRows++;
+                    } else {
+                        statement.finish();
+                    }
+                    return more;
+                case "close":
+                    statement.finish();
+                    break;
+                case "getStatement":
+                    return statement.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return JdbcMetrics.invoke(target, method, args);
+        }
+    }
+}
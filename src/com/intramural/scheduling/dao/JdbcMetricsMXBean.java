@@ -0,0 +1,32 @@
+package com.intramural.scheduling.dao;
+
+/**
+ * JMX view of the JDBC statement metrics, registered as
+ * com.intramural.scheduling:type=JdbcMetrics,name=summary. Each statement has
+ * its own StatementMetricsMXBean next to it.
+ */
+public interface JdbcMetricsMXBean {
+
+    /**
+     * Names of the statements seen so far (DAO class and method)
+     */
+    String[] getStatementNames();
+
+    long getConnectionAcquireCount();
+
+    double getConnectionAcquireP50Millis();
+
+    double getConnectionAcquireP99Millis();
+
+    double getConnectionAcquireMaxMillis();
+
+    /**
+     * Text table of every statement, slowest total time first
+     */
+    String dump();
+
+    /**
+     * Zero all counters and histograms (statements stay registered)
+     */
+    void reset();
+}
@@ -1,46 +1,32 @@
 package com.intramural.scheduling.dao;
 
 import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.util.SchedulingEvents;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 public class ShiftDAO {
     
+    private static final String INSERT_SQL =
+        "INSERT INTO shifts (game_schedule_id, position_type, position_number, " +
+        "assigned_employee_id, recommendation_a_id, recommendation_b_id, assignment_status) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_RECOMMENDATIONS_SQL =
+        "UPDATE shifts SET recommendation_a_id = ?, recommendation_b_id = ?, " +
+        "assignment_status = 'RECOMMENDED' WHERE shift_id = ?";
+    
     /**
      * Insert new shift
      */
     public void insert(Schedule.Shift shift) throws SQLException {
-        String sql = "INSERT INTO shifts (game_schedule_id, position_type, position_number, " +
-                    "assigned_employee_id, recommendation_a_id, recommendation_b_id, assignment_status) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setInt(1, shift.getGameScheduleId());
-            stmt.setString(2, shift.getPositionType().toString());
-            stmt.setInt(3, shift.getPositionNumber());
-            
-            if (shift.getAssignedEmployeeId() != null) {
-                stmt.setInt(4, shift.getAssignedEmployeeId());
-            } else {
-                stmt.setNull(4, Types.INTEGER);
-            }
-            
-            if (shift.getRecommendationAId() != null) {
-                stmt.setInt(5, shift.getRecommendationAId());
-            } else {
-                stmt.setNull(5, Types.INTEGER);
-            }
-            
-            if (shift.getRecommendationBId() != null) {
-                stmt.setInt(6, shift.getRecommendationBId());
-            } else {
-                stmt.setNull(6, Types.INTEGER);
-            }
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setString(7, shift.getAssignmentStatus().toString());
+            bindInsert(stmt, shift);
             
             stmt.executeUpdate();
             
@@ -52,6 +38,52 @@ public class ShiftDAO {
         }
     }
     
+    /**
+     * Insert many shifts in one transaction (batched); each shift gets its generated ID
+     */
+    public void insertAll(List<Schedule.Shift> shifts) throws SQLException {
+        if (shifts.isEmpty()) {
+            return;
+        }
+        DatabaseConnection.inTransaction(conn -> {
+            insertAll(conn, shifts);
+            return null;
+        });
+    }
+    
+    /**
+     * Batched insert on a connection whose transaction the caller manages
+     */
+    void insertAll(Connection conn, List<Schedule.Shift> shifts) throws SQLException {
+        JdbcBatch.insert(conn, INSERT_SQL, shifts, this::bindInsert, Schedule.Shift::setShiftId);
+    }
+    
+    private void bindInsert(PreparedStatement stmt, Schedule.Shift shift) throws SQLException {
+        stmt.setInt(1, shift.getGameScheduleId());
+        stmt.setString(2, shift.getPositionType().toString());
+        stmt.setInt(3, shift.getPositionNumber());
+        
+        if (shift.getAssignedEmployeeId() != null) {
+            stmt.setInt(4, shift.getAssignedEmployeeId());
+        } else {
+            stmt.setNull(4, Types.INTEGER);
+        }
+        
+        if (shift.getRecommendationAId() != null) {
+            stmt.setInt(5, shift.getRecommendationAId());
+        } else {
+            stmt.setNull(5, Types.INTEGER);
+        }
+        
+        if (shift.getRecommendationBId() != null) {
+            stmt.setInt(6, shift.getRecommendationBId());
+        } else {
+            stmt.setNull(6, Types.INTEGER);
+        }
+        
+        stmt.setString(7, shift.getAssignmentStatus().toString());
+    }
+    
     /**
      * Get shifts by game schedule ID
      */
@@ -75,17 +107,52 @@ public class ShiftDAO {
         return shifts;
     }
     
+    /**
+     * Get the shifts of every game played between two dates (inclusive), in one query
+     */
+    public List<Schedule.Shift> getByGameDateRange(LocalDate startDate, LocalDate endDate)
+            throws SQLException {
+        List<Schedule.Shift> shifts = new ArrayList<>();
+        String sql = "SELECT s.* FROM shifts s " +
+                    "JOIN game_schedules gs ON gs.schedule_id = s.game_schedule_id " +
+                    "WHERE gs.game_date BETWEEN ? AND ? " +
+                    "ORDER BY s.game_schedule_id, s.position_type, s.position_number";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setDate(1, Date.valueOf(startDate));
+            stmt.setDate(2, Date.valueOf(endDate));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    shifts.add(extractShiftFromResultSet(rs));
+                }
+            }
+        }
+        
+        return shifts;
+    }
+    
     /**
      * Update shift - handles all updates (assignment, recommendations, status)
      */
     public void update(Schedule.Shift shift) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            update(conn, shift);
+        }
+    }
+    
+    /**
+     * Update shift on a connection whose transaction the caller manages
+     */
+    public void update(Connection conn, Schedule.Shift shift) throws SQLException {
         String sql = "UPDATE shifts SET assigned_employee_id = ?, " +
                     "recommendation_a_id = ?, recommendation_b_id = ?, " +
                     "assignment_status = ?, assigned_at = ? " +
                     "WHERE shift_id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             if (shift.getAssignedEmployeeId() != null) {
                 stmt.setInt(1, shift.getAssignedEmployeeId());
@@ -124,11 +191,8 @@ public class ShiftDAO {
      */
     public void updateRecommendations(int shiftId, int optionAId, int optionBId) 
             throws SQLException {
-        String sql = "UPDATE shifts SET recommendation_a_id = ?, recommendation_b_id = ?, " +
-                    "assignment_status = 'RECOMMENDED' WHERE shift_id = ?";
-        
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_RECOMMENDATIONS_SQL)) {
             
             stmt.setInt(1, optionAId);
             stmt.setInt(2, optionBId);
@@ -138,18 +202,60 @@ public class ShiftDAO {
         }
     }
     
+    /**
+     * Save the Option A/B recommendations of many shifts in one transaction (batched).
+     * Shifts without an Option A are skipped; a missing Option B saves Option A twice.
+     * @return number of shifts written
+     */
+    public int updateRecommendationsBatch(Collection<Schedule.Shift> shifts) throws SQLException {
+        List<Schedule.Shift> recommended = new ArrayList<>(shifts.size());
+        for (Schedule.Shift shift : shifts) {
+            if (shift.getRecommendationAId() != null) {
+                recommended.add(shift);
+            }
+        }
+        if (recommended.isEmpty()) {
+            return 0;
+        }
+        
+        SchedulingEvents.RecommendationSave event = new SchedulingEvents.RecommendationSave();
+        event.begin();
+        DatabaseConnection.inTransaction(conn ->
+            JdbcBatch.execute(conn, UPDATE_RECOMMENDATIONS_SQL, recommended, (stmt, shift) -> {
+                int optionA = shift.getRecommendationAId();
+                stmt.setInt(1, optionA);
+                stmt.setInt(2, shift.getRecommendationBId() != null ?
+                    shift.getRecommendationBId() : optionA);
+                stmt.setInt(3, shift.getShiftId());
+            }));
+        if (event.shouldCommit()) {
+            event.shifts = recommended.size();
+            event.commit();
+        }
+        return recommended.size();
+    }
+    
     /**
      * Update only assignment (when admin selects an option) - used by SchedulingController
      * Version 1: Takes shiftId and employeeId separately
      */
     public void updateAssignment(int shiftId, int employeeId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            updateAssignment(conn, shiftId, employeeId);
+        }
+    }
+    
+    /**
+     * Update only assignment on a connection whose transaction the caller manages
+     * (e.g. together with the weekly hours change)
+     */
+    public void updateAssignment(Connection conn, int shiftId, int employeeId) throws SQLException {
         // BUG-010: Use Timestamp instead of SQL Server specific GETDATE()
         String sql = "UPDATE shifts SET assigned_employee_id = ?, " +
                     "assignment_status = 'ASSIGNED', assigned_at = ? " +
                     "WHERE shift_id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, employeeId);
             stmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
@@ -196,11 +302,19 @@ public class ShiftDAO {
      * Delete shifts by game schedule
      */
     public void deleteByGameSchedule(int gameScheduleId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            deleteByGameSchedule(conn, gameScheduleId);
+        }
+    }
+    
+    /**
+     * Delete shifts by game schedule on a connection whose transaction the caller
+     * manages (e.g. together with the game itself)
+     */
+    public void deleteByGameSchedule(Connection conn, int gameScheduleId) throws SQLException {
         String sql = "DELETE FROM shifts WHERE game_schedule_id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, gameScheduleId);
             stmt.executeUpdate();
         }
@@ -249,7 +363,7 @@ public class ShiftDAO {
     /**
      * Extract Shift from ResultSet
      */
-    private Schedule.Shift extractShiftFromResultSet(ResultSet rs) throws SQLException {
+    Schedule.Shift extractShiftFromResultSet(ResultSet rs) throws SQLException {
         Schedule.Shift shift = new Schedule.Shift(
             rs.getInt("game_schedule_id"),
             Schedule.PositionType.valueOf(rs.getString("position_type")),
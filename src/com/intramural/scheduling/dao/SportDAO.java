@@ -76,7 +76,7 @@ public class SportDAO {
     /**
      * Extract Sport from ResultSet
      */
-    private Sport extractSportFromResultSet(ResultSet rs) throws SQLException {
+    Sport extractSportFromResultSet(ResultSet rs) throws SQLException {
         return new Sport(
             rs.getInt("sport_id"),
             rs.getString("sport_name"),
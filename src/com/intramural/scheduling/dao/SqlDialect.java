@@ -0,0 +1,53 @@
+package com.intramural.scheduling.dao;
+
+import java.util.Locale;
+
+/**
+ * The few statements and driver behaviours that differ between the production
+ * SQL Server database and the embedded H2 one. Everything else the DAOs send is
+ * plain SQL that both accept (H2 runs in MODE=MSSQLServer).
+ */
+public enum SqlDialect {
+    SQL_SERVER("GETDATE()", false),
+    H2("CURRENT_TIMESTAMP", true);
+
+    private final String currentTimestamp;
+    private final boolean batchGeneratedKeys;
+
+    SqlDialect(String currentTimestamp, boolean batchGeneratedKeys) {
+        this.currentTimestamp = currentTimestamp;
+        this.batchGeneratedKeys = batchGeneratedKeys;
+    }
+
+    /**
+     * SQL expression for the database's current date and time
+     */
+    public String currentTimestamp() {
+        return currentTimestamp;
+    }
+
+    /**
+     * Whether getGeneratedKeys after executeBatch returns one key per row
+     * (mssql-jdbc only returns the last one)
+     */
+    public boolean returnsBatchKeys() {
+        return batchGeneratedKeys;
+    }
+
+    /**
+     * Dialect named by db.dialect, or else guessed from the JDBC URL
+     */
+    public static SqlDialect resolve(String name, String url) {
+        if (name != null && !name.isBlank()) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Unknown db.dialect: " + name);
+            }
+        }
+        if (url != null && url.startsWith("jdbc:h2:")) {
+            return H2;
+        }
+        return SQL_SERVER;
+    }
+}
@@ -0,0 +1,60 @@
+package com.intramural.scheduling.dao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Runs a plain SQL script from the classpath (e.g. database/schema-portable.sql).
+ * Statements end with ';' at the end of a line; lines starting with '--' are
+ * comments. No GO batches or procedural blocks.
+ */
+public final class SqlScript {
+
+    private SqlScript() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Execute every statement of the script on conn, in order
+     * @return number of statements executed
+     */
+    public static int run(Connection conn, String resource) throws SQLException {
+        InputStream in = SqlScript.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new SQLException("SQL script not found in classpath: " + resource);
+        }
+
+        int executed = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+             Statement stmt = conn.createStatement()) {
+            StringBuilder sql = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                sql.append(line).append('\n');
+                if (trimmed.endsWith(";")) {
+                    sql.setLength(sql.lastIndexOf(";"));
+                    stmt.execute(sql.toString());
+                    sql.setLength(0);
+                    executed++;
+                }
+            }
+            if (!sql.toString().isBlank()) {
+                stmt.execute(sql.toString());
+                executed++;
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to read SQL script " + resource, e);
+        }
+        return executed;
+    }
+}
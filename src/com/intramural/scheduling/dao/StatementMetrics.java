@@ -0,0 +1,96 @@
+package com.intramural.scheduling.dao;
+
+import com.intramural.scheduling.util.LatencyHistogram;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, latency histogram, errors and rows of one SQL statement. A query's
+ * latency runs from execute until its result set is read to the end or closed,
+ * so it includes fetching the rows.
+ */
+public class StatementMetrics implements StatementMetricsMXBean {
+    private final String name;
+    private final String sql;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    StatementMetrics(String name, String sql) {
+        this.name = name;
+        this.sql = sql;
+    }
+
+    void record(long nanos, long rowCount) {
+        latency.record(nanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    void recordError(long nanos) {
+        latency.record(nanos);
+        errors.increment();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getTotalMillis() {
+        return latency.getTotalNanos() / 1e6;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getMeanNanos() / 1e6;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.getPercentileNanos(50) / 1e6;
+    }
+
+    @Override
+    public double getP95Millis() {
+        return latency.getPercentileNanos(95) / 1e6;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.getPercentileNanos(99) / 1e6;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.getMaxNanos() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+    }
+}
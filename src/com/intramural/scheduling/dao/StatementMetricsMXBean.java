@@ -0,0 +1,41 @@
+package com.intramural.scheduling.dao;
+
+/**
+ * JMX view of one SQL statement's metrics, registered as
+ * com.intramural.scheduling:type=JdbcMetrics,statement=&lt;DAO method&gt;
+ */
+public interface StatementMetricsMXBean {
+
+    /**
+     * DAO method that first ran the statement, e.g. ShiftDAO.getByGameSchedule
+     */
+    String getName();
+
+    /**
+     * SQL text the metrics were first recorded for
+     */
+    String getSql();
+
+    long getCalls();
+
+    long getErrors();
+
+    /**
+     * Rows read from result sets plus rows reported by updates and batches
+     */
+    long getRows();
+
+    double getTotalMillis();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+
+    void reset();
+}
@@ -132,7 +132,7 @@ public class TimeOffDAO {
     /**
      * Map ResultSet to TimeOffRequest object
      */
-    private TimeOffRequest mapResultSetToTimeOffRequest(ResultSet rs) throws SQLException {
+    TimeOffRequest mapResultSetToTimeOffRequest(ResultSet rs) throws SQLException {
         int employeeId = rs.getInt("employee_id");
         java.sql.Date requestDate = rs.getDate("request_date");
         boolean isFullDay = rs.getBoolean("is_full_day");
@@ -202,98 +202,108 @@ public class UserDao {
     }
     
     /**
-     * Delete user
+     * Delete user (and their inactive employee record) in one transaction
      */
     public void deleteUser(int userId) throws SQLException {
+        Integer deletedEmployeeId = DatabaseConnection.inTransaction(conn -> deleteUser(conn, userId));
+        // Only after commit: a concurrent cache load before this point still sees the old row
+        if (deletedEmployeeId != null) {
+            DaoCaches.EMPLOYEES.invalidate(deletedEmployeeId);
+        }
+    }
+    
+    /**
+     * @return ID of the employee record deleted with the user, or null if none
+     */
+    private Integer deleteUser(Connection conn, int userId) throws SQLException {
         // First check if user has associated employee record
         String checkSql = "SELECT employee_id, active_status FROM employees WHERE user_id = ?";
         
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            Integer employeeId = null;
-            boolean isActive = false;
-            
-            // Check for employee association
-            try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-                checkStmt.setInt(1, userId);
-                ResultSet rs = checkStmt.executeQuery();
-                if (rs.next()) {
-                    employeeId = rs.getInt("employee_id");
-                    isActive = rs.getBoolean("active_status");
-                }
-            }
-            
-            // If employee exists and is active, block deletion
-            if (employeeId != null && isActive) {
-                throw new SQLException("Cannot delete user: User has an active employee record. Please deactivate the employee first.");
+        Integer employeeId = null;
+        boolean isActive = false;
+        
+        // Check for employee association
+        try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
+            checkStmt.setInt(1, userId);
+            ResultSet rs = checkStmt.executeQuery();
+            if (rs.next()) {
+                employeeId = rs.getInt("employee_id");
+                isActive = rs.getBoolean("active_status");
             }
+        }
+        
+        // If employee exists and is active, block deletion
+        if (employeeId != null && isActive) {
+            throw new SQLException("Cannot delete user: User has an active employee record. Please deactivate the employee first.");
+        }
+        
+        // If employee exists but is inactive, delete the employee record and its dependencies
+        if (employeeId != null && !isActive) {
+            // Delete employee-related records in correct order (to avoid FK constraint violations)
+            // First, handle shifts with multiple FK references
+            String updateShiftsRecommendations = "UPDATE shifts SET recommendation_a_id = NULL, recommendation_b_id = NULL WHERE recommendation_a_id = ? OR recommendation_b_id = ?";
+            String deleteShifts = "DELETE FROM shifts WHERE assigned_employee_id = ?";
+            String deletePermanentConflicts = "DELETE FROM permanent_conflicts WHERE employee_id = ?";
+            String deleteTimeOff = "DELETE FROM time_off_requests WHERE employee_id = ?";
+            String deleteWeeklyHours = "DELETE FROM weekly_hours WHERE employee_id = ?";
+            String deleteExpertise = "DELETE FROM employee_expertise WHERE employee_id = ?";
+            String deleteAvailability = "DELETE FROM seasonal_availability WHERE employee_id = ?";
+            String deleteEmployee = "DELETE FROM employees WHERE employee_id = ?";
             
-            // If employee exists but is inactive, delete the employee record and its dependencies
-            if (employeeId != null && !isActive) {
-                // Delete employee-related records in correct order (to avoid FK constraint violations)
-                // First, handle shifts with multiple FK references
-                String updateShiftsRecommendations = "UPDATE shifts SET recommendation_a_id = NULL, recommendation_b_id = NULL WHERE recommendation_a_id = ? OR recommendation_b_id = ?";
-                String deleteShifts = "DELETE FROM shifts WHERE assigned_employee_id = ?";
-                String deletePermanentConflicts = "DELETE FROM permanent_conflicts WHERE employee_id = ?";
-                String deleteTimeOff = "DELETE FROM time_off_requests WHERE employee_id = ?";
-                String deleteWeeklyHours = "DELETE FROM weekly_hours WHERE employee_id = ?";
-                String deleteExpertise = "DELETE FROM employee_expertise WHERE employee_id = ?";
-                String deleteAvailability = "DELETE FROM seasonal_availability WHERE employee_id = ?";
-                String deleteEmployee = "DELETE FROM employees WHERE employee_id = ?";
+            try (PreparedStatement stmtUpdate = conn.prepareStatement(updateShiftsRecommendations);
+                 PreparedStatement stmt0 = conn.prepareStatement(deleteShifts);
+                 PreparedStatement stmt1 = conn.prepareStatement(deletePermanentConflicts);
+                 PreparedStatement stmt2 = conn.prepareStatement(deleteTimeOff);
+                 PreparedStatement stmt3 = conn.prepareStatement(deleteWeeklyHours);
+                 PreparedStatement stmt4 = conn.prepareStatement(deleteExpertise);
+                 PreparedStatement stmt5 = conn.prepareStatement(deleteAvailability);
+                 PreparedStatement stmt6 = conn.prepareStatement(deleteEmployee)) {
                 
-                try (PreparedStatement stmtUpdate = conn.prepareStatement(updateShiftsRecommendations);
-                     PreparedStatement stmt0 = conn.prepareStatement(deleteShifts);
-                     PreparedStatement stmt1 = conn.prepareStatement(deletePermanentConflicts);
-                     PreparedStatement stmt2 = conn.prepareStatement(deleteTimeOff);
-                     PreparedStatement stmt3 = conn.prepareStatement(deleteWeeklyHours);
-                     PreparedStatement stmt4 = conn.prepareStatement(deleteExpertise);
-                     PreparedStatement stmt5 = conn.prepareStatement(deleteAvailability);
-                     PreparedStatement stmt6 = conn.prepareStatement(deleteEmployee)) {
-                    
-                    // First update recommendations to NULL
-                    stmtUpdate.setInt(1, employeeId);
-                    stmtUpdate.setInt(2, employeeId);
-                    stmtUpdate.executeUpdate();
-                    
-                    // Then delete shifts assigned to this employee
-                    stmt0.setInt(1, employeeId);
-                    stmt0.executeUpdate();
-                    
-                    // Delete permanent conflicts
-                    stmt1.setInt(1, employeeId);
-                    stmt1.executeUpdate();
-                    
-                    // Delete time off requests
-                    stmt2.setInt(1, employeeId);
-                    stmt2.executeUpdate();
-                    
-                    // Delete weekly hours
-                    stmt3.setInt(1, employeeId);
-                    stmt3.executeUpdate();
-                    
-                    // Delete expertise
-                    stmt4.setInt(1, employeeId);
-                    stmt4.executeUpdate();
-                    
-                    // Delete availability
-                    stmt5.setInt(1, employeeId);
-                    stmt5.executeUpdate();
-                    
-                    // Finally delete employee
-                    stmt6.setInt(1, employeeId);
-                    stmt6.executeUpdate();
-                }
+                // First update recommendations to NULL
+                stmtUpdate.setInt(1, employeeId);
+                stmtUpdate.setInt(2, employeeId);
+                stmtUpdate.executeUpdate();
+                
+                // Then delete shifts assigned to this employee
+                stmt0.setInt(1, employeeId);
+                stmt0.executeUpdate();
+                
+                // Delete permanent conflicts
+                stmt1.setInt(1, employeeId);
+                stmt1.executeUpdate();
+                
+                // Delete time off requests
+                stmt2.setInt(1, employeeId);
+                stmt2.executeUpdate();
+                
+                // Delete weekly hours
+                stmt3.setInt(1, employeeId);
+                stmt3.executeUpdate();
+                
+                // Delete expertise
+                stmt4.setInt(1, employeeId);
+                stmt4.executeUpdate();
+                
+                // Delete availability
+                stmt5.setInt(1, employeeId);
+                stmt5.executeUpdate();
+                
+                // Finally delete employee
+                stmt6.setInt(1, employeeId);
+                stmt6.executeUpdate();
             }
+        }
+        
+        // Delete the user
+        String deleteSql = "DELETE FROM users WHERE user_id = ?";
+        try (PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
+            deleteStmt.setInt(1, userId);
+            int rowsAffected = deleteStmt.executeUpdate();
             
-            // Delete the user
-            String deleteSql = "DELETE FROM users WHERE user_id = ?";
-            try (PreparedStatement deleteStmt = conn.prepareStatement(deleteSql)) {
-                deleteStmt.setInt(1, userId);
-                int rowsAffected = deleteStmt.executeUpdate();
-                
-                if (rowsAffected == 0) {
-                    throw new SQLException("User not found with ID: " + userId);
-                }
+            if (rowsAffected == 0) {
+                throw new SQLException("User not found with ID: " + userId);
             }
         }
+        return employeeId;
     }
 }
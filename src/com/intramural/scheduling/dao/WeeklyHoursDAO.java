@@ -1,23 +1,43 @@
 package com.intramural.scheduling.dao;
 
 import com.intramural.scheduling.model.Tracking;
+import com.intramural.scheduling.util.DateTimeUtil;
+import com.intramural.scheduling.util.IntObjectMap;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class WeeklyHoursDAO {
     
+    private static final String INSERT_SQL =
+        "INSERT INTO weekly_hours " +
+        "(employee_id, week_start_date, total_scheduled_hours) " +
+        "VALUES (?, ?, ?)";
+    
+    // Adds a (possibly negative) delta on the server; totals never go below zero
+    private static final String ADJUST_SQL =
+        "UPDATE weekly_hours SET total_scheduled_hours = " +
+        "CASE WHEN COALESCE(total_scheduled_hours, 0) + ? < 0 THEN 0 " +
+        "ELSE COALESCE(total_scheduled_hours, 0) + ? END, last_updated = ? " +
+        "WHERE employee_id = ? AND week_start_date = ?";
+    
+    // Above this many employees getByWeeks filters in Java instead of an IN list
+    private static final int MAX_IN_LIST = 500;
+    
+    // Retries when a concurrent writer inserted the same (employee, week) row first
+    private static final int MAX_UPSERT_ATTEMPTS = 3;
+    
     /**
      * Insert new weekly hours record
      */
     public void insert(Tracking.WeeklyHours weeklyHours) throws SQLException {
-        String sql = "INSERT INTO weekly_hours " +
-                    "(employee_id, week_start_date, total_scheduled_hours) " +
-                    "VALUES (?, ?, ?)";
-        
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setInt(1, weeklyHours.getEmployeeId());
             stmt.setDate(2, Date.valueOf(weeklyHours.getWeekStartDate()));
@@ -36,7 +56,7 @@ public class WeeklyHoursDAO {
     
     /**
      * Get weekly hours by employee and week
-     * If record doesn't exist, creates a new one
+     * If record doesn't exist, creates a new one (use findByEmployeeAndWeek for a pure read)
      */
     public Tracking.WeeklyHours getByEmployeeAndWeek(int employeeId, LocalDate weekStartDate) 
             throws SQLException {
@@ -64,6 +84,99 @@ public class WeeklyHoursDAO {
         }
     }
     
+    /**
+     * Get weekly hours by employee and week without writing anything:
+     * if no row exists, returns an unsaved zero-hours record (tracking ID 0)
+     */
+    public Tracking.WeeklyHours findByEmployeeAndWeek(int employeeId, LocalDate weekStartDate)
+            throws SQLException {
+        String sql = "SELECT * FROM weekly_hours " +
+                    "WHERE employee_id = ? AND week_start_date = ?";
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, employeeId);
+            stmt.setDate(2, Date.valueOf(weekStartDate));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractWeeklyHoursFromResultSet(rs);
+                }
+            }
+        }
+        
+        return new Tracking.WeeklyHours(employeeId, weekStartDate);
+    }
+    
+    /**
+     * Weekly hours of many employees for every week from the week containing
+     * 'from' to the week containing 'to', in one query and without writing.
+     * Every requested employee gets an entry for every week (in date order);
+     * weeks without a row hold an unsaved zero-hours record.
+     *
+     * @return week start date -> weekly hours, keyed by employee ID
+     */
+    public IntObjectMap<Map<LocalDate, Tracking.WeeklyHours>> getByWeeks(
+            Collection<Integer> employeeIds, LocalDate from, LocalDate to) throws SQLException {
+        LocalDate firstWeek = DateTimeUtil.getWeekStart(from);
+        LocalDate lastWeek = DateTimeUtil.getWeekStart(to);
+        
+        IntObjectMap<Map<LocalDate, Tracking.WeeklyHours>> result =
+            new IntObjectMap<>(employeeIds.size());
+        for (Integer employeeId : employeeIds) {
+            result.put(employeeId, new TreeMap<>());
+        }
+        if (employeeIds.isEmpty() || lastWeek.isBefore(firstWeek)) {
+            return result;
+        }
+        
+        // Small sets filter in SQL; large ones would exceed parameter limits,
+        // so read the whole date range and drop other employees here
+        boolean inList = employeeIds.size() <= MAX_IN_LIST;
+        StringBuilder sql = new StringBuilder(
+            "SELECT * FROM weekly_hours WHERE week_start_date BETWEEN ? AND ?");
+        if (inList) {
+            sql.append(" AND employee_id IN (");
+            for (int i = 0; i < employeeIds.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+        }
+        
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            
+            stmt.setDate(1, Date.valueOf(firstWeek));
+            stmt.setDate(2, Date.valueOf(lastWeek));
+            if (inList) {
+                int index = 3;
+                for (Integer employeeId : employeeIds) {
+                    stmt.setInt(index++, employeeId);
+                }
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<LocalDate, Tracking.WeeklyHours> weeks = result.get(rs.getInt("employee_id"));
+                    if (weeks != null) {
+                        Tracking.WeeklyHours hours = extractWeeklyHoursFromResultSet(rs);
+                        weeks.put(hours.getWeekStartDate(), hours);
+                    }
+                }
+            }
+        }
+        
+        result.forEach((employeeId, weeks) -> {
+            for (LocalDate week = firstWeek; !week.isAfter(lastWeek); week = week.plusWeeks(1)) {
+                if (!weeks.containsKey(week)) {
+                    weeks.put(week, new Tracking.WeeklyHours(employeeId, week));
+                }
+            }
+        });
+        return result;
+    }
+    
     /**
      * Get all weekly hours for an employee
      */
@@ -117,7 +230,8 @@ public class WeeklyHoursDAO {
      */
     public void update(Tracking.WeeklyHours weeklyHours) throws SQLException {
         String sql = "UPDATE weekly_hours SET " +
-                    "total_scheduled_hours = ?, last_updated = GETDATE() " +
+                    "total_scheduled_hours = ?, last_updated = " +
+                    DatabaseConnection.getDialect().currentTimestamp() + " " +
                     "WHERE tracking_id = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
@@ -136,7 +250,8 @@ public class WeeklyHoursDAO {
     public void updateScheduledHours(int employeeId, LocalDate weekStartDate, 
                                     double scheduledHours) throws SQLException {
         String sql = "UPDATE weekly_hours SET " +
-                    "total_scheduled_hours = ?, last_updated = GETDATE() " +
+                    "total_scheduled_hours = ?, last_updated = " +
+                    DatabaseConnection.getDialect().currentTimestamp() + " " +
                     "WHERE employee_id = ? AND week_start_date = ?";
         
         try (Connection conn = DatabaseConnection.getConnection();
@@ -159,14 +274,51 @@ public class WeeklyHoursDAO {
         }
     }
     
+    /**
+     * Set the scheduled hours of many (employee, week) records in one transaction.
+     * Existing rows are updated in one batch; rows the update did not find are
+     * inserted in a second batch and get their tracking IDs.
+     */
+    public void upsertAll(Collection<Tracking.WeeklyHours> records) throws SQLException {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<Tracking.WeeklyHours> rows = new ArrayList<>(records);
+        String updateSql = "UPDATE weekly_hours SET " +
+                          "total_scheduled_hours = ?, last_updated = ? " +
+                          "WHERE employee_id = ? AND week_start_date = ?";
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        
+        DatabaseConnection.inTransaction(conn -> {
+            int[] counts = JdbcBatch.execute(conn, updateSql, rows, (stmt, wh) -> {
+                stmt.setDouble(1, wh.getTotalScheduledHours());
+                stmt.setTimestamp(2, now);
+                stmt.setInt(3, wh.getEmployeeId());
+                stmt.setDate(4, Date.valueOf(wh.getWeekStartDate()));
+            });
+            
+            // SUCCESS_NO_INFO counts as updated; only a definite 0 means the row is missing
+            List<Tracking.WeeklyHours> missing = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missing.add(rows.get(i));
+                }
+            }
+            JdbcBatch.insert(conn, INSERT_SQL, missing, (stmt, wh) -> {
+                stmt.setInt(1, wh.getEmployeeId());
+                stmt.setDate(2, Date.valueOf(wh.getWeekStartDate()));
+                stmt.setDouble(3, wh.getTotalScheduledHours());
+            }, Tracking.WeeklyHours::setTrackingId);
+            return null;
+        });
+    }
+    
     /**
      * Add hours to scheduled total
      */
     public void addScheduledHours(int employeeId, LocalDate weekStartDate, 
                                  double additionalHours) throws SQLException {
-        Tracking.WeeklyHours hours = getByEmployeeAndWeek(employeeId, weekStartDate);
-        hours.addScheduledHours(additionalHours);
-        update(hours);
+        adjustScheduledHours(employeeId, weekStartDate, additionalHours);
     }
     
     /**
@@ -174,9 +326,86 @@ public class WeeklyHoursDAO {
      */
     public void removeScheduledHours(int employeeId, LocalDate weekStartDate, 
                                     double hoursToRemove) throws SQLException {
-        Tracking.WeeklyHours hours = getByEmployeeAndWeek(employeeId, weekStartDate);
-        hours.removeScheduledHours(hoursToRemove);
-        update(hours);
+        adjustScheduledHours(employeeId, weekStartDate, -hoursToRemove);
+    }
+    
+    /**
+     * Atomically add delta (negative to remove) to an employee's scheduled hours
+     * for a week, creating the row if it doesn't exist yet
+     */
+    public void adjustScheduledHours(int employeeId, LocalDate weekStartDate, double delta)
+            throws SQLException {
+        DatabaseConnection.inTransaction(conn -> {
+            adjustScheduledHours(conn, employeeId, weekStartDate, delta);
+            return null;
+        });
+    }
+    
+    /**
+     * Same as adjustScheduledHours, inside the caller's transaction
+     * (auto-commit must be off)
+     */
+    public void adjustScheduledHours(Connection conn, int employeeId, LocalDate weekStartDate,
+                                     double delta) throws SQLException {
+        adjustScheduledHours(conn, Collections.singletonMap(
+            weekStartDate, Collections.singletonMap(employeeId, delta)));
+    }
+    
+    /**
+     * Batch form: add the deltas (week start date -> employee ID -> hours) inside
+     * the caller's transaction (auto-commit must be off).
+     *
+     * Every row is one server-side UPDATE ... SET total = total + ?, so concurrent
+     * adjustments never lose each other. Rows the update did not find are inserted
+     * behind a savepoint; if another transaction inserted one of them first, the
+     * insert is rolled back to the savepoint and those rows are updated again.
+     */
+    public void adjustScheduledHours(Connection conn, Map<LocalDate, Map<Integer, Double>> deltas)
+            throws SQLException {
+        List<HoursDelta> rows = new ArrayList<>();
+        deltas.forEach((week, byEmployee) -> byEmployee.forEach((employeeId, delta) -> {
+            if (delta != 0) {
+                rows.add(new HoursDelta(employeeId, week, delta));
+            }
+        }));
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        
+        for (int attempt = 1; !rows.isEmpty(); attempt++) {
+            int[] counts = JdbcBatch.execute(conn, ADJUST_SQL, rows, (stmt, row) -> {
+                stmt.setDouble(1, row.delta);
+                stmt.setDouble(2, row.delta);
+                stmt.setTimestamp(3, now);
+                stmt.setInt(4, row.employeeId);
+                stmt.setDate(5, Date.valueOf(row.weekStartDate));
+            });
+            
+            List<HoursDelta> missing = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missing.add(rows.get(i));
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            
+            Savepoint beforeInsert = conn.setSavepoint();
+            try {
+                JdbcBatch.execute(conn, INSERT_SQL, missing, (stmt, row) -> {
+                    stmt.setInt(1, row.employeeId);
+                    stmt.setDate(2, Date.valueOf(row.weekStartDate));
+                    stmt.setDouble(3, Math.max(0, row.delta));
+                });
+                return;
+            } catch (SQLException e) {
+                if (attempt >= MAX_UPSERT_ATTEMPTS || !isDuplicateKey(e)) {
+                    throw e;
+                }
+                conn.rollback(beforeInsert);
+                rows.clear();
+                rows.addAll(missing);
+            }
+        }
     }
     
     /**
@@ -263,7 +492,7 @@ public class WeeklyHoursDAO {
     /**
      * Extract WeeklyHours object from ResultSet
      */
-    private Tracking.WeeklyHours extractWeeklyHoursFromResultSet(ResultSet rs) 
+    Tracking.WeeklyHours extractWeeklyHoursFromResultSet(ResultSet rs) 
             throws SQLException {
         
         Tracking.WeeklyHours weeklyHours = new Tracking.WeeklyHours(
@@ -277,4 +506,27 @@ public class WeeklyHoursDAO {
         
         return weeklyHours;
     }
-}
\ No newline at end of file
+    
+    private static boolean isDuplicateKey(SQLException e) {
+        for (SQLException cause = e; cause != null; cause = cause.getNextException()) {
+            String state = cause.getSQLState();
+            if (cause instanceof SQLIntegrityConstraintViolationException ||
+                (state != null && state.startsWith("23"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static final class HoursDelta {
+        final int employeeId;
+        final LocalDate weekStartDate;
+        final double delta;
+        
+        HoursDelta(int employeeId, LocalDate weekStartDate, double delta) {
+            this.employeeId = employeeId;
+            this.weekStartDate = weekStartDate;
+            this.delta = delta;
+        }
+    }
+}
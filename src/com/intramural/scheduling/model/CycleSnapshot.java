@@ -0,0 +1,121 @@
+package com.intramural.scheduling.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the scheduling engine reads for one cycle window, loaded up front
+ * so recommendation generation runs from memory.
+ *
+ * All maps are keyed by employee ID (weekly hours first by week start date).
+ * Employees without rows simply have no entry, except weekly hours, which hold
+ * a zero-hours record for every active employee and every week of the window.
+ */
+public class CycleSnapshot {
+    private final LocalDate cycleStart;
+    private final LocalDate cycleEnd;
+    private final List<Schedule.Game> games;
+    private final List<Employee> employees;
+    private final Map<Integer, Sport> sports;
+    private final Map<Integer, List<Availability.Seasonal>> availability;
+    private final Map<Integer, List<Availability.PermanentConflict>> conflicts;
+    private final Map<Integer, List<TimeOffRequest>> approvedTimeOff;
+    private final Map<Integer, List<Schedule.Game>> assignedGames;
+    private final Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek;
+    private final long loadMillis;
+
+    public CycleSnapshot(LocalDate cycleStart,
+                         LocalDate cycleEnd,
+                         List<Schedule.Game> games,
+                         List<Employee> employees,
+                         Map<Integer, Sport> sports,
+                         Map<Integer, List<Availability.Seasonal>> availability,
+                         Map<Integer, List<Availability.PermanentConflict>> conflicts,
+                         Map<Integer, List<TimeOffRequest>> approvedTimeOff,
+                         Map<Integer, List<Schedule.Game>> assignedGames,
+                         Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek,
+                         long loadMillis) {
+        this.cycleStart = cycleStart;
+        this.cycleEnd = cycleEnd;
+        this.games = games;
+        this.employees = employees;
+        this.sports = sports;
+        this.availability = availability;
+        this.conflicts = conflicts;
+        this.approvedTimeOff = approvedTimeOff;
+        this.assignedGames = assignedGames;
+        this.weeklyHoursByWeek = weeklyHoursByWeek;
+        this.loadMillis = loadMillis;
+    }
+
+    public LocalDate getCycleStart() { return cycleStart; }
+    public LocalDate getCycleEnd() { return cycleEnd; }
+
+    /**
+     * Games of the cycle in date/time order, with their shifts from the database
+     */
+    public List<Schedule.Game> getGames() { return games; }
+
+    /**
+     * Active employees with their sport expertise
+     */
+    public List<Employee> getEmployees() { return employees; }
+
+    public Map<Integer, Sport> getSports() { return sports; }
+
+    /**
+     * Seasonal availability for the season(s) the window falls in
+     */
+    public Map<Integer, List<Availability.Seasonal>> getAvailability() { return availability; }
+
+    public Map<Integer, List<Availability.PermanentConflict>> getConflicts() { return conflicts; }
+
+    /**
+     * Approved time-off requests dated inside the window
+     */
+    public Map<Integer, List<TimeOffRequest>> getApprovedTimeOff() { return approvedTimeOff; }
+
+    /**
+     * Games each employee is already assigned to inside the window (any cycle)
+     */
+    public Map<Integer, List<Schedule.Game>> getAssignedGames() { return assignedGames; }
+
+    public Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> getWeeklyHoursByWeek() {
+        return weeklyHoursByWeek;
+    }
+
+    /**
+     * Weekly hours for the week starting on weekStart, or an empty map outside the window
+     */
+    public Map<Integer, Tracking.WeeklyHours> getWeeklyHours(LocalDate weekStart) {
+        return weeklyHoursByWeek.getOrDefault(weekStart, Collections.emptyMap());
+    }
+
+    public Sport getSport(int sportId) {
+        return sports.get(sportId);
+    }
+
+    /**
+     * Game of this cycle with the given schedule ID, or null
+     */
+    public Schedule.Game getGame(int scheduleId) {
+        for (Schedule.Game game : games) {
+            if (game.getScheduleId() == scheduleId) {
+                return game;
+            }
+        }
+        return null;
+    }
+
+    public long getLoadMillis() { return loadMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("CycleSnapshot[%s to %s, %d days, %d games, %d employees, loaded in %d ms]",
+            cycleStart, cycleEnd, ChronoUnit.DAYS.between(cycleStart, cycleEnd) + 1,
+            games.size(), employees.size(), loadMillis);
+    }
+}
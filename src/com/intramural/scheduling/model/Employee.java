@@ -2,7 +2,10 @@ package com.intramural.scheduling.model;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class Employee {
     
@@ -19,6 +22,7 @@ public class Employee {
         private int sportId;
         private ExpertiseLevel level;
         private LocalDate certificationDate;
+        private String sportName;
         
         public SportExpertise(int expertiseId, int sportId, ExpertiseLevel level) {
             this.expertiseId = expertiseId;
@@ -32,6 +36,12 @@ public class Employee {
         public void setLevel(ExpertiseLevel level) { this.level = level; }
         public LocalDate getCertificationDate() { return certificationDate; }
         public void setCertificationDate(LocalDate date) { this.certificationDate = date; }
+        
+        /**
+         * Sport name when loaded joined with sports, otherwise null
+         */
+        public String getSportName() { return sportName; }
+        public void setSportName(String sportName) { this.sportName = sportName; }
     }
     
     private int employeeId;
@@ -44,6 +54,8 @@ public class Employee {
     private boolean supervisorEligible;
     private boolean activeStatus;
     private List<SportExpertise> expertiseList;
+    // First expertise entry per sport ID, kept in step with expertiseList
+    private Map<Integer, SportExpertise> expertiseBySport;
     
     public Employee(int employeeId, int userId, String firstName, String lastName) {
         this.employeeId = employeeId;
@@ -55,6 +67,21 @@ public class Employee {
         this.supervisorEligible = false;
         this.activeStatus = true;
         this.expertiseList = new ArrayList<>();
+        this.expertiseBySport = new HashMap<>();
+    }
+    
+    /**
+     * Copy of another employee (expertise entries are shared, the lists are not)
+     */
+    public Employee(Employee other) {
+        this(other.employeeId, other.userId, other.firstName, other.lastName);
+        this.phone = other.phone;
+        this.maxHoursPerWeek = other.maxHoursPerWeek;
+        this.performanceRating = other.performanceRating;
+        this.supervisorEligible = other.supervisorEligible;
+        this.activeStatus = other.activeStatus;
+        this.expertiseList.addAll(other.expertiseList);
+        this.expertiseBySport.putAll(other.expertiseBySport);
     }
     
     public String getFullName() {
@@ -63,19 +90,34 @@ public class Employee {
     
     public void addExpertise(SportExpertise expertise) {
         this.expertiseList.add(expertise);
+        this.expertiseBySport.putIfAbsent(expertise.getSportId(), expertise);
+    }
+    
+    /**
+     * Replace all expertise entries (e.g. when re-hydrated from the database)
+     */
+    public void setExpertise(List<SportExpertise> expertise) {
+        this.expertiseList.clear();
+        this.expertiseBySport.clear();
+        for (SportExpertise exp : expertise) {
+            addExpertise(exp);
+        }
     }
     
     public boolean hasExpertiseIn(int sportId) {
-        return expertiseList.stream()
-            .anyMatch(exp -> exp.getSportId() == sportId);
+        return expertiseBySport.containsKey(sportId);
+    }
+    
+    /**
+     * Expertise entry for a sport, or null
+     */
+    public SportExpertise getExpertise(int sportId) {
+        return expertiseBySport.get(sportId);
     }
     
     public ExpertiseLevel getExpertiseLevel(int sportId) {
-        return expertiseList.stream()
-            .filter(exp -> exp.getSportId() == sportId)
-            .map(SportExpertise::getLevel)
-            .findFirst()
-            .orElse(ExpertiseLevel.BEGINNER);
+        SportExpertise exp = expertiseBySport.get(sportId);
+        return exp != null ? exp.getLevel() : ExpertiseLevel.BEGINNER;
     }
     
     // Getters and setters
@@ -114,5 +156,8 @@ public class Employee {
         this.activeStatus = activeStatus; 
     }
     
-    public List<SportExpertise> getExpertiseList() { return expertiseList; }
+    /**
+     * Read-only view; use addExpertise/setExpertise to change it
+     */
+    public List<SportExpertise> getExpertiseList() { return Collections.unmodifiableList(expertiseList); }
 }
\ No newline at end of file
@@ -51,6 +51,18 @@ public class Schedule {
             this.shifts = new ArrayList<>();
         }
         
+        /**
+         * Copy of another game (shift objects are shared, the list is not)
+         */
+        public Game(Game other) {
+            this(other.sportId, other.gameDate, other.startTime, other.endTime, other.location,
+                 other.requiredSupervisors, other.requiredReferees,
+                 other.scheduleCycleStart, other.scheduleCycleEnd, other.createdBy);
+            this.scheduleId = other.scheduleId;
+            this.createdAt = other.createdAt;
+            this.shifts.addAll(other.shifts);
+        }
+        
         public LocalDateTime getStartDateTime() {
             return LocalDateTime.of(gameDate, startTime);
         }
@@ -0,0 +1,228 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.model.Schedule;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of assigned games per employee for double-booking checks.
+ *
+ * Each employee keeps a sorted array of [start, end) intervals (minutes since the
+ * epoch) plus a running maximum of end times, so "does this employee overlap
+ * [start, end)" is a binary search followed by a single comparison.
+ * Insert and remove find their slot by binary search on the game's start and
+ * repair the running maximum only as far as it changes. The arrays are shifted
+ * with one arraycopy, which stays cheap for a season's worth of assignments
+ * per employee.
+ */
+public class AssignmentIntervalIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Map<Integer, EmployeeIntervals> intervals = new ConcurrentHashMap<>();
+
+    /**
+     * Sorted intervals for one employee
+     */
+    private static class EmployeeIntervals {
+        private long[] starts = new long[INITIAL_CAPACITY];
+        private long[] ends = new long[INITIAL_CAPACITY];
+        private long[] maxEnds = new long[INITIAL_CAPACITY];
+        private int[] shiftIds = new int[INITIAL_CAPACITY];
+        private Schedule.Game[] games = new Schedule.Game[INITIAL_CAPACITY];
+        private int size;
+
+        synchronized void insert(long start, long end, int shiftId, Schedule.Game game) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                maxEnds = Arrays.copyOf(maxEnds, capacity);
+                shiftIds = Arrays.copyOf(shiftIds, capacity);
+                games = Arrays.copyOf(games, capacity);
+            }
+
+            int pos = upperBound(start);
+            int moved = size - pos;
+            System.arraycopy(starts, pos, starts, pos + 1, moved);
+            System.arraycopy(ends, pos, ends, pos + 1, moved);
+            System.arraycopy(maxEnds, pos, maxEnds, pos + 1, moved);
+            System.arraycopy(shiftIds, pos, shiftIds, pos + 1, moved);
+            System.arraycopy(games, pos, games, pos + 1, moved);
+            starts[pos] = start;
+            ends[pos] = end;
+            shiftIds[pos] = shiftId;
+            games[pos] = game;
+            size++;
+
+            // Later maxima only change where the new end is larger
+            maxEnds[pos] = Math.max(pos > 0 ? maxEnds[pos - 1] : Long.MIN_VALUE, end);
+            for (int i = pos + 1; i < size && maxEnds[i] < end; i++) {
+                maxEnds[i] = end;
+            }
+        }
+
+        /**
+         * Remove a shift indexed at the given start minute
+         */
+        synchronized boolean remove(int shiftId, long start) {
+            int i = positionOf(shiftId, start);
+            if (i < 0) {
+                return false;
+            }
+            int moved = size - i - 1;
+            System.arraycopy(starts, i + 1, starts, i, moved);
+            System.arraycopy(ends, i + 1, ends, i, moved);
+            System.arraycopy(maxEnds, i + 1, maxEnds, i, moved);
+            System.arraycopy(shiftIds, i + 1, shiftIds, i, moved);
+            System.arraycopy(games, i + 1, games, i, moved);
+            size--;
+            games[size] = null;
+
+            // Once a recomputed maximum matches the old one, the rest match too
+            long max = i > 0 ? maxEnds[i - 1] : Long.MIN_VALUE;
+            for (int j = i; j < size; j++) {
+                max = Math.max(max, ends[j]);
+                if (maxEnds[j] == max) {
+                    break;
+                }
+                maxEnds[j] = max;
+            }
+            return true;
+        }
+
+        // Slot of a shift, searched among the intervals with the given start
+        private int positionOf(int shiftId, long start) {
+            for (int i = lowerBound(start), to = upperBound(start); i < to; i++) {
+                if (shiftIds[i] == shiftId) {
+                    return i;
+                }
+            }
+            // The game was moved after it was indexed
+            for (int i = 0; i < size; i++) {
+                if (shiftIds[i] == shiftId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * First game overlapping [start, end) other than excludeGameId, or null
+         */
+        synchronized Schedule.Game findOverlap(long start, long end, int excludeGameId) {
+            // Only intervals starting before the query end can overlap
+            int i = lowerBound(end) - 1;
+            while (i >= 0 && maxEnds[i] > start) {
+                if (ends[i] > start && games[i].getScheduleId() != excludeGameId) {
+                    return games[i];
+                }
+                i--;
+            }
+            return null;
+        }
+
+        synchronized boolean overlaps(long start, long end) {
+            int i = lowerBound(end) - 1;
+            return i >= 0 && maxEnds[i] > start;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        // Number of intervals with start < value
+        private int lowerBound(long value) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < value) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        // Number of intervals with start <= value
+        private int upperBound(long value) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= value) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Record that an employee is assigned to a shift of a game
+     */
+    public void add(int employeeId, int shiftId, Schedule.Game game) {
+        intervals.computeIfAbsent(employeeId, id -> new EmployeeIntervals())
+            .insert(startMinute(game), endMinute(game), shiftId, game);
+    }
+
+    /**
+     * Remove an employee's assignment to a shift of a game
+     * @return true if the assignment was indexed
+     */
+    public boolean remove(int employeeId, int shiftId, Schedule.Game game) {
+        EmployeeIntervals employeeIntervals = intervals.get(employeeId);
+        return employeeIntervals != null && employeeIntervals.remove(shiftId, startMinute(game));
+    }
+
+    /**
+     * Check if the employee already works during the game's time
+     */
+    public boolean overlaps(int employeeId, Schedule.Game game) {
+        EmployeeIntervals employeeIntervals = intervals.get(employeeId);
+        return employeeIntervals != null &&
+               employeeIntervals.overlaps(startMinute(game), endMinute(game));
+    }
+
+    /**
+     * Find an assigned game that overlaps the given game, ignoring the game itself
+     * @return the overlapping game, or null if none
+     */
+    public Schedule.Game findOverlap(int employeeId, Schedule.Game game) {
+        EmployeeIntervals employeeIntervals = intervals.get(employeeId);
+        if (employeeIntervals == null) {
+            return null;
+        }
+        return employeeIntervals.findOverlap(
+            startMinute(game), endMinute(game), game.getScheduleId());
+    }
+
+    /**
+     * Index every assigned shift of the given games
+     */
+    public void addAll(List<Schedule.Game> games) {
+        for (Schedule.Game game : games) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                if (shift.getAssignedEmployeeId() != null) {
+                    add(shift.getAssignedEmployeeId(), shift.getShiftId(), game);
+                }
+            }
+        }
+    }
+
+    public int getAssignmentCount(int employeeId) {
+        EmployeeIntervals employeeIntervals = intervals.get(employeeId);
+        return employeeIntervals != null ? employeeIntervals.size() : 0;
+    }
+
+    public void clear() {
+        intervals.clear();
+    }
+
+    private static long startMinute(Schedule.Game game) {
+        return game.getGameDate().toEpochDay() * MINUTES_PER_DAY +
+               game.getStartTime().toSecondOfDay() / 60;
+    }
+
+    private static long endMinute(Schedule.Game game) {
+        return game.getGameDate().toEpochDay() * MINUTES_PER_DAY +
+               game.getEndTime().toSecondOfDay() / 60;
+    }
+}
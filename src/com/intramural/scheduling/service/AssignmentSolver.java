@@ -0,0 +1,109 @@
+package com.intramural.scheduling.service;
+
+import java.util.Arrays;
+
+/**
+ * Min-cost rectangular assignment solver (Hungarian algorithm with potentials)
+ * Rows are shifts and columns are candidate employees; requires rows <= columns.
+ * Runs in O(rows^2 * columns), so callers should keep the row count per solve small.
+ */
+public class AssignmentSolver {
+
+    // Cost used for edges that violate a hard constraint
+    public static final double FORBIDDEN = 1.0e9;
+
+    private double[] rowPotential;
+    private double[] colPotential;
+    private int[] rowToCol;
+
+    /**
+     * Solve the assignment problem for the given cost matrix
+     * @param cost cost[row][col], use FORBIDDEN for edges that must not be chosen
+     * @return column assigned to each row
+     */
+    public int[] solve(double[][] cost) {
+        int n = cost.length;
+        int m = n == 0 ? 0 : cost[0].length;
+        if (n > m) {
+            throw new IllegalArgumentException(
+                "Assignment requires rows <= columns (" + n + " > " + m + ")");
+        }
+
+        // 1-indexed working arrays; index 0 is the virtual root column
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] p = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minv = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+                double[] row = cost[i0 - 1];
+
+                for (int j = 1; j <= m; j++) {
+                    if (!used[j]) {
+                        double cur = row[j - 1] - u[i0] - v[j];
+                        if (cur < minv[j]) {
+                            minv[j] = cur;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+
+            // Augment along the alternating path
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        rowToCol = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (p[j] != 0) {
+                rowToCol[p[j] - 1] = j - 1;
+            }
+        }
+
+        rowPotential = Arrays.copyOfRange(u, 1, n + 1);
+        colPotential = Arrays.copyOfRange(v, 1, m + 1);
+        return rowToCol;
+    }
+
+    /**
+     * Reduced cost of an edge after solve(); zero for chosen edges.
+     * Approximates how much the optimal total cost grows if this edge were forced in.
+     */
+    public double reducedCost(double[][] cost, int row, int col) {
+        return cost[row][col] - rowPotential[row] - colPotential[col];
+    }
+
+    public int[] getRowToCol() {
+        return rowToCol;
+    }
+}
@@ -0,0 +1,332 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.model.Availability;
+import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.model.TimeOffRequest;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed week-grid bitmaps for availability, permanent conflicts and time-off.
+ *
+ * Each day is a bitmap of its 1440 minutes in 23 longs, so one week is a
+ * long[161] per kind. Time-off is a date-keyed overlay using the same day layout.
+ * Build a GameMask once per game; every per-employee check is then a few
+ * AND/compare operations over the game's words with no allocation.
+ *
+ * Answers are the same as the list checks (Availability.Seasonal.overlapsWith,
+ * PermanentConflict.conflictsWith, TimeOffRequest.conflictsWith): windows are
+ * closed, so one ending at 18:00 touches a game starting at 18:00. A window
+ * sets the bits of every minute from its start to its end inclusive, which makes
+ * the bitmap test exact for whole-minute times. Windows and games that end before
+ * they start or carry seconds do not fit that picture, so each day also keeps its
+ * raw windows and those cases are compared one window at a time, as the lists are.
+ */
+public class AvailabilityIndex {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    // Shared grid for employees that have no data at all (MVP mode: available)
+    private static final EmployeeGrid EMPTY_GRID = new EmployeeGrid();
+
+    private final Map<Integer, EmployeeGrid> grids = new ConcurrentHashMap<>();
+
+    /**
+     * Minute mask for one game, reused across every employee check
+     */
+    public static class GameMask {
+        private final LocalDate date;
+        private final int day;
+        private final long start;
+        private final long end;
+        // Whole minutes and not past midnight: the bitmap answers exactly
+        private final boolean regular;
+        private final int fromWord;
+        private final long[] words;
+
+        private GameMask(LocalDate date, int day, long start, long end,
+                         boolean regular, int fromWord, long[] words) {
+            this.date = date;
+            this.day = day;
+            this.start = start;
+            this.end = end;
+            this.regular = regular;
+            this.fromWord = fromWord;
+            this.words = words;
+        }
+
+        public LocalDate getDate() { return date; }
+    }
+
+    /**
+     * Bitmaps for a single employee
+     */
+    public static class EmployeeGrid {
+        private boolean hasAvailability;
+        private final Layer available = new Layer(DAYS_PER_WEEK);
+        private final Layer preferred = new Layer(DAYS_PER_WEEK);
+        private final Layer conflicts = new Layer(DAYS_PER_WEEK);
+        private final Map<LocalDate, Layer> timeOff = new ConcurrentHashMap<>();
+
+        /**
+         * True if any availability window overlaps the game.
+         * MVP MODE: no availability data means available.
+         */
+        public boolean isAvailable(GameMask mask) {
+            return !hasAvailability || available.overlaps(mask.day, mask);
+        }
+
+        /**
+         * True if a single availability window contains the whole game
+         */
+        public boolean coversGame(GameMask mask) {
+            return available.covers(mask.day, mask);
+        }
+
+        public boolean isPreferred(GameMask mask) {
+            return preferred.overlaps(mask.day, mask);
+        }
+
+        public boolean hasPermanentConflict(GameMask mask) {
+            return conflicts.overlaps(mask.day, mask);
+        }
+
+        public boolean hasApprovedTimeOff(GameMask mask) {
+            Layer day = timeOff.get(mask.date);
+            return day != null && day.overlaps(0, mask);
+        }
+
+        public boolean hasAvailabilityData() {
+            return hasAvailability;
+        }
+    }
+
+    /**
+     * Windows of one kind over a run of days: a minute bitmap of the regular
+     * windows plus every window as start/end nanos of the day
+     */
+    private static class Layer {
+        private final long[] bits;
+        private final long[][] starts;
+        private final long[][] ends;
+        private final int[] sizes;
+        private final boolean[] irregular;
+        private final boolean[] wholeDay;
+
+        Layer(int days) {
+            bits = new long[days * WORDS_PER_DAY];
+            starts = new long[days][];
+            ends = new long[days][];
+            sizes = new int[days];
+            irregular = new boolean[days];
+            wholeDay = new boolean[days];
+        }
+
+        void add(int day, LocalTime start, LocalTime end) {
+            long from = start.toNanoOfDay();
+            long to = end.toNanoOfDay();
+            if (starts[day] == null) {
+                starts[day] = new long[4];
+                ends[day] = new long[4];
+            } else if (sizes[day] == starts[day].length) {
+                starts[day] = Arrays.copyOf(starts[day], sizes[day] * 2);
+                ends[day] = Arrays.copyOf(ends[day], sizes[day] * 2);
+            }
+            starts[day][sizes[day]] = from;
+            ends[day][sizes[day]] = to;
+            sizes[day]++;
+
+            if (isRegular(from, to)) {
+                int offset = day * WORDS_PER_DAY;
+                for (int minute = minuteOf(from); minute <= minuteOf(to); minute++) {
+                    bits[offset + (minute >>> 6)] |= 1L << (minute & 63);
+                }
+            } else {
+                irregular[day] = true;
+            }
+        }
+
+        void addWholeDay(int day) {
+            wholeDay[day] = true;
+        }
+
+        /**
+         * Whether any window overlaps the game: start <= window end and end >= window start
+         */
+        boolean overlaps(int day, GameMask mask) {
+            if (wholeDay[day]) {
+                return true;
+            }
+            if (mask.regular) {
+                int offset = day * WORDS_PER_DAY + mask.fromWord;
+                for (int w = 0; w < mask.words.length; w++) {
+                    if ((bits[offset + w] & mask.words[w]) != 0) {
+                        return true;
+                    }
+                }
+                if (!irregular[day]) {
+                    return false;
+                }
+            }
+            long[] dayStarts = starts[day];
+            long[] dayEnds = ends[day];
+            for (int i = 0; i < sizes[day]; i++) {
+                if (mask.start <= dayEnds[i] && mask.end >= dayStarts[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Whether one window runs from at or before the game's start to at or after its end
+         */
+        boolean covers(int day, GameMask mask) {
+            long[] dayStarts = starts[day];
+            long[] dayEnds = ends[day];
+            for (int i = 0; i < sizes[day]; i++) {
+                if (mask.start >= dayStarts[i] && mask.end <= dayEnds[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Build an index for a set of employees from the engine's input maps
+     */
+    public static AvailabilityIndex build(
+            Collection<Integer> employeeIds,
+            Map<Integer, List<Availability.Seasonal>> availabilityMap,
+            Map<Integer, List<Availability.PermanentConflict>> conflictsMap,
+            Map<Integer, List<TimeOffRequest>> timeOffMap) {
+        AvailabilityIndex index = new AvailabilityIndex();
+        for (Integer employeeId : employeeIds) {
+            index.rebuildEmployee(
+                employeeId,
+                availabilityMap.get(employeeId),
+                conflictsMap.get(employeeId),
+                timeOffMap.get(employeeId)
+            );
+        }
+        return index;
+    }
+
+    /**
+     * Rebuild one employee's grid, e.g. after they edit availability.
+     * The new grid replaces the old one atomically.
+     */
+    public void rebuildEmployee(int employeeId,
+                                List<Availability.Seasonal> availability,
+                                List<Availability.PermanentConflict> conflicts,
+                                List<TimeOffRequest> timeOffs) {
+        EmployeeGrid grid = new EmployeeGrid();
+
+        if (availability != null) {
+            for (Availability.Seasonal avail : availability) {
+                int day = dayIndex(avail.getDayOfWeek().getValue());
+                grid.available.add(day, avail.getStartTime(), avail.getEndTime());
+                if (avail.isPreferred()) {
+                    grid.preferred.add(day, avail.getStartTime(), avail.getEndTime());
+                }
+                grid.hasAvailability = true;
+            }
+        }
+
+        if (conflicts != null) {
+            for (Availability.PermanentConflict conflict : conflicts) {
+                grid.conflicts.add(dayIndex(conflict.getDayOfWeek().getValue()),
+                        conflict.getStartTime(), conflict.getEndTime());
+            }
+        }
+
+        if (timeOffs != null) {
+            for (TimeOffRequest request : timeOffs) {
+                addTimeOff(grid, request);
+            }
+        }
+
+        grids.put(employeeId, grid);
+    }
+
+    /**
+     * Add a newly approved time-off request without rebuilding the whole grid
+     */
+    public void addApprovedTimeOff(TimeOffRequest request) {
+        grids.compute(request.getEmployeeId(), (id, grid) -> {
+            EmployeeGrid target = grid != null ? grid : new EmployeeGrid();
+            addTimeOff(target, request);
+            return target;
+        });
+    }
+
+    public void removeEmployee(int employeeId) {
+        grids.remove(employeeId);
+    }
+
+    /**
+     * Grid for an employee; employees without data get an empty grid
+     */
+    public EmployeeGrid getGrid(int employeeId) {
+        EmployeeGrid grid = grids.get(employeeId);
+        return grid != null ? grid : EMPTY_GRID;
+    }
+
+    /**
+     * Build the minute mask for a game
+     */
+    public static GameMask maskFor(Schedule.Game game) {
+        long start = game.getStartTime().toNanoOfDay();
+        long end = game.getEndTime().toNanoOfDay();
+        int day = dayIndex(game.getGameDate().getDayOfWeek().getValue());
+        if (!isRegular(start, end)) {
+            return new GameMask(game.getGameDate(), day, start, end, false, 0, null);
+        }
+        int from = minuteOf(start);
+        int to = minuteOf(end);
+        int fromWord = from >>> 6;
+        long[] words = new long[(to >>> 6) - fromWord + 1];
+        for (int minute = from; minute <= to; minute++) {
+            words[(minute >>> 6) - fromWord] |= 1L << (minute & 63);
+        }
+        return new GameMask(game.getGameDate(), day, start, end, true, fromWord, words);
+    }
+
+    private static void addTimeOff(EmployeeGrid grid, TimeOffRequest request) {
+        if (request.getStatus() != TimeOffRequest.Status.APPROVED) {
+            return;
+        }
+        Layer day = grid.timeOff.computeIfAbsent(request.getRequestDate(), d -> new Layer(1));
+        if (request.isFullDay() || request.getStartTime() == null || request.getEndTime() == null) {
+            day.addWholeDay(0);
+        } else {
+            day.add(0, request.getStartTime(), request.getEndTime());
+        }
+    }
+
+    /**
+     * A window the minute bitmap represents exactly: whole minutes, start not after end
+     */
+    private static boolean isRegular(long startNanos, long endNanos) {
+        return startNanos <= endNanos &&
+               startNanos % NANOS_PER_MINUTE == 0 &&
+               endNanos % NANOS_PER_MINUTE == 0;
+    }
+
+    private static int minuteOf(long nanoOfDay) {
+        return (int) (nanoOfDay / NANOS_PER_MINUTE);
+    }
+
+    private static int dayIndex(int isoDayOfWeek) {
+        return isoDayOfWeek - 1;
+    }
+}
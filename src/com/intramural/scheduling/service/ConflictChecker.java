@@ -5,12 +5,29 @@ import com.intramural.scheduling.model.Employee;
 import com.intramural.scheduling.model.Schedule;
 import com.intramural.scheduling.model.TimeOffRequest;
 import com.intramural.scheduling.model.Tracking;
+import com.intramural.scheduling.util.Logger;
+import com.intramural.scheduling.util.SchedulingEvents;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class ConflictChecker {
+    private static final Logger log = Logger.getLogger(ConflictChecker.class);
+
+    private AssignmentIntervalIndex assignmentIndex;
+    
+    /**
+     * Use an interval index of current assignments for double-booking checks
+     * instead of scanning the existing games list (null to disable)
+     */
+    public void setAssignmentIndex(AssignmentIntervalIndex assignmentIndex) {
+        this.assignmentIndex = assignmentIndex;
+    }
+    
+    public AssignmentIntervalIndex getAssignmentIndex() {
+        return assignmentIndex;
+    }
     
     /**
      * Check all hard constraints for an employee assignment
@@ -23,6 +40,21 @@ public class ConflictChecker {
                                              List<TimeOffRequest> approvedTimeOffs,
                                              List<Schedule.Game> employeeExistingGames,
                                              Tracking.WeeklyHours weeklyHours) {
+        SchedulingEvents.HardConstraintCheck event = new SchedulingEvents.HardConstraintCheck();
+        event.begin();
+        List<String> violations = findViolations(employee, game, availability, conflicts,
+                                                 approvedTimeOffs, employeeExistingGames, weeklyHours);
+        commit(event, employee, game, violations, false);
+        return violations;
+    }
+    
+    private List<String> findViolations(Employee employee,
+                                        Schedule.Game game,
+                                        List<Availability.Seasonal> availability,
+                                        List<Availability.PermanentConflict> conflicts,
+                                        List<TimeOffRequest> approvedTimeOffs,
+                                        List<Schedule.Game> employeeExistingGames,
+                                        Tracking.WeeklyHours weeklyHours) {
         List<String> violations = new ArrayList<>();
         
         // Check if employee is active
@@ -47,7 +79,7 @@ public class ConflictChecker {
         }
         
         // 4. Check for double-booking
-        if (hasTimeOverlap(employeeExistingGames, game)) {
+        if (isDoubleBooked(employee.getEmployeeId(), employeeExistingGames, game)) {
             violations.add("Already scheduled during this time");
         }
         
@@ -58,13 +90,126 @@ public class ConflictChecker {
             violations.add(String.format(
                 "Exceeds weekly limit (%.1f/%.1f hours)", 
                 weeklyHours.getTotalScheduledHours() + gameHours,
-                employee.getMaxHoursPerWeek()
+                (double) employee.getMaxHoursPerWeek()
             ));
         }
         
         return violations;
     }
     
+    /**
+     * Same checks as above, but availability, permanent conflicts and time-off
+     * come from a precomputed AvailabilityIndex grid instead of list scans
+     */
+    public List<String> checkHardConstraints(Employee employee,
+                                             Schedule.Game game,
+                                             AvailabilityIndex.GameMask mask,
+                                             AvailabilityIndex.EmployeeGrid grid,
+                                             List<Schedule.Game> employeeExistingGames,
+                                             Tracking.WeeklyHours weeklyHours) {
+        SchedulingEvents.HardConstraintCheck event = new SchedulingEvents.HardConstraintCheck();
+        event.begin();
+        List<String> violations = findViolations(employee, game, mask, grid,
+                                                 employeeExistingGames, weeklyHours);
+        commit(event, employee, game, violations, true);
+        return violations;
+    }
+
+    private List<String> findViolations(Employee employee,
+                                        Schedule.Game game,
+                                        AvailabilityIndex.GameMask mask,
+                                        AvailabilityIndex.EmployeeGrid grid,
+                                        List<Schedule.Game> employeeExistingGames,
+                                        Tracking.WeeklyHours weeklyHours) {
+        List<String> violations = new ArrayList<>();
+
+        if (!employee.isActiveStatus()) {
+            violations.add("Employee is not active");
+            return violations;
+        }
+
+        if (!grid.isAvailable(mask)) {
+            violations.add("Outside seasonal availability window");
+        }
+
+        if (grid.hasPermanentConflict(mask)) {
+            violations.add("Conflicts with permanent schedule (class/job)");
+        }
+
+        if (grid.hasApprovedTimeOff(mask)) {
+            violations.add("Has approved time-off for this date/time");
+        }
+
+        if (isDoubleBooked(employee.getEmployeeId(), employeeExistingGames, game)) {
+            violations.add("Already scheduled during this time");
+        }
+
+        double gameHours = game.getDurationHours();
+        if (weeklyHours != null &&
+            !weeklyHours.canAccommodate(gameHours, employee.getMaxHoursPerWeek())) {
+            violations.add(String.format(
+                "Exceeds weekly limit (%.1f/%.1f hours)",
+                weeklyHours.getTotalScheduledHours() + gameHours,
+                (double) employee.getMaxHoursPerWeek()
+            ));
+        }
+
+        return violations;
+    }
+
+    private static void commit(SchedulingEvents.HardConstraintCheck event, Employee employee,
+                               Schedule.Game game, List<String> violations, boolean indexed) {
+        if (event.shouldCommit()) {
+            event.scheduleId = game.getScheduleId();
+            event.employeeId = employee.getEmployeeId();
+            event.violations = violations.size();
+            event.indexed = indexed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Boolean form of checkHardConstraints for the scoring loop: stops at the
+     * first failed constraint and builds no violation messages
+     */
+    public boolean passesHardConstraints(Employee employee,
+                                         Schedule.Game game,
+                                         List<Availability.Seasonal> availability,
+                                         List<Availability.PermanentConflict> conflicts,
+                                         List<TimeOffRequest> approvedTimeOffs,
+                                         List<Schedule.Game> employeeExistingGames,
+                                         Tracking.WeeklyHours weeklyHours) {
+        return employee.isActiveStatus() &&
+               withinWeeklyLimit(employee, game, weeklyHours) &&
+               !isDoubleBooked(employee.getEmployeeId(), employeeExistingGames, game) &&
+               !hasPermanentConflict(conflicts, game) &&
+               !hasApprovedTimeOff(approvedTimeOffs, game) &&
+               hasSeasonalAvailability(availability, game);
+    }
+
+    /**
+     * Boolean form of the AvailabilityIndex overload of checkHardConstraints
+     */
+    public boolean passesHardConstraints(Employee employee,
+                                         Schedule.Game game,
+                                         AvailabilityIndex.GameMask mask,
+                                         AvailabilityIndex.EmployeeGrid grid,
+                                         List<Schedule.Game> employeeExistingGames,
+                                         Tracking.WeeklyHours weeklyHours) {
+        return employee.isActiveStatus() &&
+               grid.isAvailable(mask) &&
+               !grid.hasPermanentConflict(mask) &&
+               !grid.hasApprovedTimeOff(mask) &&
+               withinWeeklyLimit(employee, game, weeklyHours) &&
+               !isDoubleBooked(employee.getEmployeeId(), employeeExistingGames, game);
+    }
+
+    private boolean withinWeeklyLimit(Employee employee, Schedule.Game game,
+                                      Tracking.WeeklyHours weeklyHours) {
+        return weeklyHours == null ||
+               weeklyHours.canAccommodate(game.getDurationHours(), employee.getMaxHoursPerWeek());
+    }
+
     /**
      * Check if employee has seasonal availability for this game
      * MVP MODE: Empty availability list = assume available
@@ -74,7 +219,7 @@ public class ConflictChecker {
         // MVP MODE: If no availability data provided, assume employee is available
         // This allows the system to work without detailed availability configuration
         if (availability == null || availability.isEmpty()) {
-            System.out.println("[MVP MODE] No availability data - assuming employee is available");
+            log.trace("[MVP MODE] No availability data - assuming employee is available");
             return true;  // ✅ FIXED: Changed from false to true for MVP
         }
         
@@ -122,6 +267,19 @@ public class ConflictChecker {
             ));
     }
     
+    /**
+     * Double-booking check against committed assignments (O(log n) through the
+     * index when one is set) and any games the caller passes in, e.g. tentative picks
+     */
+    boolean isDoubleBooked(int employeeId,
+                           List<Schedule.Game> existingGames,
+                           Schedule.Game newGame) {
+        if (assignmentIndex != null && assignmentIndex.overlaps(employeeId, newGame)) {
+            return true;
+        }
+        return hasTimeOverlap(existingGames, newGame);
+    }
+    
     /**
      * Check if employee is already scheduled during this time
      */
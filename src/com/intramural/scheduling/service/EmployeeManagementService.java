@@ -142,15 +142,8 @@ public class EmployeeManagementService {
     public List<Employee> getAllEmployeesWithExpertise() throws SQLException {
         List<Employee> employees = employeeDAO.getAllActive();
         
-        for (Employee emp : employees) {
-            List<Integer> sportIds = expertiseDAO.getSportIdsByEmployee(emp.getEmployeeId());
-            for (Integer sportId : sportIds) {
-                Employee.ExpertiseLevel level = expertiseDAO.getExpertiseLevel(
-                    emp.getEmployeeId(), sportId
-                );
-                emp.addExpertise(new Employee.SportExpertise(0, sportId, level));
-            }
-        }
+        // One query for everyone's expertise
+        expertiseDAO.loadExpertise(employees, false);
         
         return employees;
     }
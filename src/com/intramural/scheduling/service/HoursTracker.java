@@ -4,13 +4,15 @@ import com.intramural.scheduling.dao.WeeklyHoursDAO;
 import com.intramural.scheduling.model.Employee;
 import com.intramural.scheduling.model.Schedule;
 import com.intramural.scheduling.model.Tracking;
+import com.intramural.scheduling.util.IntObjectMap;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class HoursTracker {
     private WeeklyHoursDAO weeklyHoursDAO;
@@ -20,38 +22,54 @@ public class HoursTracker {
     }
     
     /**
-     * Update weekly hours when a shift is assigned
+     * Update weekly hours when a shift is assigned (one atomic server-side increment)
      */
     public void assignShift(int employeeId, Schedule.Game game) throws SQLException {
-        LocalDate weekStart = getWeekStartDate(game.getGameDate());
-        Tracking.WeeklyHours weeklyHours = 
-            weeklyHoursDAO.getByEmployeeAndWeek(employeeId, weekStart);
-        
-        double hours = game.getDurationHours();
-        weeklyHours.addScheduledHours(hours);
-        weeklyHoursDAO.update(weeklyHours);
+        weeklyHoursDAO.adjustScheduledHours(employeeId,
+            getWeekStartDate(game.getGameDate()), game.getDurationHours());
+    }
+    
+    /**
+     * Update weekly hours when a shift is assigned, inside the caller's transaction
+     * (e.g. the one that saves the shift assignment)
+     */
+    public void assignShift(Connection conn, int employeeId, Schedule.Game game) throws SQLException {
+        weeklyHoursDAO.adjustScheduledHours(conn, employeeId,
+            getWeekStartDate(game.getGameDate()), game.getDurationHours());
     }
     
     /**
-     * Update weekly hours when a shift is unassigned
+     * Update weekly hours when a shift is unassigned (one atomic server-side decrement)
      */
     public void unassignShift(int employeeId, Schedule.Game game) throws SQLException {
-        LocalDate weekStart = getWeekStartDate(game.getGameDate());
-        Tracking.WeeklyHours weeklyHours = 
-            weeklyHoursDAO.getByEmployeeAndWeek(employeeId, weekStart);
-        
-        double hours = game.getDurationHours();
-        weeklyHours.removeScheduledHours(hours);
-        weeklyHoursDAO.update(weeklyHours);
+        weeklyHoursDAO.adjustScheduledHours(employeeId,
+            getWeekStartDate(game.getGameDate()), -game.getDurationHours());
+    }
+    
+    /**
+     * Update weekly hours when a shift is unassigned, inside the caller's transaction
+     */
+    public void unassignShift(Connection conn, int employeeId, Schedule.Game game) throws SQLException {
+        weeklyHoursDAO.adjustScheduledHours(conn, employeeId,
+            getWeekStartDate(game.getGameDate()), -game.getDurationHours());
+    }
+    
+    /**
+     * Apply many hour changes at once inside the caller's transaction
+     * @param deltas hours to add (negative to remove) by week start date, then employee ID
+     */
+    public void adjustHours(Connection conn, Map<LocalDate, Map<Integer, Double>> deltas)
+            throws SQLException {
+        weeklyHoursDAO.adjustScheduledHours(conn, deltas);
     }
     
     /**
-     * Get weekly hours for an employee
+     * Get weekly hours for an employee (read only; zero hours if nothing is recorded)
      */
     public Tracking.WeeklyHours getWeeklyHours(int employeeId, LocalDate date) 
             throws SQLException {
         LocalDate weekStart = getWeekStartDate(date);
-        return weeklyHoursDAO.getByEmployeeAndWeek(employeeId, weekStart);
+        return weeklyHoursDAO.findByEmployeeAndWeek(employeeId, weekStart);
     }
     
     /**
@@ -84,8 +102,14 @@ public class HoursTracker {
         
         List<Employee> approaching = new ArrayList<>();
         
+        List<Integer> employeeIds = new ArrayList<>(employees.size());
+        for (Employee emp : employees) {
+            employeeIds.add(emp.getEmployeeId());
+        }
+        Map<Integer, Tracking.WeeklyHours> summary = getHoursSummary(employeeIds, weekDate);
+        
         for (Employee emp : employees) {
-            Tracking.WeeklyHours hours = getWeeklyHours(emp.getEmployeeId(), weekDate);
+            Tracking.WeeklyHours hours = summary.get(emp.getEmployeeId());
             if (hours != null && 
                 hours.isApproachingLimit(emp.getMaxHoursPerWeek(), threshold)) {
                 approaching.add(emp);
@@ -103,25 +127,20 @@ public class HoursTracker {
     }
     
     /**
-     * Get hours summary for multiple employees
+     * Get hours summary for multiple employees (one read-only query;
+     * employees with nothing recorded get zero hours)
      */
     public Map<Integer, Tracking.WeeklyHours> getHoursSummary(
             List<Integer> employeeIds, 
             LocalDate weekDate) throws SQLException {
         
         LocalDate weekStart = getWeekStartDate(weekDate);
+        IntObjectMap<Map<LocalDate, Tracking.WeeklyHours>> byEmployee =
+            weeklyHoursDAO.getByWeeks(employeeIds, weekStart, weekStart);
         
-        return employeeIds.stream()
-            .collect(Collectors.toMap(
-                empId -> empId,
-                empId -> {
-                    try {
-                        return weeklyHoursDAO.getByEmployeeAndWeek(empId, weekStart);
-                    } catch (SQLException e) {
-                        return new Tracking.WeeklyHours(empId, weekStart);
-                    }
-                }
-            ));
+        Map<Integer, Tracking.WeeklyHours> summary = new HashMap<>(employeeIds.size() * 2);
+        byEmployee.forEach((empId, weeks) -> summary.put(empId, weeks.get(weekStart)));
+        return summary;
     }
     
     /**
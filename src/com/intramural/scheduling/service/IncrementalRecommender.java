@@ -0,0 +1,323 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.model.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Keeps greedy recommendations for a cycle up to date after single edits.
+ *
+ * Recommendations are recomputed per game, because the Option A exclusions
+ * chain the shifts of one game together. Two indexes decide which games an
+ * edit can affect:
+ *   - employee -> games where the employee is currently listed as a candidate
+ *   - week start -> games in that week (weekly hours are tracked per week)
+ *
+ * Approved time-off can only make an employee worse, so it refreshes just the
+ * games listing them. An assignment makes them busier in that week but one game
+ * more experienced everywhere: it refreshes the games listing them plus any game
+ * where their new score would make a top-K list. An unassignment refreshes that
+ * week and every game listing them, and an availability change the affected
+ * weekdays.
+ */
+public class IncrementalRecommender {
+
+    // Scores are summed in a different order than the greedy pass; absorb the rounding
+    private static final double SCORE_TOLERANCE = 1e-9;
+
+    private final SchedulingEngine engine;
+    private final List<Employee> employees;
+    private final Map<Integer, Sport> sportsMap;
+    private final Map<Integer, List<Availability.Seasonal>> availabilityMap;
+    private final Map<Integer, List<Availability.PermanentConflict>> conflictsMap;
+    private final AvailabilityIndex availabilityIndex;
+    // Approved time-off, kept so availability rebuilds don't drop it from the grid
+    private final Map<Integer, List<TimeOffRequest>> approvedTimeOff = new HashMap<>();
+    private final Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek;
+    private final Map<Integer, List<Schedule.Game>> existingGames = new HashMap<>();
+
+    private final Map<Integer, Schedule.Game> gamesById = new LinkedHashMap<>();
+    private final Map<LocalDate, List<Integer>> gamesByWeek = new HashMap<>();
+    private final Map<LocalDate, List<Integer>> gamesByDate = new TreeMap<>();
+    private final Map<Integer, Set<Integer>> gamesByEmployee = new HashMap<>();
+    private final Map<Integer, Set<Integer>> employeesByGame = new HashMap<>();
+    private final Map<Integer, List<SchedulingRecommendation>> recommendations = new HashMap<>();
+
+    private ScoringSnapshot baseSnapshot;
+    private final Map<LocalDate, ScoringSnapshot> snapshotsByWeek = new HashMap<>();
+
+    /**
+     * @param existingGamesMap games each employee is already assigned, by employee ID;
+     *        the recommender keeps its own copy and updates it on assign/unassign
+     * @param weeklyHoursByWeek weekly hours keyed by week start date, then employee ID;
+     *        the recommender keeps its own copy and updates it on assign/unassign
+     */
+    public IncrementalRecommender(SchedulingEngine engine,
+                                  List<Schedule.Game> games,
+                                  List<Employee> employees,
+                                  Map<Integer, Sport> sportsMap,
+                                  Map<Integer, List<Availability.Seasonal>> availabilityMap,
+                                  Map<Integer, List<Availability.PermanentConflict>> conflictsMap,
+                                  Map<Integer, List<TimeOffRequest>> timeOffMap,
+                                  Map<Integer, List<Schedule.Game>> existingGamesMap,
+                                  Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek) {
+        this.engine = engine;
+        this.employees = new ArrayList<>(employees);
+        this.sportsMap = sportsMap;
+        this.availabilityMap = new HashMap<>(availabilityMap);
+        this.conflictsMap = new HashMap<>(conflictsMap);
+        existingGamesMap.forEach((employeeId, assigned) ->
+            existingGames.put(employeeId, new ArrayList<>(assigned)));
+        this.weeklyHoursByWeek = new HashMap<>();
+        weeklyHoursByWeek.forEach((week, hours) -> hours.forEach((employeeId, wh) ->
+            weeklyHours(employeeId, week).setTotalScheduledHours(wh.getTotalScheduledHours())));
+        timeOffMap.forEach((employeeId, requests) -> {
+            for (TimeOffRequest request : requests) {
+                if (request.getStatus() == TimeOffRequest.Status.APPROVED) {
+                    approvedTimeOff.computeIfAbsent(employeeId, k -> new ArrayList<>()).add(request);
+                }
+            }
+        });
+
+        List<Integer> ids = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            ids.add(employee.getEmployeeId());
+        }
+        this.availabilityIndex = AvailabilityIndex.build(ids, availabilityMap, conflictsMap, timeOffMap);
+
+        for (Schedule.Game game : games) {
+            gamesById.put(game.getScheduleId(), game);
+            gamesByWeek.computeIfAbsent(HoursTracker.getWeekStartDate(game.getGameDate()),
+                k -> new ArrayList<>()).add(game.getScheduleId());
+            gamesByDate.computeIfAbsent(game.getGameDate(), k -> new ArrayList<>())
+                .add(game.getScheduleId());
+        }
+    }
+
+    /**
+     * Compute recommendations for every game in the cycle
+     * @return all recommendations keyed by shift ID
+     */
+    public synchronized Map<Integer, List<SchedulingRecommendation>> recomputeAll() {
+        recompute(gamesById.keySet());
+        return getRecommendations();
+    }
+
+    /**
+     * An employee was assigned to a game. Their hours went up and they are now busy
+     * during the game, but the extra game raises their experience score in every
+     * week, so they can also move up into lists they were not on.
+     * @return IDs of the shifts whose recommendations were refreshed
+     */
+    public synchronized Set<Integer> onAssignment(int employeeId, Schedule.Game game) {
+        LocalDate weekStart = HoursTracker.getWeekStartDate(game.getGameDate());
+        weeklyHours(employeeId, weekStart).addScheduledHours(game.getDurationHours());
+        existingGames.computeIfAbsent(employeeId, k -> new ArrayList<>()).add(game);
+        invalidateSnapshots();
+
+        Set<Integer> affected = new LinkedHashSet<>();
+        affected.add(game.getScheduleId());
+        affected.addAll(gamesByEmployee.getOrDefault(employeeId, Collections.emptySet()));
+        addGamesEnterableBy(employeeId, affected);
+        return recompute(affected);
+    }
+
+    /**
+     * An employee was removed from a game. They may now qualify anywhere in that
+     * week, and their lower experience score changes every list they are on.
+     * @return IDs of the shifts whose recommendations were refreshed
+     */
+    public synchronized Set<Integer> onUnassignment(int employeeId, Schedule.Game game) {
+        LocalDate weekStart = HoursTracker.getWeekStartDate(game.getGameDate());
+        weeklyHours(employeeId, weekStart).removeScheduledHours(game.getDurationHours());
+        List<Schedule.Game> assigned = existingGames.get(employeeId);
+        if (assigned != null) {
+            assigned.removeIf(g -> g.getScheduleId() == game.getScheduleId());
+        }
+        invalidateSnapshots();
+
+        Set<Integer> affected = new LinkedHashSet<>();
+        affected.add(game.getScheduleId());
+        affected.addAll(gamesByWeek.getOrDefault(weekStart, Collections.emptyList()));
+        affected.addAll(gamesByEmployee.getOrDefault(employeeId, Collections.emptySet()));
+        return recompute(affected);
+    }
+
+    /**
+     * An employee edited their seasonal availability and/or permanent conflicts.
+     * Every game on a weekday touched by the old or new entries is refreshed.
+     * @return IDs of the shifts whose recommendations were refreshed
+     */
+    public synchronized Set<Integer> onAvailabilityChanged(
+            int employeeId,
+            List<Availability.Seasonal> availability,
+            List<Availability.PermanentConflict> conflicts) {
+
+        List<Availability.Seasonal> oldAvailability =
+            availabilityMap.getOrDefault(employeeId, Collections.emptyList());
+        List<Availability.PermanentConflict> oldConflicts =
+            conflictsMap.getOrDefault(employeeId, Collections.emptyList());
+        List<Availability.Seasonal> newAvailability =
+            availability != null ? availability : Collections.emptyList();
+        List<Availability.PermanentConflict> newConflicts =
+            conflicts != null ? conflicts : Collections.emptyList();
+
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        if (oldAvailability.isEmpty() != newAvailability.isEmpty()) {
+            // MVP mode: no availability means available every day
+            days = EnumSet.allOf(DayOfWeek.class);
+        } else {
+            for (Availability.Seasonal avail : oldAvailability) days.add(avail.getDayOfWeek());
+            for (Availability.Seasonal avail : newAvailability) days.add(avail.getDayOfWeek());
+        }
+        for (Availability.PermanentConflict conflict : oldConflicts) days.add(conflict.getDayOfWeek());
+        for (Availability.PermanentConflict conflict : newConflicts) days.add(conflict.getDayOfWeek());
+
+        availabilityMap.put(employeeId, newAvailability);
+        conflictsMap.put(employeeId, newConflicts);
+        // Keep approved time-off already in the grid
+        availabilityIndex.rebuildEmployee(employeeId, newAvailability, newConflicts,
+            approvedTimeOff(employeeId));
+        invalidateSnapshots();
+
+        Set<Integer> affected = new LinkedHashSet<>();
+        for (Map.Entry<LocalDate, List<Integer>> entry : gamesByDate.entrySet()) {
+            if (days.contains(entry.getKey().getDayOfWeek())) {
+                affected.addAll(entry.getValue());
+            }
+        }
+        return recompute(affected);
+    }
+
+    /**
+     * A time-off request was approved; only games on that date listing the employee change
+     * @return IDs of the shifts whose recommendations were refreshed
+     */
+    public synchronized Set<Integer> onTimeOffApproved(TimeOffRequest request) {
+        if (request.getStatus() != TimeOffRequest.Status.APPROVED) {
+            return Collections.emptySet();
+        }
+        approvedTimeOff.computeIfAbsent(request.getEmployeeId(), k -> new ArrayList<>()).add(request);
+        availabilityIndex.addApprovedTimeOff(request);
+        invalidateSnapshots();
+
+        Set<Integer> affected = new LinkedHashSet<>();
+        List<Integer> dateGames = gamesByDate.getOrDefault(request.getRequestDate(), Collections.emptyList());
+        for (Integer gameId : gamesByEmployee.getOrDefault(request.getEmployeeId(), Collections.emptySet())) {
+            if (dateGames.contains(gameId)) {
+                affected.add(gameId);
+            }
+        }
+        return recompute(affected);
+    }
+
+    public synchronized List<SchedulingRecommendation> getRecommendations(int shiftId) {
+        return recommendations.getOrDefault(shiftId, new ArrayList<>());
+    }
+
+    public synchronized Map<Integer, List<SchedulingRecommendation>> getRecommendations() {
+        return new HashMap<>(recommendations);
+    }
+
+    /**
+     * Add the games not yet in the set where the employee's current score would
+     * make the top K of some shift. Ties count, so no changed list is missed.
+     */
+    private void addGamesEnterableBy(int employeeId, Set<Integer> affected) {
+        int k = engine.getRecommendationCount();
+        for (Schedule.Game game : gamesById.values()) {
+            if (affected.contains(game.getScheduleId())) {
+                continue;
+            }
+            ScoringSnapshot snapshot = snapshotFor(HoursTracker.getWeekStartDate(game.getGameDate()));
+            int i = snapshot.indexOf(employeeId);
+            if (i < 0) {
+                return;
+            }
+            Sport sport = sportsMap.get(game.getSportId());
+            for (Schedule.Shift shift : game.getShifts()) {
+                double score = engine.candidateScore(shift, game, sport, snapshot, i);
+                if (Double.isNaN(score)) {
+                    continue;
+                }
+                List<SchedulingRecommendation> recs = recommendations.get(shift.getShiftId());
+                if (recs == null || recs.size() < k ||
+                        score >= recs.get(k - 1).getScore() - SCORE_TOLERANCE) {
+                    affected.add(game.getScheduleId());
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<TimeOffRequest> approvedTimeOff(int employeeId) {
+        return approvedTimeOff.getOrDefault(employeeId, Collections.emptyList());
+    }
+
+    /**
+     * Recompute the given games in cycle order and update the reverse index
+     */
+    private Set<Integer> recompute(Collection<Integer> gameIds) {
+        Set<Integer> refreshedShifts = new LinkedHashSet<>();
+        for (Schedule.Game game : gamesById.values()) {
+            if (!gameIds.contains(game.getScheduleId())) {
+                continue;
+            }
+            LocalDate weekStart = HoursTracker.getWeekStartDate(game.getGameDate());
+            Map<Integer, List<SchedulingRecommendation>> gameRecs = engine.generateGameRecommendations(
+                game, sportsMap.get(game.getSportId()), snapshotFor(weekStart));
+
+            // Re-link candidates of this game
+            Set<Integer> oldEmployees = employeesByGame.remove(game.getScheduleId());
+            if (oldEmployees != null) {
+                for (Integer employeeId : oldEmployees) {
+                    Set<Integer> games = gamesByEmployee.get(employeeId);
+                    if (games != null) {
+                        games.remove(game.getScheduleId());
+                    }
+                }
+            }
+            Set<Integer> newEmployees = new HashSet<>();
+            for (List<SchedulingRecommendation> recs : gameRecs.values()) {
+                for (SchedulingRecommendation rec : recs) {
+                    newEmployees.add(rec.getEmployee().getEmployeeId());
+                }
+            }
+            for (Integer employeeId : newEmployees) {
+                gamesByEmployee.computeIfAbsent(employeeId, k -> new HashSet<>())
+                    .add(game.getScheduleId());
+            }
+            employeesByGame.put(game.getScheduleId(), newEmployees);
+
+            recommendations.putAll(gameRecs);
+            refreshedShifts.addAll(gameRecs.keySet());
+        }
+        return refreshedShifts;
+    }
+
+    private ScoringSnapshot snapshotFor(LocalDate weekStart) {
+        ScoringSnapshot snapshot = snapshotsByWeek.get(weekStart);
+        if (snapshot == null) {
+            if (baseSnapshot == null) {
+                baseSnapshot = ScoringSnapshot.build(employees, sportsMap.values(),
+                    availabilityIndex, existingGames, Collections.emptyMap());
+            }
+            snapshot = baseSnapshot.withWeeklyHours(
+                weeklyHoursByWeek.getOrDefault(weekStart, Collections.emptyMap()));
+            snapshotsByWeek.put(weekStart, snapshot);
+        }
+        return snapshot;
+    }
+
+    private void invalidateSnapshots() {
+        baseSnapshot = null;
+        snapshotsByWeek.clear();
+    }
+
+    private Tracking.WeeklyHours weeklyHours(int employeeId, LocalDate weekStart) {
+        return weeklyHoursByWeek
+            .computeIfAbsent(weekStart, k -> new HashMap<>())
+            .computeIfAbsent(employeeId, id -> new Tracking.WeeklyHours(id, weekStart));
+    }
+}
@@ -0,0 +1,558 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.model.*;
+import com.intramural.scheduling.util.IntIntMap;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Anytime local search over whole-cycle assignments.
+ *
+ * Objective: sum of the load-independent soft score of every staffed shift, plus an
+ * hour balance term per (employee, week) that depends only on that employee's shift
+ * count and total hours in the week. A move touches at most four such terms, so its
+ * delta is O(1); double-booking uses an AssignmentIntervalIndex (O(log n)).
+ *
+ * Moves: reassign one shift to another candidate (or leave it unstaffed), and swap
+ * the employees of two shifts. Simulated annealing with a linearly cooling
+ * temperature accepts some worsening moves early; the best schedule seen is kept.
+ *
+ * Hard constraints are never violated: candidates per shift are pre-filtered by the
+ * same rules as ConflictChecker (active, position, availability, permanent
+ * conflicts, approved time-off), and every move is checked for double-booking and
+ * weekly hour limits before it is applied.
+ */
+public class LocalSearchOptimizer {
+
+    private static final double DEFAULT_START_TEMPERATURE = 2.0;
+    private static final double UNASSIGN_PROBABILITY = 0.05;
+    private static final double HOURS_EPSILON = 1e-9;
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+
+    private final SchedulingEngine engine;
+    private final Random random;
+    private double startTemperature = DEFAULT_START_TEMPERATURE;
+
+    // Problem
+    private ScoringSnapshot snapshot;
+    private int shiftCount;
+    private int weekCount;
+    private Schedule.Shift[] shifts;
+    private Schedule.Game[] gameOf;
+    private int[] weekOf;
+    private double[] hoursOf;
+    private int[][] candidates;
+    private double[][] candidateScores;
+    private IntIntMap[] candidatePos;
+    private double[] baseHours;
+
+    // Current state
+    private int[] assigned;
+    private int[] weekShifts;
+    private double[] weekHours;
+    private AssignmentIntervalIndex intervals;
+    private double currentScore;
+
+    // Scratch for move evaluation
+    private final int[] keys = new int[4];
+    private int keyCount;
+
+    /**
+     * Result of an optimization run
+     */
+    public static class Result {
+        private final Map<Integer, Integer> assignments;
+        private final double initialScore;
+        private final double bestScore;
+        private final long iterations;
+        private final long acceptedMoves;
+        private final long improvements;
+        private final long elapsedMillis;
+        private final int staffedShifts;
+        private final int totalShifts;
+        private final int droppedAssignments;
+
+        private Result(Map<Integer, Integer> assignments, double initialScore, double bestScore,
+                       long iterations, long acceptedMoves, long improvements,
+                       long elapsedMillis, int staffedShifts, int totalShifts,
+                       int droppedAssignments) {
+            this.assignments = assignments;
+            this.initialScore = initialScore;
+            this.bestScore = bestScore;
+            this.iterations = iterations;
+            this.acceptedMoves = acceptedMoves;
+            this.improvements = improvements;
+            this.elapsedMillis = elapsedMillis;
+            this.staffedShifts = staffedShifts;
+            this.totalShifts = totalShifts;
+            this.droppedAssignments = droppedAssignments;
+        }
+
+        /** Best schedule found: shift ID to employee ID (null = unstaffed), in cycle order */
+        public Map<Integer, Integer> getAssignments() { return assignments; }
+        public double getInitialScore() { return initialScore; }
+        public double getBestScore() { return bestScore; }
+        public double getImprovement() { return bestScore - initialScore; }
+        public long getIterations() { return iterations; }
+        public long getAcceptedMoves() { return acceptedMoves; }
+        /** Number of times a new best schedule was found */
+        public long getImprovements() { return improvements; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public int getStaffedShifts() { return staffedShifts; }
+        public int getTotalShifts() { return totalShifts; }
+        /** Starting assignments that broke a hard constraint and were left out */
+        public int getDroppedAssignments() { return droppedAssignments; }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "score %.2f -> %.2f, %d/%d shifts staffed, %d iterations (%d accepted, %d new bests) in %d ms",
+                initialScore, bestScore, staffedShifts, totalShifts,
+                iterations, acceptedMoves, improvements, elapsedMillis);
+        }
+    }
+
+    public LocalSearchOptimizer(SchedulingEngine engine, long seed) {
+        this.engine = engine;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Starting temperature for simulated annealing, in score points
+     * (0 = pure hill climbing)
+     */
+    public void setStartTemperature(double startTemperature) {
+        if (startTemperature < 0) {
+            throw new IllegalArgumentException("Temperature must not be negative: " + startTemperature);
+        }
+        this.startTemperature = startTemperature;
+    }
+
+    /**
+     * Improve the cycle's schedule within the time budget.
+     *
+     * The search starts from each shift's assigned employee, or its Option A
+     * recommendation when unassigned, as long as that keeps the schedule valid.
+     * Shifts and games are not modified.
+     *
+     * @param weeklyHoursByWeek hours on the books per week start and employee ID,
+     *        including the cycle's current assignments
+     */
+    public Result optimize(Schedule.Cycle cycle,
+                           List<Employee> employees,
+                           Map<Integer, Sport> sportsMap,
+                           AvailabilityIndex availabilityIndex,
+                           Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek,
+                           Duration budget) {
+        return optimize(cycle, employees, sportsMap, availabilityIndex, weeklyHoursByWeek,
+                        budget.toNanos(), Long.MAX_VALUE);
+    }
+
+    /**
+     * Same search with a fixed number of iterations instead of a time budget.
+     * The temperature cools with the iteration count, so the same seed and
+     * input always give the same result.
+     */
+    public Result optimize(Schedule.Cycle cycle,
+                           List<Employee> employees,
+                           Map<Integer, Sport> sportsMap,
+                           AvailabilityIndex availabilityIndex,
+                           Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek,
+                           long maxIterations) {
+        if (maxIterations < 0) {
+            throw new IllegalArgumentException("Iterations must not be negative: " + maxIterations);
+        }
+        return optimize(cycle, employees, sportsMap, availabilityIndex, weeklyHoursByWeek,
+                        Long.MAX_VALUE, maxIterations);
+    }
+
+    private Result optimize(Schedule.Cycle cycle,
+                            List<Employee> employees,
+                            Map<Integer, Sport> sportsMap,
+                            AvailabilityIndex availabilityIndex,
+                            Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek,
+                            long budgetNanos,
+                            long maxIterations) {
+        boolean timed = maxIterations == Long.MAX_VALUE;
+        long startNanos = System.nanoTime();
+        long deadline = timed ? startNanos + budgetNanos : 0;
+
+        setUp(cycle, employees, sportsMap, availabilityIndex, weeklyHoursByWeek);
+        int dropped = seed();
+        double initialScore = currentScore;
+        int[] best = assigned.clone();
+        double bestScore = currentScore;
+
+        long iterations = 0;
+        long accepted = 0;
+        long improvements = 0;
+        double temperature = startTemperature;
+
+        if (shiftCount > 0) {
+            while (iterations < maxIterations) {
+                if ((iterations & (CLOCK_CHECK_INTERVAL - 1)) == 0) {
+                    double progress;
+                    if (timed) {
+                        long now = System.nanoTime();
+                        if (now >= deadline) {
+                            break;
+                        }
+                        progress = (double) (now - startNanos) / Math.max(1, deadline - startNanos);
+                    } else {
+                        progress = (double) iterations / maxIterations;
+                    }
+                    temperature = startTemperature * (1.0 - progress);
+                }
+                iterations++;
+
+                boolean moved = random.nextBoolean() ? tryReassign(temperature) : trySwap(temperature);
+                if (!moved) {
+                    continue;
+                }
+                accepted++;
+                if (currentScore > bestScore + 1e-9) {
+                    bestScore = currentScore;
+                    System.arraycopy(assigned, 0, best, 0, shiftCount);
+                    improvements++;
+                }
+            }
+        }
+
+        // Re-evaluate from scratch so accumulated rounding doesn't leak into the report
+        bestScore = evaluate(best);
+
+        Map<Integer, Integer> assignments = new LinkedHashMap<>();
+        int staffed = 0;
+        for (int s = 0; s < shiftCount; s++) {
+            if (best[s] >= 0) {
+                assignments.put(shifts[s].getShiftId(), snapshot.employeeIdAt(best[s]));
+                staffed++;
+            } else {
+                assignments.put(shifts[s].getShiftId(), null);
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        return new Result(assignments, initialScore, bestScore, iterations, accepted,
+            improvements, elapsedMillis, staffed, shiftCount, dropped);
+    }
+
+    /**
+     * Index shifts, weeks and per-shift candidate lists
+     */
+    private void setUp(Schedule.Cycle cycle,
+                       List<Employee> employees,
+                       Map<Integer, Sport> sportsMap,
+                       AvailabilityIndex availabilityIndex,
+                       Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek) {
+        snapshot = ScoringSnapshot.build(employees, sportsMap.values(), availabilityIndex,
+            Collections.emptyMap(), Collections.emptyMap());
+        int n = snapshot.size();
+
+        List<Schedule.Shift> shiftList = new ArrayList<>();
+        List<Schedule.Game> gameList = new ArrayList<>();
+        Map<LocalDate, Integer> weekIndex = new LinkedHashMap<>();
+        for (Schedule.Game game : cycle.getGameSchedules()) {
+            weekIndex.computeIfAbsent(HoursTracker.getWeekStartDate(game.getGameDate()),
+                k -> weekIndex.size());
+            for (Schedule.Shift shift : game.getShifts()) {
+                shiftList.add(shift);
+                gameList.add(game);
+            }
+        }
+
+        shiftCount = shiftList.size();
+        weekCount = Math.max(1, weekIndex.size());
+        shifts = shiftList.toArray(new Schedule.Shift[0]);
+        gameOf = gameList.toArray(new Schedule.Game[0]);
+        weekOf = new int[shiftCount];
+        hoursOf = new double[shiftCount];
+        candidates = new int[shiftCount][];
+        candidateScores = new double[shiftCount][];
+        candidatePos = new IntIntMap[shiftCount];
+
+        int[] buffer = new int[n];
+        for (int s = 0; s < shiftCount; s++) {
+            Schedule.Game game = gameOf[s];
+            weekOf[s] = weekIndex.get(HoursTracker.getWeekStartDate(game.getGameDate()));
+            hoursOf[s] = game.getDurationHours();
+
+            AvailabilityIndex.GameMask mask = AvailabilityIndex.maskFor(game);
+            boolean supervisorOnly = shifts[s].getPositionType() == Schedule.PositionType.SUPERVISOR;
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                AvailabilityIndex.EmployeeGrid grid = snapshot.gridAt(i);
+                if (snapshot.isActive(i) &&
+                    (!supervisorOnly || snapshot.isSupervisorEligible(i)) &&
+                    grid.isAvailable(mask) &&
+                    !grid.hasPermanentConflict(mask) &&
+                    !grid.hasApprovedTimeOff(mask) &&
+                    hoursOf[s] <= snapshot.maxHoursAt(i) + HOURS_EPSILON) {
+                    buffer[count++] = i;
+                }
+            }
+
+            int sportIdx = snapshot.sportIndexOf(game.getSportId());
+            candidates[s] = Arrays.copyOf(buffer, count);
+            candidateScores[s] = new double[count];
+            candidatePos[s] = new IntIntMap(count);
+            for (int c = 0; c < count; c++) {
+                candidateScores[s][c] = engine.staticScore(snapshot, candidates[s][c], sportIdx, mask);
+                candidatePos[s].put(candidates[s][c], c);
+            }
+        }
+
+        // Hours on the books minus this cycle's own assignments, which the search re-places
+        baseHours = new double[n * weekCount];
+        for (Map.Entry<LocalDate, Integer> week : weekIndex.entrySet()) {
+            Map<Integer, Tracking.WeeklyHours> hours =
+                weeklyHoursByWeek.getOrDefault(week.getKey(), Collections.emptyMap());
+            for (int i = 0; i < n; i++) {
+                Tracking.WeeklyHours wh = hours.get(snapshot.employeeIdAt(i));
+                if (wh != null) {
+                    baseHours[i * weekCount + week.getValue()] = wh.getTotalScheduledHours();
+                }
+            }
+        }
+        for (int s = 0; s < shiftCount; s++) {
+            Integer employeeId = shifts[s].getAssignedEmployeeId();
+            int i = employeeId != null ? snapshot.indexOf(employeeId) : -1;
+            if (i >= 0) {
+                int key = i * weekCount + weekOf[s];
+                baseHours[key] = Math.max(0.0, baseHours[key] - hoursOf[s]);
+            }
+        }
+
+        assigned = new int[shiftCount];
+        Arrays.fill(assigned, -1);
+        weekShifts = new int[n * weekCount];
+        weekHours = new double[n * weekCount];
+        intervals = new AssignmentIntervalIndex();
+        currentScore = 0.0;
+    }
+
+    /**
+     * Place the starting assignments that keep the schedule valid
+     * @return number of assigned employees that had to be left out
+     */
+    private int seed() {
+        int dropped = 0;
+        for (int s = 0; s < shiftCount; s++) {
+            Integer employeeId = shifts[s].getAssignedEmployeeId();
+            boolean wasAssigned = employeeId != null;
+            if (!wasAssigned) {
+                employeeId = shifts[s].getRecommendationAId();
+            }
+            if (employeeId == null) {
+                continue;
+            }
+            int i = snapshot.indexOf(employeeId);
+            if (i >= 0 && candidatePos[s].containsKey(i) && !intervals.overlaps(employeeId, gameOf[s]) &&
+                withinLimit(i, weekOf[s], hoursOf[s])) {
+                currentScore += applyReassign(s, i);
+                intervals.add(employeeId, s, gameOf[s]);
+            } else if (wasAssigned) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Move one shift to a random candidate, or leave it unstaffed
+     */
+    private boolean tryReassign(double temperature) {
+        int s = random.nextInt(shiftCount);
+        int[] cands = candidates[s];
+        int from = assigned[s];
+        int to;
+        if (cands.length == 0 || random.nextDouble() < UNASSIGN_PROBABILITY) {
+            to = -1;
+        } else {
+            to = cands[random.nextInt(cands.length)];
+        }
+        if (to == from) {
+            return false;
+        }
+        if (to >= 0 &&
+            (!withinLimit(to, weekOf[s], hoursOf[s]) ||
+             intervals.overlaps(snapshot.employeeIdAt(to), gameOf[s]))) {
+            return false;
+        }
+
+        double delta = applyReassign(s, to);
+        if (!accept(delta, temperature)) {
+            applyReassign(s, from);
+            return false;
+        }
+        if (from >= 0) {
+            intervals.remove(snapshot.employeeIdAt(from), s, gameOf[s]);
+        }
+        if (to >= 0) {
+            intervals.add(snapshot.employeeIdAt(to), s, gameOf[s]);
+        }
+        currentScore += delta;
+        return true;
+    }
+
+    /**
+     * Exchange the employees of two staffed shifts
+     */
+    private boolean trySwap(double temperature) {
+        int s1 = random.nextInt(shiftCount);
+        int s2 = random.nextInt(shiftCount);
+        int e1 = assigned[s1];
+        int e2 = assigned[s2];
+        if (s1 == s2 || e1 < 0 || e2 < 0 || e1 == e2 ||
+            !candidatePos[s2].containsKey(e1) || !candidatePos[s1].containsKey(e2)) {
+            return false;
+        }
+
+        int id1 = snapshot.employeeIdAt(e1);
+        int id2 = snapshot.employeeIdAt(e2);
+        intervals.remove(id1, s1, gameOf[s1]);
+        intervals.remove(id2, s2, gameOf[s2]);
+        if (intervals.overlaps(id1, gameOf[s2]) || intervals.overlaps(id2, gameOf[s1])) {
+            intervals.add(id1, s1, gameOf[s1]);
+            intervals.add(id2, s2, gameOf[s2]);
+            return false;
+        }
+
+        double delta = applySwap(s1, s2);
+        boolean valid = true;
+        for (int k = 0; k < keyCount; k++) {
+            int key = keys[k];
+            if (totalHours(key) > snapshot.maxHoursAt(key / weekCount) + HOURS_EPSILON) {
+                valid = false;
+            }
+        }
+        if (!valid || !accept(delta, temperature)) {
+            applySwap(s1, s2);
+            intervals.add(id1, s1, gameOf[s1]);
+            intervals.add(id2, s2, gameOf[s2]);
+            return false;
+        }
+        intervals.add(id1, s2, gameOf[s2]);
+        intervals.add(id2, s1, gameOf[s1]);
+        currentScore += delta;
+        return true;
+    }
+
+    /**
+     * Full objective for an assignment vector
+     */
+    private double evaluate(int[] assignment) {
+        int[] shiftsPerWeek = new int[weekShifts.length];
+        double[] hoursPerWeek = baseHours.clone();
+        double score = 0.0;
+        for (int s = 0; s < shiftCount; s++) {
+            int e = assignment[s];
+            if (e >= 0) {
+                score += staticScore(s, e);
+                shiftsPerWeek[e * weekCount + weekOf[s]]++;
+                hoursPerWeek[e * weekCount + weekOf[s]] += hoursOf[s];
+            }
+        }
+        for (int key = 0; key < shiftsPerWeek.length; key++) {
+            score += engine.weekBalanceScore(shiftsPerWeek[key], hoursPerWeek[key],
+                snapshot.maxHoursAt(key / weekCount));
+        }
+        return score;
+    }
+
+    private boolean accept(double delta, double temperature) {
+        if (delta >= 0) {
+            return true;
+        }
+        return temperature > 0 && random.nextDouble() < Math.exp(delta / temperature);
+    }
+
+    /**
+     * Set shift s to employee to (-1 = unstaffed) and return the score delta
+     */
+    private double applyReassign(int s, int to) {
+        int from = assigned[s];
+        int w = weekOf[s];
+        keyCount = 0;
+        if (from >= 0) addKey(from * weekCount + w);
+        if (to >= 0) addKey(to * weekCount + w);
+
+        double delta = -termSum();
+        if (from >= 0) {
+            delta -= staticScore(s, from);
+            weekShifts[from * weekCount + w]--;
+            weekHours[from * weekCount + w] -= hoursOf[s];
+        }
+        if (to >= 0) {
+            delta += staticScore(s, to);
+            weekShifts[to * weekCount + w]++;
+            weekHours[to * weekCount + w] += hoursOf[s];
+        }
+        assigned[s] = to;
+        return delta + termSum();
+    }
+
+    /**
+     * Exchange the employees of s1 and s2 and return the score delta; calling it
+     * again undoes the swap. Leaves the touched (employee, week) keys in keys[].
+     */
+    private double applySwap(int s1, int s2) {
+        int e1 = assigned[s1];
+        int e2 = assigned[s2];
+        int w1 = weekOf[s1];
+        int w2 = weekOf[s2];
+        keyCount = 0;
+        addKey(e1 * weekCount + w1);
+        addKey(e1 * weekCount + w2);
+        addKey(e2 * weekCount + w1);
+        addKey(e2 * weekCount + w2);
+
+        double delta = -termSum()
+            - staticScore(s1, e1) - staticScore(s2, e2)
+            + staticScore(s1, e2) + staticScore(s2, e1);
+        move(e1, w1, w2, hoursOf[s1], hoursOf[s2]);
+        move(e2, w2, w1, hoursOf[s2], hoursOf[s1]);
+        assigned[s1] = e2;
+        assigned[s2] = e1;
+        return delta + termSum();
+    }
+
+    // Employee e gives up a shift of `removed` hours in week a and takes one of `added` hours in week b
+    private void move(int e, int a, int b, double removed, double added) {
+        weekShifts[e * weekCount + a]--;
+        weekHours[e * weekCount + a] -= removed;
+        weekShifts[e * weekCount + b]++;
+        weekHours[e * weekCount + b] += added;
+    }
+
+    private void addKey(int key) {
+        for (int k = 0; k < keyCount; k++) {
+            if (keys[k] == key) {
+                return;
+            }
+        }
+        keys[keyCount++] = key;
+    }
+
+    private double termSum() {
+        double sum = 0.0;
+        for (int k = 0; k < keyCount; k++) {
+            int key = keys[k];
+            sum += engine.weekBalanceScore(weekShifts[key], totalHours(key),
+                snapshot.maxHoursAt(key / weekCount));
+        }
+        return sum;
+    }
+
+    private double totalHours(int key) {
+        return baseHours[key] + weekHours[key];
+    }
+
+    private boolean withinLimit(int e, int w, double hours) {
+        return totalHours(e * weekCount + w) + hours <= snapshot.maxHoursAt(e) + HOURS_EPSILON;
+    }
+
+    private double staticScore(int s, int e) {
+        return candidateScores[s][candidatePos[s].get(e, -1)];
+    }
+}
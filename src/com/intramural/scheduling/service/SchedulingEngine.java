@@ -1,10 +1,17 @@
 package com.intramural.scheduling.service;
 
 import com.intramural.scheduling.model.*;
+import com.intramural.scheduling.util.Logger;
+import com.intramural.scheduling.util.SchedulingEvents;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public class SchedulingEngine {
+    private static final Logger log = Logger.getLogger(SchedulingEngine.class);
+
     private ConflictChecker conflictChecker;
     
     // Scoring weights for soft constraints
@@ -16,7 +23,16 @@ public class SchedulingEngine {
     
     // NEW: Penalty for being already recommended
     private static final double PENALTY_ALREADY_RECOMMENDED = 50.0;
-    
+
+    // Optimal solver: best possible soft score and cost of leaving a shift unstaffed
+    private static final double MAX_SCORE = WEIGHT_EXPERTISE + WEIGHT_PERFORMANCE +
+        WEIGHT_HOUR_BALANCE + WEIGHT_PREFERENCE + WEIGHT_EXPERIENCE;
+    private static final double UNSTAFFED_COST = 1.0e6;
+
+    // Recommendations kept per shift (Option A and Option B by default)
+    public static final int DEFAULT_RECOMMENDATION_COUNT = 2;
+    private int recommendationCount = DEFAULT_RECOMMENDATION_COUNT;
+
     public SchedulingEngine() {
         this.conflictChecker = new ConflictChecker();
     }
@@ -60,90 +76,462 @@ public class SchedulingEngine {
             Map<Integer, Tracking.WeeklyHours> weeklyHoursMap,
             Set<Integer> alreadyRecommendedAsOptionA) {
         
-        List<SchedulingRecommendation> recommendations = new ArrayList<>();
+        return generateTopRecommendations(
+            shift, game, sport, eligibleEmployees,
+            availabilityMap, conflictsMap, timeOffMap,
+            existingGamesMap, weeklyHoursMap,
+            alreadyRecommendedAsOptionA, recommendationCount
+        );
+    }
+    
+    /**
+     * Best K recommendations for a shift, best first.
+     *
+     * Candidates stream through a fixed-size heap. A candidate is skipped as soon as
+     * a hard constraint fails or an upper bound on its score (exact expertise and
+     * performance, best case for the rest) cannot beat the current K-th best.
+     * Score breakdowns and warnings are only built for the K winners.
+     */
+    public List<SchedulingRecommendation> generateTopRecommendations(
+            Schedule.Shift shift,
+            Schedule.Game game,
+            Sport sport,
+            List<Employee> eligibleEmployees,
+            Map<Integer, List<Availability.Seasonal>> availabilityMap,
+            Map<Integer, List<Availability.PermanentConflict>> conflictsMap,
+            Map<Integer, List<TimeOffRequest>> timeOffMap,
+            Map<Integer, List<Schedule.Game>> existingGamesMap,
+            Map<Integer, Tracking.WeeklyHours> weeklyHoursMap,
+            Set<Integer> alreadyRecommendedAsOptionA,
+            int k) {
+        
+        return generateTopRecommendations(
+            shift, game, sport, eligibleEmployees,
+            availabilityMap, conflictsMap, timeOffMap,
+            existingGamesMap, weeklyHoursMap,
+            alreadyRecommendedAsOptionA, k, null
+        );
+    }
+    
+    /**
+     * Same as above, answering availability, permanent conflict and time-off checks
+     * from the given index instead of the three maps. The index must have been built
+     * from the same data as the maps; null uses the maps.
+     */
+    public List<SchedulingRecommendation> generateTopRecommendations(
+            Schedule.Shift shift,
+            Schedule.Game game,
+            Sport sport,
+            List<Employee> eligibleEmployees,
+            Map<Integer, List<Availability.Seasonal>> availabilityMap,
+            Map<Integer, List<Availability.PermanentConflict>> conflictsMap,
+            Map<Integer, List<TimeOffRequest>> timeOffMap,
+            Map<Integer, List<Schedule.Game>> existingGamesMap,
+            Map<Integer, Tracking.WeeklyHours> weeklyHoursMap,
+            Set<Integer> alreadyRecommendedAsOptionA,
+            int k,
+            AvailabilityIndex availabilityIndex) {
+        
+        SchedulingEvents.ShiftRecommendation event = new SchedulingEvents.ShiftRecommendation();
+        event.begin();
+        // Phase timings cost a few nanoTime calls per candidate, so only while recording
+        boolean timed = event.isEnabled();
+        long hardCheckNanos = 0;
+        long scoringNanos = 0;
+        long mark = 0;
         
-        // Filter by position type eligibility
-        List<Employee> filtered = eligibleEmployees.stream()
-            .filter(emp -> {
-                if (shift.getPositionType() == Schedule.PositionType.SUPERVISOR) {
-                    return emp.isSupervisorEligible();
+        TopKSelector<Employee> top = new TopKSelector<>(k);
+        boolean supervisorOnly = shift.getPositionType() == Schedule.PositionType.SUPERVISOR;
+        AvailabilityIndex.GameMask mask = availabilityIndex != null ?
+            AvailabilityIndex.maskFor(game) : null;
+        double remainingMax = WEIGHT_HOUR_BALANCE + WEIGHT_PREFERENCE + WEIGHT_EXPERIENCE;
+        int scored = 0;
+        int rejected = 0;
+        int pruned = 0;
+        boolean trace = log.isTraceEnabled();
+        
+        for (Employee employee : eligibleEmployees) {
+            // Filter by position type eligibility (all employees can be referees)
+            if (supervisorOnly && !employee.isSupervisorEligible()) {
+                continue;
+            }
+            scored++;
+            int empId = employee.getEmployeeId();
+            if (timed) {
+                mark = System.nanoTime();
+            }
+            
+            double partial = calculateExpertiseScore(employee, sport.getSportId()) * WEIGHT_EXPERTISE +
+                (employee.getPerformanceRating() / 5.0) * WEIGHT_PERFORMANCE;
+            if (alreadyRecommendedAsOptionA.contains(empId)) {
+                partial -= PENALTY_ALREADY_RECOMMENDED;
+            }
+            if (!top.canAccept(partial + remainingMax)) {
+                pruned++;
+                if (timed) {
+                    scoringNanos += System.nanoTime() - mark;
+                }
+                continue;
+            }
+            
+            List<Availability.Seasonal> availability = availabilityMap.get(empId);
+            List<Schedule.Game> existingGames = existingGamesMap.get(empId);
+            Tracking.WeeklyHours weeklyHours = weeklyHoursMap.get(empId);
+            AvailabilityIndex.EmployeeGrid grid = mask != null ?
+                availabilityIndex.getGrid(empId) : null;
+            if (timed) {
+                long now = System.nanoTime();
+                scoringNanos += now - mark;
+                mark = now;
+            }
+            
+            boolean passes = grid != null ?
+                conflictChecker.passesHardConstraints(
+                    employee, game, mask, grid, existingGames, weeklyHours) :
+                conflictChecker.passesHardConstraints(
+                    employee, game, availability, conflictsMap.get(empId),
+                    timeOffMap.get(empId), existingGames, weeklyHours);
+            if (timed) {
+                long now = System.nanoTime();
+                hardCheckNanos += now - mark;
+                mark = now;
+            }
+            if (!passes) {
+                rejected++;
+                if (trace) {
+                    log.trace("Shift " + shift.getShiftId() + ": employee " + empId + " rejected (hard constraint)");
                 }
-                return true; // All employees can be referees
-            })
-            .collect(Collectors.toList());
-        
-        System.out.println("Eligible employees after position filter: " + filtered.size());
-        
-        // Score each employee
-        for (Employee employee : filtered) {
-            SchedulingRecommendation rec = scoreEmployee(
-                employee, 
-                shift, 
-                game, 
-                sport,
-                availabilityMap.getOrDefault(employee.getEmployeeId(), new ArrayList<>()),
-                conflictsMap.getOrDefault(employee.getEmployeeId(), new ArrayList<>()),
-                timeOffMap.getOrDefault(employee.getEmployeeId(), new ArrayList<>()),
-                existingGamesMap.getOrDefault(employee.getEmployeeId(), new ArrayList<>()),
-                weeklyHoursMap.get(employee.getEmployeeId())
+                continue;
+            }
+            
+            double score = partial +
+                calculateHourBalanceScore(weeklyHours, employee.getMaxHoursPerWeek()) * WEIGHT_HOUR_BALANCE +
+                preferenceScore(availability, game, mask, grid) * WEIGHT_PREFERENCE +
+                calculateExperienceScore(existingGames == null ? Collections.emptyList() : existingGames) *
+                    WEIGHT_EXPERIENCE;
+            top.offer(score, employee);
+            if (timed) {
+                scoringNanos += System.nanoTime() - mark;
+            }
+        }
+        
+        if (log.isDebugEnabled()) {
+            log.debug("Shift " + shift.getShiftId() + ": scored " + scored + " employees, " +
+                      rejected + " rejected, " + pruned + " pruned, " + top.size() + " kept");
+        }
+        long rankingStart = timed ? System.nanoTime() : 0;
+        
+        // Build full breakdowns for the winners only
+        List<SchedulingRecommendation> recommendations = new ArrayList<>(top.size());
+        for (Employee employee : top.toSortedList()) {
+            int empId = employee.getEmployeeId();
+            SchedulingRecommendation rec = new SchedulingRecommendation(employee);
+            addSoftScores(
+                rec, employee, game, sport,
+                availabilityMap.get(empId),
+                existingGamesMap.getOrDefault(empId, new ArrayList<>()),
+                weeklyHoursMap.get(empId),
+                mask,
+                mask != null ? availabilityIndex.getGrid(empId) : null
             );
             
             // NEW: Apply penalty if already recommended as Option A
-            if (alreadyRecommendedAsOptionA.contains(employee.getEmployeeId())) {
+            if (alreadyRecommendedAsOptionA.contains(empId)) {
                 rec.addScoreComponent("Already Recommended Penalty", -PENALTY_ALREADY_RECOMMENDED);
                 rec.addWarning("Already recommended for another position in this game");
-                System.out.println("  Applied penalty to " + employee.getFirstName() + " " + 
-                                 employee.getLastName() + " (already recommended)");
-            }
-            
-            // Only include valid recommendations (no hard constraint violations)
-            if (rec.isValid()) {
-                recommendations.add(rec);
-                System.out.println("  " + employee.getFirstName() + " " + employee.getLastName() + 
-                                 " - Score: " + String.format("%.2f", rec.getScore()));
-            } else {
-                System.out.println("  " + employee.getFirstName() + " " + employee.getLastName() + 
-                                 " - REJECTED: " + rec.getViolations());
             }
+            recommendations.add(rec);
+        }
+        
+        if (event.shouldCommit()) {
+            event.shiftId = shift.getShiftId();
+            event.candidates = eligibleEmployees.size();
+            event.scored = scored;
+            event.pruned = pruned;
+            event.rejected = rejected;
+            event.kept = recommendations.size();
+            event.hardCheckDuration = hardCheckNanos;
+            event.scoringDuration = scoringNanos;
+            event.rankingDuration = System.nanoTime() - rankingStart;
+            event.commit();
+        }
+        return recommendations;
+    }
+    
+    /**
+     * Score breakdown and near-limit warning for snapshot employee i, who has
+     * already passed the hard constraints
+     */
+    private SchedulingRecommendation snapshotRecommendation(ScoringSnapshot snapshot, int i, int sportIdx,
+                                                            AvailabilityIndex.GameMask mask, float hours) {
+        SchedulingRecommendation rec = new SchedulingRecommendation(snapshot.employeeAt(i));
+        
+        rec.addScoreComponent("Expertise", snapshot.expertiseScore(i, sportIdx) * WEIGHT_EXPERTISE);
+        rec.addScoreComponent("Performance", (snapshot.ratingAt(i) / 5.0) * WEIGHT_PERFORMANCE);
+        rec.addScoreComponent("Hour Balance",
+            hourBalanceScore(hours, snapshot.maxHoursAt(i)) * WEIGHT_HOUR_BALANCE);
+        rec.addScoreComponent("Preference Match",
+            (snapshot.gridAt(i).isPreferred(mask) ? 1.0 : 0.5) * WEIGHT_PREFERENCE);
+        rec.addScoreComponent("Experience",
+            experienceScore(snapshot.existingGameCount(i)) * WEIGHT_EXPERIENCE);
+        
+        if (!Float.isNaN(hours) && hours / snapshot.maxHoursAt(i) >= 0.85) {
+            rec.addWarning(String.format(
+                "Approaching weekly limit (%.1f/%.1f hours)",
+                (double) hours,
+                snapshot.maxHoursAt(i)
+            ));
+        }
+        return rec;
+    }
+    
+    /**
+     * Build a scoring snapshot for one run, with a transient availability index
+     * built from the maps
+     */
+    public ScoringSnapshot createScoringSnapshot(
+            List<Employee> employees,
+            Collection<Sport> sports,
+            Map<Integer, List<Availability.Seasonal>> availabilityMap,
+            Map<Integer, List<Availability.PermanentConflict>> conflictsMap,
+            Map<Integer, List<TimeOffRequest>> timeOffMap,
+            Map<Integer, List<Schedule.Game>> existingGamesMap,
+            Map<Integer, Tracking.WeeklyHours> weeklyHoursMap) {
+        
+        List<Integer> ids = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            ids.add(employee.getEmployeeId());
         }
+        return createScoringSnapshot(employees, sports,
+            AvailabilityIndex.build(ids, availabilityMap, conflictsMap, timeOffMap),
+            existingGamesMap, weeklyHoursMap);
+    }
+    
+    /**
+     * Build a scoring snapshot for one run from an availability index the caller
+     * already holds for the same employees and cycle
+     */
+    public ScoringSnapshot createScoringSnapshot(
+            List<Employee> employees,
+            Collection<Sport> sports,
+            AvailabilityIndex availabilityIndex,
+            Map<Integer, List<Schedule.Game>> existingGamesMap,
+            Map<Integer, Tracking.WeeklyHours> weeklyHoursMap) {
         
-        // Sort by score (descending)
-        recommendations.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return ScoringSnapshot.build(employees, sports, availabilityIndex, existingGamesMap, weeklyHoursMap);
+    }
+    
+    /**
+     * Snapshot variant of generateTopRecommendations. The candidate loop reads only
+     * primitive arrays and allocates nothing per employee.
+     *
+     * @param alreadyRecommendedAsOptionA dense snapshot indices of employees already
+     *        recommended as Option A in this game
+     */
+    public List<SchedulingRecommendation> generateTopRecommendations(
+            Schedule.Shift shift,
+            Schedule.Game game,
+            Sport sport,
+            ScoringSnapshot snapshot,
+            BitSet alreadyRecommendedAsOptionA,
+            int k) {
         
-        // Return top 2
-        return recommendations.stream()
-            .limit(2)
-            .collect(Collectors.toList());
+        return generateTopRecommendations(
+            shift, game, sport, snapshot, alreadyRecommendedAsOptionA, k, null);
     }
     
     /**
-     * Score an employee for a specific shift using soft constraints
+     * Same as above, scoring only the candidates in a pre-computed domain
+     * (snapshot indices, e.g. from ShiftDomains); null scores everyone
      */
-    private SchedulingRecommendation scoreEmployee(
-            Employee employee,
+    public List<SchedulingRecommendation> generateTopRecommendations(
             Schedule.Shift shift,
             Schedule.Game game,
             Sport sport,
-            List<Availability.Seasonal> availability,
-            List<Availability.PermanentConflict> conflicts,
-            List<TimeOffRequest> timeOffs,
-            List<Schedule.Game> existingGames,
-            Tracking.WeeklyHours weeklyHours) {
-        
-        SchedulingRecommendation rec = new SchedulingRecommendation(employee);
-        
-        // Check hard constraints first
-        List<String> violations = conflictChecker.checkHardConstraints(
-            employee, game, availability, conflicts, timeOffs, 
-            existingGames, weeklyHours
-        );
+            ScoringSnapshot snapshot,
+            BitSet alreadyRecommendedAsOptionA,
+            int k,
+            BitSet domain) {
+        
+        SchedulingEvents.ShiftRecommendation event = new SchedulingEvents.ShiftRecommendation();
+        event.begin();
+        boolean timed = event.isEnabled();
+        long hardCheckNanos = 0;
+        long scoringNanos = 0;
+        long mark = 0;
         
-        if (!violations.isEmpty()) {
-            violations.forEach(rec::addViolation);
-            return rec;
+        TopKSelector<Employee> top = new TopKSelector<>(k);
+        boolean supervisorOnly = shift.getPositionType() == Schedule.PositionType.SUPERVISOR;
+        AvailabilityIndex.GameMask mask = AvailabilityIndex.maskFor(game);
+        int sportIdx = snapshot.sportIndexOf(sport.getSportId());
+        double gameHours = game.getDurationHours();
+        double remainingMax = WEIGHT_HOUR_BALANCE + WEIGHT_PREFERENCE + WEIGHT_EXPERIENCE;
+        int candidates = 0;
+        int scored = 0;
+        int rejected = 0;
+        int pruned = 0;
+        boolean trace = log.isTraceEnabled();
+        
+        int n = snapshot.size();
+        for (int i = domain != null ? domain.nextSetBit(0) : 0;
+             i >= 0 && i < n;
+             i = domain != null ? domain.nextSetBit(i + 1) : i + 1) {
+            candidates++;
+            if (supervisorOnly && !snapshot.isSupervisorEligible(i)) {
+                continue;
+            }
+            scored++;
+            if (timed) {
+                mark = System.nanoTime();
+            }
+            
+            double partial = snapshot.expertiseScore(i, sportIdx) * WEIGHT_EXPERTISE +
+                (snapshot.ratingAt(i) / 5.0) * WEIGHT_PERFORMANCE;
+            if (alreadyRecommendedAsOptionA.get(i)) {
+                partial -= PENALTY_ALREADY_RECOMMENDED;
+            }
+            if (!top.canAccept(partial + remainingMax)) {
+                pruned++;
+                if (timed) {
+                    scoringNanos += System.nanoTime() - mark;
+                }
+                continue;
+            }
+            
+            AvailabilityIndex.EmployeeGrid grid = snapshot.gridAt(i);
+            float hours = snapshot.weeklyHoursAt(i);
+            if (timed) {
+                long now = System.nanoTime();
+                scoringNanos += now - mark;
+                mark = now;
+            }
+            boolean passes = snapshot.isActive(i) &&
+                grid.isAvailable(mask) &&
+                !grid.hasPermanentConflict(mask) &&
+                !grid.hasApprovedTimeOff(mask) &&
+                (Float.isNaN(hours) || hours + gameHours <= snapshot.maxHoursAt(i)) &&
+                !conflictChecker.isDoubleBooked(
+                    snapshot.employeeIdAt(i), snapshot.existingGamesAt(i), game);
+            if (timed) {
+                long now = System.nanoTime();
+                hardCheckNanos += now - mark;
+                mark = now;
+            }
+            if (!passes) {
+                rejected++;
+                if (trace) {
+                    log.trace("Shift " + shift.getShiftId() + ": employee " + snapshot.employeeIdAt(i) +
+                              " rejected (hard constraint)");
+                }
+                continue;
+            }
+            
+            double score = partial +
+                hourBalanceScore(hours, snapshot.maxHoursAt(i)) * WEIGHT_HOUR_BALANCE +
+                (grid.isPreferred(mask) ? 1.0 : 0.5) * WEIGHT_PREFERENCE +
+                experienceScore(snapshot.existingGameCount(i)) * WEIGHT_EXPERIENCE;
+            top.offer(score, snapshot.employeeAt(i));
+            if (timed) {
+                scoringNanos += System.nanoTime() - mark;
+            }
+        }
+        
+        if (log.isDebugEnabled()) {
+            log.debug("Shift " + shift.getShiftId() + ": scored " + scored + " employees, " +
+                      rejected + " rejected, " + pruned + " pruned, " + top.size() + " kept");
+        }
+        long rankingStart = timed ? System.nanoTime() : 0;
+        
+        List<SchedulingRecommendation> recommendations = new ArrayList<>(top.size());
+        for (Employee employee : top.toSortedList()) {
+            int i = snapshot.indexOf(employee.getEmployeeId());
+            SchedulingRecommendation rec = snapshotRecommendation(
+                snapshot, i, sportIdx, mask, snapshot.weeklyHoursAt(i));
+            if (alreadyRecommendedAsOptionA.get(i)) {
+                rec.addScoreComponent("Already Recommended Penalty", -PENALTY_ALREADY_RECOMMENDED);
+                rec.addWarning("Already recommended for another position in this game");
+            }
+            recommendations.add(rec);
         }
         
-        // Calculate soft constraint scores
+        if (event.shouldCommit()) {
+            event.shiftId = shift.getShiftId();
+            event.candidates = candidates;
+            event.scored = scored;
+            event.pruned = pruned;
+            event.rejected = rejected;
+            event.kept = recommendations.size();
+            event.hardCheckDuration = hardCheckNanos;
+            event.scoringDuration = scoringNanos;
+            event.rankingDuration = System.nanoTime() - rankingStart;
+            event.commit();
+        }
+        return recommendations;
+    }
+    
+    /**
+     * Load-independent part of the soft score for snapshot employee i on a game:
+     * expertise, performance, preference and experience (used by the local search
+     * objective, which scores hour balance per employee-week instead)
+     */
+    double staticScore(ScoringSnapshot snapshot, int i, int sportIdx, AvailabilityIndex.GameMask mask) {
+        return snapshot.expertiseScore(i, sportIdx) * WEIGHT_EXPERTISE +
+            (snapshot.ratingAt(i) / 5.0) * WEIGHT_PERFORMANCE +
+            (snapshot.gridAt(i).isPreferred(mask) ? 1.0 : 0.5) * WEIGHT_PREFERENCE +
+            experienceScore(snapshot.existingGameCount(i)) * WEIGHT_EXPERIENCE;
+    }
+
+    /**
+     * Greedy score snapshot employee i would get on a shift before any Option A
+     * penalty, or NaN when they are not eligible or fail a hard constraint
+     */
+    double candidateScore(Schedule.Shift shift, Schedule.Game game, Sport sport,
+                          ScoringSnapshot snapshot, int i) {
+        if (shift.getPositionType() == Schedule.PositionType.SUPERVISOR &&
+                !snapshot.isSupervisorEligible(i)) {
+            return Double.NaN;
+        }
+        AvailabilityIndex.GameMask mask = AvailabilityIndex.maskFor(game);
+        AvailabilityIndex.EmployeeGrid grid = snapshot.gridAt(i);
+        float hours = snapshot.weeklyHoursAt(i);
+        boolean passes = snapshot.isActive(i) &&
+            grid.isAvailable(mask) &&
+            !grid.hasPermanentConflict(mask) &&
+            !grid.hasApprovedTimeOff(mask) &&
+            (Float.isNaN(hours) || hours + game.getDurationHours() <= snapshot.maxHoursAt(i)) &&
+            !conflictChecker.isDoubleBooked(
+                snapshot.employeeIdAt(i), snapshot.existingGamesAt(i), game);
+        if (!passes) {
+            return Double.NaN;
+        }
+        return staticScore(snapshot, i, snapshot.sportIndexOf(sport.getSportId()), mask) +
+            hourBalanceScore(hours, snapshot.maxHoursAt(i)) * WEIGHT_HOUR_BALANCE;
+    }
+
+    /**
+     * Hour balance score for an employee working shiftCount shifts in a week that
+     * ends at totalHours; every shift earns the balance left at the end of the week
+     */
+    double weekBalanceScore(int shiftCount, double totalHours, double maxHours) {
+        if (shiftCount == 0) {
+            return 0.0;
+        }
+        double balance = maxHours == 0 ? 1.0 : Math.max(0.0, 1.0 - totalHours / maxHours);
+        return shiftCount * balance * WEIGHT_HOUR_BALANCE;
+    }
+    
+    /**
+     * Add the soft constraint score components and near-limit warnings
+     */
+    private void addSoftScores(SchedulingRecommendation rec,
+                               Employee employee,
+                               Schedule.Game game,
+                               Sport sport,
+                               List<Availability.Seasonal> availability,
+                               List<Schedule.Game> existingGames,
+                               Tracking.WeeklyHours weeklyHours,
+                               AvailabilityIndex.GameMask mask,
+                               AvailabilityIndex.EmployeeGrid grid) {
         
         // 1. Sport expertise score
         double expertiseScore = calculateExpertiseScore(employee, sport.getSportId());
@@ -161,7 +549,7 @@ public class SchedulingEngine {
         rec.addScoreComponent("Hour Balance", balanceScore * WEIGHT_HOUR_BALANCE);
         
         // 4. Availability preference score
-        double preferenceScore = calculatePreferenceScore(availability, game);
+        double preferenceScore = preferenceScore(availability, game, mask, grid);
         rec.addScoreComponent("Preference Match", preferenceScore * WEIGHT_PREFERENCE);
         
         // 5. Experience score (based on past assignments)
@@ -174,11 +562,19 @@ public class SchedulingEngine {
             rec.addWarning(String.format(
                 "Approaching weekly limit (%.1f/%.1f hours)",
                 weeklyHours.getTotalScheduledHours(),
-                employee.getMaxHoursPerWeek()
+                (double) employee.getMaxHoursPerWeek()
             ));
         }
-        
-        return rec;
+    }
+    
+    private double preferenceScore(List<Availability.Seasonal> availability,
+                                   Schedule.Game game,
+                                   AvailabilityIndex.GameMask mask,
+                                   AvailabilityIndex.EmployeeGrid grid) {
+        if (grid != null) {
+            return grid.isPreferred(mask) ? 1.0 : 0.5;
+        }
+        return calculatePreferenceScore(availability, game);
     }
     
     /**
@@ -212,6 +608,16 @@ public class SchedulingEngine {
         return Math.max(0.0, 1.0 - utilization);
     }
     
+    /**
+     * Hour balance score from snapshot values (NaN hours = no weekly record)
+     */
+    private double hourBalanceScore(float hours, double maxHours) {
+        if (Float.isNaN(hours) || maxHours == 0) {
+            return 1.0;
+        }
+        return Math.max(0.0, 1.0 - hours / maxHours);
+    }
+    
     /**
      * Calculate preference score (0.0 - 1.0)
      * Higher score if the shift falls during preferred availability
@@ -240,9 +646,10 @@ public class SchedulingEngine {
         if (existingGames == null) {
             return 0.3;
         }
-        
-        int assignmentCount = existingGames.size();
-        
+        return experienceScore(existingGames.size());
+    }
+    
+    private double experienceScore(int assignmentCount) {
         // Normalize: 0 shifts = 0.3, 10+ shifts = 1.0
         if (assignmentCount == 0) return 0.3;
         if (assignmentCount >= 10) return 1.0;
@@ -260,55 +667,549 @@ public class SchedulingEngine {
             Map<Integer, List<Availability.Seasonal>> availabilityMap,
             Map<Integer, List<Availability.PermanentConflict>> conflictsMap,
             Map<Integer, List<TimeOffRequest>> timeOffMap,
+            Map<Integer, List<Schedule.Game>> existingGamesMap,
             Map<Integer, Tracking.WeeklyHours> weeklyHoursMap) {
         
         Map<Integer, List<SchedulingRecommendation>> allRecommendations = new HashMap<>();
-        Map<Integer, List<Schedule.Game>> existingGamesMap = new HashMap<>();
+        ScoringSnapshot snapshot = createScoringSnapshot(
+            allEmployees, sportsMap.values(), availabilityMap, conflictsMap,
+            timeOffMap, existingGamesMap, weeklyHoursMap
+        );
         
         // Process each game schedule in the cycle
         for (Schedule.Game game : cycle.getGameSchedules()) {
-            Sport sport = sportsMap.get(game.getSportId());
+            allRecommendations.putAll(generateGameRecommendations(
+                game, sportsMap.get(game.getSportId()), snapshot
+            ));
+        }
+        
+        return allRecommendations;
+    }
+
+    /**
+     * Parallel variant of generateAllRecommendations for a whole cycle.
+     *
+     * Each game in the greedy pass only reads the shared inputs (its exclusion set is
+     * local to the game), so games are independent partitions. They are scored on a
+     * ForkJoinPool and merged back in cycle order, which keeps the output identical to
+     * the sequential pass for the same input.
+     *
+     * @param existingGamesMap games each employee is already assigned, by employee ID
+     * @param weeklyHoursByWeek weekly hours keyed by week start date, then employee ID
+     * @param parallelism number of worker threads
+     */
+    public Map<Integer, List<SchedulingRecommendation>> generateAllRecommendationsParallel(
+            Schedule.Cycle cycle,
+            List<Employee> allEmployees,
+            Map<Integer, Sport> sportsMap,
+            Map<Integer, List<Availability.Seasonal>> availabilityMap,
+            Map<Integer, List<Availability.PermanentConflict>> conflictsMap,
+            Map<Integer, List<TimeOffRequest>> timeOffMap,
+            Map<Integer, List<Schedule.Game>> existingGamesMap,
+            Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek,
+            int parallelism) {
+
+        List<Schedule.Game> games = cycle.getGameSchedules();
+
+        // One snapshot per week; only the weekly hours array differs between them
+        ScoringSnapshot base = createScoringSnapshot(
+            allEmployees, sportsMap.values(), availabilityMap, conflictsMap,
+            timeOffMap, existingGamesMap, Collections.emptyMap()
+        );
+        Map<LocalDate, ScoringSnapshot> snapshotsByWeek = new HashMap<>();
+        for (Schedule.Game game : games) {
+            LocalDate weekStart = HoursTracker.getWeekStartDate(game.getGameDate());
+            if (!snapshotsByWeek.containsKey(weekStart)) {
+                snapshotsByWeek.put(weekStart, base.withWeeklyHours(
+                    weeklyHoursByWeek.getOrDefault(weekStart, Collections.emptyMap())));
+            }
+        }
+
+        List<Map<Integer, List<SchedulingRecommendation>>> perGame;
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            perGame = pool.invoke(new GameRecommendationTask(
+                games, 0, games.size(), sportsMap, snapshotsByWeek
+            ));
+        } finally {
+            pool.shutdown();
+        }
+
+        // Deterministic merge in cycle order
+        Map<Integer, List<SchedulingRecommendation>> allRecommendations = new HashMap<>();
+        for (Map<Integer, List<SchedulingRecommendation>> gameRecs : perGame) {
+            allRecommendations.putAll(gameRecs);
+        }
+        return allRecommendations;
+    }
+
+    /**
+     * Fork/join task that splits a range of games in half until single games remain
+     */
+    private class GameRecommendationTask
+            extends RecursiveTask<List<Map<Integer, List<SchedulingRecommendation>>>> {
+        private static final long serialVersionUID = 1L;
+
+        // Never serialized; RecursiveTask is Serializable only through ForkJoinTask
+        private final transient List<Schedule.Game> games;
+        private final int from;
+        private final int to;
+        private final transient Map<Integer, Sport> sportsMap;
+        private final transient Map<LocalDate, ScoringSnapshot> snapshotsByWeek;
+
+        GameRecommendationTask(List<Schedule.Game> games, int from, int to,
+                               Map<Integer, Sport> sportsMap,
+                               Map<LocalDate, ScoringSnapshot> snapshotsByWeek) {
+            this.games = games;
+            this.from = from;
+            this.to = to;
+            this.sportsMap = sportsMap;
+            this.snapshotsByWeek = snapshotsByWeek;
+        }
+
+        @Override
+        protected List<Map<Integer, List<SchedulingRecommendation>>> compute() {
+            if (to - from <= 1) {
+                List<Map<Integer, List<SchedulingRecommendation>>> result = new ArrayList<>();
+                if (to > from) {
+                    Schedule.Game game = games.get(from);
+                    LocalDate weekStart = HoursTracker.getWeekStartDate(game.getGameDate());
+                    result.add(generateGameRecommendations(
+                        game, sportsMap.get(game.getSportId()), snapshotsByWeek.get(weekStart)
+                    ));
+                }
+                return result;
+            }
+
+            int mid = (from + to) >>> 1;
+            GameRecommendationTask left = new GameRecommendationTask(
+                games, from, mid, sportsMap, snapshotsByWeek);
+            GameRecommendationTask right = new GameRecommendationTask(
+                games, mid, to, sportsMap, snapshotsByWeek);
+            left.fork();
+            List<Map<Integer, List<SchedulingRecommendation>>> result = right.compute();
+            result.addAll(0, left.join());
+            return result;
+        }
+    }
+
+    /**
+     * Greedy recommendations for every shift of one game, in shift order
+     */
+    Map<Integer, List<SchedulingRecommendation>> generateGameRecommendations(
+            Schedule.Game game,
+            Sport sport,
+            ScoringSnapshot snapshot) {
+
+        Map<Integer, List<SchedulingRecommendation>> gameRecommendations = new LinkedHashMap<>();
+        
+        // Track already-recommended employees for this game (dense snapshot indices)
+        BitSet alreadyRecommendedAsOptionA = new BitSet(snapshot.size());
+        
+        // Process each shift in the game
+        for (Schedule.Shift shift : game.getShifts()) {
+            List<SchedulingRecommendation> recs = generateTopRecommendations(
+                shift, game, sport, snapshot,
+                alreadyRecommendedAsOptionA, recommendationCount
+            );
             
-            // Track already-recommended employees for this game
-            Set<Integer> alreadyRecommendedAsOptionA = new HashSet<>();
+            gameRecommendations.put(shift.getShiftId(), recs);
             
-            // Process each shift in the game
-            for (Schedule.Shift shift : game.getShifts()) {
-                List<SchedulingRecommendation> recs = generateRecommendationsWithExclusions(
-                    shift,
-                    game,
-                    sport,
-                    allEmployees,
-                    availabilityMap,
-                    conflictsMap,
-                    timeOffMap,
-                    existingGamesMap,
-                    weeklyHoursMap,
-                    alreadyRecommendedAsOptionA
-                );
+            // Update recommendations in shift and track Option A
+            if (recs.size() >= 1) {
+                int optionAId = recs.get(0).getEmployee().getEmployeeId();
+                int optionBId = recs.size() >= 2 ? 
+                    recs.get(1).getEmployee().getEmployeeId() : optionAId;
+                shift.setRecommendations(optionAId, optionBId);
                 
+                // Track Option A to avoid in next shifts
+                alreadyRecommendedAsOptionA.set(snapshot.indexOf(optionAId));
+            }
+        }
+        
+        return gameRecommendations;
+    }
+
+    /**
+     * Constraint-propagation mode for a whole cycle.
+     *
+     * A ShiftDomains pre-pass computes every shift's feasible employees once, and
+     * shifts with none are reported before any scoring. Shifts are then handled
+     * most-constrained-first: only the shift's domain is scored, and Option A is
+     * tentatively assigned and propagated (removed from overlapping shifts and
+     * from shifts it no longer has the weekly hours for). If that would leave
+     * another shift with no one, the next-ranked candidate is tried instead.
+     *
+     * @param existingGamesMap games each employee is already assigned, by employee ID
+     * @param weeklyHoursByWeek weekly hours keyed by week start date, then employee ID
+     */
+    public Map<Integer, List<SchedulingRecommendation>> generateConstrainedRecommendations(
+            Schedule.Cycle cycle,
+            List<Employee> allEmployees,
+            Map<Integer, Sport> sportsMap,
+            Map<Integer, List<Availability.Seasonal>> availabilityMap,
+            Map<Integer, List<Availability.PermanentConflict>> conflictsMap,
+            Map<Integer, List<TimeOffRequest>> timeOffMap,
+            Map<Integer, List<Schedule.Game>> existingGamesMap,
+            Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek) {
+
+        ScoringSnapshot base = createScoringSnapshot(
+            allEmployees, sportsMap.values(), availabilityMap, conflictsMap,
+            timeOffMap, existingGamesMap, Collections.emptyMap()
+        );
+        ShiftDomains domains = ShiftDomains.build(cycle.getGameSchedules(), base, weeklyHoursByWeek);
+
+        log.info("Candidate pairs after pruning: " + domains.getInitialCandidatePairs() +
+                 " of " + domains.getTotalPairs());
+        for (Schedule.Shift shift : domains.getInfeasibleShifts()) {
+            log.warn("No feasible employee for shift " + shift.getShiftId() +
+                     " (" + shift.getPositionLabel() + ")");
+        }
+
+        Map<LocalDate, ScoringSnapshot> snapshotsByWeek = new HashMap<>();
+        Map<Integer, List<SchedulingRecommendation>> allRecommendations = new HashMap<>();
+        BitSet noExclusions = new BitSet();
+
+        int s;
+        while ((s = domains.nextShift()) >= 0) {
+            Schedule.Shift shift = domains.shiftAt(s);
+            Schedule.Game game = domains.gameAt(s);
+            if (domains.domainSize(s) == 0) {
+                domains.skip(s);
+                allRecommendations.put(shift.getShiftId(), new ArrayList<>());
+                continue;
+            }
+
+            LocalDate weekStart = HoursTracker.getWeekStartDate(game.getGameDate());
+            ScoringSnapshot snapshot = snapshotsByWeek.computeIfAbsent(weekStart, week ->
+                base.withWeeklyHours(weeklyHoursByWeek.getOrDefault(week, Collections.emptyMap())));
+            List<SchedulingRecommendation> recs = generateTopRecommendations(
+                shift, game, sportsMap.get(game.getSportId()), snapshot,
+                noExclusions, recommendationCount, domains.domain(s)
+            );
+            if (recs.isEmpty()) {
+                domains.skip(s);
                 allRecommendations.put(shift.getShiftId(), recs);
-                
-                // Update recommendations in shift and track Option A
-                if (recs.size() >= 1) {
-                    int optionAId = recs.get(0).getEmployee().getEmployeeId();
-                    int optionBId = recs.size() >= 2 ? 
-                        recs.get(1).getEmployee().getEmployeeId() : optionAId;
-                    shift.setRecommendations(optionAId, optionBId);
-                    
-                    // Track Option A to avoid in next shifts
-                    alreadyRecommendedAsOptionA.add(optionAId);
+                continue;
+            }
+
+            // Best-ranked candidate whose assignment leaves every other shift staffable
+            int chosen = -1;
+            for (int r = 0; r < recs.size() && chosen < 0; r++) {
+                int mark = domains.mark();
+                if (domains.assign(s, snapshot.indexOf(recs.get(r).getEmployee().getEmployeeId()))) {
+                    chosen = r;
+                } else {
+                    domains.undo(mark);
                 }
             }
+            if (chosen < 0) {
+                chosen = 0;
+                domains.assign(s, snapshot.indexOf(recs.get(0).getEmployee().getEmployeeId()));
+            }
+            if (chosen > 0) {
+                recs.add(0, recs.remove(chosen));
+            }
+
+            int optionAId = recs.get(0).getEmployee().getEmployeeId();
+            int optionBId = recs.size() >= 2 ? recs.get(1).getEmployee().getEmployeeId() : optionAId;
+            shift.setRecommendations(optionAId, optionBId);
+            allRecommendations.put(shift.getShiftId(), recs);
         }
-        
+
         return allRecommendations;
     }
-    
+
+    /**
+     * Optimal solver mode: fill a whole cycle with min-cost assignments instead of
+     * greedily taking the best employee shift by shift.
+     *
+     * Games are split into blocks of mutually overlapping games. Inside a block each
+     * employee can work at most one shift, which makes it an exact bipartite
+     * assignment (shifts x employees, cost = max score - soft score, hard constraint
+     * violations = forbidden edges). Blocks are solved in chronological order and the
+     * Option A picks are carried forward as tentative games and weekly hours, so later
+     * blocks see earlier choices in the double-booking and weekly-limit checks.
+     *
+     * Option A is the optimal assignment; Option B is the employee with the lowest
+     * reduced cost for that shift, i.e. the cheapest deviation from the optimum.
+     *
+     * @param existingGamesMap games each employee is already assigned, by employee ID
+     * @param weeklyHoursByWeek weekly hours keyed by week start date, then employee ID
+     */
+    public Map<Integer, List<SchedulingRecommendation>> generateOptimalRecommendations(
+            Schedule.Cycle cycle,
+            List<Employee> allEmployees,
+            Map<Integer, Sport> sportsMap,
+            Map<Integer, List<Availability.Seasonal>> availabilityMap,
+            Map<Integer, List<Availability.PermanentConflict>> conflictsMap,
+            Map<Integer, List<TimeOffRequest>> timeOffMap,
+            Map<Integer, List<Schedule.Game>> existingGamesMap,
+            Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek) {
+
+        ScoringSnapshot snapshot = createScoringSnapshot(
+            allEmployees, sportsMap.values(), availabilityMap, conflictsMap,
+            timeOffMap, existingGamesMap, Collections.emptyMap()
+        );
+        Map<Integer, List<SchedulingRecommendation>> allRecommendations = new HashMap<>();
+
+        // Tentative state built up from Option A picks of earlier blocks
+        List<List<Schedule.Game>> tentativeGames = new ArrayList<>(
+            Collections.nCopies(snapshot.size(), (List<Schedule.Game>) null));
+        Map<LocalDate, float[]> tentativeHours = new HashMap<>();
+
+        for (List<Schedule.Game> block : partitionOverlappingGames(cycle.getGameSchedules())) {
+            solveBlock(block, snapshot, sportsMap, weeklyHoursByWeek,
+                      tentativeGames, tentativeHours, allRecommendations);
+        }
+
+        return allRecommendations;
+    }
+
+    /**
+     * Solve one block of mutually overlapping games as a single assignment problem.
+     * Edges are scored straight from the snapshot arrays; score breakdowns are only
+     * built for the Option A and B that come out of the solver.
+     */
+    private void solveBlock(
+            List<Schedule.Game> block,
+            ScoringSnapshot snapshot,
+            Map<Integer, Sport> sportsMap,
+            Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek,
+            List<List<Schedule.Game>> tentativeGames,
+            Map<LocalDate, float[]> tentativeHours,
+            Map<Integer, List<SchedulingRecommendation>> allRecommendations) {
+
+        List<Schedule.Game> rowGames = new ArrayList<>();
+        List<Schedule.Shift> rowShifts = new ArrayList<>();
+        for (Schedule.Game game : block) {
+            for (Schedule.Shift shift : game.getShifts()) {
+                rowGames.add(game);
+                rowShifts.add(shift);
+            }
+        }
+        int rows = rowShifts.size();
+        if (rows == 0) {
+            return;
+        }
+
+        // Score every (shift, employee) edge; only employees feasible somewhere become columns
+        int n = snapshot.size();
+        int[] columnOf = new int[n];
+        Arrays.fill(columnOf, -1);
+        int[] employeeOfColumn = new int[n];
+        int realColumns = 0;
+        int[][] feasible = new int[rows][];
+        double[][] feasibleScores = new double[rows][];
+        int[] sportIdxOf = new int[rows];
+        AvailabilityIndex.GameMask[] masks = new AvailabilityIndex.GameMask[rows];
+        float[][] hoursOf = new float[rows][];
+
+        for (int r = 0; r < rows; r++) {
+            Schedule.Shift shift = rowShifts.get(r);
+            Schedule.Game game = rowGames.get(r);
+            boolean supervisorOnly = shift.getPositionType() == Schedule.PositionType.SUPERVISOR;
+            AvailabilityIndex.GameMask mask = AvailabilityIndex.maskFor(game);
+            int sportIdx = snapshot.sportIndexOf(game.getSportId());
+            float[] hours = tentativeHours(HoursTracker.getWeekStartDate(game.getGameDate()),
+                                           snapshot, weeklyHoursByWeek, tentativeHours);
+            double gameHours = game.getDurationHours();
+            masks[r] = mask;
+            sportIdxOf[r] = sportIdx;
+            hoursOf[r] = hours;
+
+            int[] ids = new int[n];
+            double[] scores = new double[n];
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                if (supervisorOnly && !snapshot.isSupervisorEligible(i)) {
+                    continue;
+                }
+                AvailabilityIndex.EmployeeGrid grid = snapshot.gridAt(i);
+                List<Schedule.Game> booked = tentativeGames.get(i);
+                boolean passes = snapshot.isActive(i) &&
+                    grid.isAvailable(mask) &&
+                    !grid.hasPermanentConflict(mask) &&
+                    !grid.hasApprovedTimeOff(mask) &&
+                    (Float.isNaN(hours[i]) || hours[i] + gameHours <= snapshot.maxHoursAt(i)) &&
+                    !conflictChecker.isDoubleBooked(snapshot.employeeIdAt(i),
+                        booked != null ? booked : snapshot.existingGamesAt(i), game);
+                if (!passes) {
+                    continue;
+                }
+                if (columnOf[i] < 0) {
+                    columnOf[i] = realColumns;
+                    employeeOfColumn[realColumns++] = i;
+                }
+                ids[count] = i;
+                scores[count++] = staticScore(snapshot, i, sportIdx, mask) +
+                    hourBalanceScore(hours[i], snapshot.maxHoursAt(i)) * WEIGHT_HOUR_BALANCE;
+            }
+            feasible[r] = Arrays.copyOf(ids, count);
+            feasibleScores[r] = Arrays.copyOf(scores, count);
+        }
+
+        // One dummy column per row so shifts can stay unstaffed when the block is infeasible
+        double[][] cost = new double[rows][realColumns + rows];
+        for (int r = 0; r < rows; r++) {
+            Arrays.fill(cost[r], AssignmentSolver.FORBIDDEN);
+            for (int k = 0; k < feasible[r].length; k++) {
+                cost[r][columnOf[feasible[r][k]]] = MAX_SCORE - feasibleScores[r][k];
+            }
+            for (int d = realColumns; d < realColumns + rows; d++) {
+                cost[r][d] = UNSTAFFED_COST;
+            }
+        }
+
+        AssignmentSolver solver = new AssignmentSolver();
+        int[] assignment = solver.solve(cost);
+
+        // Describe the picks with the hours the block was scored against, then carry them forward
+        int[] optionAOf = new int[rows];
+        for (int r = 0; r < rows; r++) {
+            Schedule.Shift shift = rowShifts.get(r);
+            Schedule.Game game = rowGames.get(r);
+            int col = assignment[r];
+            optionAOf[r] = -1;
+
+            if (col >= realColumns || cost[r][col] == AssignmentSolver.FORBIDDEN) {
+                log.warn("No feasible assignment for shift " + shift.getShiftId() +
+                         " (" + shift.getPositionLabel() + ") on " + game.getGameDate());
+                allRecommendations.put(shift.getShiftId(), new ArrayList<>());
+                continue;
+            }
+
+            // Option B: cheapest deviation from the optimal solution for this shift
+            int optionA = employeeOfColumn[col];
+            int optionB = -1;
+            double optionBScore = 0;
+            double bestReduced = Double.POSITIVE_INFINITY;
+            for (int k = 0; k < feasible[r].length; k++) {
+                int other = feasible[r][k];
+                if (other == optionA) {
+                    continue;
+                }
+                double reduced = solver.reducedCost(cost, r, columnOf[other]);
+                if (reduced < bestReduced ||
+                    (reduced == bestReduced && feasibleScores[r][k] > optionBScore)) {
+                    bestReduced = reduced;
+                    optionB = other;
+                    optionBScore = feasibleScores[r][k];
+                }
+            }
+
+            List<SchedulingRecommendation> recs = new ArrayList<>();
+            recs.add(snapshotRecommendation(snapshot, optionA, sportIdxOf[r], masks[r], hoursOf[r][optionA]));
+            if (optionB >= 0) {
+                recs.add(snapshotRecommendation(snapshot, optionB, sportIdxOf[r], masks[r], hoursOf[r][optionB]));
+            }
+            allRecommendations.put(shift.getShiftId(), recs);
+
+            int optionAId = snapshot.employeeIdAt(optionA);
+            int optionBId = optionB >= 0 ? snapshot.employeeIdAt(optionB) : optionAId;
+            shift.setRecommendations(optionAId, optionBId);
+            optionAOf[r] = optionA;
+        }
+
+        // Carry Option A forward so later blocks respect it
+        for (int r = 0; r < rows; r++) {
+            int i = optionAOf[r];
+            if (i < 0) {
+                continue;
+            }
+            Schedule.Game game = rowGames.get(r);
+            List<Schedule.Game> booked = tentativeGames.get(i);
+            if (booked == null) {
+                booked = new ArrayList<>();
+                if (snapshot.existingGamesAt(i) != null) {
+                    booked.addAll(snapshot.existingGamesAt(i));
+                }
+                tentativeGames.set(i, booked);
+            }
+            booked.add(game);
+            float[] hours = hoursOf[r];
+            hours[i] = (Float.isNaN(hours[i]) ? 0f : hours[i]) + (float) game.getDurationHours();
+        }
+    }
+
+    /**
+     * Tentative weekly hours for every snapshot employee, seeded from that week's
+     * hours (NaN for employees without a weekly record, like the snapshot)
+     */
+    private float[] tentativeHours(
+            LocalDate weekStart,
+            ScoringSnapshot snapshot,
+            Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek,
+            Map<LocalDate, float[]> tentativeHours) {
+
+        return tentativeHours.computeIfAbsent(weekStart, week -> {
+            Map<Integer, Tracking.WeeklyHours> weekHours =
+                weeklyHoursByWeek.getOrDefault(week, Collections.emptyMap());
+            float[] hours = new float[snapshot.size()];
+            for (int i = 0; i < hours.length; i++) {
+                Tracking.WeeklyHours wh = weekHours.get(snapshot.employeeIdAt(i));
+                hours[i] = wh != null ? (float) wh.getTotalScheduledHours() : Float.NaN;
+            }
+            return hours;
+        });
+    }
+
+    /**
+     * Split games into blocks where every game overlaps every other game in the block,
+     * in chronological order. Games in different blocks are handled by the double-booking
+     * hard constraint instead.
+     */
+    static List<List<Schedule.Game>> partitionOverlappingGames(List<Schedule.Game> games) {
+        List<Schedule.Game> sorted = new ArrayList<>(games);
+        sorted.sort(Comparator.comparing(Schedule.Game::getStartDateTime)
+            .thenComparing(Schedule.Game::getEndDateTime));
+
+        List<List<Schedule.Game>> blocks = new ArrayList<>();
+        List<Schedule.Game> current = new ArrayList<>();
+        LocalDateTime currentMinEnd = null;
+
+        for (Schedule.Game game : sorted) {
+            // A new game joins the block only if it starts before every game in it ends
+            if (currentMinEnd != null && game.getStartDateTime().isBefore(currentMinEnd)) {
+                current.add(game);
+                if (game.getEndDateTime().isBefore(currentMinEnd)) {
+                    currentMinEnd = game.getEndDateTime();
+                }
+            } else {
+                if (!current.isEmpty()) {
+                    blocks.add(current);
+                }
+                current = new ArrayList<>();
+                current.add(game);
+                currentMinEnd = game.getEndDateTime();
+            }
+        }
+        if (!current.isEmpty()) {
+            blocks.add(current);
+        }
+
+        return blocks;
+    }
+
     /**
      * Get conflict checker instance
      */
     public ConflictChecker getConflictChecker() {
         return conflictChecker;
     }
+    
+    /**
+     * Number of ranked recommendations kept per shift
+     */
+    public void setRecommendationCount(int recommendationCount) {
+        if (recommendationCount < 1) {
+            throw new IllegalArgumentException(
+                "Recommendation count must be at least 1: " + recommendationCount);
+        }
+        this.recommendationCount = recommendationCount;
+    }
+    
+    public int getRecommendationCount() {
+        return recommendationCount;
+    }
 }
\ No newline at end of file
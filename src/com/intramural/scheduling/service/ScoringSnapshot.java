@@ -0,0 +1,201 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.model.Employee;
+import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.model.Sport;
+import com.intramural.scheduling.model.Tracking;
+import com.intramural.scheduling.util.IntIntMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only struct-of-arrays view of the employees for one scoring run.
+ *
+ * Employees get dense indices 0..n-1 and every field the scoring loop reads lives
+ * in a primitive array at that index, so scoring a candidate is a handful of
+ * array loads with no boxing, streams or per-candidate allocation.
+ *
+ * Expertise is stored sport-major (all employees for sport 0, then sport 1, ...)
+ * because a scoring pass walks every employee for one sport.
+ */
+public class ScoringSnapshot {
+
+    // Score per expertise code: 0 = none, then ExpertiseLevel.getValue()
+    private static final double[] EXPERTISE_SCORES = {0.0, 0.4, 0.7, 1.0};
+
+    private final int size;
+    private final int[] employeeIds;
+    private final Employee[] employees;
+    private final IntIntMap indexById;
+    private final double[] ratings;
+    private final double[] maxHours;
+    private final long[] activeBits;
+    private final long[] supervisorBits;
+    private final IntIntMap sportIndex;
+    private final byte[] expertise;
+    private final AvailabilityIndex.EmployeeGrid[] grids;
+    private final List<Schedule.Game>[] existingGames;
+    private final float[] weeklyHours;
+
+    private ScoringSnapshot(int size, int[] employeeIds, Employee[] employees,
+                            IntIntMap indexById, double[] ratings, double[] maxHours,
+                            long[] activeBits, long[] supervisorBits,
+                            IntIntMap sportIndex, byte[] expertise,
+                            AvailabilityIndex.EmployeeGrid[] grids,
+                            List<Schedule.Game>[] existingGames, float[] weeklyHours) {
+        this.size = size;
+        this.employeeIds = employeeIds;
+        this.employees = employees;
+        this.indexById = indexById;
+        this.ratings = ratings;
+        this.maxHours = maxHours;
+        this.activeBits = activeBits;
+        this.supervisorBits = supervisorBits;
+        this.sportIndex = sportIndex;
+        this.expertise = expertise;
+        this.grids = grids;
+        this.existingGames = existingGames;
+        this.weeklyHours = weeklyHours;
+    }
+
+    /**
+     * Build a snapshot of the given employees, in list order
+     *
+     * @param availabilityIndex grids for availability, conflicts and time-off
+     * @param existingGamesMap games already worked by each employee (may be empty)
+     * @param weeklyHoursMap current weekly hours; missing employees count as none
+     */
+    @SuppressWarnings("unchecked")
+    public static ScoringSnapshot build(List<Employee> employeeList,
+                                        Collection<Sport> sports,
+                                        AvailabilityIndex availabilityIndex,
+                                        Map<Integer, List<Schedule.Game>> existingGamesMap,
+                                        Map<Integer, Tracking.WeeklyHours> weeklyHoursMap) {
+        int n = employeeList.size();
+        int words = (n + 63) >>> 6;
+
+        IntIntMap sportIndex = new IntIntMap(sports.size());
+        for (Sport sport : sports) {
+            if (!sportIndex.containsKey(sport.getSportId())) {
+                sportIndex.put(sport.getSportId(), sportIndex.size());
+            }
+        }
+        int sportCount = sportIndex.size();
+
+        int[] employeeIds = new int[n];
+        Employee[] employees = new Employee[n];
+        IntIntMap indexById = new IntIntMap(n);
+        double[] ratings = new double[n];
+        double[] maxHours = new double[n];
+        long[] activeBits = new long[words];
+        long[] supervisorBits = new long[words];
+        byte[] expertise = new byte[sportCount * n];
+        AvailabilityIndex.EmployeeGrid[] grids = new AvailabilityIndex.EmployeeGrid[n];
+        List<Schedule.Game>[] existingGames = (List<Schedule.Game>[]) new List<?>[n];
+
+        for (int i = 0; i < n; i++) {
+            Employee employee = employeeList.get(i);
+            int id = employee.getEmployeeId();
+            employeeIds[i] = id;
+            employees[i] = employee;
+            indexById.put(id, i);
+            ratings[i] = employee.getPerformanceRating();
+            maxHours[i] = employee.getMaxHoursPerWeek();
+            if (employee.isActiveStatus()) {
+                activeBits[i >>> 6] |= 1L << i;
+            }
+            if (employee.isSupervisorEligible()) {
+                supervisorBits[i >>> 6] |= 1L << i;
+            }
+            for (Employee.SportExpertise exp : employee.getExpertiseList()) {
+                int s = sportIndex.get(exp.getSportId(), -1);
+                // First entry per sport wins, like Employee.getExpertiseLevel
+                if (s >= 0 && expertise[s * n + i] == 0) {
+                    expertise[s * n + i] = (byte) exp.getLevel().getValue();
+                }
+            }
+            grids[i] = availabilityIndex.getGrid(id);
+            List<Schedule.Game> games = existingGamesMap.get(id);
+            existingGames[i] = games != null && !games.isEmpty() ? games : null;
+        }
+
+        return new ScoringSnapshot(n, employeeIds, employees, indexById, ratings, maxHours,
+            activeBits, supervisorBits, sportIndex, expertise, grids, existingGames,
+            toHoursArray(employeeIds, weeklyHoursMap));
+    }
+
+    /**
+     * Same snapshot with weekly hours for another week; all other arrays are shared
+     */
+    public ScoringSnapshot withWeeklyHours(Map<Integer, Tracking.WeeklyHours> weeklyHoursMap) {
+        return new ScoringSnapshot(size, employeeIds, employees, indexById, ratings, maxHours,
+            activeBits, supervisorBits, sportIndex, expertise, grids, existingGames,
+            toHoursArray(employeeIds, weeklyHoursMap));
+    }
+
+    private static float[] toHoursArray(int[] employeeIds,
+                                        Map<Integer, Tracking.WeeklyHours> weeklyHoursMap) {
+        float[] hours = new float[employeeIds.length];
+        for (int i = 0; i < employeeIds.length; i++) {
+            Tracking.WeeklyHours wh = weeklyHoursMap.get(employeeIds[i]);
+            hours[i] = wh != null ? (float) wh.getTotalScheduledHours() : Float.NaN;
+        }
+        return hours;
+    }
+
+    public int size() { return size; }
+
+    /**
+     * Dense index of an employee, or -1 if not in the snapshot
+     */
+    public int indexOf(int employeeId) {
+        return indexById.get(employeeId, -1);
+    }
+
+    /**
+     * Dense index of a sport, or -1 if unknown (no expertise)
+     */
+    public int sportIndexOf(int sportId) {
+        return sportIndex.get(sportId, -1);
+    }
+
+    public int employeeIdAt(int i) { return employeeIds[i]; }
+    public Employee employeeAt(int i) { return employees[i]; }
+    public double ratingAt(int i) { return ratings[i]; }
+    public double maxHoursAt(int i) { return maxHours[i]; }
+    public AvailabilityIndex.EmployeeGrid gridAt(int i) { return grids[i]; }
+
+    public boolean isActive(int i) {
+        return (activeBits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public boolean isSupervisorEligible(int i) {
+        return (supervisorBits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Expertise score (0.0 - 1.0) for a dense sport index
+     */
+    public double expertiseScore(int i, int sportIdx) {
+        return sportIdx < 0 ? 0.0 : EXPERTISE_SCORES[expertise[sportIdx * size + i]];
+    }
+
+    /**
+     * Scheduled hours this week, or NaN if the employee has no weekly record
+     */
+    public float weeklyHoursAt(int i) {
+        return weeklyHours[i];
+    }
+
+    /**
+     * Games already worked, or null if none
+     */
+    public List<Schedule.Game> existingGamesAt(int i) {
+        return existingGames[i];
+    }
+
+    public int existingGameCount(int i) {
+        return existingGames[i] != null ? existingGames[i].size() : 0;
+    }
+}
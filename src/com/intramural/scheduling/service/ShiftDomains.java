@@ -0,0 +1,338 @@
+package com.intramural.scheduling.service;
+
+import com.intramural.scheduling.model.Schedule;
+import com.intramural.scheduling.model.Tracking;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Feasible employee domains for every shift of a cycle, with propagation.
+ *
+ * A domain is a BitSet over ScoringSnapshot indices. It starts with the static
+ * hard constraints (active, position eligibility, availability, permanent
+ * conflicts, approved time-off, enough weekly hours left for the shift).
+ * Tentatively assigning an employee removes them from every overlapping shift
+ * and from shifts in the same week that no longer fit their remaining hours.
+ *
+ * Every change goes on a trail, so mark()/undo() can roll back a tentative
+ * assignment and everything it pruned.
+ */
+public class ShiftDomains {
+
+    private static final double HOURS_EPSILON = 1e-9;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    // Shift states besides an assigned employee index
+    private static final int OPEN = -1;
+    private static final int SKIPPED = -2;
+
+    // Trail entry types
+    private static final byte REMOVE = 0;
+    private static final byte ASSIGN = 1;
+    private static final byte SKIP = 2;
+
+    private final int shiftCount;
+    private final int employeeCount;
+    private final int weekCount;
+    private final Schedule.Shift[] shifts;
+    private final Schedule.Game[] games;
+    private final int[] weekOf;
+    private final double[] hoursOf;
+    private final int[][] overlaps;
+    private final int[][] shiftsByWeek;
+    private final BitSet[] domains;
+    private final int[] domainSizes;
+    private final double[] remainingHours;
+    private final int[] state;
+    private final long initialCandidatePairs;
+
+    private byte[] trailType = new byte[64];
+    private int[] trailShift = new int[64];
+    private int[] trailEmployee = new int[64];
+    private int trailSize;
+
+    private ShiftDomains(List<Schedule.Game> gameList, ScoringSnapshot snapshot,
+                         Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek) {
+        List<Schedule.Shift> shiftList = new ArrayList<>();
+        List<Schedule.Game> shiftGames = new ArrayList<>();
+        Map<LocalDate, Integer> weekIndex = new LinkedHashMap<>();
+        for (Schedule.Game game : gameList) {
+            weekIndex.computeIfAbsent(HoursTracker.getWeekStartDate(game.getGameDate()),
+                k -> weekIndex.size());
+            for (Schedule.Shift shift : game.getShifts()) {
+                shiftList.add(shift);
+                shiftGames.add(game);
+            }
+        }
+
+        shiftCount = shiftList.size();
+        employeeCount = snapshot.size();
+        weekCount = Math.max(1, weekIndex.size());
+        shifts = shiftList.toArray(new Schedule.Shift[0]);
+        games = shiftGames.toArray(new Schedule.Game[0]);
+        weekOf = new int[shiftCount];
+        hoursOf = new double[shiftCount];
+        domains = new BitSet[shiftCount];
+        domainSizes = new int[shiftCount];
+        state = new int[shiftCount];
+        Arrays.fill(state, OPEN);
+
+        // Remaining weekly capacity per (employee, week)
+        remainingHours = new double[employeeCount * weekCount];
+        for (int i = 0; i < employeeCount; i++) {
+            Arrays.fill(remainingHours, i * weekCount, (i + 1) * weekCount, snapshot.maxHoursAt(i));
+        }
+        for (Map.Entry<LocalDate, Integer> week : weekIndex.entrySet()) {
+            Map<Integer, Tracking.WeeklyHours> hours =
+                weeklyHoursByWeek.getOrDefault(week.getKey(), Collections.emptyMap());
+            for (int i = 0; i < employeeCount; i++) {
+                Tracking.WeeklyHours wh = hours.get(snapshot.employeeIdAt(i));
+                if (wh != null) {
+                    remainingHours[i * weekCount + week.getValue()] -= wh.getTotalScheduledHours();
+                }
+            }
+        }
+
+        // Static domains
+        List<List<Integer>> byWeek = new ArrayList<>();
+        for (int w = 0; w < weekCount; w++) {
+            byWeek.add(new ArrayList<>());
+        }
+        long pairs = 0;
+        for (int s = 0; s < shiftCount; s++) {
+            Schedule.Game game = games[s];
+            weekOf[s] = weekIndex.get(HoursTracker.getWeekStartDate(game.getGameDate()));
+            hoursOf[s] = game.getDurationHours();
+            byWeek.get(weekOf[s]).add(s);
+
+            AvailabilityIndex.GameMask mask = AvailabilityIndex.maskFor(game);
+            boolean supervisorOnly = shifts[s].getPositionType() == Schedule.PositionType.SUPERVISOR;
+            BitSet domain = new BitSet(employeeCount);
+            for (int i = 0; i < employeeCount; i++) {
+                AvailabilityIndex.EmployeeGrid grid = snapshot.gridAt(i);
+                if (snapshot.isActive(i) &&
+                    (!supervisorOnly || snapshot.isSupervisorEligible(i)) &&
+                    grid.isAvailable(mask) &&
+                    !grid.hasPermanentConflict(mask) &&
+                    !grid.hasApprovedTimeOff(mask) &&
+                    fits(i, weekOf[s], hoursOf[s])) {
+                    domain.set(i);
+                }
+            }
+            domains[s] = domain;
+            domainSizes[s] = domain.cardinality();
+            pairs += domainSizes[s];
+        }
+        initialCandidatePairs = pairs;
+
+        shiftsByWeek = new int[weekCount][];
+        for (int w = 0; w < weekCount; w++) {
+            shiftsByWeek[w] = byWeek.get(w).stream().mapToInt(Integer::intValue).toArray();
+        }
+        overlaps = buildOverlaps();
+    }
+
+    /**
+     * Compute domains for every shift of the given games
+     *
+     * @param weeklyHoursByWeek hours already on the books per week start and employee ID
+     */
+    public static ShiftDomains build(List<Schedule.Game> games,
+                                     ScoringSnapshot snapshot,
+                                     Map<LocalDate, Map<Integer, Tracking.WeeklyHours>> weeklyHoursByWeek) {
+        return new ShiftDomains(games, snapshot, weeklyHoursByWeek);
+    }
+
+    /**
+     * Shift pairs that overlap in time (including shifts of the same game),
+     * found with a sort-and-sweep over start times
+     */
+    private int[][] buildOverlaps() {
+        long[] starts = new long[shiftCount];
+        long[] ends = new long[shiftCount];
+        Integer[] order = new Integer[shiftCount];
+        for (int s = 0; s < shiftCount; s++) {
+            Schedule.Game game = games[s];
+            long day = game.getGameDate().toEpochDay() * MINUTES_PER_DAY;
+            starts[s] = day + game.getStartTime().toSecondOfDay() / 60;
+            ends[s] = day + game.getEndTime().toSecondOfDay() / 60;
+            order[s] = s;
+        }
+        Arrays.sort(order, Comparator.comparingLong(s -> starts[s]));
+
+        List<List<Integer>> adjacency = new ArrayList<>(shiftCount);
+        for (int s = 0; s < shiftCount; s++) {
+            adjacency.add(new ArrayList<>());
+        }
+        for (int a = 0; a < shiftCount; a++) {
+            int s = order[a];
+            for (int b = a + 1; b < shiftCount && starts[order[b]] < ends[s]; b++) {
+                int t = order[b];
+                adjacency.get(s).add(t);
+                adjacency.get(t).add(s);
+            }
+        }
+
+        int[][] result = new int[shiftCount][];
+        for (int s = 0; s < shiftCount; s++) {
+            result[s] = adjacency.get(s).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return result;
+    }
+
+    /**
+     * Tentatively assign employee e (snapshot index) to shift s and propagate.
+     * @return false if some other open shift was left with an empty domain;
+     *         the assignment is kept either way, use mark()/undo() to roll back
+     */
+    public boolean assign(int s, int e) {
+        if (state[s] != OPEN) {
+            throw new IllegalStateException("Shift " + shifts[s].getShiftId() + " is already decided");
+        }
+        if (!domains[s].get(e)) {
+            throw new IllegalArgumentException("Employee index " + e + " is not in the domain of shift " +
+                shifts[s].getShiftId());
+        }
+
+        push(ASSIGN, s, e);
+        state[s] = e;
+        int key = e * weekCount + weekOf[s];
+        remainingHours[key] -= hoursOf[s];
+
+        // Shift s keeps only e
+        for (int other = domains[s].nextSetBit(0); other >= 0; other = domains[s].nextSetBit(other + 1)) {
+            if (other != e) {
+                remove(s, other);
+            }
+        }
+
+        boolean consistent = true;
+        for (int t : overlaps[s]) {
+            if (state[t] == OPEN && domains[t].get(e)) {
+                remove(t, e);
+                consistent &= domainSizes[t] > 0;
+            }
+        }
+        for (int t : shiftsByWeek[weekOf[s]]) {
+            if (state[t] == OPEN && domains[t].get(e) && !fits(e, weekOf[t], hoursOf[t])) {
+                remove(t, e);
+                consistent &= domainSizes[t] > 0;
+            }
+        }
+        return consistent;
+    }
+
+    /**
+     * Leave shift s unassigned and stop considering it
+     */
+    public void skip(int s) {
+        if (state[s] != OPEN) {
+            throw new IllegalStateException("Shift " + shifts[s].getShiftId() + " is already decided");
+        }
+        push(SKIP, s, 0);
+        state[s] = SKIPPED;
+    }
+
+    /**
+     * Trail position to pass to undo()
+     */
+    public int mark() {
+        return trailSize;
+    }
+
+    /**
+     * Roll back every assign/skip/removal made since the mark
+     */
+    public void undo(int mark) {
+        while (trailSize > mark) {
+            trailSize--;
+            int s = trailShift[trailSize];
+            int e = trailEmployee[trailSize];
+            switch (trailType[trailSize]) {
+                case REMOVE:
+                    domains[s].set(e);
+                    domainSizes[s]++;
+                    break;
+                case ASSIGN:
+                    state[s] = OPEN;
+                    remainingHours[e * weekCount + weekOf[s]] += hoursOf[s];
+                    break;
+                default:
+                    state[s] = OPEN;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Open shift with the smallest domain (ties in cycle order), or -1 if none remain.
+     * Shifts with an empty domain come first so callers can report them early.
+     */
+    public int nextShift() {
+        int best = -1;
+        for (int s = 0; s < shiftCount; s++) {
+            if (state[s] == OPEN && (best < 0 || domainSizes[s] < domainSizes[best])) {
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Undecided or skipped shifts that currently have no feasible employee at all
+     */
+    public List<Schedule.Shift> getInfeasibleShifts() {
+        List<Schedule.Shift> infeasible = new ArrayList<>();
+        for (int s = 0; s < shiftCount; s++) {
+            if (state[s] < 0 && domainSizes[s] == 0) {
+                infeasible.add(shifts[s]);
+            }
+        }
+        return infeasible;
+    }
+
+    /**
+     * Live domain of shift s; callers must not modify it
+     */
+    public BitSet domain(int s) { return domains[s]; }
+    public int domainSize(int s) { return domainSizes[s]; }
+    public int shiftCount() { return shiftCount; }
+    public Schedule.Shift shiftAt(int s) { return shifts[s]; }
+    public Schedule.Game gameAt(int s) { return games[s]; }
+
+    /**
+     * Assigned snapshot index for shift s, or -1 if open or skipped
+     */
+    public int assignedTo(int s) {
+        return state[s] >= 0 ? state[s] : -1;
+    }
+
+    /**
+     * (shift, employee) pairs left after static pruning, out of shifts x employees
+     */
+    public long getInitialCandidatePairs() { return initialCandidatePairs; }
+    public long getTotalPairs() { return (long) shiftCount * employeeCount; }
+
+    private boolean fits(int e, int w, double hours) {
+        return hours <= remainingHours[e * weekCount + w] + HOURS_EPSILON;
+    }
+
+    private void remove(int s, int e) {
+        domains[s].clear(e);
+        domainSizes[s]--;
+        push(REMOVE, s, e);
+    }
+
+    private void push(byte type, int s, int e) {
+        if (trailSize == trailType.length) {
+            int capacity = trailSize * 2;
+            trailType = Arrays.copyOf(trailType, capacity);
+            trailShift = Arrays.copyOf(trailShift, capacity);
+            trailEmployee = Arrays.copyOf(trailEmployee, capacity);
+        }
+        trailType[trailSize] = type;
+        trailShift[trailSize] = s;
+        trailEmployee[trailSize] = e;
+        trailSize++;
+    }
+}
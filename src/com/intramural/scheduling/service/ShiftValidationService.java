@@ -5,23 +5,84 @@ import com.intramural.scheduling.model.*;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 /**
  * Service for validating shift assignments
  * Addresses BUG-F012 (conflict detection), BUG-F013 (availability check), BUG-F015 (expertise validation)
  */
 public class ShiftValidationService {
-    private ShiftDAO shiftDAO;
-    private GameScheduleDAO gameScheduleDAO;
-    private AvailabilityDAO availabilityDAO;
-    private EmployeeExpertiseDAO expertiseDAO;
+    private static final String GAME_NOT_FOUND = "Game schedule not found";
+    private static final String NO_EXPERTISE = "Employee does not have expertise in this sport";
+    
+    /**
+     * One (employee, game) pair of a proposed schedule.
+     * Compared by identity, so the same pair may appear twice in a batch.
+     */
+    public static class ProposedAssignment {
+        private final int employeeId;
+        private final int gameScheduleId;
+        
+        public ProposedAssignment(int employeeId, int gameScheduleId) {
+            this.employeeId = employeeId;
+            this.gameScheduleId = gameScheduleId;
+        }
+        
+        public int getEmployeeId() { return employeeId; }
+        public int getGameScheduleId() { return gameScheduleId; }
+        
+        @Override
+        public String toString() {
+            return "employee " + employeeId + " -> game " + gameScheduleId;
+        }
+    }
+    
+    public enum ViolationType {
+        GAME_NOT_FOUND, EMPLOYEE_NOT_FOUND, CONFLICT, DOUBLE_BOOKED,
+        UNAVAILABLE, NO_EXPERTISE, WEEKLY_HOURS_EXCEEDED
+    }
+    
+    /**
+     * Why a proposed assignment can't be made
+     */
+    public static class Violation {
+        private final ViolationType type;
+        private final String message;
+        private final ProposedAssignment conflictsWith;
+        
+        public Violation(ViolationType type, String message, ProposedAssignment conflictsWith) {
+            this.type = type;
+            this.message = message;
+            this.conflictsWith = conflictsWith;
+        }
+        
+        public ViolationType getType() { return type; }
+        public String getMessage() { return message; }
+        
+        /** The other proposal involved in a DOUBLE_BOOKED violation, otherwise null */
+        public ProposedAssignment getConflictsWith() { return conflictsWith; }
+        
+        @Override
+        public String toString() {
+            return type + ": " + message;
+        }
+    }
+    
+    private AssignmentCheckDAO assignmentCheckDAO;
+    private AvailabilityIndex availabilityIndex;
     
     public ShiftValidationService() {
-        this.shiftDAO = new ShiftDAO();
-        this.gameScheduleDAO = new GameScheduleDAO();
-        this.availabilityDAO = new AvailabilityDAO();
-        this.expertiseDAO = new EmployeeExpertiseDAO();
+        this.assignmentCheckDAO = new AssignmentCheckDAO();
     }
     
     /**
@@ -31,53 +92,192 @@ public class ShiftValidationService {
      * @return Error message if conflict exists, null if no conflict
      */
     public String checkForConflicts(int employeeId, int gameScheduleId) throws SQLException {
-        Schedule.Game targetGame = gameScheduleDAO.getById(gameScheduleId);
-        if (targetGame == null) {
-            return "Game schedule not found";
+        AssignmentCheckDAO.Facts facts = assignmentCheckDAO.load(employeeId, gameScheduleId, false);
+        if (facts.getGame() == null) {
+            return GAME_NOT_FOUND;
+        }
+        return conflictError(facts);
+    }
+    
+    /**
+     * BUG-F013: Check if employee is available at the shift time
+     * @param employeeId Employee to check
+     * @param gameScheduleId Game schedule being assigned
+     * @return Error message if not available, null if available
+     */
+    public String checkAvailability(int employeeId, int gameScheduleId) throws SQLException {
+        AssignmentCheckDAO.Facts facts =
+            assignmentCheckDAO.load(employeeId, gameScheduleId, availabilityIndex == null);
+        if (facts.getGame() == null) {
+            return GAME_NOT_FOUND;
+        }
+        return availabilityError(facts);
+    }
+    
+    /**
+     * BUG-F015: Check if employee has expertise in the game's sport
+     * @param employeeId Employee to check
+     * @param gameScheduleId Game schedule being assigned
+     * @return Error message if no expertise, null if qualified
+     */
+    public String checkSportExpertise(int employeeId, int gameScheduleId) throws SQLException {
+        AssignmentCheckDAO.Facts facts = assignmentCheckDAO.load(employeeId, gameScheduleId, false);
+        if (facts.getGame() == null) {
+            return GAME_NOT_FOUND;
+        }
+        return expertiseError(facts);
+    }
+    
+    /**
+     * Validate all assignment criteria.
+     * Loads the game, overlapping assignments, expertise and availability in one
+     * round trip (see AssignmentCheckDAO) and runs the checks in memory.
+     * @param employeeId Employee to assign
+     * @param gameScheduleId Game schedule to assign to
+     * @return Error message if any validation fails, null if all pass
+     */
+    public String validateAssignment(int employeeId, int gameScheduleId) throws SQLException {
+        AssignmentCheckDAO.Facts facts =
+            assignmentCheckDAO.load(employeeId, gameScheduleId, availabilityIndex == null);
+        if (facts.getGame() == null) {
+            return GAME_NOT_FOUND;
         }
         
-        LocalDate gameDate = targetGame.getGameDate();
-        LocalTime gameStart = targetGame.getStartTime();
-        LocalTime gameEnd = targetGame.getEndTime();
+        // Check for scheduling conflicts
+        String conflictError = conflictError(facts);
+        if (conflictError != null) {
+            return conflictError;
+        }
         
-        // Get all games on the same date
-        List<Schedule.Game> gamesOnDate = gameScheduleDAO.getByDateRange(gameDate, gameDate);
+        // Check availability
+        String availabilityError = availabilityError(facts);
+        if (availabilityError != null) {
+            return availabilityError;
+        }
         
-        for (Schedule.Game game : gamesOnDate) {
-            if (game.getScheduleId() == gameScheduleId) {
-                continue; // Skip the target game itself
+        // Check sport expertise
+        return expertiseError(facts);
+    }
+    
+    /**
+     * Validate a whole proposed schedule at once: each assignment against the
+     * database (conflicts, availability, expertise) and against the rest of the
+     * batch (overlapping games for the same employee, weekly hours adding up
+     * past the employee's maximum). Data is loaded once with
+     * AssignmentCheckDAO.loadBatch; the checks themselves run in memory.
+     * @return violations per failing assignment, in input order; empty if all pass
+     */
+    public Map<ProposedAssignment, List<Violation>> validateAll(
+            Collection<ProposedAssignment> proposals) throws SQLException {
+        List<ProposedAssignment> batch = new ArrayList<>(proposals);
+        List<List<Violation>> violations = new ArrayList<>(batch.size());
+        if (batch.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        
+        Set<Integer> employeeIds = new HashSet<>();
+        Set<Integer> gameIds = new HashSet<>();
+        for (ProposedAssignment proposal : batch) {
+            employeeIds.add(proposal.getEmployeeId());
+            gameIds.add(proposal.getGameScheduleId());
+        }
+        AssignmentCheckDAO.BatchFacts facts =
+            assignmentCheckDAO.loadBatch(employeeIds, gameIds, availabilityIndex == null);
+        
+        // Checks against the database; resolvable proposals go on to the batch checks
+        List<Integer> resolved = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            ProposedAssignment proposal = batch.get(i);
+            List<Violation> found = new ArrayList<>(0);
+            violations.add(found);
+            
+            Schedule.Game game = facts.getGame(proposal.getGameScheduleId());
+            if (game == null) {
+                found.add(new Violation(ViolationType.GAME_NOT_FOUND, GAME_NOT_FOUND, null));
+                continue;
             }
+            if (facts.getEmployee(proposal.getEmployeeId()) == null) {
+                found.add(new Violation(ViolationType.EMPLOYEE_NOT_FOUND, "Employee not found", null));
+                continue;
+            }
+            resolved.add(i);
             
-            // Check if times overlap
-            if (timesOverlap(gameStart, gameEnd, game.getStartTime(), game.getEndTime())) {
-                // Check if employee is assigned to any shift in this game
-                List<Schedule.Shift> shifts = shiftDAO.getByGameSchedule(game.getScheduleId());
-                for (Schedule.Shift shift : shifts) {
-                    if (shift.getAssignedEmployeeId() != null && 
-                        shift.getAssignedEmployeeId() == employeeId) {
-                        return "Employee is already assigned to another shift at " + 
-                               game.getStartTime() + " - " + game.getEndTime() + 
-                               " on " + game.getGameDate();
-                    }
-                }
+            Schedule.Game existing = findExistingConflict(facts, proposal.getEmployeeId(), game);
+            if (existing != null) {
+                found.add(new Violation(ViolationType.CONFLICT, conflictMessage(existing), null));
+            }
+            String availabilityError = availabilityError(proposal.getEmployeeId(), game,
+                seasonalAvailability(facts.getAvailability(proposal.getEmployeeId()), game));
+            if (availabilityError != null) {
+                found.add(new Violation(ViolationType.UNAVAILABLE, availabilityError, null));
+            }
+            if (!facts.hasExpertise(proposal.getEmployeeId(), game.getSportId())) {
+                found.add(new Violation(ViolationType.NO_EXPERTISE, NO_EXPERTISE, null));
             }
         }
         
-        return null; // No conflict
+        // Batch checks: per employee in chronological order
+        resolved.sort((a, b) -> {
+            int cmp = Integer.compare(batch.get(a).getEmployeeId(), batch.get(b).getEmployeeId());
+            if (cmp != 0) {
+                return cmp;
+            }
+            Schedule.Game ga = facts.getGame(batch.get(a).getGameScheduleId());
+            Schedule.Game gb = facts.getGame(batch.get(b).getGameScheduleId());
+            return ga.getStartDateTime().compareTo(gb.getStartDateTime());
+        });
+        
+        int start = 0;
+        while (start < resolved.size()) {
+            int employeeId = batch.get(resolved.get(start)).getEmployeeId();
+            int end = start;
+            while (end < resolved.size() && batch.get(resolved.get(end)).getEmployeeId() == employeeId) {
+                end++;
+            }
+            List<Integer> run = resolved.subList(start, end);
+            checkDoubleBooking(batch, facts, run, violations);
+            checkWeeklyHours(batch, facts, facts.getEmployee(employeeId), run, violations);
+            start = end;
+        }
+        
+        Map<ProposedAssignment, List<Violation>> result = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (!violations.get(i).isEmpty()) {
+                result.put(batch.get(i), Collections.unmodifiableList(violations.get(i)));
+            }
+        }
+        return result;
     }
     
     /**
-     * BUG-F013: Check if employee is available at the shift time
-     * @param employeeId Employee to check
-     * @param gameScheduleId Game schedule being assigned
-     * @return Error message if not available, null if available
+     * Use a precomputed availability index (built for the season of the games
+     * being validated) for availability checks instead of loading availability
+     * with every check; null to disable
      */
-    public String checkAvailability(int employeeId, int gameScheduleId) throws SQLException {
-        Schedule.Game game = gameScheduleDAO.getById(gameScheduleId);
-        if (game == null) {
-            return "Game schedule not found";
-        }
-        
+    public void setAvailabilityIndex(AvailabilityIndex availabilityIndex) {
+        this.availabilityIndex = availabilityIndex;
+    }
+    
+    private String conflictError(AssignmentCheckDAO.Facts facts) {
+        List<Schedule.Game> conflicts = facts.getConflictingGames();
+        return conflicts.isEmpty() ? null : conflictMessage(conflicts.get(0));
+    }
+    
+    private String conflictMessage(Schedule.Game game) {
+        return "Employee is already assigned to another shift at " + 
+               game.getStartTime() + " - " + game.getEndTime() + 
+               " on " + game.getGameDate();
+    }
+    
+    private String availabilityError(AssignmentCheckDAO.Facts facts) {
+        return availabilityError(facts.getEmployeeId(), facts.getGame(), facts.getAvailability());
+    }
+    
+    /**
+     * @param availabilities the employee's availability for the game's season and year
+     */
+    private String availabilityError(int employeeId, Schedule.Game game,
+                                     List<Availability.Seasonal> availabilities) {
         LocalDate gameDate = game.getGameDate();
         LocalTime gameStart = game.getStartTime();
         LocalTime gameEnd = game.getEndTime();
@@ -86,86 +286,133 @@ public class ShiftValidationService {
         Availability.Season season = getSeason(gameDate);
         int year = gameDate.getYear();
         
-        // Get employee's availability for this season
-        List<Availability.Seasonal> availabilities = 
-            availabilityDAO.getByEmployee(employeeId, season, year);
+        // Fast path: precomputed grid for this season, same rules as the list below
+        if (availabilityIndex != null) {
+            AvailabilityIndex.EmployeeGrid grid = availabilityIndex.getGrid(employeeId);
+            if (!grid.hasAvailabilityData()) {
+                return "Employee has not submitted availability for " + season + " " + year;
+            }
+            if (!grid.coversGame(AvailabilityIndex.maskFor(game))) {
+                return "Employee is not available on " + gameDate.getDayOfWeek() + " from " + 
+                       gameStart + " to " + gameEnd;
+            }
+            return null;
+        }
         
-        if (availabilities.isEmpty()) {
+        if (availabilities == null || availabilities.isEmpty()) {
             return "Employee has not submitted availability for " + season + " " + year;
         }
         
         // Check if employee is available on this day of week and time
         java.time.DayOfWeek dayOfWeek = gameDate.getDayOfWeek();
-        boolean isAvailable = false;
-        
         for (Availability.Seasonal avail : availabilities) {
-            if (avail.getDayOfWeek() == dayOfWeek) {
-                // Check if game time falls within available time
-                if (timeWithinRange(gameStart, gameEnd, avail.getStartTime(), avail.getEndTime())) {
-                    isAvailable = true;
-                    break;
-                }
+            if (avail.getDayOfWeek() == dayOfWeek &&
+                timeWithinRange(gameStart, gameEnd, avail.getStartTime(), avail.getEndTime())) {
+                return null; // Employee is available
             }
         }
         
-        if (!isAvailable) {
-            return "Employee is not available on " + dayOfWeek + " from " + 
-                   gameStart + " to " + gameEnd;
-        }
-        
-        return null; // Employee is available
+        return "Employee is not available on " + dayOfWeek + " from " + 
+               gameStart + " to " + gameEnd;
+    }
+    
+    private String expertiseError(AssignmentCheckDAO.Facts facts) {
+        return facts.hasExpertise() ? null : NO_EXPERTISE;
     }
     
     /**
-     * BUG-F015: Check if employee has expertise in the game's sport
-     * @param employeeId Employee to check
-     * @param gameScheduleId Game schedule being assigned
-     * @return Error message if no expertise, null if qualified
+     * An existing assignment of the employee overlapping the game (other than the game itself)
      */
-    public String checkSportExpertise(int employeeId, int gameScheduleId) throws SQLException {
-        Schedule.Game game = gameScheduleDAO.getById(gameScheduleId);
-        if (game == null) {
-            return "Game schedule not found";
+    private Schedule.Game findExistingConflict(AssignmentCheckDAO.BatchFacts facts,
+                                               int employeeId, Schedule.Game game) {
+        for (Schedule.Game assigned : facts.getAssignedGames(employeeId)) {
+            if (assigned.getScheduleId() != game.getScheduleId() &&
+                assigned.getGameDate().equals(game.getGameDate()) &&
+                timesOverlap(game.getStartTime(), game.getEndTime(),
+                             assigned.getStartTime(), assigned.getEndTime())) {
+                return assigned;
+            }
         }
-        
-        int sportId = game.getSportId();
-        
-        // Check if employee has expertise in this sport
-        List<Integer> employeeSports = expertiseDAO.getSportIdsByEmployee(employeeId);
-        
-        if (!employeeSports.contains(sportId)) {
-            return "Employee does not have expertise in this sport";
+        return null;
+    }
+    
+    /**
+     * Sweep one employee's proposals (sorted by start) for overlaps with each other.
+     * Proposals still running are kept ordered by end time; each new proposal drops
+     * the ones that ended by its start and is reported against all the rest, so
+     * every overlapping pair is found.
+     */
+    private void checkDoubleBooking(List<ProposedAssignment> batch, AssignmentCheckDAO.BatchFacts facts,
+                                    List<Integer> run, List<List<Violation>> violations) {
+        PriorityQueue<Integer> running = new PriorityQueue<>(Comparator.comparing(
+            (Integer index) -> facts.getGame(batch.get(index).getGameScheduleId()).getEndDateTime()));
+        for (int index : run) {
+            Schedule.Game game = facts.getGame(batch.get(index).getGameScheduleId());
+            while (!running.isEmpty() && !facts.getGame(batch.get(running.peek()).getGameScheduleId())
+                    .getEndDateTime().isAfter(game.getStartDateTime())) {
+                running.poll();
+            }
+            for (int other : running) {
+                Schedule.Game otherGame = facts.getGame(batch.get(other).getGameScheduleId());
+                violations.get(index).add(new Violation(ViolationType.DOUBLE_BOOKED,
+                    "Also proposed for an overlapping shift at " + otherGame.getStartTime() +
+                    " - " + otherGame.getEndTime() + " on " + otherGame.getGameDate(), batch.get(other)));
+                violations.get(other).add(new Violation(ViolationType.DOUBLE_BOOKED,
+                    "Also proposed for an overlapping shift at " + game.getStartTime() +
+                    " - " + game.getEndTime() + " on " + game.getGameDate(), batch.get(index)));
+            }
+            running.add(index);
         }
-        
-        return null; // Employee is qualified
     }
     
     /**
-     * Validate all assignment criteria
-     * @param employeeId Employee to assign
-     * @param gameScheduleId Game schedule to assign to
-     * @return Error message if any validation fails, null if all pass
+     * Add one employee's proposals (sorted by start) to their scheduled weekly hours
+     * and flag each one that takes a week past the maximum. Games the employee is
+     * already assigned to are counted in the scheduled hours, so they add nothing.
      */
-    public String validateAssignment(int employeeId, int gameScheduleId) throws SQLException {
-        // Check for scheduling conflicts
-        String conflictError = checkForConflicts(employeeId, gameScheduleId);
-        if (conflictError != null) {
-            return conflictError;
+    private void checkWeeklyHours(List<ProposedAssignment> batch, AssignmentCheckDAO.BatchFacts facts,
+                                  Employee employee, List<Integer> run, List<List<Violation>> violations) {
+        Set<Integer> alreadyAssigned = new HashSet<>();
+        for (Schedule.Game assigned : facts.getAssignedGames(employee.getEmployeeId())) {
+            alreadyAssigned.add(assigned.getScheduleId());
         }
         
-        // Check availability
-        String availabilityError = checkAvailability(employeeId, gameScheduleId);
-        if (availabilityError != null) {
-            return availabilityError;
+        Map<LocalDate, Double> weekTotals = new HashMap<>();
+        for (int index : run) {
+            Schedule.Game game = facts.getGame(batch.get(index).getGameScheduleId());
+            if (alreadyAssigned.contains(game.getScheduleId())) {
+                continue;
+            }
+            LocalDate week = HoursTracker.getWeekStartDate(game.getGameDate());
+            double total = weekTotals.getOrDefault(week,
+                facts.getScheduledHours(employee.getEmployeeId(), week)) + game.getDurationHours();
+            weekTotals.put(week, total);
+            
+            if (total > employee.getMaxHoursPerWeek()) {
+                violations.get(index).add(new Violation(ViolationType.WEEKLY_HOURS_EXCEEDED,
+                    String.format("Would bring the week of %s to %.1f hours (max %d)",
+                        week, total, employee.getMaxHoursPerWeek()), null));
+            }
         }
-        
-        // Check sport expertise
-        String expertiseError = checkSportExpertise(employeeId, gameScheduleId);
-        if (expertiseError != null) {
-            return expertiseError;
+    }
+    
+    /**
+     * The rows of an employee's availability for the game's season and year
+     */
+    private List<Availability.Seasonal> seasonalAvailability(List<Availability.Seasonal> all,
+                                                             Schedule.Game game) {
+        if (all == null) {
+            return null;
         }
-        
-        return null; // All validations passed
+        Availability.Season season = getSeason(game.getGameDate());
+        int year = game.getGameDate().getYear();
+        List<Availability.Seasonal> matching = new ArrayList<>();
+        for (Availability.Seasonal avail : all) {
+            if (avail.getSeason() == season && avail.getYear() == year) {
+                matching.add(avail);
+            }
+        }
+        return matching;
     }
     
     /**
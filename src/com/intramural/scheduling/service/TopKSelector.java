@@ -0,0 +1,138 @@
+package com.intramural.scheduling.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming top-K selection backed by a fixed-size min-heap.
+ *
+ * Offers are kept only while they rank among the best K seen so far. Ties go to
+ * the earlier offer, so the result matches a stable descending sort of all offers
+ * truncated to K.
+ */
+public class TopKSelector<T> {
+
+    private final int capacity;
+    private final double[] scores;
+    private final long[] order;
+    private final Object[] items;
+    private int size;
+    private long offered;
+
+    public TopKSelector(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+        this.scores = new double[capacity];
+        this.order = new long[capacity];
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * True if an offer with this score would currently make the top K.
+     * Use with an upper bound to skip work for candidates that cannot win.
+     */
+    public boolean canAccept(double score) {
+        return size < capacity || (capacity > 0 && score > scores[0]);
+    }
+
+    /**
+     * Offer a scored item
+     * @return true if the item is kept (for now)
+     */
+    public boolean offer(double score, T item) {
+        long seq = offered++;
+        if (size < capacity) {
+            int i = size++;
+            scores[i] = score;
+            order[i] = seq;
+            items[i] = item;
+            siftUp(i);
+            return true;
+        }
+        if (!canAccept(score)) {
+            return false;
+        }
+        scores[0] = score;
+        order[0] = seq;
+        items[0] = item;
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * Lowest score currently kept, or negative infinity while fewer than K are kept
+     */
+    public double threshold() {
+        return size < capacity || capacity == 0 ? Double.NEGATIVE_INFINITY : scores[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Kept items, best first
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toSortedList() {
+        Integer[] idx = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            idx[i] = i;
+        }
+        Arrays.sort(idx, (a, b) -> worse(a, b) ? 1 : worse(b, a) ? -1 : 0);
+
+        List<T> result = new ArrayList<>(size);
+        for (Integer i : idx) {
+            result.add((T) items[i]);
+        }
+        return result;
+    }
+
+    // Lower score ranks worse; on equal scores the later offer ranks worse
+    private boolean worse(int a, int b) {
+        int cmp = Double.compare(scores[a], scores[b]);
+        return cmp < 0 || (cmp == 0 && order[a] > order[b]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(i, parent)) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int child = right < size && worse(right, left) ? right : left;
+            if (!worse(child, i)) {
+                break;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double s = scores[a];
+        scores[a] = scores[b];
+        scores[b] = s;
+        long o = order[a];
+        order[a] = order[b];
+        order[b] = o;
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+    }
+}
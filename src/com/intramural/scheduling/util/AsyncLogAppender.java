@@ -0,0 +1,209 @@
+package com.intramural.scheduling.util;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes log records to the console from a background thread.
+ *
+ * Callers only copy the record into a bounded ring buffer; formatting and the
+ * actual console write happen on a daemon thread, so a burst of logging never
+ * stalls the scheduling loops on System.out. When the buffer is full, TRACE,
+ * DEBUG and INFO records are dropped and counted (or the caller waits, if
+ * log.overflow=BLOCK), and the drop count is reported with the next record
+ * written. WARN and ERROR records are never dropped: their callers wait for room.
+ *
+ * Buffer size and overflow policy come from the log.buffer.size and
+ * log.overflow system properties. Pending records are flushed at JVM exit.
+ */
+public final class AsyncLogAppender {
+
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final long FLUSH_TIMEOUT_MS = 2000;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final AsyncLogAppender INSTANCE = new AsyncLogAppender(
+        Integer.getInteger("log.buffer.size", DEFAULT_CAPACITY),
+        "BLOCK".equalsIgnoreCase(System.getProperty("log.overflow")) ?
+            OverflowPolicy.BLOCK : OverflowPolicy.DROP);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final OverflowPolicy policy;
+    private final int mask;
+
+    // Ring buffer slots; head is the next slot to read, size the number pending
+    private final LogLevel[] levels;
+    private final String[] loggers;
+    private final String[] threads;
+    private final String[] messages;
+    private final Throwable[] errors;
+    private final long[] times;
+    private int head;
+    private int size;
+    private boolean writing;
+    private long dropped;
+
+    private AsyncLogAppender(int requestedCapacity, OverflowPolicy policy) {
+        int capacity = 16;
+        while (capacity < requestedCapacity) {
+            capacity <<= 1;
+        }
+        this.policy = policy;
+        this.mask = capacity - 1;
+        levels = new LogLevel[capacity];
+        loggers = new String[capacity];
+        threads = new String[capacity];
+        messages = new String[capacity];
+        errors = new Throwable[capacity];
+        times = new long[capacity];
+
+        Thread writer = new Thread(this::drainLoop, "async-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "async-log-flush"));
+    }
+
+    public static AsyncLogAppender getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a record. Under the DROP policy only WARN and ERROR records wait for
+     * room in a full buffer; lower levels are dropped.
+     */
+    public void append(LogLevel level, String logger, String message, Throwable error) {
+        long now = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+        lock.lock();
+        try {
+            while (size == levels.length) {
+                if (policy == OverflowPolicy.DROP && level.compareTo(LogLevel.WARN) < 0) {
+                    dropped++;
+                    return;
+                }
+                notFull.awaitUninterruptibly();
+            }
+            int slot = (head + size) & mask;
+            levels[slot] = level;
+            loggers[slot] = logger;
+            threads[slot] = thread;
+            messages[slot] = message;
+            errors[slot] = error;
+            times[slot] = now;
+            if (size++ == 0) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait (up to a couple of seconds) until every queued record is written
+     */
+    public void flush() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT_MS);
+        lock.lock();
+        try {
+            while (size > 0 || writing) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return;
+                }
+                drained.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records dropped because the buffer was full, since startup
+     */
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder line = new StringBuilder(256);
+        long reportedDrops = 0;
+        while (true) {
+            LogLevel level;
+            String logger;
+            String thread;
+            String message;
+            Throwable error;
+            long time;
+            long drops;
+            lock.lock();
+            try {
+                while (size == 0) {
+                    writing = false;
+                    drained.signalAll();
+                    notEmpty.awaitUninterruptibly();
+                }
+                writing = true;
+                level = levels[head];
+                logger = loggers[head];
+                thread = threads[head];
+                message = messages[head];
+                error = errors[head];
+                time = times[head];
+                loggers[head] = null;
+                messages[head] = null;
+                errors[head] = null;
+                head = (head + 1) & mask;
+                size--;
+                notFull.signal();
+                drops = dropped;
+            } finally {
+                lock.unlock();
+            }
+
+            if (drops > reportedDrops) {
+                System.err.println("[log] " + (drops - reportedDrops) +
+                                   " messages dropped (buffer full)");
+                reportedDrops = drops;
+            }
+            write(line, level, logger, thread, message, error, time);
+        }
+    }
+
+    private static void write(StringBuilder line, LogLevel level, String logger, String thread,
+                              String message, Throwable error, long time) {
+        line.setLength(0);
+        TIME_FORMAT.formatTo(LocalTime.ofInstant(Instant.ofEpochMilli(time), ZONE), line);
+        line.append(' ').append(level.name());
+        if (level.name().length() == 4) {
+            line.append(' ');
+        }
+        line.append(" [").append(thread).append("] ")
+            .append(logger, logger.lastIndexOf('.') + 1, logger.length())
+            .append(" - ").append(message);
+
+        PrintStream out = level.compareTo(LogLevel.WARN) >= 0 ? System.err : System.out;
+        out.println(line);
+        if (error != null) {
+            error.printStackTrace(out);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.intramural.scheduling.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs blocking work (JDBC calls) off the calling thread, one virtual thread
+ * per task, so the JavaFX Application Thread never waits on the database.
+ *
+ * Cancelling a future returned by supply() interrupts the thread running it;
+ * results of cancelled work are dropped. Work started with submit() always runs
+ * to the end; cancelling its future only drops the result.
+ */
+public final class AsyncTasks {
+    private static final Logger log = Logger.getLogger(AsyncTasks.class);
+
+    private static final ExecutorService EXECUTOR =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("async-", 0).factory());
+
+    private AsyncTasks() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Run work on a virtual thread and complete the future with its result
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = EXECUTOR.submit(() -> {
+            if (result.isDone()) {
+                return; // cancelled before it started
+            }
+            try {
+                result.complete(work.call());
+            } catch (Throwable t) {
+                if (!result.isCancelled()) {
+                    log.debug(() -> "Async task failed: " + t);
+                }
+                result.completeExceptionally(t);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run work that must not be cut short (database writes) on a virtual thread.
+     * The thread is never interrupted, even if the returned future is cancelled.
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            try {
+                result.complete(work.call());
+            } catch (Throwable t) {
+                log.debug(() -> "Async task failed: " + t);
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Cancel the given parts when combined is cancelled (e.g. the result of
+     * allOf/thenCombine over parallel loads), and return combined
+     */
+    public static <T> CompletableFuture<T> cancelling(CompletableFuture<T> combined,
+                                                      CompletableFuture<?>... parts) {
+        combined.whenComplete((value, error) -> {
+            if (combined.isCancelled()) {
+                for (CompletableFuture<?> part : parts) {
+                    part.cancel(true);
+                }
+            }
+        });
+        return combined;
+    }
+
+    /**
+     * The exception thrown by the work itself, without CompletableFuture's wrappers
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) &&
+               cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
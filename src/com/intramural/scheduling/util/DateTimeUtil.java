@@ -92,7 +92,14 @@ public class DateTimeUtil {
      * Get current season based on month
      */
     public static String getCurrentSeason() {
-        int month = LocalDate.now().getMonthValue();
+        return getSeason(LocalDate.now());
+    }
+    
+    /**
+     * Get season (FALL, SPRING or SUMMER) for a date based on month
+     */
+    public static String getSeason(LocalDate date) {
+        int month = date.getMonthValue();
         if (month >= 9 && month <= 12) return "FALL";
         if (month >= 1 && month <= 5) return "SPRING";
         return "SUMMER";
@@ -0,0 +1,111 @@
+package com.intramural.scheduling.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logger levels per package or class name.
+ *
+ * The effective level of a logger is the one configured for the longest
+ * matching name prefix ("com.intramural.scheduling.service" covers every
+ * class in that package), falling back to the root level (INFO).
+ *
+ * Levels are read at startup from "log.level" (root) and
+ * "log.level.&lt;name&gt;" keys, first in logging.properties on the classpath,
+ * then in system properties, which win. They can also be changed at runtime;
+ * loggers pick up changes on their next call.
+ */
+public final class LogConfig {
+
+    private static final String ROOT_KEY = "log.level";
+    private static final String PREFIX_KEY = "log.level.";
+
+    private static final Map<String, LogLevel> levels = new ConcurrentHashMap<>();
+    private static volatile LogLevel rootLevel = LogLevel.INFO;
+    private static volatile int version;
+
+    static {
+        Properties props = new Properties();
+        try (InputStream in = LogConfig.class.getClassLoader()
+                .getResourceAsStream("logging.properties")) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read logging.properties: " + e.getMessage());
+        }
+        apply(props);
+        apply(System.getProperties());
+    }
+
+    private LogConfig() {
+        // Utility class - prevent instantiation
+    }
+
+    private static void apply(Properties props) {
+        for (String key : props.stringPropertyNames()) {
+            LogLevel level = LogLevel.parse(props.getProperty(key));
+            if (level == null) {
+                continue;
+            }
+            if (key.equals(ROOT_KEY)) {
+                rootLevel = level;
+            } else if (key.startsWith(PREFIX_KEY)) {
+                levels.put(key.substring(PREFIX_KEY.length()), level);
+            }
+        }
+        version++;
+    }
+
+    /**
+     * Level for a logger name, using the longest configured prefix
+     */
+    public static LogLevel getLevel(String name) {
+        String prefix = name;
+        while (true) {
+            LogLevel level = levels.get(prefix);
+            if (level != null) {
+                return level;
+            }
+            int dot = prefix.lastIndexOf('.');
+            if (dot < 0) {
+                return rootLevel;
+            }
+            prefix = prefix.substring(0, dot);
+        }
+    }
+
+    public static LogLevel getRootLevel() {
+        return rootLevel;
+    }
+
+    public static synchronized void setRootLevel(LogLevel level) {
+        if (level == null) {
+            throw new IllegalArgumentException("Root log level cannot be null");
+        }
+        rootLevel = level;
+        version++;
+    }
+
+    /**
+     * Set the level for a package or class name; null removes the override
+     */
+    public static synchronized void setLevel(String name, LogLevel level) {
+        if (level == null) {
+            levels.remove(name);
+        } else {
+            levels.put(name, level);
+        }
+        version++;
+    }
+
+    /**
+     * Bumped on every change so loggers know to re-resolve their level
+     */
+    static int version() {
+        return version;
+    }
+}
@@ -0,0 +1,27 @@
+package com.intramural.scheduling.util;
+
+/**
+ * Log levels, least to most severe. OFF disables a logger entirely.
+ */
+public enum LogLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Parse a level name (case-insensitive), or return null if unknown
+     */
+    public static LogLevel parse(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.intramural.scheduling.util;
+
+import java.util.function.Supplier;
+
+/**
+ * Level-gated logger writing through the shared AsyncLogAppender.
+ *
+ * A disabled call costs one volatile read and an int compare. For messages
+ * that are expensive to build (per-candidate scores, String.format), use the
+ * Supplier overloads or check isDebugEnabled()/isTraceEnabled() once before
+ * a loop so nothing is concatenated when the level is off.
+ */
+public final class Logger {
+
+    private final String name;
+    private volatile LogLevel level;
+    private volatile int configVersion = -1;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getName());
+    }
+
+    public static Logger getLogger(String name) {
+        return new Logger(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(LogLevel target) {
+        int current = LogConfig.version();
+        if (current != configVersion) {
+            level = LogConfig.getLevel(name);
+            configVersion = current;
+        }
+        return target != LogLevel.OFF && target.compareTo(level) >= 0;
+    }
+
+    public boolean isTraceEnabled() { return isEnabled(LogLevel.TRACE); }
+    public boolean isDebugEnabled() { return isEnabled(LogLevel.DEBUG); }
+    public boolean isInfoEnabled() { return isEnabled(LogLevel.INFO); }
+
+    public void trace(String message) { log(LogLevel.TRACE, message, null); }
+    public void trace(Supplier<String> message) { log(LogLevel.TRACE, message); }
+    public void debug(String message) { log(LogLevel.DEBUG, message, null); }
+    public void debug(Supplier<String> message) { log(LogLevel.DEBUG, message); }
+    public void info(String message) { log(LogLevel.INFO, message, null); }
+    public void info(Supplier<String> message) { log(LogLevel.INFO, message); }
+    public void warn(String message) { log(LogLevel.WARN, message, null); }
+    public void warn(String message, Throwable error) { log(LogLevel.WARN, message, error); }
+    public void error(String message) { log(LogLevel.ERROR, message, null); }
+    public void error(String message, Throwable error) { log(LogLevel.ERROR, message, error); }
+
+    public void log(LogLevel target, Supplier<String> message) {
+        if (isEnabled(target)) {
+            AsyncLogAppender.getInstance().append(target, name, message.get(), null);
+        }
+    }
+
+    public void log(LogLevel target, String message, Throwable error) {
+        if (isEnabled(target)) {
+            AsyncLogAppender.getInstance().append(target, name, message, error);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.intramural.scheduling.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events for the phases of a recommendation run: loading
+ * the cycle, scoring each shift (hard checks vs. soft scoring vs. ranking),
+ * and saving the results. Record them with the bundled settings:
+ *
+ *   java -XX:StartFlightRecording:settings=default,settings=resources/jfr/scheduling.jfc,filename=run.jfr ...
+ *
+ * When no recording is running an event costs nothing measurable (begin/commit
+ * are no-ops and the JIT removes the object). The per-candidate event is off
+ * unless a settings file turns it on.
+ */
+public final class SchedulingEvents {
+
+    private static final String CATEGORY = "Intramural Scheduling";
+
+    private SchedulingEvents() {
+        // Holder for the event types - prevent instantiation
+    }
+
+    @Name("com.intramural.scheduling.CycleLoad")
+    @Label("Cycle Data Load")
+    @Description("CycleSnapshotDAO.load: games, employees, availability, conflicts, time-off and hours for a cycle")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class CycleLoad extends Event {
+        @Label("Cycle Start")
+        public String cycleStart;
+
+        @Label("Cycle End")
+        public String cycleEnd;
+
+        @Label("Games")
+        public int games;
+
+        @Label("Employees")
+        public int employees;
+    }
+
+    @Name("com.intramural.scheduling.GameRecommendations")
+    @Label("Game Recommendations")
+    @Description("SchedulingController.autoGenerateRecommendations for one game")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class GameRecommendations extends Event {
+        @Label("Schedule ID")
+        public int scheduleId;
+
+        @Label("Shifts")
+        public int shifts;
+
+        @Label("Shifts Recommended")
+        public int recommended;
+
+        @Label("Candidates")
+        @Description("Active employees in the scoring snapshot")
+        public int candidates;
+
+        @Label("Snapshot Build")
+        @Timespan(Timespan.NANOSECONDS)
+        public long snapshotDuration;
+    }
+
+    @Name("com.intramural.scheduling.ShiftRecommendation")
+    @Label("Shift Recommendation")
+    @Description("SchedulingEngine.generateTopRecommendations for one shift, split into phases")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class ShiftRecommendation extends Event {
+        @Label("Shift ID")
+        public int shiftId;
+
+        @Label("Candidates")
+        @Description("Employees considered for the shift")
+        public int candidates;
+
+        @Label("Scored")
+        @Description("Candidates eligible for the position")
+        public int scored;
+
+        @Label("Pruned")
+        @Description("Skipped because their best possible score could not make the top K")
+        public int pruned;
+
+        @Label("Rejected")
+        @Description("Failed a hard constraint")
+        public int rejected;
+
+        @Label("Kept")
+        public int kept;
+
+        @Label("Hard Constraint Checks")
+        @Timespan(Timespan.NANOSECONDS)
+        public long hardCheckDuration;
+
+        @Label("Soft Scoring")
+        @Timespan(Timespan.NANOSECONDS)
+        public long scoringDuration;
+
+        @Label("Ranking")
+        @Description("Top-K ordering and building the winners' score breakdowns")
+        @Timespan(Timespan.NANOSECONDS)
+        public long rankingDuration;
+    }
+
+    @Name("com.intramural.scheduling.HardConstraintCheck")
+    @Label("Hard Constraint Check")
+    @Description("ConflictChecker.checkHardConstraints for one employee and game")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    @Enabled(false)
+    @Threshold("20 us")
+    public static final class HardConstraintCheck extends Event {
+        @Label("Schedule ID")
+        public int scheduleId;
+
+        @Label("Employee ID")
+        public int employeeId;
+
+        @Label("Violations")
+        public int violations;
+
+        @Label("Indexed")
+        @Description("Availability came from the AvailabilityIndex grid instead of list scans")
+        public boolean indexed;
+    }
+
+    @Name("com.intramural.scheduling.RecommendationSave")
+    @Label("Recommendation Save")
+    @Description("ShiftDAO.updateRecommendationsBatch: Option A/B written for a batch of shifts")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class RecommendationSave extends Event {
+        @Label("Shifts")
+        public int shifts;
+    }
+}
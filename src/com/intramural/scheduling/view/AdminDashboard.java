@@ -1,9 +1,10 @@
 package com.intramural.scheduling.view;
 
 import com.intramural.scheduling.controller.AdminDashboardController;
+import com.intramural.scheduling.controller.ScheduleOverview;
 import com.intramural.scheduling.controller.SchedulingController;
-import com.intramural.scheduling.dao.*;
 import com.intramural.scheduling.model.*;
+import com.intramural.scheduling.util.AsyncTasks;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -13,11 +14,12 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
-import java.sql.SQLException;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * FULLY ENHANCED AdminDashboard with:
@@ -35,6 +37,8 @@ public class AdminDashboard {
     private SchedulingController schedulingController;
     private VBox teamMembersContent;
     private VBox upcomingShiftsContent;
+    // Database work runs in the background; see ViewTasks
+    private final ViewTasks tasks = new ViewTasks();
     
     // Track expanded state
     private Set<Integer> expandedGames = new HashSet<>();
@@ -60,6 +64,7 @@ public class AdminDashboard {
         root.setCenter(mainContent);
         
         Scene scene = new Scene(root, 1400, 900);
+        tasks.bindTo(scene);
         
         // Make responsive
         scene.widthProperty().addListener((obs, oldVal, newVal) -> {
@@ -172,35 +177,34 @@ public class AdminDashboard {
     private HBox createStatsCards() {
         HBox statsBox = new HBox(20);
         statsBox.setAlignment(Pos.CENTER);
+        showStats(statsBox, "…", "…", "…");
 
-        try {
-            Map<String, Object> stats = controller.getDashboardStats();
-            
+        tasks.run("stats", controller.getDashboardStatsAsync(), stats -> {
             int totalEmployees = (int) stats.getOrDefault("totalEmployees", 0);
-            VBox card1 = createStatCard("👥", "#dbeafe", "Total Employees", String.valueOf(totalEmployees));
-            
             long supervisors = (long) stats.getOrDefault("supervisors", 0L);
-            VBox card2 = createStatCard("🎯", "#fef3c7", "Supervisors", String.valueOf(supervisors));
-            
             int weekGames = (int) stats.getOrDefault("currentWeekGames", 0);
-            VBox card3 = createStatCard("📅", "#d1fae5", "This Week's Games", String.valueOf(weekGames));
-
-            HBox.setHgrow(card1, Priority.ALWAYS);
-            HBox.setHgrow(card2, Priority.ALWAYS);
-            HBox.setHgrow(card3, Priority.ALWAYS);
-
-            statsBox.getChildren().addAll(card1, card2, card3);
-        } catch (Exception e) {
-            System.err.println("Error loading stats: " + e.getMessage());
-            VBox card1 = createStatCard("👥", "#dbeafe", "Total Employees", "0");
-            VBox card2 = createStatCard("🎯", "#fef3c7", "Supervisors", "0");
-            VBox card3 = createStatCard("📅", "#d1fae5", "This Week's Games", "0");
-            statsBox.getChildren().addAll(card1, card2, card3);
-        }
+            showStats(statsBox, String.valueOf(totalEmployees), String.valueOf(supervisors),
+                      String.valueOf(weekGames));
+        }, error -> {
+            System.err.println("Error loading stats: " + error.getMessage());
+            showStats(statsBox, "0", "0", "0");
+        });
 
         return statsBox;
     }
 
+    private void showStats(HBox statsBox, String totalEmployees, String supervisors, String weekGames) {
+        VBox card1 = createStatCard("👥", "#dbeafe", "Total Employees", totalEmployees);
+        VBox card2 = createStatCard("🎯", "#fef3c7", "Supervisors", supervisors);
+        VBox card3 = createStatCard("📅", "#d1fae5", "This Week's Games", weekGames);
+
+        HBox.setHgrow(card1, Priority.ALWAYS);
+        HBox.setHgrow(card2, Priority.ALWAYS);
+        HBox.setHgrow(card3, Priority.ALWAYS);
+
+        statsBox.getChildren().setAll(card1, card2, card3);
+    }
+
     private VBox createStatCard(String icon, String iconBg, String title, String value) {
         VBox card = new VBox(15);
         card.setPadding(new Insets(25));
@@ -253,41 +257,55 @@ public class AdminDashboard {
     }
 
     private void loadUpcomingShifts() {
+        upcomingShiftsContent.getChildren().setAll(createLoadingLabel("Loading shifts…"));
+        
+        // Games with their shifts, sports and staff in one parallel load
+        LocalDate today = LocalDate.now();
+        tasks.run("upcoming", schedulingController.loadOverviewAsync(today, today.plusMonths(1)),
+            this::showUpcomingShifts,
+            error -> {
+                System.err.println("Error loading shifts: " + error.getMessage());
+                error.printStackTrace();
+                Label errorLabel = new Label("Error loading shifts");
+                errorLabel.setStyle("-fx-text-fill: #ef4444;");
+                upcomingShiftsContent.getChildren().setAll(errorLabel);
+            });
+    }
+
+    private void showUpcomingShifts(ScheduleOverview overview) {
         upcomingShiftsContent.getChildren().clear();
         
-        try {
-            LocalDate today = LocalDate.now();
-            LocalDate endDate = today.plusMonths(1);
-            List<Schedule.Game> games = new GameScheduleDAO().getByDateRange(today, endDate);
-            
-            if (games.isEmpty()) {
-                Label emptyLabel = new Label("No upcoming shifts. Click '+ Create Shift' to add one.");
-                emptyLabel.setFont(Font.font("Arial", 14));
-                emptyLabel.setStyle("-fx-text-fill: #9ca3af;");
-                upcomingShiftsContent.getChildren().add(emptyLabel);
-                return;
-            }
+        if (overview.getGames().isEmpty()) {
+            Label emptyLabel = new Label("No upcoming shifts. Click '+ Create Shift' to add one.");
+            emptyLabel.setFont(Font.font("Arial", 14));
+            emptyLabel.setStyle("-fx-text-fill: #9ca3af;");
+            upcomingShiftsContent.getChildren().add(emptyLabel);
+            return;
+        }
 
-            for (Schedule.Game game : games) {
-                VBox gameCard = createExpandableGameCard(game);
-                upcomingShiftsContent.getChildren().add(gameCard);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error loading shifts: " + e.getMessage());
-            e.printStackTrace();
+        for (Schedule.Game game : overview.getGames()) {
+            VBox gameCard = createExpandableGameCard(game, overview);
+            upcomingShiftsContent.getChildren().add(gameCard);
         }
     }
 
+    private Label createLoadingLabel(String text) {
+        Label loading = new Label(text);
+        loading.setFont(Font.font("Arial", 13));
+        loading.setStyle("-fx-text-fill: #9ca3af;");
+        return loading;
+    }
+
     /**
      * NEW: Create expandable/collapsible game card
      */
-    private VBox createExpandableGameCard(Schedule.Game game) {
+    private VBox createExpandableGameCard(Schedule.Game game, ScheduleOverview overview) {
         VBox card = new VBox();
         card.setStyle("-fx-background-color: white; -fx-border-color: #e5e7eb; " +
                 "-fx-border-radius: 8; -fx-background-radius: 8;");
 
         // Header (always visible, clickable)
-        HBox header = createGameCardHeader(game);
+        HBox header = createGameCardHeader(game, overview);
         header.setStyle("-fx-padding: 15; -fx-cursor: hand; -fx-background-radius: 8 8 0 0;");
         header.setOnMouseClicked(e -> toggleGameExpansion(game.getScheduleId(), card));
         
@@ -301,7 +319,7 @@ public class AdminDashboard {
         
         // Check if this game should be expanded
         if (expandedGames.contains(game.getScheduleId())) {
-            VBox detailsBox = createGameDetails(game);
+            VBox detailsBox = createGameDetails(game, overview);
             card.getChildren().add(detailsBox);
         }
 
@@ -311,7 +329,7 @@ public class AdminDashboard {
     /**
      * NEW: Create game card header with expand/collapse indicator
      */
-    private HBox createGameCardHeader(Schedule.Game game) {
+    private HBox createGameCardHeader(Schedule.Game game, ScheduleOverview overview) {
         HBox header = new HBox(15);
         header.setAlignment(Pos.CENTER_LEFT);
 
@@ -322,14 +340,9 @@ public class AdminDashboard {
         expandIcon.setPrefWidth(20);
 
         // Get sport name
-        String sportName = "Sport";
-        try {
-            Sport sport = new SportDAO().getById(game.getSportId());
-            if (sport != null) {
-                sportName = sport.getSportName();
-            }
-        } catch (SQLException e) {
-            System.err.println("Error loading sport: " + e.getMessage());
+        String sportName = overview.getSportName(game.getSportId());
+        if (sportName == null) {
+            sportName = "Sport";
         }
 
         Label sportLabel = new Label("⚽ " + sportName);
@@ -352,35 +365,30 @@ public class AdminDashboard {
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
         // NEW: Show supervisor and referee counts
-        try {
-            ShiftDAO shiftDAO = new ShiftDAO();
-            List<Schedule.Shift> shifts = shiftDAO.getByGameSchedule(game.getScheduleId());
-            
-            long assignedSupervisors = shifts.stream()
-                .filter(s -> s.getPositionType() == Schedule.PositionType.SUPERVISOR)
-                .filter(s -> s.getAssignedEmployeeId() != null)
-                .count();
-            
-            long assignedReferees = shifts.stream()
-                .filter(s -> s.getPositionType() == Schedule.PositionType.REFEREE)
-                .filter(s -> s.getAssignedEmployeeId() != null)
-                .count();
-            
-            Label supervisorCount = new Label("👔 " + assignedSupervisors + "/" + game.getRequiredSupervisors());
-            supervisorCount.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-            supervisorCount.setStyle(assignedSupervisors == game.getRequiredSupervisors() ? 
-                    "-fx-text-fill: #10b981;" : "-fx-text-fill: #f59e0b;");
-            
-            Label refereeCount = new Label("🏃 " + assignedReferees + "/" + game.getRequiredReferees());
-            refereeCount.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-            refereeCount.setStyle(assignedReferees == game.getRequiredReferees() ? 
-                    "-fx-text-fill: #10b981;" : "-fx-text-fill: #f59e0b;");
-            
-            header.getChildren().addAll(expandIcon, sportLabel, dateLabel, timeLabel, locationLabel, 
-                                       spacer, supervisorCount, refereeCount);
-        } catch (SQLException e) {
-            header.getChildren().addAll(expandIcon, sportLabel, dateLabel, timeLabel, locationLabel, spacer);
-        }
+        List<Schedule.Shift> shifts = game.getShifts();
+        
+        long assignedSupervisors = shifts.stream()
+            .filter(s -> s.getPositionType() == Schedule.PositionType.SUPERVISOR)
+            .filter(s -> s.getAssignedEmployeeId() != null)
+            .count();
+        
+        long assignedReferees = shifts.stream()
+            .filter(s -> s.getPositionType() == Schedule.PositionType.REFEREE)
+            .filter(s -> s.getAssignedEmployeeId() != null)
+            .count();
+        
+        Label supervisorCount = new Label("👔 " + assignedSupervisors + "/" + game.getRequiredSupervisors());
+        supervisorCount.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+        supervisorCount.setStyle(assignedSupervisors == game.getRequiredSupervisors() ? 
+                "-fx-text-fill: #10b981;" : "-fx-text-fill: #f59e0b;");
+        
+        Label refereeCount = new Label("🏃 " + assignedReferees + "/" + game.getRequiredReferees());
+        refereeCount.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+        refereeCount.setStyle(assignedReferees == game.getRequiredReferees() ? 
+                "-fx-text-fill: #10b981;" : "-fx-text-fill: #f59e0b;");
+        
+        header.getChildren().addAll(expandIcon, sportLabel, dateLabel, timeLabel, locationLabel, 
+                                   spacer, supervisorCount, refereeCount);
 
         return header;
     }
@@ -400,7 +408,7 @@ public class AdminDashboard {
     /**
      * NEW: Create detailed view for expanded game
      */
-    private VBox createGameDetails(Schedule.Game game) {
+    private VBox createGameDetails(Schedule.Game game, ScheduleOverview overview) {
         VBox details = new VBox(15);
         details.setPadding(new Insets(15));
         details.setStyle("-fx-background-color: #f9fafb; -fx-border-width: 1 0 0 0; " +
@@ -413,53 +421,58 @@ public class AdminDashboard {
         Button genRecsBtn = new Button("⚡ Generate Recommendations");
         genRecsBtn.setStyle("-fx-background-color: #3b82f6; -fx-text-fill: white; " +
                 "-fx-background-radius: 6; -fx-padding: 8 16; -fx-cursor: hand; -fx-font-weight: bold;");
-        genRecsBtn.setOnAction(e -> generateRecommendationsForGame(game));
+        genRecsBtn.setOnAction(e -> generateRecommendationsForGame(game, genRecsBtn));
         
         Button editBtn = new Button("✏️ Edit Shift");
         editBtn.setStyle("-fx-background-color: #f59e0b; -fx-text-fill: white; " +
                 "-fx-background-radius: 6; -fx-padding: 8 16; -fx-cursor: hand; -fx-font-weight: bold;");
         editBtn.setOnAction(e -> editGame(game));
         
-        actionButtons.getChildren().addAll(genRecsBtn, editBtn);
+        // Whole-cycle modes for the game's scheduling cycle
+        MenuButton cycleBtn = new MenuButton("🗓 Whole Cycle");
+        cycleBtn.setStyle("-fx-background-color: #6366f1; -fx-text-fill: white; " +
+                "-fx-background-radius: 6; -fx-padding: 4 8; -fx-cursor: hand; -fx-font-weight: bold;");
+        for (SchedulingController.CycleMode mode : SchedulingController.CycleMode.values()) {
+            MenuItem item = new MenuItem(mode.getLabel());
+            item.setOnAction(e -> generateCycleRecommendations(game, mode, cycleBtn));
+            cycleBtn.getItems().add(item);
+        }
+        MenuItem optimizeItem = new MenuItem("Optimize schedule (10 s)");
+        optimizeItem.setOnAction(e -> optimizeCycle(game, cycleBtn));
+        cycleBtn.getItems().addAll(new SeparatorMenuItem(), optimizeItem);
+        
+        actionButtons.getChildren().addAll(genRecsBtn, cycleBtn, editBtn);
         details.getChildren().add(actionButtons);
 
         // Show shifts with recommendations or assignments
-        try {
-            ShiftDAO shiftDAO = new ShiftDAO();
-            List<Schedule.Shift> shifts = shiftDAO.getByGameSchedule(game.getScheduleId());
-            
-            if (shifts.isEmpty()) {
-                Label noShifts = new Label("No shifts found for this game");
-                noShifts.setStyle("-fx-text-fill: #9ca3af;");
-                details.getChildren().add(noShifts);
-                return details;
-            }
-            
-            // Check if recommendations exist
-            boolean hasRecommendations = shifts.stream()
-                .anyMatch(s -> s.getRecommendationAId() != null);
-            
-            // Check if assignments exist
-            boolean hasAssignments = shifts.stream()
-                .anyMatch(s -> s.getAssignedEmployeeId() != null);
-            
-            if (hasAssignments) {
-                // Show final assignments
-                details.getChildren().add(createAssignmentsView(shifts));
-            } else if (hasRecommendations) {
-                // Show recommendations with radio buttons
-                details.getChildren().add(createRecommendationsView(game, shifts));
-            } else {
-                Label noRecs = new Label("Click 'Generate Recommendations' to get staffing suggestions");
-                noRecs.setFont(Font.font("Arial", 13));
-                noRecs.setStyle("-fx-text-fill: #6b7280;");
-                details.getChildren().add(noRecs);
-            }
-            
-        } catch (SQLException e) {
-            Label error = new Label("Error loading shift details");
-            error.setStyle("-fx-text-fill: #ef4444;");
-            details.getChildren().add(error);
+        List<Schedule.Shift> shifts = game.getShifts();
+        
+        if (shifts.isEmpty()) {
+            Label noShifts = new Label("No shifts found for this game");
+            noShifts.setStyle("-fx-text-fill: #9ca3af;");
+            details.getChildren().add(noShifts);
+            return details;
+        }
+        
+        // Check if recommendations exist
+        boolean hasRecommendations = shifts.stream()
+            .anyMatch(s -> s.getRecommendationAId() != null);
+        
+        // Check if assignments exist
+        boolean hasAssignments = shifts.stream()
+            .anyMatch(s -> s.getAssignedEmployeeId() != null);
+        
+        if (hasAssignments) {
+            // Show final assignments
+            details.getChildren().add(createAssignmentsView(shifts, overview));
+        } else if (hasRecommendations) {
+            // Show recommendations with radio buttons
+            details.getChildren().add(createRecommendationsView(game, shifts, overview));
+        } else {
+            Label noRecs = new Label("Click 'Generate Recommendations' to get staffing suggestions");
+            noRecs.setFont(Font.font("Arial", 13));
+            noRecs.setStyle("-fx-text-fill: #6b7280;");
+            details.getChildren().add(noRecs);
         }
 
         return details;
@@ -468,7 +481,7 @@ public class AdminDashboard {
     /**
      * NEW: Show final assignments (after finalization)
      */
-    private VBox createAssignmentsView(List<Schedule.Shift> shifts) {
+    private VBox createAssignmentsView(List<Schedule.Shift> shifts, ScheduleOverview overview) {
         VBox assignmentsBox = new VBox(12);
         
         Label title = new Label("✅ Finalized Assignments:");
@@ -477,33 +490,25 @@ public class AdminDashboard {
         
         assignmentsBox.getChildren().add(title);
         
-        try {
-            EmployeeDAO empDAO = new EmployeeDAO();
-            
-            for (Schedule.Shift shift : shifts) {
-                if (shift.getAssignedEmployeeId() != null) {
-                    Employee emp = empDAO.getById(shift.getAssignedEmployeeId());
-                    if (emp != null && emp.isActiveStatus()) {
-                        HBox assignmentRow = new HBox(15);
-                        assignmentRow.setAlignment(Pos.CENTER_LEFT);
-                        assignmentRow.setPadding(new Insets(10));
-                        assignmentRow.setStyle("-fx-background-color: #d1fae5; -fx-background-radius: 6;");
-                        
-                        Label posLabel = new Label(shift.getPositionType() + " #" + shift.getPositionNumber());
-                        posLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-                        posLabel.setPrefWidth(120);
-                        
-                        Label empLabel = new Label("→ " + emp.getFirstName() + " " + emp.getLastName());
-                        empLabel.setFont(Font.font("Arial", FontWeight.BOLD, 13));
-                        empLabel.setStyle("-fx-text-fill: #047857;");
-                        
-                        assignmentRow.getChildren().addAll(posLabel, empLabel);
-                        assignmentsBox.getChildren().add(assignmentRow);
-                    }
-                }
+        for (Schedule.Shift shift : shifts) {
+            Employee emp = overview.getEmployee(shift.getAssignedEmployeeId());
+            if (emp != null && emp.isActiveStatus()) {
+                HBox assignmentRow = new HBox(15);
+                assignmentRow.setAlignment(Pos.CENTER_LEFT);
+                assignmentRow.setPadding(new Insets(10));
+                assignmentRow.setStyle("-fx-background-color: #d1fae5; -fx-background-radius: 6;");
+                
+                Label posLabel = new Label(shift.getPositionType() + " #" + shift.getPositionNumber());
+                posLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+                posLabel.setPrefWidth(120);
+                
+                Label empLabel = new Label("→ " + emp.getFirstName() + " " + emp.getLastName());
+                empLabel.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+                empLabel.setStyle("-fx-text-fill: #047857;");
+                
+                assignmentRow.getChildren().addAll(posLabel, empLabel);
+                assignmentsBox.getChildren().add(assignmentRow);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         
         return assignmentsBox;
@@ -512,7 +517,8 @@ public class AdminDashboard {
     /**
      * NEW: Show recommendations with radio buttons (before finalization)
      */
-    private VBox createRecommendationsView(Schedule.Game game, List<Schedule.Shift> shifts) {
+    private VBox createRecommendationsView(Schedule.Game game, List<Schedule.Shift> shifts,
+                                           ScheduleOverview overview) {
         VBox recsBox = new VBox(12);
         
         Label title = new Label("📋 Recommended Assignments - Select to Assign:");
@@ -526,7 +532,7 @@ public class AdminDashboard {
         
         for (Schedule.Shift shift : shifts) {
             if (shift.getRecommendationAId() != null) {
-                VBox recRow = createRecommendationRowWithRadio(shift, shiftToggleGroups);
+                VBox recRow = createRecommendationRowWithRadio(shift, shiftToggleGroups, overview);
                 if (recRow != null) {
                     recsBox.getChildren().add(recRow);
                 }
@@ -542,7 +548,10 @@ public class AdminDashboard {
         finalizeBtn.setStyle("-fx-background-color: #10b981; -fx-text-fill: white; " +
                 "-fx-background-radius: 6; -fx-padding: 8 16; -fx-cursor: hand; " +
                 "-fx-font-weight: bold; -fx-font-size: 12px;");
-        finalizeBtn.setOnAction(e -> finalizeAssignments(game, shifts, shiftToggleGroups));
+        finalizeBtn.setOnAction(e -> {
+            finalizeBtn.setDisable(true);
+            finalizeAssignments(game, shifts, shiftToggleGroups, overview, finalizeBtn);
+        });
         
         buttonBox.getChildren().add(finalizeBtn);
         recsBox.getChildren().add(buttonBox);
@@ -553,44 +562,37 @@ public class AdminDashboard {
     /**
      * Create recommendation row with radio buttons
      */
-    private VBox createRecommendationRowWithRadio(Schedule.Shift shift, Map<Schedule.Shift, ToggleGroup> toggleGroups) {
-        try {
-            EmployeeDAO empDAO = new EmployeeDAO();
-            Employee optionA = empDAO.getById(shift.getRecommendationAId());
-            Employee optionB = shift.getRecommendationBId() != null ? 
-                empDAO.getById(shift.getRecommendationBId()) : null;
-            
-            if (optionA == null) return null;
-            
-            VBox container = new VBox(8);
-            container.setPadding(new Insets(8));
-            container.setStyle("-fx-background-color: white; -fx-border-color: #e5e7eb; " +
-                    "-fx-border-radius: 6; -fx-background-radius: 6;");
-            
-            // Position header
-            Label posLabel = new Label(shift.getPositionType() + " #" + shift.getPositionNumber());
-            posLabel.setFont(Font.font("Arial", FontWeight.BOLD, 13));
-            posLabel.setStyle("-fx-text-fill: #1f2937;");
-            
-            // Create toggle group
-            ToggleGroup toggleGroup = new ToggleGroup();
-            toggleGroups.put(shift, toggleGroup);
-            
-            // Options container
-            VBox optionsContainer = new VBox(5);
-            optionsContainer.getChildren().add(createRadioOptionBox(optionA, "Option A", toggleGroup, true));
-            
-            if (optionB != null && optionB.getEmployeeId()!=(optionA.getEmployeeId())) {
-                optionsContainer.getChildren().add(createRadioOptionBox(optionB, "Option B", toggleGroup, false));
-            }
-            
-            container.getChildren().addAll(posLabel, optionsContainer);
-            return container;
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return null;
+    private VBox createRecommendationRowWithRadio(Schedule.Shift shift, Map<Schedule.Shift, ToggleGroup> toggleGroups,
+                                                  ScheduleOverview overview) {
+        Employee optionA = overview.getEmployee(shift.getRecommendationAId());
+        Employee optionB = overview.getEmployee(shift.getRecommendationBId());
+        
+        if (optionA == null) return null;
+        
+        VBox container = new VBox(8);
+        container.setPadding(new Insets(8));
+        container.setStyle("-fx-background-color: white; -fx-border-color: #e5e7eb; " +
+                "-fx-border-radius: 6; -fx-background-radius: 6;");
+        
+        // Position header
+        Label posLabel = new Label(shift.getPositionType() + " #" + shift.getPositionNumber());
+        posLabel.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+        posLabel.setStyle("-fx-text-fill: #1f2937;");
+        
+        // Create toggle group
+        ToggleGroup toggleGroup = new ToggleGroup();
+        toggleGroups.put(shift, toggleGroup);
+        
+        // Options container
+        VBox optionsContainer = new VBox(5);
+        optionsContainer.getChildren().add(createRadioOptionBox(optionA, "Option A", toggleGroup, true));
+        
+        if (optionB != null && optionB.getEmployeeId()!=(optionA.getEmployeeId())) {
+            optionsContainer.getChildren().add(createRadioOptionBox(optionB, "Option B", toggleGroup, false));
         }
+        
+        container.getChildren().addAll(posLabel, optionsContainer);
+        return container;
     }
     
     /**
@@ -630,30 +632,37 @@ public class AdminDashboard {
      * Finalize assignments based on radio button selections
      */
     private void finalizeAssignments(Schedule.Game game, List<Schedule.Shift> shifts, 
-                                     Map<Schedule.Shift, ToggleGroup> toggleGroups) {
-        try {
-            int assignedCount = 0;
-            StringBuilder message = new StringBuilder("Assignments:\n\n");
-            
-            for (Schedule.Shift shift : shifts) {
-                ToggleGroup group = toggleGroups.get(shift);
-                if (group != null && group.getSelectedToggle() != null) {
-                    int employeeId = (int) group.getSelectedToggle().getUserData();
-                    
-                    // Assign the shift
-                    schedulingController.assignShift(shift, employeeId, game);
-                    
-                    // Get employee name for feedback
-                    EmployeeDAO empDAO = new EmployeeDAO();
-                    Employee emp = empDAO.getById(employeeId);
-                    message.append(shift.getPositionType()).append(" #").append(shift.getPositionNumber())
-                           .append(" → ").append(emp.getFirstName()).append(" ").append(emp.getLastName()).append("\n");
-                    
-                    assignedCount++;
-                }
+                                     Map<Schedule.Shift, ToggleGroup> toggleGroups,
+                                     ScheduleOverview overview, Button finalizeBtn) {
+        Map<Schedule.Shift, Integer> choices = new LinkedHashMap<>();
+        StringBuilder message = new StringBuilder("Assignments:\n\n");
+        
+        for (Schedule.Shift shift : shifts) {
+            ToggleGroup group = toggleGroups.get(shift);
+            if (group != null && group.getSelectedToggle() != null) {
+                int employeeId = (int) group.getSelectedToggle().getUserData();
+                choices.put(shift, employeeId);
+                
+                // Employee name for feedback
+                Employee emp = overview.getEmployee(employeeId);
+                message.append(shift.getPositionType()).append(" #").append(shift.getPositionNumber())
+                       .append(" → ").append(emp.getFirstName()).append(" ").append(emp.getLastName()).append("\n");
             }
-            
-            if (assignedCount > 0) {
+        }
+        
+        if (choices.isEmpty()) {
+            finalizeBtn.setDisable(false);
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("No Selections");
+            alert.setHeaderText(null);
+            alert.setContentText("Please select employees for the shifts before finalizing.");
+            alert.showAndWait();
+            return;
+        }
+        
+        tasks.runWrite("Finalizing assignments for game " + game.getScheduleId(),
+            schedulingController.assignShiftsAsync(game, choices),
+            assignedCount -> {
                 Alert alert = new Alert(Alert.AlertType.INFORMATION);
                 alert.setTitle("Success");
                 alert.setHeaderText("Assignments Finalized!");
@@ -661,55 +670,115 @@ public class AdminDashboard {
                 alert.showAndWait();
                 
                 refreshDashboard();
-            } else {
-                Alert alert = new Alert(Alert.AlertType.WARNING);
-                alert.setTitle("No Selections");
+            },
+            error -> {
+                System.err.println("Error finalizing assignments: " + error.getMessage());
+                error.printStackTrace();
+                finalizeBtn.setDisable(false);
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Error");
                 alert.setHeaderText(null);
-                alert.setContentText("Please select employees for the shifts before finalizing.");
+                alert.setContentText("Failed to finalize assignments: " + error.getMessage());
                 alert.showAndWait();
-            }
-            
-        } catch (Exception e) {
-            System.err.println("Error finalizing assignments: " + e.getMessage());
-            e.printStackTrace();
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Error");
-            alert.setHeaderText(null);
-            alert.setContentText("Failed to finalize assignments: " + e.getMessage());
-            alert.showAndWait();
-        }
+                
+                // The assignments are saved together, but a failure while refreshing
+                // recommendations afterwards leaves them in place
+                refreshDashboard();
+            });
     }
     
-    private void generateRecommendationsForGame(Schedule.Game game) {
-        try {
-            if (schedulingController.getCurrentCycle() == null) {
-                schedulingController.createCycle(game.getScheduleCycleStart(), game.getScheduleCycleEnd());
-            }
-            
-            if (!schedulingController.getCurrentCycle().getGameSchedules().contains(game)) {
-                schedulingController.getCurrentCycle().addGameSchedule(game);
-            }
-            
-            schedulingController.autoGenerateRecommendations(game);
-            
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Success");
-            alert.setHeaderText(null);
-            alert.setContentText("Recommendations generated successfully!\n\n" +
-                    "Different employees recommended for each position.\n" +
-                    "Select your preferred option and click 'Finalize Assignments'.");
-            alert.showAndWait();
-            
-            refreshDashboard();
-        } catch (Exception e) {
-            System.err.println("Error generating recommendations: " + e.getMessage());
-            e.printStackTrace();
-            Alert alert = new Alert(Alert.AlertType.ERROR);
-            alert.setTitle("Error");
-            alert.setHeaderText(null);
-            alert.setContentText("Failed to generate recommendations: " + e.getMessage());
-            alert.showAndWait();
-        }
+    private void generateRecommendationsForGame(Schedule.Game game, Button genRecsBtn) {
+        genRecsBtn.setDisable(true);
+        genRecsBtn.setText("⏳ Generating…");
+        
+        tasks.run("recommend-" + game.getScheduleId(),
+            schedulingController.generateRecommendationsForGameAsync(game),
+            done -> {
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Success");
+                alert.setHeaderText(null);
+                alert.setContentText("Recommendations generated successfully!\n\n" +
+                        "Different employees recommended for each position.\n" +
+                        "Select your preferred option and click 'Finalize Assignments'.");
+                alert.showAndWait();
+                
+                refreshDashboard();
+            },
+            error -> {
+                System.err.println("Error generating recommendations: " + error.getMessage());
+                error.printStackTrace();
+                genRecsBtn.setDisable(false);
+                genRecsBtn.setText("⚡ Generate Recommendations");
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Error");
+                alert.setHeaderText(null);
+                alert.setContentText("Failed to generate recommendations: " + error.getMessage());
+                alert.showAndWait();
+            });
+    }
+    
+    private void generateCycleRecommendations(Schedule.Game game, SchedulingController.CycleMode mode,
+                                              MenuButton cycleBtn) {
+        cycleBtn.setDisable(true);
+        cycleBtn.setText("⏳ Generating…");
+        
+        tasks.run("recommend-cycle",
+            schedulingController.generateCycleRecommendationsAsync(game, mode),
+            recommended -> {
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Success");
+                alert.setHeaderText(null);
+                alert.setContentText(mode.getLabel() + ": recommendations generated for " +
+                        recommended + " shifts in the cycle " + game.getScheduleCycleStart() +
+                        " to " + game.getScheduleCycleEnd() + ".");
+                alert.showAndWait();
+                
+                refreshDashboard();
+            },
+            error -> {
+                System.err.println("Error generating cycle recommendations: " + error.getMessage());
+                error.printStackTrace();
+                cycleBtn.setDisable(false);
+                cycleBtn.setText("🗓 Whole Cycle");
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Error");
+                alert.setHeaderText(null);
+                alert.setContentText("Failed to generate recommendations: " + error.getMessage());
+                alert.showAndWait();
+            });
+    }
+    
+    private void optimizeCycle(Schedule.Game game, MenuButton cycleBtn) {
+        cycleBtn.setDisable(true);
+        cycleBtn.setText("⏳ Optimizing…");
+        
+        tasks.run("recommend-cycle",
+            schedulingController.optimizeScheduleAsync(game, Duration.ofSeconds(10)),
+            result -> {
+                cycleBtn.setDisable(false);
+                cycleBtn.setText("🗓 Whole Cycle");
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Schedule Optimization");
+                alert.setHeaderText(null);
+                alert.setContentText(String.format(
+                        "Cycle %s to %s%n%nScore: %.2f → %.2f%nStaffed shifts: %d of %d%n%n" +
+                        "This is a proposal only; no assignments were changed.",
+                        game.getScheduleCycleStart(), game.getScheduleCycleEnd(),
+                        result.getInitialScore(), result.getBestScore(),
+                        result.getStaffedShifts(), result.getTotalShifts()));
+                alert.showAndWait();
+            },
+            error -> {
+                System.err.println("Error optimizing schedule: " + error.getMessage());
+                error.printStackTrace();
+                cycleBtn.setDisable(false);
+                cycleBtn.setText("🗓 Whole Cycle");
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Error");
+                alert.setHeaderText(null);
+                alert.setContentText("Failed to optimize schedule: " + error.getMessage());
+                alert.showAndWait();
+            });
     }
     
     /**
@@ -761,34 +830,43 @@ public class AdminDashboard {
     }
 
     private void loadTeamMembers() {
+        teamMembersContent.getChildren().setAll(createLoadingLabel("Loading employees…"));
+        
+        // Employees, plus sports and availability of the expanded cards, in parallel
+        CompletableFuture<List<Employee>> employees = controller.getActiveEmployeesAsync(expandedEmployees);
+        CompletableFuture<Map<Integer, List<Availability.Seasonal>>> availability =
+            controller.getAvailabilityAsync(expandedEmployees);
+        
+        tasks.run("team", AsyncTasks.cancelling(CompletableFuture.allOf(employees, availability),
+                                                employees, availability),
+            done -> showTeamMembers(employees.join(), availability.join()),
+            error -> teamMembersContent.getChildren().setAll(new Label("Error loading employees")));
+    }
+
+    private void showTeamMembers(List<Employee> employees,
+                                 Map<Integer, List<Availability.Seasonal>> availability) {
         teamMembersContent.getChildren().clear();
         
-        try {
-            List<Employee> employees = controller.getActiveEmployees();
-            
-            if (employees.isEmpty()) {
-                Label emptyLabel = new Label("No employees yet. Click '+ Add' to add your first employee!");
-                emptyLabel.setFont(Font.font("Arial", 13));
-                emptyLabel.setStyle("-fx-text-fill: #9ca3af;");
-                emptyLabel.setWrapText(true);
-                teamMembersContent.getChildren().add(emptyLabel);
-                return;
-            }
+        if (employees.isEmpty()) {
+            Label emptyLabel = new Label("No employees yet. Click '+ Add' to add your first employee!");
+            emptyLabel.setFont(Font.font("Arial", 13));
+            emptyLabel.setStyle("-fx-text-fill: #9ca3af;");
+            emptyLabel.setWrapText(true);
+            teamMembersContent.getChildren().add(emptyLabel);
+            return;
+        }
 
-            for (Employee employee : employees) {
-                VBox card = createExpandableEmployeeCard(employee);
-                teamMembersContent.getChildren().add(card);
-            }
-        } catch (SQLException e) {
-            Label errorLabel = new Label("Error loading employees");
-            teamMembersContent.getChildren().add(errorLabel);
+        for (Employee employee : employees) {
+            VBox card = createExpandableEmployeeCard(employee,
+                availability.getOrDefault(employee.getEmployeeId(), Collections.emptyList()));
+            teamMembersContent.getChildren().add(card);
         }
     }
 
     /**
      * NEW: Create expandable employee card
      */
-    private VBox createExpandableEmployeeCard(Employee employee) {
+    private VBox createExpandableEmployeeCard(Employee employee, List<Availability.Seasonal> avails) {
         VBox card = new VBox();
         card.setStyle("-fx-background-color: white; -fx-border-color: #e5e7eb; " +
                 "-fx-border-radius: 8; -fx-background-radius: 8;");
@@ -807,7 +885,7 @@ public class AdminDashboard {
         
         // Check if expanded
         if (expandedEmployees.contains(employee.getEmployeeId())) {
-            VBox details = createEmployeeDetails(employee);
+            VBox details = createEmployeeDetails(employee, avails);
             card.getChildren().add(details);
         }
 
@@ -868,7 +946,7 @@ public class AdminDashboard {
     /**
      * NEW: Create employee details view (sports and availability)
      */
-    private VBox createEmployeeDetails(Employee employee) {
+    private VBox createEmployeeDetails(Employee employee, List<Availability.Seasonal> avails) {
         VBox details = new VBox(12);
         details.setPadding(new Insets(15));
         details.setStyle("-fx-background-color: #f9fafb; -fx-border-width: 1 0 0 0; -fx-border-color: #e5e7eb;");
@@ -879,67 +957,56 @@ public class AdminDashboard {
         hoursLabel.setStyle("-fx-text-fill: #6b7280;");
         details.getChildren().add(hoursLabel);
 
-        // Sports section
-        try {
-            EmployeeExpertiseDAO expertiseDAO = new EmployeeExpertiseDAO();
-            SportDAO sportDAO = new SportDAO();
-            List<Integer> sportIds = expertiseDAO.getSportIdsByEmployee(employee.getEmployeeId());
+        // Sports section (hydrated with sport names by loadTeamMembers)
+        List<Employee.SportExpertise> expertise = employee.getExpertiseList();
+        
+        if (!expertise.isEmpty()) {
+            Label sportsTitle = new Label("⚽ Sports:");
+            sportsTitle.setFont(Font.font("Arial", FontWeight.BOLD, 11));
+            sportsTitle.setStyle("-fx-text-fill: #374151;");
+            details.getChildren().add(sportsTitle);
             
-            if (!sportIds.isEmpty()) {
-                Label sportsTitle = new Label("⚽ Sports:");
-                sportsTitle.setFont(Font.font("Arial", FontWeight.BOLD, 11));
-                sportsTitle.setStyle("-fx-text-fill: #374151;");
-                details.getChildren().add(sportsTitle);
-                
-                FlowPane sportsFlow = new FlowPane();
-                sportsFlow.setHgap(8);
-                sportsFlow.setVgap(8);
-                
-                for (Integer sportId : sportIds) {
-                    Sport sport = sportDAO.getById(sportId);
-                    if (sport != null) {
-                        Label sportBadge = new Label(sport.getSportName());
-                        sportBadge.setFont(Font.font("Arial", 10));
-                        sportBadge.setPadding(new Insets(4, 10, 4, 10));
-                        sportBadge.setStyle("-fx-background-color: #dbeafe; -fx-text-fill: #1e40af; " +
-                                "-fx-background-radius: 12;");
-                        sportsFlow.getChildren().add(sportBadge);
-                    }
+            FlowPane sportsFlow = new FlowPane();
+            sportsFlow.setHgap(8);
+            sportsFlow.setVgap(8);
+            
+            for (Employee.SportExpertise exp : expertise) {
+                if (exp.getSportName() != null) {
+                    Label sportBadge = new Label(exp.getSportName());
+                    sportBadge.setFont(Font.font("Arial", 10));
+                    sportBadge.setPadding(new Insets(4, 10, 4, 10));
+                    sportBadge.setStyle("-fx-background-color: #dbeafe; -fx-text-fill: #1e40af; " +
+                            "-fx-background-radius: 12;");
+                    sportsFlow.getChildren().add(sportBadge);
                 }
-                details.getChildren().add(sportsFlow);
             }
+            details.getChildren().add(sportsFlow);
+        }
+        
+        // Availability section
+        if (!avails.isEmpty()) {
+            Label availTitle = new Label("📅 Availability:");
+            availTitle.setFont(Font.font("Arial", FontWeight.BOLD, 11));
+            availTitle.setStyle("-fx-text-fill: #374151;");
+            details.getChildren().add(availTitle);
             
-            // Availability section
-            AvailabilityDAO availDAO = new AvailabilityDAO();
-            List<Availability.Seasonal> avails = availDAO.getAllByEmployee(employee.getEmployeeId());
+            // Group by day
+            Map<DayOfWeek, List<Availability.Seasonal>> byDay = new HashMap<>();
+            for (Availability.Seasonal avail : avails) {
+                byDay.computeIfAbsent(avail.getDayOfWeek(), k -> new ArrayList<>()).add(avail);
+            }
             
-            if (!avails.isEmpty()) {
-                Label availTitle = new Label("📅 Availability:");
-                availTitle.setFont(Font.font("Arial", FontWeight.BOLD, 11));
-                availTitle.setStyle("-fx-text-fill: #374151;");
-                details.getChildren().add(availTitle);
-                
-                // Group by day
-                Map<DayOfWeek, List<Availability.Seasonal>> byDay = new HashMap<>();
-                for (Availability.Seasonal avail : avails) {
-                    byDay.computeIfAbsent(avail.getDayOfWeek(), k -> new ArrayList<>()).add(avail);
-                }
-                
-                VBox availList = new VBox(4);
-                for (DayOfWeek day : DayOfWeek.values()) {
-                    if (byDay.containsKey(day)) {
-                        Label dayLabel = new Label("• " + day.toString().substring(0, 3) + ": " +
-                                byDay.get(day).size() + " slot(s)");
-                        dayLabel.setFont(Font.font("Arial", 10));
-                        dayLabel.setStyle("-fx-text-fill: #6b7280;");
-                        availList.getChildren().add(dayLabel);
-                    }
+            VBox availList = new VBox(4);
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (byDay.containsKey(day)) {
+                    Label dayLabel = new Label("• " + day.toString().substring(0, 3) + ": " +
+                            byDay.get(day).size() + " slot(s)");
+                    dayLabel.setFont(Font.font("Arial", 10));
+                    dayLabel.setStyle("-fx-text-fill: #6b7280;");
+                    availList.getChildren().add(dayLabel);
                 }
-                details.getChildren().add(availList);
             }
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
+            details.getChildren().add(availList);
         }
 
         // Edit button
@@ -1,7 +1,6 @@
 package com.intramural.scheduling.view;
 
 import com.intramural.scheduling.dao.GameScheduleDAO;
-import com.intramural.scheduling.dao.ShiftDAO;
 import com.intramural.scheduling.dao.SportDAO;
 import com.intramural.scheduling.model.Schedule;
 import com.intramural.scheduling.model.Sport;
@@ -19,6 +18,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -47,13 +47,11 @@ public class CreateShiftView {
     
     private SportDAO sportDAO;
     private GameScheduleDAO gameDAO;
-    private ShiftDAO shiftDAO;
 
     public CreateShiftView(Stage parentStage, int adminUserId) {
         this.adminUserId = adminUserId;
         this.sportDAO = new SportDAO();
         this.gameDAO = new GameScheduleDAO();
-        this.shiftDAO = new ShiftDAO();
         
         dialogStage = new Stage();
         dialogStage.initModality(Modality.APPLICATION_MODAL);
@@ -309,15 +307,8 @@ public class CreateShiftView {
                 adminUserId
             );
             
-            // Insert game into database
-            gameDAO.insert(game);
-            
-            // Generate and insert shifts
-            game.generateShifts();
-            
-            for (Schedule.Shift shift : game.getShifts()) {
-                shiftDAO.insert(shift);
-            }
+            // Insert game, then generate and insert its shifts in one transaction
+            gameDAO.insertAllWithShifts(Collections.singletonList(game));
             
             showSuccess("Shift created successfully!\n" + 
                        supervisors + " supervisor(s) + " + referees + " referee(s) positions created.");
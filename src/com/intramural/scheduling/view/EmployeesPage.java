@@ -1,14 +1,12 @@
 package com.intramural.scheduling.view;
 
-import com.intramural.scheduling.dao.AvailabilityDAO;
+import com.intramural.scheduling.controller.AdminDashboardController;
 import com.intramural.scheduling.dao.EmployeeDAO;
-import com.intramural.scheduling.dao.EmployeeExpertiseDAO;
-import com.intramural.scheduling.dao.SportDAO;
 import com.intramural.scheduling.dao.UserDao;
 import com.intramural.scheduling.model.Availability;
 import com.intramural.scheduling.model.Employee;
-import com.intramural.scheduling.model.Sport;
 import com.intramural.scheduling.model.User;
+import com.intramural.scheduling.util.AsyncTasks;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -18,9 +16,9 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
-import java.sql.SQLException;
 import java.time.DayOfWeek;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -33,7 +31,9 @@ public class EmployeesPage {
     private int userId;
     private EmployeeDAO employeeDAO;
     private UserDao userDao;
+    private AdminDashboardController controller;
     private GridPane employeeGrid;
+    private ViewTasks tasks;
     
     // NEW: Track expanded employees
     private Set<Integer> expandedEmployees = new HashSet<>();
@@ -44,9 +44,11 @@ public class EmployeesPage {
         this.userId = userId;
         this.employeeDAO = new EmployeeDAO();
         this.userDao = new UserDao();
+        this.controller = new AdminDashboardController();
     }
 
     public Scene createScene() {
+        tasks = new ViewTasks();
         BorderPane root = new BorderPane();
         root.setStyle("-fx-background-color: #f8f9fa;");
         root.setTop(createTopBar());
@@ -54,6 +56,7 @@ public class EmployeesPage {
         root.setCenter(mainContent);
         
         Scene scene = new Scene(root, 1400, 900);
+        tasks.bindTo(scene);
         
         // Make responsive
         scene.widthProperty().addListener((obs, oldVal, newVal) -> {
@@ -174,45 +177,49 @@ public class EmployeesPage {
         HBox statsBox = new HBox(20);
         statsBox.setAlignment(Pos.CENTER);
 
-        try {
-            List<Employee> allEmployees = employeeDAO.getAll();
-            List<Employee> activeEmployees = employeeDAO.getAllActive();
-            int inactive = allEmployees.size() - activeEmployees.size();
-            long supervisors = activeEmployees.stream()
-                .filter(Employee::isSupervisorEligible)
-                .count();
-            
-            // Count STAFF users without employee records
-            List<User> allUsers = userDao.getAllUsers();
-            Set<Integer> employeeUserIds = allEmployees.stream()
-                .map(Employee::getUserId)
-                .collect(Collectors.toSet());
-            long usersWithoutEmployees = allUsers.stream()
-                .filter(u -> u.getRole() == User.UserRole.STAFF)
-                .filter(u -> !employeeUserIds.contains(u.getUserId()))
-                .count();
-
-            VBox card1 = createStatCard("👥", "#dbeafe", "Total", String.valueOf(allEmployees.size()));
-            VBox card2 = createStatCard("✅", "#d1fae5", "Active", String.valueOf(activeEmployees.size()));
-            VBox card3 = createStatCard("⊗", "#fee2e2", "Inactive", String.valueOf(inactive));
-            VBox card4 = createStatCard("🏅", "#fef3c7", "Supervisors", String.valueOf(supervisors));
-            VBox card5 = createStatCard("⚠️", "#fed7aa", "Users w/o Employee", String.valueOf(usersWithoutEmployees));
-
-            HBox.setHgrow(card1, Priority.ALWAYS);
-            HBox.setHgrow(card2, Priority.ALWAYS);
-            HBox.setHgrow(card3, Priority.ALWAYS);
-            HBox.setHgrow(card4, Priority.ALWAYS);
-            HBox.setHgrow(card5, Priority.ALWAYS);
-
-            statsBox.getChildren().addAll(card1, card2, card3, card4, card5);
-        } catch (SQLException e) {
-            Label errorLabel = new Label("Error loading stats");
-            statsBox.getChildren().add(errorLabel);
-        }
+        // The three lists load in parallel off the FX thread
+        CompletableFuture<List<Employee>> all = AsyncTasks.supply(employeeDAO::getAll);
+        CompletableFuture<List<Employee>> active = AsyncTasks.supply(employeeDAO::getAllActive);
+        CompletableFuture<List<User>> users = AsyncTasks.supply(userDao::getAllUsers);
+
+        tasks.run("stats", AsyncTasks.cancelling(CompletableFuture.allOf(all, active, users), all, active, users),
+            done -> showStats(statsBox, all.join(), active.join(), users.join()),
+            error -> statsBox.getChildren().setAll(new Label("Error loading stats")));
 
         return statsBox;
     }
 
+    private void showStats(HBox statsBox, List<Employee> allEmployees, List<Employee> activeEmployees,
+                           List<User> allUsers) {
+        int inactive = allEmployees.size() - activeEmployees.size();
+        long supervisors = activeEmployees.stream()
+            .filter(Employee::isSupervisorEligible)
+            .count();
+        
+        // Count STAFF users without employee records
+        Set<Integer> employeeUserIds = allEmployees.stream()
+            .map(Employee::getUserId)
+            .collect(Collectors.toSet());
+        long usersWithoutEmployees = allUsers.stream()
+            .filter(u -> u.getRole() == User.UserRole.STAFF)
+            .filter(u -> !employeeUserIds.contains(u.getUserId()))
+            .count();
+
+        VBox card1 = createStatCard("👥", "#dbeafe", "Total", String.valueOf(allEmployees.size()));
+        VBox card2 = createStatCard("✅", "#d1fae5", "Active", String.valueOf(activeEmployees.size()));
+        VBox card3 = createStatCard("⊗", "#fee2e2", "Inactive", String.valueOf(inactive));
+        VBox card4 = createStatCard("🏅", "#fef3c7", "Supervisors", String.valueOf(supervisors));
+        VBox card5 = createStatCard("⚠️", "#fed7aa", "Users w/o Employee", String.valueOf(usersWithoutEmployees));
+
+        HBox.setHgrow(card1, Priority.ALWAYS);
+        HBox.setHgrow(card2, Priority.ALWAYS);
+        HBox.setHgrow(card3, Priority.ALWAYS);
+        HBox.setHgrow(card4, Priority.ALWAYS);
+        HBox.setHgrow(card5, Priority.ALWAYS);
+
+        statsBox.getChildren().setAll(card1, card2, card3, card4, card5);
+    }
+
     private VBox createStatCard(String icon, String iconBg, String title, String value) {
         VBox card = new VBox(10);
         card.setPadding(new Insets(25));
@@ -251,41 +258,59 @@ public class EmployeesPage {
     }
 
     private void loadEmployeeGrid() {
+        if (employeeGrid.getChildren().isEmpty()) {
+            Label loading = new Label("Loading employees…");
+            loading.setFont(Font.font("Arial", 14));
+            loading.setStyle("-fx-text-fill: #9ca3af;");
+            employeeGrid.add(loading, 0, 0);
+        }
+        
+        // Employees, plus sports and availability of the expanded cards, in parallel
+        CompletableFuture<List<Employee>> employees = controller.getAllEmployeesAsync(expandedEmployees);
+        CompletableFuture<Map<Integer, List<Availability.Seasonal>>> availability =
+            controller.getAvailabilityAsync(expandedEmployees);
+        
+        tasks.run("grid", AsyncTasks.cancelling(CompletableFuture.allOf(employees, availability),
+                                                employees, availability),
+            done -> showEmployeeGrid(employees.join(), availability.join()),
+            error -> {
+                employeeGrid.getChildren().clear();
+                Label errorLabel = new Label("Error loading employees");
+                employeeGrid.add(errorLabel, 0, 0);
+            });
+    }
+
+    private void showEmployeeGrid(List<Employee> employees,
+                                  Map<Integer, List<Availability.Seasonal>> availability) {
         employeeGrid.getChildren().clear();
         
-        try {
-            List<Employee> employees = employeeDAO.getAllIncludingInactive();
-            
-            if (employees.isEmpty()) {
-                Label emptyLabel = new Label("No employees yet. Click '+ Add Employee' to add one.");
-                emptyLabel.setFont(Font.font("Arial", 14));
-                emptyLabel.setStyle("-fx-text-fill: #9ca3af;");
-                employeeGrid.add(emptyLabel, 0, 0);
-                return;
-            }
+        if (employees.isEmpty()) {
+            Label emptyLabel = new Label("No employees yet. Click '+ Add Employee' to add one.");
+            emptyLabel.setFont(Font.font("Arial", 14));
+            emptyLabel.setStyle("-fx-text-fill: #9ca3af;");
+            employeeGrid.add(emptyLabel, 0, 0);
+            return;
+        }
 
-            int col = 0;
-            int row = 0;
-            for (Employee employee : employees) {
-                VBox card = createExpandableEmployeeCard(employee);
-                employeeGrid.add(card, col, row);
-                
-                col++;
-                if (col > 2) {
-                    col = 0;
-                    row++;
-                }
+        int col = 0;
+        int row = 0;
+        for (Employee employee : employees) {
+            VBox card = createExpandableEmployeeCard(employee,
+                availability.getOrDefault(employee.getEmployeeId(), Collections.emptyList()));
+            employeeGrid.add(card, col, row);
+            
+            col++;
+            if (col > 2) {
+                col = 0;
+                row++;
             }
-        } catch (SQLException e) {
-            Label errorLabel = new Label("Error loading employees");
-            employeeGrid.add(errorLabel, 0, 0);
         }
     }
 
     /**
      * NEW: Create expandable employee card with dropdown for availability
      */
-    private VBox createExpandableEmployeeCard(Employee employee) {
+    private VBox createExpandableEmployeeCard(Employee employee, List<Availability.Seasonal> avails) {
         VBox card = new VBox();
         String cardStyle = employee.isActiveStatus() 
             ? "-fx-background-color: #f9fafb; -fx-background-radius: 8; -fx-border-color: #e5e7eb; -fx-border-radius: 8;"
@@ -308,7 +333,7 @@ public class EmployeesPage {
         
         // Check if expanded
         if (expandedEmployees.contains(employee.getEmployeeId())) {
-            VBox details = createEmployeeAvailabilityDetails(employee);
+            VBox details = createEmployeeAvailabilityDetails(employee, avails);
             card.getChildren().add(details);
         }
 
@@ -372,7 +397,7 @@ public class EmployeesPage {
      * NEW: Create employee availability details view
      * Shows: Hours, Sports, Availability by day
      */
-    private VBox createEmployeeAvailabilityDetails(Employee employee) {
+    private VBox createEmployeeAvailabilityDetails(Employee employee, List<Availability.Seasonal> avails) {
         VBox details = new VBox(15);
         details.setPadding(new Insets(20));
         details.setStyle("-fx-background-color: white; -fx-border-width: 1 0 0 0; " +
@@ -389,110 +414,96 @@ public class EmployeesPage {
         hoursBox.getChildren().addAll(hoursIcon, hoursLabel);
         details.getChildren().add(hoursBox);
 
-        // Sports section
-        try {
-            EmployeeExpertiseDAO expertiseDAO = new EmployeeExpertiseDAO();
-            SportDAO sportDAO = new SportDAO();
-            List<Integer> sportIds = expertiseDAO.getSportIdsByEmployee(employee.getEmployeeId());
+        // Sports section (hydrated with sport names by loadEmployeeGrid)
+        List<Employee.SportExpertise> expertise = employee.getExpertiseList();
+        
+        if (!expertise.isEmpty()) {
+            VBox sportsSection = new VBox(10);
             
-            if (!sportIds.isEmpty()) {
-                VBox sportsSection = new VBox(10);
-                
-                HBox sportsHeader = new HBox(10);
-                sportsHeader.setAlignment(Pos.CENTER_LEFT);
-                Label sportsIcon = new Label("⚽");
-                sportsIcon.setFont(Font.font(16));
-                Label sportsTitle = new Label("Sports:");
-                sportsTitle.setFont(Font.font("Arial", FontWeight.BOLD, 13));
-                sportsTitle.setStyle("-fx-text-fill: #374151;");
-                sportsHeader.getChildren().addAll(sportsIcon, sportsTitle);
-                
-                FlowPane sportsFlow = new FlowPane();
-                sportsFlow.setHgap(10);
-                sportsFlow.setVgap(8);
-                
-                for (Integer sportId : sportIds) {
-                    Sport sport = sportDAO.getById(sportId);
-                    if (sport != null) {
-                        Label sportBadge = new Label(sport.getSportName());
-                        sportBadge.setFont(Font.font("Arial", FontWeight.SEMI_BOLD, 11));
-                        sportBadge.setPadding(new Insets(5, 12, 5, 12));
-                        sportBadge.setStyle("-fx-background-color: #dbeafe; -fx-text-fill: #1e40af; " +
-                                "-fx-background-radius: 15;");
-                        sportsFlow.getChildren().add(sportBadge);
-                    }
+            HBox sportsHeader = new HBox(10);
+            sportsHeader.setAlignment(Pos.CENTER_LEFT);
+            Label sportsIcon = new Label("⚽");
+            sportsIcon.setFont(Font.font(16));
+            Label sportsTitle = new Label("Sports:");
+            sportsTitle.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+            sportsTitle.setStyle("-fx-text-fill: #374151;");
+            sportsHeader.getChildren().addAll(sportsIcon, sportsTitle);
+            
+            FlowPane sportsFlow = new FlowPane();
+            sportsFlow.setHgap(10);
+            sportsFlow.setVgap(8);
+            
+            for (Employee.SportExpertise exp : expertise) {
+                if (exp.getSportName() != null) {
+                    Label sportBadge = new Label(exp.getSportName());
+                    sportBadge.setFont(Font.font("Arial", FontWeight.SEMI_BOLD, 11));
+                    sportBadge.setPadding(new Insets(5, 12, 5, 12));
+                    sportBadge.setStyle("-fx-background-color: #dbeafe; -fx-text-fill: #1e40af; " +
+                            "-fx-background-radius: 15;");
+                    sportsFlow.getChildren().add(sportBadge);
                 }
-                
-                sportsSection.getChildren().addAll(sportsHeader, sportsFlow);
-                details.getChildren().add(sportsSection);
             }
             
-            // Availability section
-            AvailabilityDAO availDAO = new AvailabilityDAO();
-            List<Availability.Seasonal> avails = availDAO.getAllByEmployee(employee.getEmployeeId());
+            sportsSection.getChildren().addAll(sportsHeader, sportsFlow);
+            details.getChildren().add(sportsSection);
+        }
+        
+        // Availability section (loaded by loadEmployeeGrid)
+        if (!avails.isEmpty()) {
+            VBox availSection = new VBox(10);
             
-            if (!avails.isEmpty()) {
-                VBox availSection = new VBox(10);
-                
-                HBox availHeader = new HBox(10);
-                availHeader.setAlignment(Pos.CENTER_LEFT);
-                Label availIcon = new Label("📅");
-                availIcon.setFont(Font.font(16));
-                Label availTitle = new Label("Weekly Availability:");
-                availTitle.setFont(Font.font("Arial", FontWeight.BOLD, 13));
-                availTitle.setStyle("-fx-text-fill: #374151;");
-                availHeader.getChildren().addAll(availIcon, availTitle);
-                
-                // Group by day
-                Map<DayOfWeek, List<Availability.Seasonal>> byDay = new HashMap<>();
-                for (Availability.Seasonal avail : avails) {
-                    byDay.computeIfAbsent(avail.getDayOfWeek(), k -> new ArrayList<>()).add(avail);
-                }
-                
-                VBox availList = new VBox(6);
-                for (DayOfWeek day : DayOfWeek.values()) {
-                    if (byDay.containsKey(day)) {
-                        HBox dayRow = new HBox(10);
-                        dayRow.setAlignment(Pos.CENTER_LEFT);
-                        dayRow.setPadding(new Insets(6, 10, 6, 10));
-                        dayRow.setStyle("-fx-background-color: #f9fafb; -fx-background-radius: 4;");
-                        
-                        Label dayLabel = new Label("• " + day.toString().substring(0, 3));
-                        dayLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
-                        dayLabel.setPrefWidth(50);
-                        dayLabel.setStyle("-fx-text-fill: #1f2937;");
-                        
-                        // Show time slots for this day
-                        VBox timesBox = new VBox(3);
-                        for (Availability.Seasonal avail : byDay.get(day)) {
-                            Label timeLabel = new Label(
-                                avail.getStartTime().toString() + " - " + avail.getEndTime().toString() +
-                                " (" + avail.getSeason() + " " + avail.getYear() + ")"
-                            );
-                            timeLabel.setFont(Font.font("Arial", 11));
-                            timeLabel.setStyle("-fx-text-fill: #6b7280;");
-                            timesBox.getChildren().add(timeLabel);
-                        }
-                        
-                        dayRow.getChildren().addAll(dayLabel, timesBox);
-                        availList.getChildren().add(dayRow);
+            HBox availHeader = new HBox(10);
+            availHeader.setAlignment(Pos.CENTER_LEFT);
+            Label availIcon = new Label("📅");
+            availIcon.setFont(Font.font(16));
+            Label availTitle = new Label("Weekly Availability:");
+            availTitle.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+            availTitle.setStyle("-fx-text-fill: #374151;");
+            availHeader.getChildren().addAll(availIcon, availTitle);
+            
+            // Group by day
+            Map<DayOfWeek, List<Availability.Seasonal>> byDay = new HashMap<>();
+            for (Availability.Seasonal avail : avails) {
+                byDay.computeIfAbsent(avail.getDayOfWeek(), k -> new ArrayList<>()).add(avail);
+            }
+            
+            VBox availList = new VBox(6);
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (byDay.containsKey(day)) {
+                    HBox dayRow = new HBox(10);
+                    dayRow.setAlignment(Pos.CENTER_LEFT);
+                    dayRow.setPadding(new Insets(6, 10, 6, 10));
+                    dayRow.setStyle("-fx-background-color: #f9fafb; -fx-background-radius: 4;");
+                    
+                    Label dayLabel = new Label("• " + day.toString().substring(0, 3));
+                    dayLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+                    dayLabel.setPrefWidth(50);
+                    dayLabel.setStyle("-fx-text-fill: #1f2937;");
+                    
+                    // Show time slots for this day
+                    VBox timesBox = new VBox(3);
+                    for (Availability.Seasonal avail : byDay.get(day)) {
+                        Label timeLabel = new Label(
+                            avail.getStartTime().toString() + " - " + avail.getEndTime().toString() +
+                            " (" + avail.getSeason() + " " + avail.getYear() + ")"
+                        );
+                        timeLabel.setFont(Font.font("Arial", 11));
+                        timeLabel.setStyle("-fx-text-fill: #6b7280;");
+                        timesBox.getChildren().add(timeLabel);
                     }
+                    
+                    dayRow.getChildren().addAll(dayLabel, timesBox);
+                    availList.getChildren().add(dayRow);
                 }
-                
-                availSection.getChildren().addAll(availHeader, availList);
-                details.getChildren().add(availSection);
-            } else {
-                Label noAvail = new Label("💡 No availability set for this employee");
-                noAvail.setFont(Font.font("Arial", 12));
-                noAvail.setStyle("-fx-text-fill: #9ca3af;");
-                details.getChildren().add(noAvail);
             }
             
-        } catch (SQLException e) {
-            e.printStackTrace();
-            Label errorLabel = new Label("❌ Error loading employee details");
-            errorLabel.setStyle("-fx-text-fill: #ef4444;");
-            details.getChildren().add(errorLabel);
+            availSection.getChildren().addAll(availHeader, availList);
+            details.getChildren().add(availSection);
+        } else {
+            Label noAvail = new Label("💡 No availability set for this employee");
+            noAvail.setFont(Font.font("Arial", 12));
+            noAvail.setStyle("-fx-text-fill: #9ca3af;");
+            details.getChildren().add(noAvail);
         }
 
         // Edit and Status toggle buttons
@@ -587,34 +598,44 @@ public class EmployeesPage {
                     employee.setSupervisorEligible(supervisorCheckBox.isSelected());
                     employee.setActiveStatus(activeCheckBox.isSelected());
                     
-                    employeeDAO.updateEmployee(employee);
-                    
-                    // If name changed, update the associated user's username
-                    if (!newFirstName.equals(oldFirstName) || !newLastName.equals(oldLastName)) {
-                        try {
-                            User user = userDao.findById(employee.getUserId());
-                            if (user != null) {
-                                // Generate new username from name (firstname.lastname)
-                                String newUsername = (newFirstName + "." + newLastName).toLowerCase();
-                                user.setUsername(newUsername);
-                                userDao.updateUser(user);
+                    boolean nameChanged = !newFirstName.equals(oldFirstName) || !newLastName.equals(oldLastName);
+                    tasks.runWrite("Updating employee " + employee.getEmployeeId(), AsyncTasks.submit(() -> {
+                        employeeDAO.updateEmployee(employee);
+                        
+                        // If name changed, update the associated user's username
+                        if (nameChanged) {
+                            try {
+                                User user = userDao.findById(employee.getUserId());
+                                if (user != null) {
+                                    // Generate new username from name (firstname.lastname)
+                                    String newUsername = (newFirstName + "." + newLastName).toLowerCase();
+                                    user.setUsername(newUsername);
+                                    userDao.updateUser(user);
+                                }
+                            } catch (Exception userEx) {
+                                // Log but don't fail the whole operation
+                                System.err.println("Warning: Failed to update associated user: " + userEx.getMessage());
                             }
-                        } catch (Exception userEx) {
-                            // Log but don't fail the whole operation
-                            System.err.println("Warning: Failed to update associated user: " + userEx.getMessage());
                         }
-                    }
-                    
-                    refreshEmployeeList();
-                    
-                    Alert success = new Alert(Alert.AlertType.INFORMATION);
-                    success.setTitle("Success");
-                    success.setHeaderText("Employee Updated");
-                    success.setContentText("Employee information has been updated successfully." + 
-                        ((!newFirstName.equals(oldFirstName) || !newLastName.equals(oldLastName)) ? 
-                        "\n\nNote: The associated user's username has also been updated to: " + 
-                        (newFirstName + "." + newLastName).toLowerCase() : ""));
-                    success.showAndWait();
+                        return null;
+                    }), done -> {
+                        refreshEmployeeList();
+                        
+                        Alert success = new Alert(Alert.AlertType.INFORMATION);
+                        success.setTitle("Success");
+                        success.setHeaderText("Employee Updated");
+                        success.setContentText("Employee information has been updated successfully." + 
+                            (nameChanged ? 
+                            "\n\nNote: The associated user's username has also been updated to: " + 
+                            (newFirstName + "." + newLastName).toLowerCase() : ""));
+                        success.showAndWait();
+                    }, error -> {
+                        Alert alert = new Alert(Alert.AlertType.ERROR);
+                        alert.setTitle("Error");
+                        alert.setHeaderText("Failed to update employee");
+                        alert.setContentText(error.getMessage());
+                        alert.showAndWait();
+                    });
                 } catch (NumberFormatException e) {
                     Alert error = new Alert(Alert.AlertType.ERROR);
                     error.setTitle("Error");
@@ -651,8 +672,11 @@ public class EmployeesPage {
         
         confirmAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
+                tasks.runWrite("Changing the status of employee " + employee.getEmployeeId(),
+                        AsyncTasks.submit(() -> {
                     employeeDAO.toggleActiveStatus(employee.getEmployeeId(), newStatus);
+                    return null;
+                }), done -> {
                     refreshEmployeeList();
                     
                     Alert success = new Alert(Alert.AlertType.INFORMATION);
@@ -660,13 +684,13 @@ public class EmployeesPage {
                     success.setHeaderText("Employee " + (newStatus ? "Activated" : "Deactivated"));
                     success.setContentText("Employee has been " + action + "d successfully.");
                     success.showAndWait();
-                } catch (Exception e) {
+                }, e -> {
                     Alert error = new Alert(Alert.AlertType.ERROR);
                     error.setTitle("Error");
                     error.setHeaderText("Failed to " + action + " employee");
                     error.setContentText(e.getMessage());
                     error.showAndWait();
-                }
+                });
             }
         });
     }
@@ -1,7 +1,7 @@
 package com.intramural.scheduling.view;
 
+import com.intramural.scheduling.controller.ScheduleOverview;
 import com.intramural.scheduling.controller.SchedulingController;
-import com.intramural.scheduling.dao.*;
 import com.intramural.scheduling.model.*;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -12,7 +12,6 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
@@ -32,6 +31,8 @@ public class ScheduleBuilder {
     private LocalDate currentMonth;
     private SchedulingController schedulingController;
     private VBox scheduleContent;
+    private HBox statsBox;
+    private ViewTasks tasks;
 
     public ScheduleBuilder(Stage primaryStage, String username, int userId) {
         this.primaryStage = primaryStage;
@@ -43,20 +44,17 @@ public class ScheduleBuilder {
         LocalDate cycleStart = LocalDate.now().withDayOfMonth(1);
         LocalDate cycleEnd = cycleStart.plusMonths(1).minusDays(1);
         schedulingController.createCycle(cycleStart, cycleEnd);
-        
-        try {
-            schedulingController.loadGameSchedules();
-        } catch (SQLException e) {
-            System.err.println("Failed to load schedules: " + e.getMessage());
-        }
     }
 
     public Scene createScene() {
+        tasks = new ViewTasks();
         BorderPane root = new BorderPane();
         root.setStyle("-fx-background-color: #f8f9fa;");
         root.setTop(createTopBar());
         root.setCenter(createMainContent());
-        return new Scene(root, 1400, 900);
+        Scene scene = new Scene(root, 1400, 900);
+        tasks.bindTo(scene);
+        return scene;
     }
 
     private HBox createTopBar() {
@@ -134,6 +132,7 @@ public class ScheduleBuilder {
         VBox calendarSection = createCalendarSection();
 
         mainContent.getChildren().addAll(header, statsCards, calendarSection);
+        loadMonth();
 
         ScrollPane scrollPane = new ScrollPane(mainContent);
         scrollPane.setFitToWidth(true);
@@ -170,81 +169,60 @@ public class ScheduleBuilder {
     }
 
     private HBox createStatsCards() {
-        HBox statsBox = new HBox(20);
+        statsBox = new HBox(20);
         statsBox.setAlignment(Pos.CENTER);
+        showStats("…", "…", "…", "…");
+        return statsBox;
+    }
 
-        try {
-            // Load actual data from database for current month
-            GameScheduleDAO gameDAO = new GameScheduleDAO();
-            ShiftDAO shiftDAO = new ShiftDAO();
-            
-            LocalDate monthStart = currentMonth.withDayOfMonth(1);
-            LocalDate monthEnd = currentMonth.withDayOfMonth(currentMonth.lengthOfMonth());
-            
-            List<Schedule.Game> games = gameDAO.getByDateRange(monthStart, monthEnd);
-            
-            // Calculate real-time stats
-            int totalShifts = 0;
-            int fullyStaffed = 0;
-            int partiallyStaffed = 0;
-            int unstaffed = 0;
+    private void showStats(ScheduleOverview overview) {
+        // Calculate real-time stats
+        int totalShifts = 0;
+        int fullyStaffed = 0;
+        int partiallyStaffed = 0;
+        int unstaffed = 0;
+        
+        for (Schedule.Game game : overview.getGames()) {
+            List<Schedule.Shift> shifts = game.getShifts();
             
-            for (Schedule.Game game : games) {
-                // Load actual shifts from database
-                List<Schedule.Shift> shifts = shiftDAO.getByGameSchedule(game.getScheduleId());
+            if (!shifts.isEmpty()) {
+                // Count assigned vs total positions
+                long assignedCount = shifts.stream()
+                    .filter(s -> s.getAssignedEmployeeId() != null)
+                    .count();
                 
-                if (!shifts.isEmpty()) {
-                    // Count assigned vs total positions
-                    long assignedCount = shifts.stream()
-                        .filter(s -> s.getAssignedEmployeeId() != null)
-                        .count();
-                    
-                    int totalPositions = shifts.size();
-                    
-                    totalShifts++;
-                    
-                    if (assignedCount == totalPositions && totalPositions > 0) {
-                        fullyStaffed++;
-                    } else if (assignedCount > 0) {
-                        partiallyStaffed++;
-                    } else {
-                        unstaffed++;
-                    }
+                int totalPositions = shifts.size();
+                
+                totalShifts++;
+                
+                if (assignedCount == totalPositions && totalPositions > 0) {
+                    fullyStaffed++;
+                } else if (assignedCount > 0) {
+                    partiallyStaffed++;
+                } else {
+                    unstaffed++;
                 }
             }
-            
-            int needsStaff = partiallyStaffed + unstaffed;
-            
-            VBox card1 = createSmallStatCard("📅", "#dbeafe", "Total Shifts", 
-                                            String.valueOf(totalShifts));
-            VBox card2 = createSmallStatCard("✅", "#d1fae5", "Fully Staffed", 
-                                            String.valueOf(fullyStaffed));
-            VBox card3 = createSmallStatCard("⚠️", "#fef3c7", "Needs Staff", 
-                                            String.valueOf(needsStaff));
-            VBox card4 = createSmallStatCard("❌", "#fee2e2", "Unassigned", 
-                                            String.valueOf(unstaffed));
-
-            HBox.setHgrow(card1, Priority.ALWAYS);
-            HBox.setHgrow(card2, Priority.ALWAYS);
-            HBox.setHgrow(card3, Priority.ALWAYS);
-            HBox.setHgrow(card4, Priority.ALWAYS);
-
-            statsBox.getChildren().addAll(card1, card2, card3, card4);
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading stats: " + e.getMessage());
-            e.printStackTrace();
-            
-            // Fallback to zeros on error
-            VBox card1 = createSmallStatCard("📅", "#dbeafe", "Total Shifts", "0");
-            VBox card2 = createSmallStatCard("✅", "#d1fae5", "Fully Staffed", "0");
-            VBox card3 = createSmallStatCard("⚠️", "#fef3c7", "Needs Staff", "0");
-            VBox card4 = createSmallStatCard("❌", "#fee2e2", "Unassigned", "0");
-            
-            statsBox.getChildren().addAll(card1, card2, card3, card4);
         }
         
-        return statsBox;
+        int needsStaff = partiallyStaffed + unstaffed;
+        
+        showStats(String.valueOf(totalShifts), String.valueOf(fullyStaffed),
+                  String.valueOf(needsStaff), String.valueOf(unstaffed));
+    }
+
+    private void showStats(String totalShifts, String fullyStaffed, String needsStaff, String unstaffed) {
+        VBox card1 = createSmallStatCard("📅", "#dbeafe", "Total Shifts", totalShifts);
+        VBox card2 = createSmallStatCard("✅", "#d1fae5", "Fully Staffed", fullyStaffed);
+        VBox card3 = createSmallStatCard("⚠️", "#fef3c7", "Needs Staff", needsStaff);
+        VBox card4 = createSmallStatCard("❌", "#fee2e2", "Unassigned", unstaffed);
+
+        HBox.setHgrow(card1, Priority.ALWAYS);
+        HBox.setHgrow(card2, Priority.ALWAYS);
+        HBox.setHgrow(card3, Priority.ALWAYS);
+        HBox.setHgrow(card4, Priority.ALWAYS);
+
+        statsBox.getChildren().setAll(card1, card2, card3, card4);
     }
 
     private VBox createSmallStatCard(String icon, String iconBg, String title, String value) {
@@ -305,49 +283,62 @@ public class ScheduleBuilder {
         calendarHeader.getChildren().addAll(monthLabel, spacer, navButtons);
 
         scheduleContent = new VBox(15);
-        loadScheduleContent();
 
         section.getChildren().addAll(calendarHeader, scheduleContent);
         return section;
     }
 
-    private void loadScheduleContent() {
-        scheduleContent.getChildren().clear();
+    /**
+     * Load the month's games, shifts and staff in the background, then fill
+     * the stats cards and the schedule from them
+     */
+    private void loadMonth() {
+        Label loading = new Label("Loading schedule…");
+        loading.setFont(Font.font("Arial", 14));
+        loading.setStyle("-fx-text-fill: #9ca3af;");
+        scheduleContent.getChildren().setAll(loading);
         
-        try {
-            // Load all games from database directly
-            GameScheduleDAO gameDAO = new GameScheduleDAO();
-            LocalDate monthStart = currentMonth.withDayOfMonth(1);
-            LocalDate monthEnd = currentMonth.withDayOfMonth(currentMonth.lengthOfMonth());
-            
-            List<Schedule.Game> games = gameDAO.getByDateRange(monthStart, monthEnd);
-            
-            System.out.println("Loaded " + games.size() + " games for " + currentMonth.getMonth());
+        LocalDate monthStart = currentMonth.withDayOfMonth(1);
+        LocalDate monthEnd = currentMonth.withDayOfMonth(currentMonth.lengthOfMonth());
+        
+        tasks.run("month", schedulingController.loadOverviewAsync(monthStart, monthEnd), overview -> {
+            showStats(overview);
+            showScheduleContent(overview);
+        }, error -> {
+            System.err.println("Error loading schedule: " + error.getMessage());
+            error.printStackTrace();
             
-            if (games.isEmpty()) {
-                Label emptyLabel = new Label("No shifts scheduled for this period. Click '+ Create Shift' to add one.");
-                emptyLabel.setFont(Font.font("Arial", 14));
-                emptyLabel.setStyle("-fx-text-fill: #9ca3af;");
-                scheduleContent.getChildren().add(emptyLabel);
-                return;
-            }
+            // Fallback to zeros on error
+            showStats("0", "0", "0", "0");
+            Label errorLabel = new Label("Error loading schedule: " + error.getMessage());
+            scheduleContent.getChildren().setAll(errorLabel);
+        });
+    }
 
-            for (Schedule.Game game : games) {
-                VBox gameCard = createDetailedGameCard(game);
-                scheduleContent.getChildren().add(gameCard);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error loading schedule: " + e.getMessage());
-            e.printStackTrace();
-            Label errorLabel = new Label("Error loading schedule: " + e.getMessage());
-            scheduleContent.getChildren().add(errorLabel);
+    private void showScheduleContent(ScheduleOverview overview) {
+        scheduleContent.getChildren().clear();
+        
+        List<Schedule.Game> games = overview.getGames();
+        System.out.println("Loaded " + games.size() + " games for " + currentMonth.getMonth());
+        
+        if (games.isEmpty()) {
+            Label emptyLabel = new Label("No shifts scheduled for this period. Click '+ Create Shift' to add one.");
+            emptyLabel.setFont(Font.font("Arial", 14));
+            emptyLabel.setStyle("-fx-text-fill: #9ca3af;");
+            scheduleContent.getChildren().add(emptyLabel);
+            return;
+        }
+
+        for (Schedule.Game game : games) {
+            VBox gameCard = createDetailedGameCard(game, overview);
+            scheduleContent.getChildren().add(gameCard);
         }
     }
 
     /**
      * UPDATED: Now shows actual assignments from database
      */
-    private VBox createDetailedGameCard(Schedule.Game game) {
+    private VBox createDetailedGameCard(Schedule.Game game, ScheduleOverview overview) {
         VBox card = new VBox(15);
         card.setPadding(new Insets(20));
         card.setStyle("-fx-background-color: #f9fafb; -fx-border-color: #e5e7eb; " +
@@ -358,14 +349,9 @@ public class ScheduleBuilder {
         topRow.setAlignment(Pos.CENTER_LEFT);
 
         // Get sport name
-        String sportName = "Sport";
-        try {
-            Sport sport = new SportDAO().getById(game.getSportId());
-            if (sport != null) {
-                sportName = sport.getSportName();
-            }
-        } catch (SQLException e) {
-            System.err.println("Error loading sport: " + e.getMessage());
+        String sportName = overview.getSportName(game.getSportId());
+        if (sportName == null) {
+            sportName = "Sport";
         }
 
         Label sportLabel = new Label("⚽ " + sportName);
@@ -387,19 +373,12 @@ public class ScheduleBuilder {
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
-        // Load actual shifts from database to get accurate counts
-        int assigned = 0;
-        int total = 0;
-        try {
-            ShiftDAO shiftDAO = new ShiftDAO();
-            List<Schedule.Shift> shifts = shiftDAO.getByGameSchedule(game.getScheduleId());
-            total = shifts.size();
-            assigned = (int) shifts.stream()
-                .filter(s -> s.getAssignedEmployeeId() != null)
-                .count();
-        } catch (SQLException e) {
-            System.err.println("Error loading shifts: " + e.getMessage());
-        }
+        // Stored shifts give the accurate counts
+        List<Schedule.Shift> shifts = game.getShifts();
+        int total = shifts.size();
+        int assigned = (int) shifts.stream()
+            .filter(s -> s.getAssignedEmployeeId() != null)
+            .count();
         
         Label staffLabel = new Label(assigned + "/" + total + " Positions Filled");
         staffLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
@@ -409,12 +388,12 @@ public class ScheduleBuilder {
         Button deleteBtn = new Button("🗑️ Delete Shift");
         deleteBtn.setStyle("-fx-background-color: #ef4444; -fx-text-fill: white; " +
                 "-fx-background-radius: 6; -fx-padding: 8 16 8 16; -fx-cursor: hand; -fx-font-weight: bold;");
-        deleteBtn.setOnAction(e -> deleteShift(game));
+        deleteBtn.setOnAction(e -> deleteShift(game, deleteBtn));
 
         topRow.getChildren().addAll(sportLabel, dateLabel, timeLabel, locationLabel, spacer, staffLabel, deleteBtn);
 
         // NEW: Show actual assignments
-        VBox assignmentsSection = createAssignmentsSection(game);
+        VBox assignmentsSection = createAssignmentsSection(game, overview);
         
         // Shifts breakdown
         HBox shiftsRow = new HBox(30);
@@ -435,62 +414,50 @@ public class ScheduleBuilder {
     /**
      * NEW: Create assignments section showing WHO is assigned to each position
      */
-    private VBox createAssignmentsSection(Schedule.Game game) {
+    private VBox createAssignmentsSection(Schedule.Game game, ScheduleOverview overview) {
         VBox section = new VBox(10);
         section.setPadding(new Insets(10, 0, 0, 0));
         
-        try {
-            ShiftDAO shiftDAO = new ShiftDAO();
-            EmployeeDAO empDAO = new EmployeeDAO();
-            List<Schedule.Shift> shifts = shiftDAO.getByGameSchedule(game.getScheduleId());
-            
-            if (shifts.isEmpty()) {
-                Label noShifts = new Label("No positions created for this game");
-                noShifts.setFont(Font.font("Arial", 12));
-                noShifts.setStyle("-fx-text-fill: #9ca3af;");
-                section.getChildren().add(noShifts);
-                return section;
-            }
-            
-            // Check if any assignments exist
-            boolean hasAssignments = shifts.stream()
-                .anyMatch(s -> s.getAssignedEmployeeId() != null);
-            
-            if (!hasAssignments) {
-                Label noAssignments = new Label("💡 No staff assigned yet. Assign staff in Admin Dashboard.");
-                noAssignments.setFont(Font.font("Arial", 12));
-                noAssignments.setStyle("-fx-text-fill: #6b7280; -fx-font-style: italic;");
-                section.getChildren().add(noAssignments);
-                return section;
-            }
-            
-            // Show assignments
-            Label assignmentsTitle = new Label("📋 Assigned Staff:");
-            assignmentsTitle.setFont(Font.font("Arial", FontWeight.BOLD, 13));
-            assignmentsTitle.setStyle("-fx-text-fill: #374151;");
-            section.getChildren().add(assignmentsTitle);
-            
-            VBox assignmentsList = new VBox(8);
-            
-            for (Schedule.Shift shift : shifts) {
-                if (shift.getAssignedEmployeeId() != null) {
-                    Employee emp = empDAO.getById(shift.getAssignedEmployeeId());
-                    if (emp != null) {
-                        HBox assignmentRow = createAssignmentRow(shift, emp);
-                        assignmentsList.getChildren().add(assignmentRow);
-                    }
-                }
+        List<Schedule.Shift> shifts = game.getShifts();
+        
+        if (shifts.isEmpty()) {
+            Label noShifts = new Label("No positions created for this game");
+            noShifts.setFont(Font.font("Arial", 12));
+            noShifts.setStyle("-fx-text-fill: #9ca3af;");
+            section.getChildren().add(noShifts);
+            return section;
+        }
+        
+        // Check if any assignments exist
+        boolean hasAssignments = shifts.stream()
+            .anyMatch(s -> s.getAssignedEmployeeId() != null);
+        
+        if (!hasAssignments) {
+            Label noAssignments = new Label("💡 No staff assigned yet. Assign staff in Admin Dashboard.");
+            noAssignments.setFont(Font.font("Arial", 12));
+            noAssignments.setStyle("-fx-text-fill: #6b7280; -fx-font-style: italic;");
+            section.getChildren().add(noAssignments);
+            return section;
+        }
+        
+        // Show assignments
+        Label assignmentsTitle = new Label("📋 Assigned Staff:");
+        assignmentsTitle.setFont(Font.font("Arial", FontWeight.BOLD, 13));
+        assignmentsTitle.setStyle("-fx-text-fill: #374151;");
+        section.getChildren().add(assignmentsTitle);
+        
+        VBox assignmentsList = new VBox(8);
+        
+        for (Schedule.Shift shift : shifts) {
+            Employee emp = overview.getEmployee(shift.getAssignedEmployeeId());
+            if (emp != null) {
+                HBox assignmentRow = createAssignmentRow(shift, emp);
+                assignmentsList.getChildren().add(assignmentRow);
             }
-            
-            section.getChildren().add(assignmentsList);
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
-            Label error = new Label("Error loading assignments");
-            error.setStyle("-fx-text-fill: #ef4444;");
-            section.getChildren().add(error);
         }
         
+        section.getChildren().add(assignmentsList);
+        
         return section;
     }
 
@@ -532,7 +499,7 @@ public class ScheduleBuilder {
     /**
      * NEW: Delete shift functionality
      */
-    private void deleteShift(Schedule.Game game) {
+    private void deleteShift(Schedule.Game game, Button deleteBtn) {
         // Confirmation dialog
         Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
         confirmation.setTitle("Delete Shift");
@@ -551,15 +518,9 @@ public class ScheduleBuilder {
         Optional<ButtonType> result = confirmation.showAndWait();
         
         if (result.isPresent() && result.get() == deleteButton) {
-            try {
-                // Delete shifts first (foreign key constraint)
-                ShiftDAO shiftDAO = new ShiftDAO();
-                shiftDAO.deleteByGameSchedule(game.getScheduleId());
-                
-                // Delete game schedule
-                GameScheduleDAO gameDAO = new GameScheduleDAO();
-                gameDAO.delete(game.getScheduleId());
-                
+            deleteBtn.setDisable(true);
+            tasks.runWrite("Deleting game " + game.getScheduleId(),
+                    schedulingController.deleteGameAsync(game), done -> {
                 // Show success
                 Alert success = new Alert(Alert.AlertType.INFORMATION);
                 success.setTitle("Success");
@@ -569,17 +530,17 @@ public class ScheduleBuilder {
                 
                 // Refresh the schedule
                 refreshSchedule();
+            }, error -> {
+                System.err.println("Error deleting shift: " + error.getMessage());
+                error.printStackTrace();
+                deleteBtn.setDisable(false);
                 
-            } catch (SQLException e) {
-                System.err.println("Error deleting shift: " + e.getMessage());
-                e.printStackTrace();
-                
-                Alert error = new Alert(Alert.AlertType.ERROR);
-                error.setTitle("Error");
-                error.setHeaderText("Failed to delete shift");
-                error.setContentText("Error: " + e.getMessage());
-                error.showAndWait();
-            }
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Error");
+                alert.setHeaderText("Failed to delete shift");
+                alert.setContentText("Error: " + error.getMessage());
+                alert.showAndWait();
+            });
         }
     }
 
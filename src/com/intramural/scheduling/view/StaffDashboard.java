@@ -1,6 +1,6 @@
 package com.intramural.scheduling.view;
 
-import com.intramural.scheduling.dao.ShiftDAO;
+import com.intramural.scheduling.controller.StaffDashboardController;
 import com.intramural.scheduling.model.Schedule;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -22,26 +22,31 @@ public class StaffDashboard {
     private Stage primaryStage;
     private String username;
     private int employeeId;
-    private ShiftDAO shiftDAO;
+    private StaffDashboardController controller;
     private List<Schedule.Game> assignedShifts;
     private VBox mainContent;
+    private ViewTasks tasks;
     
     public StaffDashboard(Stage primaryStage, String username, int employeeId) {
         this.primaryStage = primaryStage;
         this.username = username;
         this.employeeId = employeeId;
-        this.shiftDAO = new ShiftDAO();
+        this.controller = new StaffDashboardController();
         this.assignedShifts = new ArrayList<>();
-        loadShifts();
     }
     
+    /**
+     * Load the employee's shifts in the background, then redraw
+     */
     private void loadShifts() {
-        try {
-            assignedShifts = shiftDAO.getShiftsByEmployee(employeeId);
-        } catch (Exception e) {
-            e.printStackTrace();
+        tasks.run("shifts", controller.getAssignedShiftsAsync(employeeId), shifts -> {
+            assignedShifts = shifts;
+            showContent();
+        }, error -> {
+            error.printStackTrace();
             assignedShifts = new ArrayList<>();
-        }
+            showContent();
+        });
     }
     
     public Scene createScene() {
@@ -58,23 +63,15 @@ public class StaffDashboard {
         
         mainContent = new VBox(20);
         mainContent.setPadding(new Insets(30));
-        
-        // Welcome Section
-        mainContent.getChildren().add(createWelcomeSection());
-        
-        // Weekly Summary Cards
-        mainContent.getChildren().add(createWeeklySummary());
-        
-        // This Week's Schedule
-        mainContent.getChildren().add(createThisWeekSchedule());
-        
-        // Upcoming Shifts
-        mainContent.getChildren().add(createUpcomingShifts());
+        showContent();
         
         scrollPane.setContent(mainContent);
         root.setCenter(scrollPane);
         
         Scene scene = new Scene(root, 1200, 800);
+        tasks = new ViewTasks();
+        tasks.bindTo(scene);
+        loadShifts();
         
         // Make responsive
         scene.widthProperty().addListener((obs, oldVal, newVal) -> {
@@ -437,10 +434,21 @@ public class StaffDashboard {
     
     private void refreshDashboard() {
         loadShifts();
+    }
+    
+    private void showContent() {
         mainContent.getChildren().clear();
+        
+        // Welcome Section
         mainContent.getChildren().add(createWelcomeSection());
+        
+        // Weekly Summary Cards
         mainContent.getChildren().add(createWeeklySummary());
+        
+        // This Week's Schedule
         mainContent.getChildren().add(createThisWeekSchedule());
+        
+        // Upcoming Shifts
         mainContent.getChildren().add(createUpcomingShifts());
     }
     
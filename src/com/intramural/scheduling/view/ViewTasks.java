@@ -0,0 +1,119 @@
+package com.intramural.scheduling.view;
+
+import com.intramural.scheduling.util.AsyncTasks;
+import com.intramural.scheduling.util.Logger;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Background loads owned by one view scene.
+ *
+ * Results are handed to the view on the JavaFX Application Thread. Starting a
+ * load under a key cancels the one still running under that key (refresh), and
+ * everything is cancelled once the scene is taken off its window (navigation,
+ * logout). Callbacks of cancelled or superseded loads never run.
+ *
+ * Writes go through runWrite instead: they are never cancelled, and their
+ * outcome is still reported after the view has closed.
+ * Only use from the JavaFX Application Thread.
+ */
+class ViewTasks {
+    private static final Logger log = Logger.getLogger(ViewTasks.class);
+    
+    private final Map<String, CompletableFuture<?>> running = new HashMap<>();
+    private boolean closed;
+
+    /**
+     * Cancel everything when the scene leaves its window
+     */
+    void bindTo(Scene scene) {
+        scene.windowProperty().addListener((obs, oldWindow, newWindow) -> {
+            if (oldWindow != null && newWindow == null) {
+                cancelAll();
+            }
+        });
+    }
+
+    /**
+     * Track a background load and deliver its outcome on the FX thread
+     */
+    <T> void run(String key, CompletableFuture<T> future,
+                 Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+        if (closed) {
+            future.cancel(true);
+            return;
+        }
+        CompletableFuture<?> previous = running.put(key, future);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+
+        future.whenComplete((value, error) -> Platform.runLater(() -> {
+            if (running.get(key) != future) {
+                return; // superseded or cancelled
+            }
+            running.remove(key);
+            if (future.isCancelled()) {
+                return;
+            }
+            if (error == null) {
+                onSuccess.accept(value);
+            } else {
+                onError.accept(AsyncTasks.unwrap(error));
+            }
+        }));
+    }
+
+    /**
+     * Deliver the outcome of a write on the FX thread. The write is not tracked,
+     * so closing the view never cancels it. While the view is open the callbacks
+     * run as usual; after it closed, success is logged and a failure is logged
+     * and shown in an alert, since the view can no longer show it.
+     * @param description what the write does, for the log and the alert
+     */
+    <T> void runWrite(String description, CompletableFuture<T> future,
+                      Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((value, error) -> Platform.runLater(() -> {
+            Throwable cause = error != null ? AsyncTasks.unwrap(error) : null;
+            if (!closed) {
+                if (cause == null) {
+                    onSuccess.accept(value);
+                } else {
+                    onError.accept(cause);
+                }
+            } else if (cause == null) {
+                log.info(description + " finished after its view was closed");
+            } else {
+                log.error(description + " failed after its view was closed", cause);
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Error");
+                alert.setHeaderText(description + " failed");
+                alert.setContentText("Error: " + cause.getMessage());
+                alert.show();
+            }
+        }));
+    }
+
+    void cancel(String key) {
+        CompletableFuture<?> future = running.remove(key);
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    void cancelAll() {
+        closed = true;
+        List<CompletableFuture<?>> futures = new ArrayList<>(running.values());
+        running.clear();
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}